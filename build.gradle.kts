@@ -98,6 +98,13 @@ allprojects {
             testImplementation("com.github.javafaker:javafaker:1.0.2")
         }
 
+        // -PextensionIndex precomputes the extension metadata at compile time, see core/boot-processor
+        if (project.hasProperty("extensionIndex") && project.path != ":core:boot-processor") {
+            dependencies {
+                annotationProcessor(project(":core:boot-processor"))
+            }
+        }
+
         publishing {
             repositories {
                 maven {
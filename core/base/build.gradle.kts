@@ -24,6 +24,7 @@ val jodahFailsafeVersion: String by project
 
 dependencies {
     api(project(":spi"))
+    api(project(":spi:http-spi"))
 
     api("com.squareup.okhttp3:okhttp:${okHttpVersion}")
     api("net.jodah:failsafe:${jodahFailsafeVersion}")
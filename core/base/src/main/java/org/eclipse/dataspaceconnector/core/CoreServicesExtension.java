@@ -19,9 +19,13 @@ import okhttp3.OkHttpClient;
 import org.eclipse.dataspaceconnector.core.base.RemoteMessageDispatcherRegistryImpl;
 import org.eclipse.dataspaceconnector.core.health.HealthCheckServiceConfiguration;
 import org.eclipse.dataspaceconnector.core.health.HealthCheckServiceImpl;
+import org.eclipse.dataspaceconnector.core.http.HttpClientProfilesImpl;
+import org.eclipse.dataspaceconnector.core.metrics.DefaultMetricRegistry;
 import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.EdcSetting;
+import org.eclipse.dataspaceconnector.spi.http.HttpClientProfiles;
 import org.eclipse.dataspaceconnector.spi.message.RemoteMessageDispatcherRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.MetricRegistry;
 import org.eclipse.dataspaceconnector.spi.security.PrivateKeyResolver;
 import org.eclipse.dataspaceconnector.spi.system.Provides;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
@@ -36,10 +40,9 @@ import java.security.spec.PKCS8EncodedKeySpec;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.Base64;
-import java.util.concurrent.TimeUnit;
 
 @BaseExtension
-@Provides({RetryPolicy.class, HealthCheckService.class, OkHttpClient.class, RemoteMessageDispatcherRegistry.class})
+@Provides({RetryPolicy.class, HealthCheckService.class, OkHttpClient.class, HttpClientProfiles.class, RemoteMessageDispatcherRegistry.class, MetricRegistry.class})
 public class CoreServicesExtension implements ServiceExtension {
 
     @EdcSetting
@@ -56,10 +59,16 @@ public class CoreServicesExtension implements ServiceExtension {
     public static final String READINESS_PERIOD_SECONDS_SETTING = "edc.core.system.health.check.readiness-period";
     @EdcSetting
     public static final String THREADPOOL_SIZE_SETTING = "edc.core.system.health.check.threadpool-size";
+    /**
+     * Seconds a health provider may take to answer before it is reported as degraded. Not set by default, so providers are waited for.
+     */
+    @EdcSetting
+    public static final String HEALTH_CHECK_TIMEOUT_SECONDS_SETTING = "edc.core.system.health.check.timeout";
 
     private static final long DEFAULT_DURATION = 60;
     private static final int DEFAULT_TP_SIZE = 3;
     private HealthCheckServiceImpl healthCheckService;
+    private HttpClientProfilesImpl httpClientProfiles;
 
     @Override
     public String name() {
@@ -73,12 +82,16 @@ public class CoreServicesExtension implements ServiceExtension {
         registerParser(context);
         var config = getHealthCheckConfig(context);
 
+        // metrics
+        var metricRegistry = new DefaultMetricRegistry();
+        context.registerService(MetricRegistry.class, metricRegistry);
+
         // health check service
         healthCheckService = new HealthCheckServiceImpl(config);
         context.registerService(HealthCheckService.class, healthCheckService);
 
         // remote message dispatcher registry
-        var dispatcherRegistry = new RemoteMessageDispatcherRegistryImpl();
+        var dispatcherRegistry = new RemoteMessageDispatcherRegistryImpl(metricRegistry);
         context.registerService(RemoteMessageDispatcherRegistry.class, dispatcherRegistry);
     }
 
@@ -90,16 +103,18 @@ public class CoreServicesExtension implements ServiceExtension {
     @Override
     public void shutdown() {
         healthCheckService.stop();
+        httpClientProfiles.shutdown();
         ServiceExtension.super.shutdown();
     }
 
     private HealthCheckServiceConfiguration getHealthCheckConfig(ServiceExtensionContext context) {
+        var timeoutSeconds = context.getSetting(HEALTH_CHECK_TIMEOUT_SECONDS_SETTING, 0L);
 
         return HealthCheckServiceConfiguration.Builder.newInstance()
                 .livenessPeriod(Duration.ofSeconds(context.getSetting(LIVENESS_PERIOD_SECONDS_SETTING, DEFAULT_DURATION)))
                 .startupStatusPeriod(Duration.ofSeconds(context.getSetting(STARTUP_PERIOD_SECONDS_SETTING, DEFAULT_DURATION)))
                 .readinessPeriod(Duration.ofSeconds(context.getSetting(READINESS_PERIOD_SECONDS_SETTING, DEFAULT_DURATION)))
-                .readinessPeriod(Duration.ofSeconds(context.getSetting(READINESS_PERIOD_SECONDS_SETTING, DEFAULT_DURATION)))
+                .timeout(timeoutSeconds > 0 ? Duration.ofSeconds(timeoutSeconds) : null)
                 .threadPoolSize(context.getSetting(THREADPOOL_SIZE_SETTING, DEFAULT_TP_SIZE))
                 .build();
     }
@@ -130,12 +145,15 @@ public class CoreServicesExtension implements ServiceExtension {
 
     }
 
+    /**
+     * Registers the client of the default profile as {@link OkHttpClient}, and all profiles as {@link HttpClientProfiles}. See
+     * {@link org.eclipse.dataspaceconnector.core.http.HttpClientConfiguration} for the settings.
+     */
     private void addHttpClient(ServiceExtensionContext context) {
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .build();
+        httpClientProfiles = HttpClientProfilesImpl.from(context.getConfig());
+        context.getMonitor().debug("HTTP client profiles: " + httpClientProfiles.getProfileNames());
 
-        context.registerService(OkHttpClient.class, client);
+        context.registerService(HttpClientProfiles.class, httpClientProfiles);
+        context.registerService(OkHttpClient.class, httpClientProfiles.getClient(HttpClientProfiles.DEFAULT_PROFILE));
     }
 }
@@ -19,6 +19,9 @@ import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.message.MessageContext;
 import org.eclipse.dataspaceconnector.spi.message.RemoteMessageDispatcher;
 import org.eclipse.dataspaceconnector.spi.message.RemoteMessageDispatcherRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.MetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.NoopMetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.Timer;
 import org.eclipse.dataspaceconnector.spi.types.domain.message.RemoteMessage;
 import org.jetbrains.annotations.Nullable;
 
@@ -26,14 +29,35 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 public class RemoteMessageDispatcherRegistryImpl implements RemoteMessageDispatcherRegistry {
 
+    private static final String LATENCY_METRIC = "edc.dispatcher.latency";
+
     private final Map<String, RemoteMessageDispatcher> dispatchers = new HashMap<>();
+    // the timers of a protocol by message type, so they are looked up in the registry once and not on every send
+    private final Map<String, Map<Class<?>, LatencyTimers>> latencyTimers = new ConcurrentHashMap<>();
+    private final MetricRegistry metrics;
+
+    public RemoteMessageDispatcherRegistryImpl() {
+        this(NoopMetricRegistry.INSTANCE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param metrics records the latency of every message, tagged by protocol, message type and outcome
+     */
+    public RemoteMessageDispatcherRegistryImpl(MetricRegistry metrics) {
+        this.metrics = metrics;
+    }
 
     @Override
     public void register(RemoteMessageDispatcher dispatcher) {
         dispatchers.put(dispatcher.protocol(), dispatcher);
+        latencyTimers.put(dispatcher.protocol(), new ConcurrentHashMap<>());
     }
 
     @Override
@@ -46,7 +70,19 @@ public class RemoteMessageDispatcherRegistryImpl implements RemoteMessageDispatc
             future.completeExceptionally(new EdcException("No provider dispatcher registered for protocol: " + protocol));
             return future;
         }
-        return dispatcher.send(responseType, message, context);
+        var timers = latencyTimers(dispatcher.protocol(), message.getClass());
+        var start = System.nanoTime();
+        return dispatcher.send(responseType, message, context)
+                .whenComplete((result, throwable) -> (throwable == null ? timers.success : timers.failure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private LatencyTimers latencyTimers(String protocol, Class<?> messageType) {
+        var timersByType = latencyTimers.get(protocol);
+        var timers = timersByType.get(messageType);
+        if (timers == null) {
+            timers = timersByType.computeIfAbsent(messageType, type -> new LatencyTimers(protocol, type));
+        }
+        return timers;
     }
 
     @Nullable
@@ -57,4 +93,14 @@ public class RemoteMessageDispatcherRegistryImpl implements RemoteMessageDispatc
         }
         return dispatchers.get(protocol);
     }
+
+    private class LatencyTimers {
+        private final Timer success;
+        private final Timer failure;
+
+        LatencyTimers(String protocol, Class<?> messageType) {
+            success = metrics.timer(LATENCY_METRIC, "protocol", protocol, "message", messageType.getSimpleName(), "outcome", "success");
+            failure = metrics.timer(LATENCY_METRIC, "protocol", protocol, "message", messageType.getSimpleName(), "outcome", "failure");
+        }
+    }
 }
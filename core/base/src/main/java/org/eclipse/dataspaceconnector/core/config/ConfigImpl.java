@@ -18,11 +18,9 @@ import org.eclipse.dataspaceconnector.spi.system.Config;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collector;
@@ -31,12 +29,16 @@ import java.util.stream.Stream;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toMap;
 
+/**
+ * A {@link Config} backed by a prefix tree of the dot-separated keys, see {@link ConfigNode}. Looking up a sub-config or a value takes as
+ * many steps as the key has segments, and typed values are parsed only once.
+ */
 public class ConfigImpl implements Config {
 
     static final Collector<Map.Entry<String, String>, ?, Map<String, String>> TO_MAP =
             toMap(Map.Entry::getKey, Map.Entry::getValue);
 
-    private final Map<String, String> entries;
+    private final ConfigNode node;
     private final String rootPath;
 
     ConfigImpl(Map<String, String> entries) {
@@ -45,8 +47,14 @@ public class ConfigImpl implements Config {
 
     protected ConfigImpl(String rootPath, Map<String, String> entries) {
         Objects.requireNonNull(rootPath, "rootPath");
-        this.entries = entries;
         this.rootPath = rootPath;
+        var root = ConfigNode.of(entries);
+        this.node = rootPath.isEmpty() ? root : nodeOrEmpty(root.find(rootPath), rootPath);
+    }
+
+    private ConfigImpl(String rootPath, ConfigNode node) {
+        this.rootPath = rootPath;
+        this.node = node;
     }
 
     @Override
@@ -56,7 +64,7 @@ public class ConfigImpl implements Config {
 
     @Override
     public String getString(String key, String defaultValue) {
-        var value = entries.get(absolutePathOf(key));
+        var value = valueOf(key);
         if (value == null) {
             return defaultValue;
         } else {
@@ -86,38 +94,35 @@ public class ConfigImpl implements Config {
 
     @Override
     public Config getConfig(String path) {
-        String absolutePath = absolutePathOf(path);
-        var filteredEntries = entries.entrySet().stream()
-                .filter(entry -> entry.getKey().startsWith(absolutePath))
-                .collect(TO_MAP);
-
-        return new ConfigImpl(absolutePath, filteredEntries);
+        if (path.isEmpty()) {
+            return this;
+        }
+        var absolutePath = absolutePathOf(path);
+        return new ConfigImpl(absolutePath, nodeOrEmpty(node.find(path), absolutePath));
     }
 
     @Override
     public Config merge(Config other) {
         var all = new HashMap<String, String>();
-        all.putAll(entries);
+        all.putAll(getEntries());
         all.putAll(other.getEntries());
 
-        return new ConfigImpl("", Collections.unmodifiableMap(all));
+        return new ConfigImpl("", ConfigNode.of(all));
     }
 
     @Override
     public Stream<Config> partition() {
-        return getRelativeEntries().keySet().stream().map(it -> it.split("\\.")[0]).distinct().map(group -> getConfig(group));
+        return node.getChildNames().stream().map(this::getConfig);
     }
 
     @Override
     public Map<String, String> getEntries() {
-        return entries;
+        return node.getEntries();
     }
 
     @Override
     public Map<String, String> getRelativeEntries() {
-        return getEntries().entrySet().stream()
-                .map(entry -> Map.entry(removePrefix(entry.getKey(), rootPath), entry.getValue()))
-                .collect(TO_MAP);
+        return node.getRelativeEntries();
     }
 
     @Override
@@ -133,7 +138,7 @@ public class ConfigImpl implements Config {
 
     @Override
     public boolean isLeaf() {
-        return entries.size() == 1 && entries.keySet().stream().allMatch(rootPath::equals);
+        return node.getValue() != null && !node.hasChildren();
     }
 
     @Override
@@ -141,25 +146,22 @@ public class ConfigImpl implements Config {
         return getEntries().containsKey(key);
     }
 
-    private String removePrefix(String path, String rootPath) {
-        if (!rootPath.isEmpty() && path.startsWith(rootPath)) {
-            return path.substring(rootPath.length() + 1);
-        } else {
-            return path;
-        }
+    @Nullable
+    private String valueOf(String key) {
+        var valueNode = node.find(key);
+        return valueNode != null ? valueNode.getValue() : null;
     }
 
     @Nullable
     private <T> T getNumber(String key, T defaultValue, String typeDescription, Function<String, T> parse) {
-        var value = getString(key, Objects.toString(defaultValue, null));
-        if (value == null) {
-            return null;
-        } else {
-            try {
-                return parse.apply(value);
-            } catch (Exception e) {
-                throw new EdcException(format("Setting %s with value %s cannot be parsed to %s", absolutePathOf(key), value, typeDescription));
-            }
+        var valueNode = node.find(key);
+        if (valueNode == null || valueNode.getValue() == null) {
+            return defaultValue;
+        }
+        try {
+            return valueNode.getParsedValue(typeDescription, parse);
+        } catch (Exception e) {
+            throw new EdcException(format("Setting %s with value %s cannot be parsed to %s", absolutePathOf(key), valueNode.getValue(), typeDescription));
         }
     }
 
@@ -175,8 +177,11 @@ public class ConfigImpl implements Config {
 
     @NotNull
     private String absolutePathOf(String key) {
-        String rootPath = Optional.of(this.rootPath).filter(it -> !it.isEmpty()).map(it -> it + ".").orElse("");
-        return rootPath + key;
+        return rootPath.isEmpty() ? key : rootPath + "." + key;
+    }
+
+    private static ConfigNode nodeOrEmpty(@Nullable ConfigNode node, String path) {
+        return node != null ? node : new ConfigNode(path);
     }
 
 }
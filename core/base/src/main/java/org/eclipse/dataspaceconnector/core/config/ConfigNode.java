@@ -0,0 +1,149 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.core.config;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A node of the prefix tree that backs {@link ConfigImpl}. Every segment of a dot-separated key is a node, so a sub-config is found by walking
+ * as many nodes as its path has segments, independent of the total number of entries.
+ * <p>
+ * A tree is built completely before it is handed to a {@link ConfigImpl} and never modified afterwards, which makes it a snapshot of the
+ * configuration. The flattened entries and parsed typed values are computed on first access and memoised.
+ */
+class ConfigNode {
+    private final String path;
+    private final Map<String, ConfigNode> children = new TreeMap<>();
+    private final Map<String, Object> parsedValues = new ConcurrentHashMap<>();
+    private String value;
+    private volatile Map<String, String> entries;
+    private volatile Map<String, String> relativeEntries;
+
+    ConfigNode(String path) {
+        this.path = path;
+    }
+
+    static ConfigNode of(Map<String, String> entries) {
+        var root = new ConfigNode("");
+        entries.forEach(root::put);
+        return root;
+    }
+
+    /**
+     * Returns the node at the given dot-separated path relative to this node, or null if there are no entries under that path.
+     */
+    @Nullable
+    ConfigNode find(String relativePath) {
+        var node = this;
+        var start = 0;
+        while (node != null) {
+            var end = relativePath.indexOf('.', start);
+            if (end < 0) {
+                return node.children.get(relativePath.substring(start));
+            }
+            node = node.children.get(relativePath.substring(start, end));
+            start = end + 1;
+        }
+        return null;
+    }
+
+    @Nullable
+    String getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the value parsed by the given function. Each type is parsed only once per node, parse errors are not memoised.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T getParsedValue(String type, Function<String, T> parse) {
+        return (T) parsedValues.computeIfAbsent(type, t -> parse.apply(value));
+    }
+
+    Set<String> getChildNames() {
+        return children.keySet();
+    }
+
+    boolean hasChildren() {
+        return !children.isEmpty();
+    }
+
+    /**
+     * All entries of this node and its descendants, keyed by their absolute path.
+     */
+    Map<String, String> getEntries() {
+        var result = entries;
+        if (result == null) {
+            var collected = new LinkedHashMap<String, String>();
+            collect(collected);
+            result = Collections.unmodifiableMap(collected);
+            entries = result;
+        }
+        return result;
+    }
+
+    /**
+     * The entries of the descendants of this node, keyed by their path relative to this node.
+     */
+    Map<String, String> getRelativeEntries() {
+        var result = relativeEntries;
+        if (result == null) {
+            if (path.isEmpty()) {
+                result = getEntries();
+            } else {
+                var collected = new LinkedHashMap<String, String>();
+                getEntries().forEach((key, value) -> {
+                    if (key.length() > path.length()) {
+                        collected.put(key.substring(path.length() + 1), value);
+                    }
+                });
+                result = Collections.unmodifiableMap(collected);
+            }
+            relativeEntries = result;
+        }
+        return result;
+    }
+
+    private void put(String key, String value) {
+        var node = this;
+        var start = 0;
+        while (true) {
+            var end = key.indexOf('.', start);
+            var segment = end < 0 ? key.substring(start) : key.substring(start, end);
+            var childPath = end < 0 ? key : key.substring(0, end);
+            node = node.children.computeIfAbsent(segment, s -> new ConfigNode(childPath));
+            if (end < 0) {
+                node.value = value;
+                return;
+            }
+            start = end + 1;
+        }
+    }
+
+    private void collect(Map<String, String> collected) {
+        if (value != null) {
+            collected.put(path, value);
+        }
+        children.values().forEach(child -> child.collect(collected));
+    }
+}
@@ -1,5 +1,7 @@
 package org.eclipse.dataspaceconnector.core.health;
 
+import org.jetbrains.annotations.Nullable;
+
 import java.time.Duration;
 
 public class HealthCheckServiceConfiguration {
@@ -9,6 +11,7 @@ public class HealthCheckServiceConfiguration {
     private Duration readinessPeriod = Duration.ofSeconds(DEFAULT_PERIOD_SECONDS);
     private Duration livenessPeriod = Duration.ofSeconds(DEFAULT_PERIOD_SECONDS);
     private Duration startupStatusPeriod = Duration.ofSeconds(DEFAULT_PERIOD_SECONDS);
+    private Duration timeout;
 
     /**
      * how many threads should be used by the health check service for periodic polling
@@ -41,6 +44,15 @@ public class HealthCheckServiceConfiguration {
         return startupStatusPeriod;
     }
 
+    /**
+     * The time a provider may take to answer before it is reported as degraded, unless it was registered with its own timeout.
+     * Not set by default, in which case providers are waited for however long they take.
+     */
+    @Nullable
+    public Duration getTimeout() {
+        return timeout;
+    }
+
     public static final class Builder {
         private final HealthCheckServiceConfiguration config;
 
@@ -67,6 +79,11 @@ public class HealthCheckServiceConfiguration {
             return this;
         }
 
+        public Builder timeout(Duration timeout) {
+            config.timeout = timeout;
+            return this;
+        }
+
         public Builder threadPoolSize(int threadPoolSize) {
             config.threadPoolSize = threadPoolSize;
             return this;
@@ -7,108 +7,232 @@ import org.eclipse.dataspaceconnector.spi.system.health.LivenessProvider;
 import org.eclipse.dataspaceconnector.spi.system.health.ReadinessProvider;
 import org.eclipse.dataspaceconnector.spi.system.health.StartupStatusProvider;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
-
+import java.util.stream.Collectors;
+
+/**
+ * Queries the health providers periodically in the background and serves the cached results.
+ * <p>
+ * Every provider has its own period and timeout. Providers are called on a separate worker pool, never on the scheduler, and at most one call
+ * per provider is in flight, so a provider that hangs on remote I/O occupies one worker thread but cannot delay the other providers or the
+ * health requests.
+ * <p>
+ * Timeouts are opt-in. A provider that was given a timeout and does not answer within it is reported as degraded until its call returns:
+ * its last completed result is kept, with the detail {@code status=DEGRADED} added, so a slow dependency is visible in the health report
+ * but does not fail the liveness or readiness probe by itself. A provider that has not completed a call yet is reported as healthy and
+ * degraded.
+ * <p>
+ * The {@link HealthStatus} of each kind is rebuilt whenever a result changes, so {@link #isLive()}, {@link #isReady()} and
+ * {@link #getStartupStatus()} return in constant time.
+ */
 public class HealthCheckServiceImpl implements HealthCheckService {
-    private final List<LivenessProvider> livenessProviders;
-    private final List<ReadinessProvider> readinessProviders;
-    private final List<StartupStatusProvider> startupStatusProviders;
+    static final String DEGRADED = "DEGRADED";
 
-    private final Map<LivenessProvider, HealthCheckResult> cachedLivenessResults;
-    private final Map<ReadinessProvider, HealthCheckResult> cachedReadinessResults;
-    private final Map<StartupStatusProvider, HealthCheckResult> cachedStartupStatus;
+    private final HealthChecks liveness = new HealthChecks();
+    private final HealthChecks readiness = new HealthChecks();
+    private final HealthChecks startupStatus = new HealthChecks();
 
-    private final ScheduledExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService workers;
     private final HealthCheckServiceConfiguration configuration;
+    private volatile boolean started;
 
     public HealthCheckServiceImpl(HealthCheckServiceConfiguration configuration) {
         this.configuration = configuration;
-        readinessProviders = new CopyOnWriteArrayList<>();
-        livenessProviders = new CopyOnWriteArrayList<>();
-        startupStatusProviders = new CopyOnWriteArrayList<>();
-
-        cachedLivenessResults = new ConcurrentHashMap<>();
-        cachedReadinessResults = new ConcurrentHashMap<>();
-        cachedStartupStatus = new ConcurrentHashMap<>();
-
-        executor = Executors.newScheduledThreadPool(configuration.getThreadPoolSize());
+        scheduler = Executors.newScheduledThreadPool(configuration.getThreadPoolSize(), daemonThreads("edc-health-scheduler-"));
+        workers = Executors.newCachedThreadPool(daemonThreads("edc-health-check-"));
     }
 
     @Override
     public void addLivenessProvider(LivenessProvider provider) {
-        livenessProviders.add(provider);
+        addLivenessProvider(provider, configuration.getLivenessPeriod(), configuration.getTimeout());
     }
 
     @Override
     public void addReadinessProvider(ReadinessProvider provider) {
-        readinessProviders.add(provider);
+        addReadinessProvider(provider, configuration.getReadinessPeriod(), configuration.getTimeout());
     }
 
     @Override
     public void addStartupStatusProvider(StartupStatusProvider provider) {
-        startupStatusProviders.add(provider);
+        addStartupStatusProvider(provider, configuration.getStartupStatusPeriod(), configuration.getTimeout());
+    }
+
+    @Override
+    public void addLivenessProvider(LivenessProvider provider, Duration period, Duration timeout) {
+        add(liveness, new HealthCheck(provider, period, timeout));
+    }
+
+    @Override
+    public void addReadinessProvider(ReadinessProvider provider, Duration period, Duration timeout) {
+        add(readiness, new HealthCheck(provider, period, timeout));
+    }
+
+    @Override
+    public void addStartupStatusProvider(StartupStatusProvider provider, Duration period, Duration timeout) {
+        add(startupStatus, new HealthCheck(provider, period, timeout));
     }
 
     @Override
     public HealthStatus isLive() {
-        return new HealthStatus(cachedLivenessResults.values());
+        return liveness.status;
     }
 
     @Override
     public HealthStatus isReady() {
-        return new HealthStatus(cachedReadinessResults.values());
+        return readiness.status;
     }
 
     @Override
     public HealthStatus getStartupStatus() {
-        return new HealthStatus(cachedStartupStatus.values());
+        return startupStatus.status;
     }
 
+    /**
+     * Queries all providers that are not already being queried right away, without waiting for the results.
+     */
     @Override
     public void refresh() {
-        executor.execute(this::queryReadiness);
-        executor.execute(this::queryLiveness);
-        executor.execute(this::queryStartupStatus);
+        liveness.checks.forEach(check -> query(liveness, check));
+        readiness.checks.forEach(check -> query(readiness, check));
+        startupStatus.checks.forEach(check -> query(startupStatus, check));
     }
 
     public void stop() {
-        if (!executor.isShutdown()) {
-            executor.shutdownNow();
+        started = false;
+        if (!scheduler.isShutdown()) {
+            scheduler.shutdownNow();
+        }
+        if (!workers.isShutdown()) {
+            workers.shutdownNow();
         }
     }
 
     public void start() {
-        //todo: maybe providers should provide their desired timeout instead of a global config?
-        executor.scheduleAtFixedRate(this::queryReadiness, 0, configuration.getReadinessPeriod().toMillis(), TimeUnit.MILLISECONDS);
-        executor.scheduleAtFixedRate(this::queryLiveness, 0, configuration.getLivenessPeriod().toMillis(), TimeUnit.MILLISECONDS);
-        executor.scheduleAtFixedRate(this::queryStartupStatus, 0, configuration.getStartupStatusPeriod().toMillis(), TimeUnit.MILLISECONDS);
+        started = true;
+        liveness.checks.forEach(check -> schedule(liveness, check));
+        readiness.checks.forEach(check -> schedule(readiness, check));
+        startupStatus.checks.forEach(check -> schedule(startupStatus, check));
     }
 
-    private void queryReadiness() {
-        readinessProviders.parallelStream().forEach(provider -> updateCache(provider, cachedReadinessResults));
+    private void add(HealthChecks checks, HealthCheck check) {
+        checks.checks.add(check);
+        if (started) {
+            schedule(checks, check);
+        }
     }
 
-    private void queryLiveness() {
-        livenessProviders.parallelStream().forEach(provider -> updateCache(provider, cachedLivenessResults));
+    private void schedule(HealthChecks checks, HealthCheck check) {
+        scheduler.scheduleAtFixedRate(() -> query(checks, check), 0, check.period.toMillis(), TimeUnit.MILLISECONDS);
     }
 
-    private void queryStartupStatus() {
-        startupStatusProviders.parallelStream().forEach(provider -> updateCache(provider, cachedStartupStatus));
+    private void query(HealthChecks checks, HealthCheck check) {
+        int run;
+        synchronized (check) {
+            if (check.running) {
+                return;
+            }
+            check.running = true;
+            run = ++check.run;
+        }
+        try {
+            workers.execute(() -> {
+                var result = call(check.provider);
+                synchronized (check) {
+                    check.running = false;
+                    check.completed = result;
+                    check.result = result;
+                }
+                checks.update();
+            });
+            if (check.timeout != null) {
+                scheduler.schedule(() -> timeOut(checks, check, run), check.timeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (RuntimeException e) {
+            // the service is being stopped
+            synchronized (check) {
+                check.running = false;
+            }
+        }
+    }
+
+    private void timeOut(HealthChecks checks, HealthCheck check, int run) {
+        synchronized (check) {
+            if (!check.running || check.run != run) {
+                return;
+            }
+            check.result = degraded(check.completed, check.timeout);
+        }
+        checks.update();
     }
 
-    private <T extends Supplier<HealthCheckResult>> void updateCache(T provider, Map<T, HealthCheckResult> cache) {
+    private static HealthCheckResult degraded(HealthCheckResult completed, Duration timeout) {
+        var details = new HashMap<String, Object>();
+        var builder = HealthCheckResult.Builder.newInstance();
+        if (completed != null) {
+            details.putAll(completed.getDetails());
+            builder.component(completed.getComponent())
+                    .success(completed.succeeded(), completed.failed() ? completed.getFailureMessages().toArray(String[]::new) : new String[0]);
+        }
+        details.put("status", DEGRADED);
+        details.put("timeout", "Health check did not complete within " + timeout.toMillis() + " ms");
+        return builder.details(details).build();
+    }
+
+    private HealthCheckResult call(Supplier<HealthCheckResult> provider) {
         try {
-            cache.put(provider, provider.get());
+            var result = provider.get();
+            return result != null ? result : HealthCheckResult.failed("Health check returned no result");
         } catch (Exception ex) {
-            cache.put(provider, HealthCheckResult.failed(ex.getMessage()));
+            return HealthCheckResult.failed(ex.getMessage());
         }
     }
 
+    private static ThreadFactory daemonThreads(String prefix) {
+        var counter = new AtomicInteger();
+        return r -> {
+            var thread = new Thread(r, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * The providers of one kind of health check and their combined status.
+     */
+    private static class HealthChecks {
+        private final List<HealthCheck> checks = new CopyOnWriteArrayList<>();
+        private volatile HealthStatus status = new HealthStatus(List.of());
+
+        synchronized void update() {
+            status = new HealthStatus(checks.stream().map(check -> check.result).filter(Objects::nonNull).collect(Collectors.toList()));
+        }
+    }
+
+    private static class HealthCheck {
+        private final Supplier<HealthCheckResult> provider;
+        private final Duration period;
+        private final Duration timeout;
+        private volatile HealthCheckResult result;
+        private HealthCheckResult completed;
+        private boolean running;
+        private int run;
+
+        HealthCheck(Supplier<HealthCheckResult> provider, Duration period, Duration timeout) {
+            this.provider = provider;
+            this.period = period;
+            this.timeout = timeout;
+        }
+    }
 }
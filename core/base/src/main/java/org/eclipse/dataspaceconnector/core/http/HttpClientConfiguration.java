@@ -0,0 +1,232 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.core.http;
+
+import okhttp3.Protocol;
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.EdcSetting;
+import org.eclipse.dataspaceconnector.spi.system.Config;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Dispatcher, connection pool, timeout and protocol settings of an HTTP client profile. The defaults correspond to OkHttp's own defaults,
+ * except for the connect and read timeouts of 30 seconds the runtime has always used.
+ * <p>
+ * The settings of the default profile are read from {@code edc.http.client.*}, the settings of a named profile from
+ * {@code edc.http.client.profiles.<name>.*}. A named profile inherits every setting it does not configure from the default profile.
+ */
+public class HttpClientConfiguration {
+    @EdcSetting
+    public static final String MAX_REQUESTS_SETTING = "edc.http.client.max-requests";
+    @EdcSetting
+    public static final String MAX_REQUESTS_PER_HOST_SETTING = "edc.http.client.max-requests-per-host";
+    @EdcSetting
+    public static final String MAX_IDLE_CONNECTIONS_SETTING = "edc.http.client.max-idle-connections";
+    @EdcSetting
+    public static final String KEEP_ALIVE_SECONDS_SETTING = "edc.http.client.keep-alive";
+    @EdcSetting
+    public static final String CONNECT_TIMEOUT_SECONDS_SETTING = "edc.http.client.connect-timeout";
+    @EdcSetting
+    public static final String READ_TIMEOUT_SECONDS_SETTING = "edc.http.client.read-timeout";
+    @EdcSetting
+    public static final String WRITE_TIMEOUT_SECONDS_SETTING = "edc.http.client.write-timeout";
+    @EdcSetting
+    public static final String CALL_TIMEOUT_SECONDS_SETTING = "edc.http.client.call-timeout";
+    /**
+     * {@code http1} for HTTP/1.1 only, {@code http2} for HTTP/2 negotiated through ALPN on TLS connections (the default), {@code h2c} for
+     * HTTP/2 with prior knowledge on cleartext connections, which requires every server the profile talks to to support it.
+     */
+    @EdcSetting
+    public static final String PROTOCOL_SETTING = "edc.http.client.protocol";
+
+    public static final String PREFIX = "edc.http.client";
+    public static final String PROFILES_PREFIX = PREFIX + ".profiles";
+
+    private int maxRequests = 64;
+    private int maxRequestsPerHost = 5;
+    private int maxIdleConnections = 5;
+    private Duration keepAlive = Duration.ofMinutes(5);
+    private Duration connectTimeout = Duration.ofSeconds(30);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    private Duration writeTimeout = Duration.ofSeconds(10);
+    private Duration callTimeout = Duration.ZERO;
+    private List<Protocol> protocols = List.of(Protocol.HTTP_2, Protocol.HTTP_1_1);
+
+    private HttpClientConfiguration() {
+    }
+
+    /**
+     * Reads a profile from its settings, relative to the prefix of the profile.
+     *
+     * @param config the settings of the profile
+     * @param defaults the settings the profile falls back to
+     */
+    public static HttpClientConfiguration from(Config config, HttpClientConfiguration defaults) {
+        return Builder.newInstance()
+                .maxRequests(config.getInteger(relative(MAX_REQUESTS_SETTING), defaults.maxRequests))
+                .maxRequestsPerHost(config.getInteger(relative(MAX_REQUESTS_PER_HOST_SETTING), defaults.maxRequestsPerHost))
+                .maxIdleConnections(config.getInteger(relative(MAX_IDLE_CONNECTIONS_SETTING), defaults.maxIdleConnections))
+                .keepAlive(seconds(config, KEEP_ALIVE_SECONDS_SETTING, defaults.keepAlive))
+                .connectTimeout(seconds(config, CONNECT_TIMEOUT_SECONDS_SETTING, defaults.connectTimeout))
+                .readTimeout(seconds(config, READ_TIMEOUT_SECONDS_SETTING, defaults.readTimeout))
+                .writeTimeout(seconds(config, WRITE_TIMEOUT_SECONDS_SETTING, defaults.writeTimeout))
+                .callTimeout(seconds(config, CALL_TIMEOUT_SECONDS_SETTING, defaults.callTimeout))
+                .protocols(protocols(config.getString(relative(PROTOCOL_SETTING), null), defaults.protocols))
+                .build();
+    }
+
+    public static HttpClientConfiguration defaultConfiguration() {
+        return Builder.newInstance().build();
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public Duration getKeepAlive() {
+        return keepAlive;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public Duration getWriteTimeout() {
+        return writeTimeout;
+    }
+
+    /**
+     * The time a whole call including redirects and retries may take. Zero means no limit.
+     */
+    public Duration getCallTimeout() {
+        return callTimeout;
+    }
+
+    public List<Protocol> getProtocols() {
+        return protocols;
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "maxRequests=" + maxRequests +
+                ", maxRequestsPerHost=" + maxRequestsPerHost +
+                ", maxIdleConnections=" + maxIdleConnections +
+                ", protocols=" + protocols +
+                '}';
+    }
+
+    private static String relative(String setting) {
+        return setting.substring(PREFIX.length() + 1);
+    }
+
+    private static Duration seconds(Config config, String setting, Duration defaultValue) {
+        return Duration.ofSeconds(config.getLong(relative(setting), defaultValue.toSeconds()));
+    }
+
+    private static List<Protocol> protocols(String value, List<Protocol> defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        switch (value.trim().toLowerCase()) {
+            case "http1":
+                return List.of(Protocol.HTTP_1_1);
+            case "http2":
+                return List.of(Protocol.HTTP_2, Protocol.HTTP_1_1);
+            case "h2c":
+                return List.of(Protocol.H2_PRIOR_KNOWLEDGE);
+            default:
+                throw new EdcException("Invalid HTTP client protocol, expected one of http1, http2, h2c: " + value);
+        }
+    }
+
+    public static class Builder {
+        private final HttpClientConfiguration configuration;
+
+        private Builder() {
+            configuration = new HttpClientConfiguration();
+        }
+
+        public static Builder newInstance() {
+            return new Builder();
+        }
+
+        public Builder maxRequests(int maxRequests) {
+            configuration.maxRequests = maxRequests;
+            return this;
+        }
+
+        public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+            configuration.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        public Builder maxIdleConnections(int maxIdleConnections) {
+            configuration.maxIdleConnections = maxIdleConnections;
+            return this;
+        }
+
+        public Builder keepAlive(Duration keepAlive) {
+            configuration.keepAlive = keepAlive;
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            configuration.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder readTimeout(Duration readTimeout) {
+            configuration.readTimeout = readTimeout;
+            return this;
+        }
+
+        public Builder writeTimeout(Duration writeTimeout) {
+            configuration.writeTimeout = writeTimeout;
+            return this;
+        }
+
+        public Builder callTimeout(Duration callTimeout) {
+            configuration.callTimeout = callTimeout;
+            return this;
+        }
+
+        public Builder protocols(List<Protocol> protocols) {
+            configuration.protocols = List.copyOf(protocols);
+            return this;
+        }
+
+        public HttpClientConfiguration build() {
+            if (configuration.maxRequests < 1 || configuration.maxRequestsPerHost < 1) {
+                throw new IllegalArgumentException("max-requests and max-requests-per-host must be positive");
+            }
+            return configuration;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.core.http;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.eclipse.dataspaceconnector.spi.http.HttpClientProfiles;
+import org.eclipse.dataspaceconnector.spi.system.Config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * Creates one {@link OkHttpClient} per profile, each with its own dispatcher and connection pool.
+ */
+public class HttpClientProfilesImpl implements HttpClientProfiles {
+    private final Map<String, OkHttpClient> clients;
+
+    /**
+     * Ctor.
+     *
+     * @param configurations the configuration per profile name. The default profile is added with the default configuration if missing.
+     */
+    public HttpClientProfilesImpl(Map<String, HttpClientConfiguration> configurations) {
+        var clients = new HashMap<String, OkHttpClient>();
+        configurations.forEach((name, configuration) -> clients.put(name, createClient(configuration)));
+        clients.computeIfAbsent(DEFAULT_PROFILE, name -> createClient(HttpClientConfiguration.defaultConfiguration()));
+        this.clients = unmodifiableMap(clients);
+    }
+
+    /**
+     * Reads the default profile from {@code edc.http.client.*} and the named profiles from {@code edc.http.client.profiles.<name>.*}.
+     *
+     * @param config the runtime configuration
+     */
+    public static HttpClientProfilesImpl from(Config config) {
+        var clientConfig = config.getConfig(HttpClientConfiguration.PREFIX);
+        var defaults = HttpClientConfiguration.from(clientConfig, HttpClientConfiguration.defaultConfiguration());
+        var configurations = new HashMap<String, HttpClientConfiguration>();
+        configurations.put(DEFAULT_PROFILE, defaults);
+        config.getConfig(HttpClientConfiguration.PROFILES_PREFIX).partition()
+                .forEach(profile -> configurations.put(profile.currentNode(), HttpClientConfiguration.from(profile, defaults)));
+        return new HttpClientProfilesImpl(configurations);
+    }
+
+    @Override
+    public OkHttpClient getClient(String profile) {
+        var client = clients.get(profile);
+        return client != null ? client : clients.get(DEFAULT_PROFILE);
+    }
+
+    @Override
+    public Set<String> getProfileNames() {
+        return clients.keySet();
+    }
+
+    /**
+     * Cancels the calls still in flight, stops the dispatcher threads and closes the pooled connections of all profiles.
+     */
+    public void shutdown() {
+        clients.values().forEach(client -> {
+            client.dispatcher().cancelAll();
+            client.dispatcher().executorService().shutdown();
+            client.connectionPool().evictAll();
+        });
+    }
+
+    static OkHttpClient createClient(HttpClientConfiguration configuration) {
+        var dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(configuration.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(configuration.getMaxRequestsPerHost());
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(configuration.getMaxIdleConnections(), configuration.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS))
+                .connectTimeout(configuration.getConnectTimeout())
+                .readTimeout(configuration.getReadTimeout())
+                .writeTimeout(configuration.getWriteTimeout())
+                .callTimeout(configuration.getCallTimeout())
+                .protocols(configuration.getProtocols())
+                .build();
+    }
+}
@@ -14,6 +14,10 @@
 
 package org.eclipse.dataspaceconnector.core.manager;
 
+import org.eclipse.dataspaceconnector.spi.metrics.Counter;
+import org.eclipse.dataspaceconnector.spi.metrics.NoopMetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.Timer;
+
 import java.util.Collection;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -26,6 +30,7 @@ import java.util.function.Supplier;
  * function.
  * The doProcess method returns the count of how many entities have been processed, this is used by the state machine
  * loop to decide to apply the wait strategy or not.
+ * Optionally, the time spent in the supplier and the count of processed entities are recorded on the given meters.
  *
  * @param <T> the entity that is processed
  */
@@ -33,9 +38,17 @@ public class EntitiesProcessor<T> {
 
     private final Supplier<Collection<T>> entities;
     private final Predicate<Boolean> isProcessed = it -> it;
+    private final Timer supplierTimer;
+    private final Counter processedCounter;
 
     public EntitiesProcessor(Supplier<Collection<T>> entitiesSupplier) {
+        this(entitiesSupplier, NoopMetricRegistry.INSTANCE.timer("noop"), NoopMetricRegistry.INSTANCE.counter("noop"));
+    }
+
+    public EntitiesProcessor(Supplier<Collection<T>> entitiesSupplier, Timer supplierTimer, Counter processedCounter) {
         this.entities = entitiesSupplier;
+        this.supplierTimer = supplierTimer;
+        this.processedCounter = processedCounter;
     }
 
     /**
@@ -45,9 +58,11 @@ public class EntitiesProcessor<T> {
      * @return the processed entities count
      */
     public long doProcess(Function<T, Boolean> process) {
-        return entities.get().stream()
+        var processed = supplierTimer.record(entities).stream()
                 .map(process)
                 .filter(isProcessed)
                 .count();
+        processedCounter.increment(processed);
+        return processed;
     }
 }
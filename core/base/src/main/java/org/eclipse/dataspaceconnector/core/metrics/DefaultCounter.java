@@ -0,0 +1,44 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.core.metrics;
+
+import org.eclipse.dataspaceconnector.spi.metrics.Counter;
+import org.eclipse.dataspaceconnector.spi.metrics.MeterId;
+
+import java.util.concurrent.atomic.LongAdder;
+
+class DefaultCounter implements Counter {
+    private final MeterId id;
+    private final LongAdder count = new LongAdder();
+
+    DefaultCounter(MeterId id) {
+        this.id = id;
+    }
+
+    @Override
+    public void increment(long amount) {
+        count.add(amount);
+    }
+
+    @Override
+    public long count() {
+        return count.sum();
+    }
+
+    @Override
+    public MeterId getId() {
+        return id;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.core.metrics;
+
+import org.eclipse.dataspaceconnector.spi.metrics.Gauge;
+import org.eclipse.dataspaceconnector.spi.metrics.MeterId;
+
+import java.util.function.Supplier;
+
+class DefaultGauge implements Gauge {
+    private final MeterId id;
+    private final Supplier<Number> value;
+
+    DefaultGauge(MeterId id, Supplier<Number> value) {
+        this.id = id;
+        this.value = value;
+    }
+
+    @Override
+    public double value() {
+        try {
+            var number = value.get();
+            return number != null ? number.doubleValue() : Double.NaN;
+        } catch (RuntimeException e) {
+            // a failing gauge must not break reading the other meters
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public MeterId getId() {
+        return id;
+    }
+}
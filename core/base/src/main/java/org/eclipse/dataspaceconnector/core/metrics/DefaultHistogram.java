@@ -0,0 +1,76 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.core.metrics;
+
+import org.eclipse.dataspaceconnector.spi.metrics.Histogram;
+import org.eclipse.dataspaceconnector.spi.metrics.HistogramSnapshot;
+import org.eclipse.dataspaceconnector.spi.metrics.MeterId;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket histogram. Recording is a binary search over the bucket boundaries plus a few adder updates, no locking and no allocation.
+ */
+class DefaultHistogram implements Histogram {
+    private final MeterId id;
+    private final double[] buckets;
+    // one more than buckets for the values above the highest boundary
+    private final LongAdder[] counts;
+    private final DoubleAdder sum = new DoubleAdder();
+    private final DoubleAccumulator max = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+
+    DefaultHistogram(MeterId id, double[] buckets) {
+        for (var i = 1; i < buckets.length; i++) {
+            if (buckets[i] <= buckets[i - 1]) {
+                throw new IllegalArgumentException("Bucket boundaries must be ascending: " + Arrays.toString(buckets));
+            }
+        }
+        this.id = id;
+        this.buckets = buckets.clone();
+        counts = new LongAdder[buckets.length + 1];
+        for (var i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void record(double value) {
+        // the count is updated last, so a snapshot that counts the value also sees its maximum
+        max.accumulate(value);
+        sum.add(value);
+        var index = Arrays.binarySearch(buckets, value);
+        counts[index >= 0 ? index : -index - 1].increment();
+    }
+
+    @Override
+    public HistogramSnapshot snapshot() {
+        var cumulative = new long[buckets.length];
+        var running = 0L;
+        for (var i = 0; i < buckets.length; i++) {
+            running += counts[i].sum();
+            cumulative[i] = running;
+        }
+        var count = running + counts[buckets.length].sum();
+        return new HistogramSnapshot(count, sum.sum(), count == 0 ? 0 : max.get(), buckets.clone(), cumulative);
+    }
+
+    @Override
+    public MeterId getId() {
+        return id;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.core.metrics;
+
+import org.eclipse.dataspaceconnector.spi.metrics.Counter;
+import org.eclipse.dataspaceconnector.spi.metrics.Gauge;
+import org.eclipse.dataspaceconnector.spi.metrics.Histogram;
+import org.eclipse.dataspaceconnector.spi.metrics.Meter;
+import org.eclipse.dataspaceconnector.spi.metrics.MeterId;
+import org.eclipse.dataspaceconnector.spi.metrics.MetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.Timer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory registry whose meters are backed by {@link java.util.concurrent.atomic.LongAdder}s, so concurrent recordings do not contend on a
+ * single field. Lookups of existing meters are a single {@link ConcurrentHashMap#get(Object)}.
+ */
+public class DefaultMetricRegistry implements MetricRegistry {
+    /**
+     * Default timer buckets in seconds, from 1 ms to 10 s.
+     */
+    static final double[] DEFAULT_TIMER_BUCKETS = {0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+    static final double[] DEFAULT_HISTOGRAM_BUCKETS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000};
+
+    private final Map<MeterId, Meter> meters = new ConcurrentHashMap<>();
+
+    @Override
+    public Counter counter(String name, String... tags) {
+        return getOrCreate(MeterId.of(name, tags), Counter.class, DefaultCounter::new);
+    }
+
+    @Override
+    public Gauge gauge(String name, Supplier<Number> value, String... tags) {
+        return getOrCreate(MeterId.of(name, tags), Gauge.class, id -> new DefaultGauge(id, value));
+    }
+
+    @Override
+    public Timer timer(String name, String... tags) {
+        return getOrCreate(MeterId.of(name, tags), Timer.class, id -> new DefaultTimer(id, DEFAULT_TIMER_BUCKETS));
+    }
+
+    @Override
+    public Histogram histogram(String name, String... tags) {
+        return histogram(name, DEFAULT_HISTOGRAM_BUCKETS, tags);
+    }
+
+    @Override
+    public Histogram histogram(String name, double[] buckets, String... tags) {
+        return getOrCreate(MeterId.of(name, tags), Histogram.class, id -> new DefaultHistogram(id, buckets));
+    }
+
+    @Override
+    public Collection<Meter> getMeters() {
+        return Collections.unmodifiableCollection(meters.values());
+    }
+
+    private <M extends Meter> M getOrCreate(MeterId id, Class<M> type, Function<MeterId, M> factory) {
+        var meter = meters.get(id);
+        if (meter == null) {
+            meter = meters.computeIfAbsent(id, factory);
+        }
+        if (!type.isInstance(meter)) {
+            throw new IllegalArgumentException(String.format("Meter %s is already registered as %s", id, meter.getType()));
+        }
+        return type.cast(meter);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.core.metrics;
+
+import org.eclipse.dataspaceconnector.spi.metrics.HistogramSnapshot;
+import org.eclipse.dataspaceconnector.spi.metrics.MeterId;
+import org.eclipse.dataspaceconnector.spi.metrics.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+class DefaultTimer implements Timer {
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final MeterId id;
+    private final DefaultHistogram histogram;
+
+    DefaultTimer(MeterId id, double[] buckets) {
+        this.id = id;
+        histogram = new DefaultHistogram(id, buckets);
+    }
+
+    @Override
+    public void record(long amount, TimeUnit unit) {
+        histogram.record(unit.toNanos(amount) / NANOS_PER_SECOND);
+    }
+
+    @Override
+    public HistogramSnapshot snapshot() {
+        return histogram.snapshot();
+    }
+
+    @Override
+    public MeterId getId() {
+        return id;
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.core.monitor;
+
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Monitor} that hands log events over to a background writer instead of formatting and writing them on the calling thread. Events are
+ * queued in a lock-free {@link RingBuffer} and passed to the delegate monitor in batches by a single writer thread, which flushes the delegate
+ * after each batch if it is {@link Flushable}.
+ * <p>
+ * Messages are evaluated on the calling thread, so suppliers may safely capture mutable state. If the buffer is full, the
+ * {@link OverflowPolicy} decides whether the caller waits for room or the event is dropped. Severe events are never dropped. The number of
+ * dropped events is reported as a warning once there is room again.
+ * <p>
+ * The writer parks while the buffer is empty and is unparked by the next event. On {@link #close()} it writes all queued events and then hands
+ * over: events published after the handover are written on the calling thread, after any events that were still queued.
+ */
+public class AsyncMonitor implements Monitor, AutoCloseable {
+    private static final int RUNNING = 0;
+    private static final int CLOSING = 1;
+    private static final int CLOSED = 2;
+
+    private final Monitor delegate;
+    private final AtomicLong dropped = new AtomicLong();
+    private RingBuffer<LogEvent> buffer;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private ConsoleMonitor.Level level = ConsoleMonitor.Level.DEBUG;
+    private int batchSize = 256;
+    private final Object handover = new Object();
+    private Thread writer;
+    private volatile int state = RUNNING;
+    private volatile boolean writerIdle;
+
+    private AsyncMonitor(Monitor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void severe(Supplier<String> supplier, Throwable... errors) {
+        enqueue(ConsoleMonitor.Level.SEVERE, supplier, errors);
+    }
+
+    @Override
+    public void severe(Map<String, Object> data) {
+        publish(new LogEvent(ConsoleMonitor.Level.SEVERE, null, null, data));
+    }
+
+    @Override
+    public void warning(Supplier<String> supplier, Throwable... errors) {
+        enqueue(ConsoleMonitor.Level.WARNING, supplier, errors);
+    }
+
+    @Override
+    public void info(Supplier<String> supplier, Throwable... errors) {
+        enqueue(ConsoleMonitor.Level.INFO, supplier, errors);
+    }
+
+    @Override
+    public void debug(Supplier<String> supplier, Throwable... errors) {
+        enqueue(ConsoleMonitor.Level.DEBUG, supplier, errors);
+    }
+
+    /**
+     * Stops the writer after it has written all queued events.
+     */
+    @Override
+    public void close() {
+        state = CLOSING;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    long getDroppedCount() {
+        return dropped.get();
+    }
+
+    Thread getWriter() {
+        return writer;
+    }
+
+    private void enqueue(ConsoleMonitor.Level eventLevel, Supplier<String> supplier, Throwable... errors) {
+        if (eventLevel.compareTo(level) > 0) {
+            return;
+        }
+        publish(new LogEvent(eventLevel, supplier.get(), errors, null));
+    }
+
+    private void publish(LogEvent event) {
+        if (state == CLOSED) {
+            writeAfterHandover(event);
+            return;
+        }
+        if (buffer.offer(event)) {
+            afterOffer();
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP && event.level != ConsoleMonitor.Level.SEVERE) {
+            dropped.incrementAndGet();
+            return;
+        }
+        LockSupport.unpark(writer);
+        while (!buffer.offer(event)) {
+            if (state == CLOSED) {
+                writeAfterHandover(event);
+                return;
+            }
+            Thread.onSpinWait();
+            Thread.yield();
+        }
+        afterOffer();
+    }
+
+    private void afterOffer() {
+        if (state == CLOSED) {
+            // the writer may have handed over before it could see the event
+            writeAfterHandover(null);
+        } else if (writerIdle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Writes the events that are still queued and then the given one on the calling thread. Only called once the writer has handed over.
+     */
+    private void writeAfterHandover(LogEvent event) {
+        synchronized (handover) {
+            drainAndWrite(new ArrayList<>());
+            if (event != null) {
+                write(event);
+                flush();
+            }
+        }
+    }
+
+    private void run() {
+        var batch = new ArrayList<LogEvent>(batchSize);
+        while (true) {
+            if (drainAndWrite(batch) > 0) {
+                continue;
+            }
+            if (state != RUNNING) {
+                break;
+            }
+            writerIdle = true;
+            // the tail is checked rather than the published events, so that an offer racing with going idle is never missed
+            if (buffer.size() == 0 && state == RUNNING) {
+                LockSupport.park(this);
+            } else {
+                Thread.onSpinWait();
+            }
+            writerIdle = false;
+        }
+        synchronized (handover) {
+            state = CLOSED;
+            drainAndWrite(batch);
+        }
+    }
+
+    private int drainAndWrite(List<LogEvent> batch) {
+        var total = 0;
+        int drained;
+        while ((drained = buffer.drainTo(batch, batchSize)) > 0) {
+            for (var event : batch) {
+                write(event);
+            }
+            batch.clear();
+            reportDropped();
+            flush();
+            total += drained;
+        }
+        return total;
+    }
+
+    private void write(LogEvent event) {
+        try {
+            if (delegate instanceof JsonLinesMonitor) {
+                ((JsonLinesMonitor) delegate).write(event.level, event.timestamp, event.thread, event.message, event.data, event.errors);
+                return;
+            }
+            if (event.data != null) {
+                delegate.severe(event.data);
+                return;
+            }
+            var errors = event.errors != null ? event.errors : new Throwable[0];
+            switch (event.level) {
+                case SEVERE:
+                    delegate.severe(event.message, errors);
+                    break;
+                case WARNING:
+                    delegate.warning(event.message, errors);
+                    break;
+                case INFO:
+                    delegate.info(event.message, errors);
+                    break;
+                default:
+                    delegate.debug(event.message, errors);
+            }
+        } catch (RuntimeException e) {
+            // a failing sink must not kill the writer
+        }
+    }
+
+    private void reportDropped() {
+        var count = dropped.getAndSet(0);
+        if (count > 0) {
+            write(new LogEvent(ConsoleMonitor.Level.WARNING, count + " log events were dropped because the monitor buffer was full", null, null));
+        }
+    }
+
+    private void flush() {
+        if (delegate instanceof Flushable) {
+            try {
+                ((Flushable) delegate).flush();
+            } catch (IOException e) {
+                // nothing sensible to do, the next batch tries again
+            }
+        }
+    }
+
+    /**
+     * What happens to an event that does not fit into the buffer.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The caller waits until the writer has made room.
+         */
+        BLOCK,
+        /**
+         * The event is discarded, unless it is severe.
+         */
+        DROP
+    }
+
+    private static class LogEvent {
+        private final ConsoleMonitor.Level level;
+        private final long timestamp;
+        private final String thread;
+        private final String message;
+        private final Throwable[] errors;
+        private final Map<String, Object> data;
+
+        LogEvent(ConsoleMonitor.Level level, String message, Throwable[] errors, Map<String, Object> data) {
+            this.level = level;
+            this.timestamp = System.currentTimeMillis();
+            this.thread = Thread.currentThread().getName();
+            this.message = message;
+            this.errors = errors;
+            this.data = data;
+        }
+    }
+
+    public static class Builder {
+        private final AsyncMonitor monitor;
+        private int capacity = 8192;
+
+        private Builder(Monitor delegate) {
+            monitor = new AsyncMonitor(delegate);
+        }
+
+        public static Builder newInstance(Monitor delegate) {
+            return new Builder(delegate);
+        }
+
+        /**
+         * The number of events that can be queued, rounded up to the next power of two.
+         */
+        public Builder capacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+            monitor.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * The most verbose level that is queued, events below it are discarded on the calling thread.
+         */
+        public Builder level(ConsoleMonitor.Level level) {
+            monitor.level = level;
+            return this;
+        }
+
+        /**
+         * The maximum number of events the writer passes to the delegate before flushing it.
+         */
+        public Builder batchSize(int batchSize) {
+            monitor.batchSize = batchSize;
+            return this;
+        }
+
+        public AsyncMonitor build() {
+            Objects.requireNonNull(monitor.delegate, "delegate");
+            monitor.buffer = new RingBuffer<>(capacity);
+            monitor.writer = new Thread(monitor::run, "edc-monitor-writer");
+            monitor.writer.setDaemon(true);
+            monitor.writer.start();
+            return monitor;
+        }
+    }
+}
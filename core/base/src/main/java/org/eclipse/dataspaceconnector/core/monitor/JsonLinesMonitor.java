@@ -0,0 +1,209 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.core.monitor;
+
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Writes log events as JSON lines, one object per event:
+ * <pre>
+ * {"timestamp":"2022-01-01T12:00:00.000Z","level":"INFO","thread":"main","message":"...","errors":["..."]}
+ * </pre>
+ * Events are serialized into a reused buffer without an intermediate object tree, so the allocations per event are limited to the timestamp
+ * and any stack traces. The output is flushed after every event unless the monitor is wrapped by an {@link AsyncMonitor}, which flushes once
+ * per batch.
+ */
+public class JsonLinesMonitor implements Monitor, Flushable {
+    private final Writer writer;
+    private final boolean autoFlush;
+    private final ConsoleMonitor.Level level;
+    private final StringBuilder line = new StringBuilder(256);
+    private char[] chars = new char[256];
+
+    public JsonLinesMonitor(OutputStream outputStream) {
+        this(outputStream, ConsoleMonitor.Level.DEBUG, true);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param outputStream the stream to write to
+     * @param level the most verbose level that is written
+     * @param autoFlush whether to flush after every event
+     */
+    public JsonLinesMonitor(OutputStream outputStream, ConsoleMonitor.Level level, boolean autoFlush) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        this.level = level;
+        this.autoFlush = autoFlush;
+    }
+
+    @Override
+    public void severe(Supplier<String> supplier, Throwable... errors) {
+        log(ConsoleMonitor.Level.SEVERE, supplier, errors);
+    }
+
+    @Override
+    public void severe(Map<String, Object> data) {
+        write(ConsoleMonitor.Level.SEVERE, System.currentTimeMillis(), Thread.currentThread().getName(), null, data);
+        flushIfAuto();
+    }
+
+    @Override
+    public void warning(Supplier<String> supplier, Throwable... errors) {
+        log(ConsoleMonitor.Level.WARNING, supplier, errors);
+    }
+
+    @Override
+    public void info(Supplier<String> supplier, Throwable... errors) {
+        log(ConsoleMonitor.Level.INFO, supplier, errors);
+    }
+
+    @Override
+    public void debug(Supplier<String> supplier, Throwable... errors) {
+        log(ConsoleMonitor.Level.DEBUG, supplier, errors);
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Writes an event that was recorded at the given time on the given thread.
+     */
+    synchronized void write(ConsoleMonitor.Level eventLevel, long timestamp, String thread, String message, Map<String, Object> data, Throwable... errors) {
+        if (eventLevel.compareTo(level) > 0) {
+            return;
+        }
+        line.setLength(0);
+        line.append("{\"timestamp\":\"");
+        DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(timestamp), line);
+        line.append("\",\"level\":\"").append(eventLevel.name());
+        line.append("\",\"thread\":");
+        appendString(thread);
+        if (message != null) {
+            line.append(",\"message\":");
+            appendString(message);
+        }
+        if (data != null && !data.isEmpty()) {
+            line.append(",\"data\":{");
+            var first = true;
+            for (var entry : data.entrySet()) {
+                if (!first) {
+                    line.append(',');
+                }
+                first = false;
+                appendString(entry.getKey());
+                line.append(':');
+                appendString(String.valueOf(entry.getValue()));
+            }
+            line.append('}');
+        }
+        if (errors != null && errors.length > 0) {
+            line.append(",\"errors\":[");
+            var first = true;
+            for (var error : errors) {
+                if (error == null) {
+                    continue;
+                }
+                if (!first) {
+                    line.append(',');
+                }
+                first = false;
+                appendString(stackTrace(error));
+            }
+            line.append(']');
+        }
+        line.append("}\n");
+        try {
+            if (chars.length < line.length()) {
+                chars = new char[Math.max(line.length(), chars.length * 2)];
+            }
+            line.getChars(0, line.length(), chars, 0);
+            writer.write(chars, 0, line.length());
+        } catch (IOException e) {
+            // logging must never fail the caller
+        }
+    }
+
+    private void log(ConsoleMonitor.Level eventLevel, Supplier<String> supplier, Throwable... errors) {
+        if (eventLevel.compareTo(level) > 0) {
+            return;
+        }
+        write(eventLevel, System.currentTimeMillis(), Thread.currentThread().getName(), supplier.get(), null, errors);
+        flushIfAuto();
+    }
+
+    private void flushIfAuto() {
+        if (autoFlush) {
+            try {
+                flush();
+            } catch (IOException e) {
+                // logging must never fail the caller
+            }
+        }
+    }
+
+    private void appendString(String value) {
+        line.append('"');
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+
+    private static String stackTrace(Throwable error) {
+        var stringWriter = new StringWriter();
+        error.printStackTrace(new PrintWriter(stringWriter));
+        return stringWriter.toString();
+    }
+}
@@ -4,8 +4,10 @@ import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.system.Config;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Map.entry;
@@ -244,4 +246,61 @@ class ConfigImplTest {
         assertThat(node).isEqualTo("subgroup");
     }
 
-}
\ No newline at end of file
+    @Test
+    void getConfigShouldNotIncludeSiblingsSharingThePrefix() {
+        var config = new ConfigImpl("", Map.of("group.key", "value", "groupies.key", "anotherValue"));
+
+        var entries = config.getConfig("group").getEntries();
+
+        assertThat(entries).containsExactly(entry("group.key", "value"));
+    }
+
+    @Test
+    void getConfigForUnknownPathShouldBeEmpty() {
+        var config = new ConfigImpl("", Map.of("group.key", "value"));
+
+        var subConfig = config.getConfig("unknown.path");
+
+        assertThat(subConfig.getEntries()).isEmpty();
+        assertThat(subConfig.getString("key", "default")).isEqualTo("default");
+        assertThat(subConfig.currentNode()).isEqualTo("path");
+    }
+
+    @Test
+    void isLeafShouldBeTrueOnlyForValuesWithoutChildren() {
+        var config = new ConfigImpl("", Map.of("group.key", "value", "group.key2", "value", "group.key2.child", "value"));
+
+        assertThat(config.getConfig("group.key").isLeaf()).isTrue();
+        assertThat(config.getConfig("group.key2").isLeaf()).isFalse();
+        assertThat(config.getConfig("group").isLeaf()).isFalse();
+    }
+
+    @Test
+    void parsedValuesShouldBeMemoised() {
+        var node = ConfigNode.of(Map.of("key", "1"));
+        var parsed = new AtomicInteger();
+
+        var valueNode = node.find("key");
+        valueNode.getParsedValue("integer", value -> parsed.incrementAndGet());
+        valueNode.getParsedValue("integer", value -> parsed.incrementAndGet());
+
+        assertThat(parsed.get()).isEqualTo(1);
+    }
+
+    @Test
+    void getConfigWithManyKeysShouldOnlyContainTheEntriesOfTheGroup() {
+        var entries = new HashMap<String, String>();
+        for (var i = 0; i < 10_000; i++) {
+            entries.put("edc.group" + (i % 100) + ".key" + i, String.valueOf(i));
+        }
+        var config = new ConfigImpl("", entries);
+
+        for (var group = 0; group < 100; group++) {
+            var subConfig = config.getConfig("edc.group" + group);
+
+            assertThat(subConfig.getEntries()).hasSize(100);
+            assertThat(subConfig.getInteger("key" + group)).isEqualTo(group);
+        }
+    }
+
+}
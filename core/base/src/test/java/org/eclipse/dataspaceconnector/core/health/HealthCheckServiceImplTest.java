@@ -9,6 +9,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
@@ -204,6 +206,145 @@ class HealthCheckServiceImplTest {
                 });
     }
 
+    @Test
+    void slowProviderIsDegradedWithoutFailingTheProbe() {
+        var release = new CountDownLatch(1);
+        service.addLivenessProvider(() -> {
+            awaitRelease(release);
+            return HealthCheckResult.Builder.newInstance().component("slow").build();
+        }, PERIOD, Duration.ofMillis(200));
+        service.addLivenessProvider(() -> HealthCheckResult.Builder.newInstance().component("fast").build());
+
+        try {
+            await().pollInterval(POLL_INTERVAL)
+                    .atMost(AWAIT_TIMEOUT)
+                    .untilAsserted(() -> {
+                        var results = service.isLive().getComponentResults();
+                        assertThat(results).hasSize(2);
+                        assertThat(results).anyMatch(result -> "fast".equals(result.getComponent()) && result.succeeded());
+                        assertThat(results).anyMatch(result -> HealthCheckServiceImpl.DEGRADED.equals(result.getDetails().get("status")));
+                    });
+            assertThat(service.isLive().isHealthy()).isTrue();
+        } finally {
+            release.countDown();
+        }
+
+        await().pollInterval(POLL_INTERVAL)
+                .atMost(AWAIT_TIMEOUT)
+                .untilAsserted(() -> assertThat(service.isLive().getComponentResults()).noneMatch(result -> result.getDetails().containsKey("status")));
+    }
+
+    @Test
+    void degradedProviderKeepsLastCompletedResult() {
+        var calls = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        service.addReadinessProvider(() -> {
+            if (calls.incrementAndGet() > 1) {
+                awaitRelease(release);
+            }
+            return HealthCheckResult.Builder.newInstance().component("db").failure("connection refused").build();
+        }, Duration.ofMillis(50), Duration.ofMillis(100));
+
+        try {
+            await().pollInterval(POLL_INTERVAL)
+                    .atMost(AWAIT_TIMEOUT)
+                    .untilAsserted(() -> assertThat(service.isReady().getComponentResults()).singleElement().satisfies(result -> {
+                        assertThat(result.getComponent()).isEqualTo("db");
+                        assertThat(result.failed()).isTrue();
+                        assertThat(result.getFailureMessages()).containsExactly("connection refused");
+                        assertThat(result.getDetails()).containsEntry("status", HealthCheckServiceImpl.DEGRADED);
+                    }));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void providersAreNotTimedOutByDefault() {
+        var release = new CountDownLatch(1);
+        service.addLivenessProvider(() -> HealthCheckResult.Builder.newInstance().component("first").build());
+        service.addLivenessProvider(() -> {
+            awaitRelease(release);
+            return successResult();
+        });
+
+        try {
+            await().pollDelay(Duration.ofMillis(500))
+                    .atMost(AWAIT_TIMEOUT)
+                    .untilAsserted(() -> assertThat(service.isLive().getComponentResults()).singleElement()
+                            .satisfies(result -> assertThat(result.getComponent()).isEqualTo("first")));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void slowProviderIsNotCalledConcurrently() {
+        var calls = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        service.addReadinessProvider(() -> {
+            calls.incrementAndGet();
+            awaitRelease(release);
+            return successResult();
+        }, Duration.ofMillis(50), Duration.ofMillis(100));
+
+        await().pollDelay(Duration.ofMillis(500))
+                .atMost(AWAIT_TIMEOUT)
+                .untilAsserted(() -> assertThat(service.isReady().getComponentResults()).hasSize(1));
+        service.refresh();
+
+        assertThat(calls.get()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void providersHaveIndependentPeriods() {
+        var fastCalls = new AtomicInteger();
+        var slowCalls = new AtomicInteger();
+        service.addReadinessProvider(() -> {
+            fastCalls.incrementAndGet();
+            return successResult();
+        }, Duration.ofMillis(50), Duration.ofSeconds(1));
+        service.addReadinessProvider(() -> {
+            slowCalls.incrementAndGet();
+            return successResult();
+        }, Duration.ofSeconds(10), Duration.ofSeconds(1));
+
+        await().pollInterval(POLL_INTERVAL)
+                .atMost(AWAIT_TIMEOUT)
+                .untilAsserted(() -> assertThat(fastCalls.get()).isGreaterThanOrEqualTo(5));
+        assertThat(slowCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void statusIsServedFromCacheWhileProvidersHang() {
+        var release = new CountDownLatch(1);
+        for (var i = 0; i < 3; i++) {
+            service.addLivenessProvider(() -> {
+                awaitRelease(release);
+                return successResult();
+            }, PERIOD, Duration.ofMillis(100));
+        }
+        try {
+            await().atMost(AWAIT_TIMEOUT).untilAsserted(() -> assertThat(service.isLive().getComponentResults()).hasSize(3));
+
+            // the providers cannot return before the latch is released, so the status can only come from the cache
+            var status = service.isLive();
+            assertThat(status.isHealthy()).isTrue();
+            assertThat(status.getComponentResults()).allSatisfy(result -> assertThat(result.getDetails()).containsEntry("status", HealthCheckServiceImpl.DEGRADED));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void awaitRelease(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private HealthCheckResult failedResult() {
         return HealthCheckResult.failed("test-error");
     }
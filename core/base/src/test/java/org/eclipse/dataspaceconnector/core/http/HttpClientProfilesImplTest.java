@@ -0,0 +1,194 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.core.http;
+
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.eclipse.dataspaceconnector.core.config.ConfigFactory;
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.eclipse.dataspaceconnector.spi.http.HttpClientProfiles.DEFAULT_PROFILE;
+
+class HttpClientProfilesImplTest {
+    private static final int CONCURRENT_CALLS = 40;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private HttpClientProfilesImpl profiles;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            pending.incrementAndGet();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            pending.decrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        serverExecutor = Executors.newFixedThreadPool(CONCURRENT_CALLS);
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (profiles != null) {
+            profiles.shutdown();
+        }
+        release.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void verifyDefaults() {
+        profiles = HttpClientProfilesImpl.from(ConfigFactory.empty());
+
+        var client = profiles.getClient(DEFAULT_PROFILE);
+
+        assertThat(profiles.getProfileNames()).containsExactly(DEFAULT_PROFILE);
+        assertThat(client.dispatcher().getMaxRequests()).isEqualTo(64);
+        assertThat(client.dispatcher().getMaxRequestsPerHost()).isEqualTo(5);
+        assertThat(client.connectTimeoutMillis()).isEqualTo(30_000);
+        assertThat(client.readTimeoutMillis()).isEqualTo(30_000);
+        assertThat(client.protocols()).containsExactly(Protocol.HTTP_2, Protocol.HTTP_1_1);
+    }
+
+    @Test
+    void verifyProfilesInheritFromDefault() {
+        profiles = HttpClientProfilesImpl.from(ConfigFactory.fromMap(Map.of(
+                "edc.http.client.max-requests-per-host", "20",
+                "edc.http.client.read-timeout", "60",
+                "edc.http.client.profiles.data-plane.max-requests", "256",
+                "edc.http.client.profiles.data-plane.max-requests-per-host", "64",
+                "edc.http.client.profiles.data-plane.protocol", "http1")));
+
+        var defaultClient = profiles.getClient(DEFAULT_PROFILE);
+        var dataPlaneClient = profiles.getClient("data-plane");
+
+        assertThat(profiles.getProfileNames()).containsExactlyInAnyOrder(DEFAULT_PROFILE, "data-plane");
+        assertThat(defaultClient.dispatcher().getMaxRequestsPerHost()).isEqualTo(20);
+        assertThat(dataPlaneClient.dispatcher().getMaxRequests()).isEqualTo(256);
+        assertThat(dataPlaneClient.dispatcher().getMaxRequestsPerHost()).isEqualTo(64);
+        assertThat(dataPlaneClient.readTimeoutMillis()).isEqualTo(60_000);
+        assertThat(dataPlaneClient.protocols()).containsExactly(Protocol.HTTP_1_1);
+        // profiles must not share request slots or connections
+        assertThat(dataPlaneClient.dispatcher()).isNotSameAs(defaultClient.dispatcher());
+        assertThat(dataPlaneClient.connectionPool()).isNotSameAs(defaultClient.connectionPool());
+    }
+
+    @Test
+    void verifyUnknownProfileFallsBackToDefault() {
+        profiles = HttpClientProfilesImpl.from(ConfigFactory.empty());
+
+        assertThat(profiles.getClient("unknown")).isSameAs(profiles.getClient(DEFAULT_PROFILE));
+    }
+
+    @Test
+    void verifyPriorKnowledge() {
+        profiles = HttpClientProfilesImpl.from(ConfigFactory.fromMap(Map.of("edc.http.client.protocol", "h2c")));
+
+        assertThat(profiles.getClient(DEFAULT_PROFILE).protocols()).containsExactly(Protocol.H2_PRIOR_KNOWLEDGE);
+    }
+
+    @Test
+    void verifyInvalidSettings() {
+        assertThatThrownBy(() -> HttpClientProfilesImpl.from(ConfigFactory.fromMap(Map.of("edc.http.client.protocol", "spdy"))))
+                .isInstanceOf(EdcException.class);
+        assertThatThrownBy(() -> HttpClientProfilesImpl.from(ConfigFactory.fromMap(Map.of("edc.http.client.max-requests-per-host", "0"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Sends concurrent calls to a single local host that holds them until released. The default profile is limited to five requests per
+     * host, a profile with a raised limit sends all calls at once.
+     */
+    @Test
+    void verifyRequestsPerHost() {
+        profiles = new HttpClientProfilesImpl(Map.of(
+                DEFAULT_PROFILE, HttpClientConfiguration.defaultConfiguration(),
+                "tuned", HttpClientConfiguration.Builder.newInstance()
+                        .maxRequests(CONCURRENT_CALLS)
+                        .maxRequestsPerHost(CONCURRENT_CALLS)
+                        .maxIdleConnections(CONCURRENT_CALLS)
+                        .keepAlive(Duration.ofMinutes(1))
+                        .protocols(List.of(Protocol.HTTP_1_1))
+                        .build()));
+
+        assertThat(maxConcurrentRequests(profiles.getClient(DEFAULT_PROFILE))).isEqualTo(5);
+        assertThat(maxConcurrentRequests(profiles.getClient("tuned"))).isEqualTo(CONCURRENT_CALLS);
+    }
+
+    private int maxConcurrentRequests(OkHttpClient client) {
+        var url = "http://localhost:" + server.getAddress().getPort() + "/";
+        var completed = new AtomicInteger();
+        var succeeded = new AtomicInteger();
+        release = new CountDownLatch(1);
+        for (var i = 0; i < CONCURRENT_CALLS; i++) {
+            client.newCall(new Request.Builder().url(url).build()).enqueue(new Callback() {
+                @Override
+                public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                    completed.incrementAndGet();
+                }
+
+                @Override
+                public void onResponse(@NotNull Call call, @NotNull Response response) {
+                    if (response.isSuccessful()) {
+                        succeeded.incrementAndGet();
+                    }
+                    response.close();
+                    completed.incrementAndGet();
+                }
+            });
+        }
+        var dispatcher = client.dispatcher();
+        await().atMost(Duration.ofSeconds(10)).until(() -> dispatcher.runningCallsCount() == pending.get());
+        var running = dispatcher.runningCallsCount();
+        release.countDown();
+        await().atMost(Duration.ofSeconds(30)).until(() -> completed.get() == CONCURRENT_CALLS);
+        assertThat(succeeded.get()).isEqualTo(CONCURRENT_CALLS);
+        return running;
+    }
+}
@@ -1,5 +1,6 @@
 package org.eclipse.dataspaceconnector.core.manager;
 
+import org.eclipse.dataspaceconnector.core.metrics.DefaultMetricRegistry;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
@@ -25,4 +26,17 @@ class EntitiesProcessorTest {
 
         assertThat(count).isEqualTo(0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRecordSupplierTimeAndProcessedCount() {
+        var metrics = new DefaultMetricRegistry();
+        var timer = metrics.timer("supplier");
+        var counter = metrics.counter("processed");
+        var processor = new EntitiesProcessor<>(() -> List.of("one", "two", "three"), timer, counter);
+
+        processor.doProcess(string -> !string.equals("two"));
+
+        assertThat(timer.snapshot().getCount()).isEqualTo(1);
+        assertThat(counter.count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.core.metrics;
+
+import org.eclipse.dataspaceconnector.spi.metrics.Meter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DefaultMetricRegistryTest {
+    private DefaultMetricRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new DefaultMetricRegistry();
+    }
+
+    @Test
+    void verifySameIdReturnsSameMeter() {
+        var counter = registry.counter("edc.test", "a", "1", "b", "2");
+
+        assertThat(registry.counter("edc.test", "b", "2", "a", "1")).isSameAs(counter);
+        assertThat(registry.counter("edc.test", "a", "2", "b", "2")).isNotSameAs(counter);
+        assertThat(registry.getMeters()).hasSize(2);
+    }
+
+    @Test
+    void verifyTypeConflict() {
+        registry.counter("edc.test");
+
+        assertThatThrownBy(() -> registry.timer("edc.test")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void verifyOddTagsRejected() {
+        assertThatThrownBy(() -> registry.counter("edc.test", "key")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void verifyCounter() {
+        var counter = registry.counter("edc.test");
+
+        counter.increment();
+        counter.increment(4);
+
+        assertThat(counter.count()).isEqualTo(5);
+        assertThat(counter.getType()).isEqualTo(Meter.Type.COUNTER);
+    }
+
+    @Test
+    void verifyGaugeIsSampledOnRead() {
+        var value = new AtomicInteger();
+        var gauge = registry.gauge("edc.test", value::get);
+
+        value.set(42);
+
+        assertThat(gauge.value()).isEqualTo(42);
+    }
+
+    @Test
+    void verifyFailingGaugeReturnsNaN() {
+        var gauge = registry.gauge("edc.test", () -> {
+            throw new IllegalStateException();
+        });
+
+        assertThat(gauge.value()).isNaN();
+    }
+
+    @Test
+    void verifyHistogramBucketsAreCumulative() {
+        var histogram = registry.histogram("edc.test", new double[]{1, 10, 100});
+
+        histogram.record(0.5);
+        histogram.record(1);
+        histogram.record(50);
+        histogram.record(500);
+
+        var snapshot = histogram.snapshot();
+        assertThat(snapshot.getBucketCounts()).containsExactly(2, 2, 3);
+        assertThat(snapshot.getCount()).isEqualTo(4);
+        assertThat(snapshot.getSum()).isEqualTo(551.5);
+        assertThat(snapshot.getMax()).isEqualTo(500);
+    }
+
+    @Test
+    void verifyHistogramMaxOfNegativeValues() {
+        var histogram = registry.histogram("edc.test", new double[]{-10, 0});
+
+        assertThat(histogram.snapshot().getMax()).isEqualTo(0);
+
+        histogram.record(-20);
+        histogram.record(-5);
+
+        assertThat(histogram.snapshot().getMax()).isEqualTo(-5);
+    }
+
+    @Test
+    void verifyTimerRecordsSeconds() {
+        var timer = registry.timer("edc.test");
+
+        timer.record(20, TimeUnit.MILLISECONDS);
+        var result = timer.record(() -> "done");
+
+        var snapshot = timer.snapshot();
+        assertThat(result).isEqualTo("done");
+        assertThat(snapshot.getCount()).isEqualTo(2);
+        assertThat(snapshot.getMax()).isEqualTo(0.02);
+    }
+
+    @Test
+    void verifyConcurrentRecording() throws Exception {
+        var threads = 4;
+        var iterations = 10_000;
+        var counter = registry.counter("edc.test.counter");
+        var timer = registry.timer("edc.test.timer");
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (var t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (var i = 0; i < iterations; i++) {
+                        counter.increment();
+                        timer.record(1, TimeUnit.MICROSECONDS);
+                        registry.counter("edc.test.counter", "state", "INITIAL").increment();
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+
+            assertThat(counter.count()).isEqualTo((long) threads * iterations);
+            assertThat(timer.snapshot().getCount()).isEqualTo((long) threads * iterations);
+            assertThat(registry.counter("edc.test.counter", "state", "INITIAL").count()).isEqualTo((long) threads * iterations);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
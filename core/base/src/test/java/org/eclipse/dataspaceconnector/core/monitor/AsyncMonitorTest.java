@@ -0,0 +1,188 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.core.monitor;
+
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class AsyncMonitorTest {
+
+    @Test
+    void verifyEventsAreWrittenInOrderOnWriterThread() {
+        var delegate = new RecordingMonitor();
+        try (var monitor = AsyncMonitor.Builder.newInstance(delegate).build()) {
+            monitor.info("first");
+            monitor.warning("second");
+            monitor.debug(() -> "third");
+
+            await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(delegate.messages).containsExactly("INFO first", "WARNING second", "DEBUG third"));
+            assertThat(delegate.threads).containsOnly("edc-monitor-writer");
+        }
+    }
+
+    @Test
+    void verifyLevelFiltersOnCallingThread() {
+        var delegate = new RecordingMonitor();
+        try (var monitor = AsyncMonitor.Builder.newInstance(delegate).level(ConsoleMonitor.Level.INFO).build()) {
+            monitor.debug(() -> {
+                throw new AssertionError("must not be evaluated");
+            });
+            monitor.info("info");
+
+            await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(delegate.messages).containsExactly("INFO info"));
+        }
+    }
+
+    @Test
+    void verifyDropPolicyNeverDropsSevereEvents() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        var delegate = new RecordingMonitor() {
+            @Override
+            public void info(Supplier<String> supplier, Throwable... errors) {
+                awaitRelease(release);
+                super.info(supplier, errors);
+            }
+        };
+        try (var monitor = AsyncMonitor.Builder.newInstance(delegate).capacity(4).batchSize(1).overflowPolicy(AsyncMonitor.OverflowPolicy.DROP).build()) {
+            for (var i = 0; i < 20; i++) {
+                monitor.info("info " + i);
+            }
+            assertThat(monitor.getDroppedCount()).isPositive();
+
+            var severeLogged = new CountDownLatch(1);
+            var severeThread = new Thread(() -> {
+                monitor.severe("severe");
+                severeLogged.countDown();
+            });
+            severeThread.start();
+            release.countDown();
+
+            assertThat(severeLogged.await(5, TimeUnit.SECONDS)).isTrue();
+            await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(delegate.messages)
+                    .contains("SEVERE severe")
+                    .anyMatch(message -> message.startsWith("WARNING") && message.contains("dropped")));
+        }
+    }
+
+    @Test
+    void verifyCloseWritesQueuedEvents() {
+        var delegate = new RecordingMonitor();
+        var monitor = AsyncMonitor.Builder.newInstance(delegate).build();
+        for (var i = 0; i < 1000; i++) {
+            monitor.info("info " + i);
+        }
+
+        monitor.close();
+        monitor.info("after close");
+
+        assertThat(delegate.messages).hasSize(1001).endsWith("INFO after close");
+    }
+
+    @Test
+    void verifyEventsPublishedWhileClosingAreWrittenInOrder() throws InterruptedException {
+        var threads = 4;
+        var eventsPerThread = 2_000;
+        var delegate = new RecordingMonitor();
+        var monitor = AsyncMonitor.Builder.newInstance(delegate).capacity(64).build();
+        var started = new CountDownLatch(threads);
+        var workers = new ArrayList<Thread>();
+        for (var t = 0; t < threads; t++) {
+            var name = "worker-" + t;
+            workers.add(new Thread(() -> {
+                started.countDown();
+                for (var i = 0; i < eventsPerThread; i++) {
+                    monitor.info(name + " " + i);
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        started.await();
+
+        monitor.close();
+        for (var worker : workers) {
+            worker.join();
+        }
+
+        assertThat(delegate.messages).hasSize(threads * eventsPerThread);
+        for (var t = 0; t < threads; t++) {
+            var prefix = "INFO worker-" + t + " ";
+            var sequence = delegate.messages.stream().filter(message -> message.startsWith(prefix))
+                    .map(message -> Integer.parseInt(message.substring(prefix.length())))
+                    .collect(Collectors.toList());
+            assertThat(sequence).isSorted().hasSize(eventsPerThread);
+        }
+    }
+
+    @Test
+    void verifyIdleWriterWaitsForEvents() {
+        var delegate = new RecordingMonitor();
+        try (var monitor = AsyncMonitor.Builder.newInstance(delegate).build()) {
+            await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(monitor.getWriter().getState()).isEqualTo(Thread.State.WAITING));
+
+            monitor.info("wake up");
+
+            await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(delegate.messages).containsExactly("INFO wake up"));
+        }
+    }
+
+    private static void awaitRelease(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class RecordingMonitor implements Monitor {
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void severe(Supplier<String> supplier, Throwable... errors) {
+            record("SEVERE", supplier);
+        }
+
+        @Override
+        public void warning(Supplier<String> supplier, Throwable... errors) {
+            record("WARNING", supplier);
+        }
+
+        @Override
+        public void info(Supplier<String> supplier, Throwable... errors) {
+            record("INFO", supplier);
+        }
+
+        @Override
+        public void debug(Supplier<String> supplier, Throwable... errors) {
+            record("DEBUG", supplier);
+        }
+
+        private void record(String level, Supplier<String> supplier) {
+            messages.add(level + " " + supplier.get());
+            threads.add(Thread.currentThread().getName());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+plugins {
+    `java-library`
+    `maven-publish`
+}
+
+val jupiterVersion: String by project
+
+dependencies {
+    testImplementation("org.junit.jupiter:junit-jupiter-api:${jupiterVersion}")
+}
+
+publishing {
+    publications {
+        create<MavenPublication>("core-boot-processor") {
+            artifactId = "core-boot-processor"
+            from(components["java"])
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.boot.processor;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes an index of the service extensions of a module to {@value #INDEX_LOCATION} at compile time, so that the runtime does not have to
+ * discover the features and injection points of every extension reflectively during boot.
+ * <p>
+ * Each line of the index describes one extension as tab-separated columns:
+ * <ol>
+ *     <li>the binary name of the extension class</li>
+ *     <li>the features it provides ({@code @Provides}), comma-separated</li>
+ *     <li>the features it requires ({@code @Requires}), comma-separated</li>
+ *     <li>its injection points ({@code @Inject} fields), comma-separated, each as {@code declaringClass#field#feature#required}</li>
+ * </ol>
+ * Features are resolved the same way as at runtime: the value of the {@code @Feature} annotation of a type, or its class name if it has none.
+ * <p>
+ * The processor works on the language model only and does not depend on the SPI, so it can be put on the annotation processor path of any module.
+ */
+@SupportedAnnotationTypes("*")
+public class ExtensionIndexProcessor extends AbstractProcessor {
+    public static final String INDEX_LOCATION = "META-INF/edc/extension-index";
+
+    static final String SERVICE_EXTENSION = "org.eclipse.dataspaceconnector.spi.system.ServiceExtension";
+    static final String INJECT = "org.eclipse.dataspaceconnector.spi.system.Inject";
+    static final String PROVIDES = "org.eclipse.dataspaceconnector.spi.system.Provides";
+    static final String REQUIRES = "org.eclipse.dataspaceconnector.spi.system.Requires";
+    static final String FEATURE = "org.eclipse.dataspaceconnector.spi.system.Feature";
+
+    private final Map<String, String> entries = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        var extensionType = processingEnv.getElementUtils().getTypeElement(SERVICE_EXTENSION);
+        if (extensionType != null) {
+            var erasure = processingEnv.getTypeUtils().erasure(extensionType.asType());
+            ElementFilter.typesIn(roundEnv.getRootElements()).forEach(type -> collect(type, erasure));
+        }
+        if (roundEnv.processingOver() && !entries.isEmpty()) {
+            write();
+        }
+        // never claim annotations, other processors must still see them
+        return false;
+    }
+
+    private void collect(TypeElement type, TypeMirror extensionType) {
+        if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)
+                && processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type.asType()), extensionType)) {
+            entries.put(binaryName(type), describe(type));
+        }
+        ElementFilter.typesIn(type.getEnclosedElements()).forEach(nested -> collect(nested, extensionType));
+    }
+
+    private String describe(TypeElement type) {
+        return String.join("\t",
+                binaryName(type),
+                String.join(",", features(type, PROVIDES)),
+                String.join(",", features(type, REQUIRES)),
+                String.join(",", injectionPoints(type)));
+    }
+
+    private Collection<String> features(TypeElement type, String annotation) {
+        var features = new TreeSet<String>();
+        findAnnotation(type, annotation).ifPresent(mirror -> classValues(mirror).forEach(value -> features.add(featureOf(value))));
+        return features;
+    }
+
+    /**
+     * Only the fields declared by the extension class itself are injection points, which is what the reflective scanner does as well.
+     */
+    private List<String> injectionPoints(TypeElement type) {
+        var injectionPoints = new ArrayList<String>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            findAnnotation(field, INJECT).ifPresent(inject -> injectionPoints.add(String.join("#",
+                    binaryName(type),
+                    field.getSimpleName().toString(),
+                    featureOf(field.asType()),
+                    String.valueOf(isRequired(inject)))));
+        }
+        return injectionPoints;
+    }
+
+    private String featureOf(TypeMirror type) {
+        var erasure = processingEnv.getTypeUtils().erasure(type);
+        if (erasure.getKind() != TypeKind.DECLARED) {
+            return erasure.toString();
+        }
+        var element = (TypeElement) ((DeclaredType) erasure).asElement();
+        return findAnnotation(element, FEATURE)
+                .flatMap(feature -> feature.getElementValues().entrySet().stream()
+                        .filter(e -> e.getKey().getSimpleName().contentEquals("value"))
+                        .map(e -> (String) e.getValue().getValue())
+                        .findFirst())
+                .orElseGet(() -> binaryName(element));
+    }
+
+    private boolean isRequired(AnnotationMirror inject) {
+        return inject.getElementValues().entrySet().stream()
+                .filter(e -> e.getKey().getSimpleName().contentEquals("required"))
+                .map(e -> (Boolean) e.getValue().getValue())
+                .findFirst()
+                .orElse(true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TypeMirror> classValues(AnnotationMirror mirror) {
+        var values = new ArrayList<TypeMirror>();
+        mirror.getElementValues().forEach((key, value) -> {
+            if (key.getSimpleName().contentEquals("value")) {
+                if (value.getValue() instanceof List) {
+                    ((List<? extends AnnotationValue>) value.getValue()).forEach(v -> values.add((TypeMirror) v.getValue()));
+                } else {
+                    values.add((TypeMirror) value.getValue());
+                }
+            }
+        });
+        return values;
+    }
+
+    private Optional<? extends AnnotationMirror> findAnnotation(Element element, String annotation) {
+        return element.getAnnotationMirrors().stream()
+                .filter(mirror -> ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation))
+                .findFirst();
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void write() {
+        try {
+            var resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (var line : entries.values()) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write the extension index: " + e.getMessage());
+        }
+    }
+}
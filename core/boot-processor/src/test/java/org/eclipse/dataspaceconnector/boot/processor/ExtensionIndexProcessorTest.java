@@ -0,0 +1,110 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.boot.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.tools.ToolProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExtensionIndexProcessorTest {
+    private static final String SPI = "org/eclipse/dataspaceconnector/spi/system/";
+
+    /**
+     * Minimal stand-ins for the SPI types the processor looks for, so the test does not depend on the SPI module.
+     */
+    private static final Map<String, String> SPI_SOURCES = Map.of(
+            SPI + "ServiceExtension.java", "package org.eclipse.dataspaceconnector.spi.system; public interface ServiceExtension {}",
+            SPI + "Inject.java", "package org.eclipse.dataspaceconnector.spi.system; public @interface Inject { boolean required() default true; }",
+            SPI + "Provides.java", "package org.eclipse.dataspaceconnector.spi.system; public @interface Provides { Class<?>[] value(); }",
+            SPI + "Requires.java", "package org.eclipse.dataspaceconnector.spi.system; public @interface Requires { Class<?>[] value(); }",
+            SPI + "Feature.java", "package org.eclipse.dataspaceconnector.spi.system; public @interface Feature { String value(); }"
+    );
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void verifyIndexDescribesExtensions() throws IOException {
+        var lines = compile(Map.of(
+                "sample/FooService.java", "package sample; @org.eclipse.dataspaceconnector.spi.system.Feature(\"sample:foo\") public interface FooService {}",
+                "sample/BarService.java", "package sample; public interface BarService {}",
+                "sample/SampleExtension.java", "package sample;\n" +
+                        "import org.eclipse.dataspaceconnector.spi.system.*;\n" +
+                        "@Provides(FooService.class) @Requires({BarService.class})\n" +
+                        "public class SampleExtension implements ServiceExtension {\n" +
+                        "  @Inject private BarService bar;\n" +
+                        "  @Inject(required = false) private FooService foo;\n" +
+                        "  private String notInjected;\n" +
+                        "  public static class Nested implements ServiceExtension {}\n" +
+                        "}",
+                "sample/AbstractExtension.java", "package sample; public abstract class AbstractExtension implements org.eclipse.dataspaceconnector.spi.system.ServiceExtension {}",
+                "sample/NotAnExtension.java", "package sample; public class NotAnExtension {}"
+        ));
+
+        assertThat(lines).containsExactly(
+                "sample.SampleExtension\tsample:foo\tsample.BarService\tsample.SampleExtension#bar#sample.BarService#true,sample.SampleExtension#foo#sample:foo#false",
+                "sample.SampleExtension$Nested\t\t\t"
+        );
+    }
+
+    @Test
+    void verifyNoIndexWithoutExtensions() throws IOException {
+        var lines = compile(Map.of("sample/NotAnExtension.java", "package sample; public class NotAnExtension {}"));
+
+        assertThat(lines).isEmpty();
+    }
+
+    private List<String> compile(Map<String, String> sources) throws IOException {
+        var sourceDir = tempDir.resolve("src");
+        var outputDir = Files.createDirectories(tempDir.resolve("classes"));
+        var files = new ArrayList<String>();
+        for (var source : SPI_SOURCES.entrySet()) {
+            files.add(write(sourceDir, source.getKey(), source.getValue()));
+        }
+        for (var source : sources.entrySet()) {
+            files.add(write(sourceDir, source.getKey(), source.getValue()));
+        }
+
+        var args = new ArrayList<>(List.of("-proc:only", "-processor", ExtensionIndexProcessor.class.getName(),
+                "-processorpath", System.getProperty("java.class.path"), "-d", outputDir.toString()));
+        args.addAll(files);
+        var result = ToolProvider.getSystemJavaCompiler().run(null, null, null, args.toArray(new String[0]));
+        assertThat(result).isZero();
+
+        var index = outputDir.resolve(ExtensionIndexProcessor.INDEX_LOCATION);
+        if (!Files.exists(index)) {
+            return List.of();
+        }
+        return Files.readAllLines(index, StandardCharsets.UTF_8).stream().filter(line -> !line.isEmpty()).collect(Collectors.toList());
+    }
+
+    private String write(Path sourceDir, String name, String content) throws IOException {
+        var file = sourceDir.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+        return file.toString();
+    }
+}
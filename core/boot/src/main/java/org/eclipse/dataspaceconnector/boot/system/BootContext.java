@@ -0,0 +1,196 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.boot.system;
+
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.eclipse.dataspaceconnector.spi.system.Config;
+import org.eclipse.dataspaceconnector.spi.system.InjectionContainer;
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+
+/**
+ * Context handed to extensions during a parallel boot. It delegates to the runtime context, but a lookup of a service that is declared with
+ * {@code @Provides} by an extension that has not finished initializing waits until the service is registered or the providing extension is done,
+ * so the lookup sees the same services it would see in a sequential boot.
+ */
+class BootContext implements ServiceExtensionContext {
+    private final ServiceExtensionContext delegate;
+    private final Duration timeout;
+    private final Map<Class<?>, PendingService> pending = new ConcurrentHashMap<>();
+    private final ThreadLocal<ServiceExtension> current = new ThreadLocal<>();
+
+    BootContext(ServiceExtensionContext delegate, List<InjectionContainer<ServiceExtension>> containers, Duration timeout) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+        containers.forEach(container -> {
+            var extension = container.getInjectionTarget();
+            ParallelExtensionBoot.providedTypes(extension).forEach(type -> pending.computeIfAbsent(type, t -> new PendingService()).providers.add(extension));
+        });
+    }
+
+    /**
+     * Runs the initialization of an extension, marking the services it provides as settled afterwards, also if it did not register them.
+     */
+    void initialize(InjectionContainer<ServiceExtension> container, Runnable initialization) {
+        var extension = container.getInjectionTarget();
+        current.set(extension);
+        try {
+            initialization.run();
+        } finally {
+            current.remove();
+            pending.values().forEach(service -> service.providerDone(extension));
+        }
+    }
+
+    @Override
+    public <T> boolean hasService(Class<T> type) {
+        await(type);
+        return delegate.hasService(type);
+    }
+
+    @Override
+    public <T> T getService(Class<T> type) {
+        await(type);
+        return delegate.getService(type);
+    }
+
+    @Override
+    public <T> T getService(Class<T> type, boolean isOptional) {
+        await(type);
+        return delegate.getService(type, isOptional);
+    }
+
+    @Override
+    public <T> void registerService(Class<T> type, T service) {
+        delegate.registerService(type, service);
+        registered(type);
+    }
+
+    @Override
+    public <T> void registerLazyService(Class<T> type, Supplier<T> supplier) {
+        delegate.registerLazyService(type, supplier);
+        registered(type);
+    }
+
+    @Override
+    public String getConnectorId() {
+        return delegate.getConnectorId();
+    }
+
+    @Override
+    public Monitor getMonitor() {
+        return delegate.getMonitor();
+    }
+
+    @Override
+    public TypeManager getTypeManager() {
+        return delegate.getTypeManager();
+    }
+
+    @Override
+    public Config getConfig(String path) {
+        return delegate.getConfig(path);
+    }
+
+    @Override
+    public String getSetting(String setting, String defaultValue) {
+        return delegate.getSetting(setting, defaultValue);
+    }
+
+    @Override
+    public int getSetting(String setting, int defaultValue) {
+        return delegate.getSetting(setting, defaultValue);
+    }
+
+    @Override
+    public long getSetting(String setting, long defaultValue) {
+        return delegate.getSetting(setting, defaultValue);
+    }
+
+    @Override
+    public List<InjectionContainer<ServiceExtension>> loadServiceExtensions() {
+        return delegate.loadServiceExtensions();
+    }
+
+    @Override
+    public <T> List<T> loadExtensions(Class<T> type, boolean required) {
+        return delegate.loadExtensions(type, required);
+    }
+
+    @Override
+    public <T> T loadSingletonExtension(Class<T> type, boolean required) {
+        return delegate.loadSingletonExtension(type, required);
+    }
+
+    @Override
+    public void initialize() {
+        delegate.initialize();
+    }
+
+    private void registered(Class<?> type) {
+        var service = pending.get(type);
+        if (service != null) {
+            service.available.complete(null);
+        }
+    }
+
+    private void await(Class<?> type) {
+        var service = pending.get(type);
+        if (service == null || service.available.isDone()) {
+            return;
+        }
+        var extension = current.get();
+        if (extension != null && service.providers.contains(extension)) {
+            return; // an extension looking up a service it provides itself
+        }
+        try {
+            service.available.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new EdcException(format("Timed out after %s waiting for service %s provided by %s. Declare the dependency with @Inject or @Requires.",
+                    timeout, type.getName(), service.providers));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EdcException(e);
+        } catch (ExecutionException e) {
+            throw new EdcException(e.getCause());
+        }
+    }
+
+    private static class PendingService {
+        private final Set<ServiceExtension> providers = ConcurrentHashMap.newKeySet();
+        private final CompletableFuture<Void> available = new CompletableFuture<>();
+
+        void providerDone(ServiceExtension extension) {
+            if (providers.remove(extension) && providers.isEmpty()) {
+                available.complete(null);
+            }
+        }
+    }
+}
@@ -43,6 +43,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -54,21 +56,32 @@ public class DefaultServiceExtensionContext implements ServiceExtensionContext {
     private final Monitor monitor;
     private final TypeManager typeManager;
 
-    private final Map<Class<?>, Object> services = new HashMap<>();
+    private final Map<Class<?>, Object> services = new ConcurrentHashMap<>();
     private final ServiceLocator serviceLocator;
     private final InjectionPointScanner injectionPointScanner;
+    private final ExtensionIndex extensionIndex;
     private List<ConfigurationExtension> configurationExtensions;
     private String connectorId;
-    private Config config;
+    private volatile Config config;
 
     public DefaultServiceExtensionContext(TypeManager typeManager, Monitor monitor) {
         this(typeManager, monitor, new ServiceLocatorImpl());
     }
 
     public DefaultServiceExtensionContext(TypeManager typeManager, Monitor monitor, ServiceLocator serviceLocator) {
+        this(typeManager, monitor, serviceLocator, ExtensionIndex.load(DefaultServiceExtensionContext.class.getClassLoader(), monitor));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param extensionIndex the precomputed metadata of the extensions. Extensions that are not in the index are introspected reflectively.
+     */
+    public DefaultServiceExtensionContext(TypeManager typeManager, Monitor monitor, ServiceLocator serviceLocator, ExtensionIndex extensionIndex) {
         this.typeManager = typeManager;
         this.monitor = monitor;
         this.serviceLocator = serviceLocator;
+        this.extensionIndex = extensionIndex;
         // register as services
         registerService(TypeManager.class, typeManager);
         registerService(Monitor.class, monitor);
@@ -102,7 +115,7 @@ public class DefaultServiceExtensionContext implements ServiceExtensionContext {
 
     @Override
     public <T> T getService(Class<T> type) {
-        T service = (T) services.get(type);
+        T service = resolve(type);
         if (service == null) {
             throw new EdcException("Service not found: " + type.getName());
         }
@@ -114,7 +127,7 @@ public class DefaultServiceExtensionContext implements ServiceExtensionContext {
         if (!isOptional) {
             return getService(type);
         }
-        return (T) services.get(type);
+        return resolve(type);
     }
 
     @Override
@@ -125,6 +138,14 @@ public class DefaultServiceExtensionContext implements ServiceExtensionContext {
         services.put(type, service);
     }
 
+    @Override
+    public <T> void registerLazyService(Class<T> type, Supplier<T> supplier) {
+        if (hasService(type)) {
+            monitor.warning("A service of the type " + type.getCanonicalName() + " was already registered and has now been replaced");
+        }
+        services.put(type, new LazyService<>(supplier));
+    }
+
     @Override
     public List<InjectionContainer<ServiceExtension>> loadServiceExtensions() {
         List<ServiceExtension> serviceExtensions = loadExtensions(ServiceExtension.class, true);
@@ -156,9 +177,32 @@ public class DefaultServiceExtensionContext implements ServiceExtensionContext {
         connectorId = getSetting("edc.connector.name", "edc-" + UUID.randomUUID());
     }
 
+    /**
+     * Asks all configuration extensions to reload their sources and replaces the configuration with a new snapshot if any of them has
+     * changed. Subsequent calls to {@link #getConfig(String)} and {@link #getSetting(String, String)} see the new values, whereas settings that
+     * extensions have read during their initialization keep their values.
+     *
+     * @return true if the configuration has changed
+     */
+    public boolean reloadConfig() {
+        var changed = false;
+        for (var extension : configurationExtensions) {
+            changed |= extension.reload();
+        }
+        if (changed) {
+            config = loadConfig();
+            monitor.info("Configuration reloaded");
+        }
+        return changed;
+    }
+
     private List<InjectionContainer<ServiceExtension>> sortExtensions(List<ServiceExtension> loadedExtensions) {
         Map<String, List<ServiceExtension>> dependencyMap = new HashMap<>();
         addDefaultExtensions(loadedExtensions);
+        if (extensionIndex.size() > 0) {
+            var indexed = loadedExtensions.stream().filter(ext -> extensionIndex.contains(ext.getClass())).count();
+            monitor.debug(String.format("Using the extension index for %d of %d extensions", indexed, loadedExtensions.size()));
+        }
 
         // add all provided features to the dependency map
         loadedExtensions.forEach(ext -> getProvidedFeatures(ext).forEach(feature -> dependencyMap.computeIfAbsent(feature, k -> new ArrayList<>()).add(ext)));
@@ -210,6 +254,10 @@ public class DefaultServiceExtensionContext implements ServiceExtensionContext {
     }
 
     private Set<String> getRequiredFeatures(Class<?> clazz) {
+        var indexed = extensionIndex.getRequiredFeatures(clazz);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
         var requiresAnnotation = clazz.getAnnotation(Requires.class);
         if (requiresAnnotation != null) {
             var features = requiresAnnotation.value();
@@ -250,12 +298,10 @@ public class DefaultServiceExtensionContext implements ServiceExtensionContext {
     }
 
     /**
-     * Obtains all features a specific extension provides as strings
+     * Obtains the injection points of a specific extension, from the extension index if the extension is indexed
      */
     private Set<InjectionPoint<ServiceExtension>> getInjectedFields(ServiceExtension ext) {
-        // initialize with legacy list
-
-        return injectionPointScanner.getInjectionPoints(ext);
+        return extensionIndex.getInjectionPoints(ext).orElseGet(() -> injectionPointScanner.getInjectionPoints(ext));
 
     }
 
@@ -263,6 +309,10 @@ public class DefaultServiceExtensionContext implements ServiceExtensionContext {
      * Obtains all features a specific extension requires as strings
      */
     private Set<String> getProvidedFeatures(ServiceExtension ext) {
+        var indexed = extensionIndex.getProvidedFeatures(ext.getClass());
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
         var allProvides = new HashSet<String>();
 
         var providesAnnotation = ext.getClass().getAnnotation(Provides.class);
@@ -273,6 +323,15 @@ public class DefaultServiceExtensionContext implements ServiceExtensionContext {
         return allProvides;
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> T resolve(Class<T> type) {
+        var service = services.get(type);
+        if (service instanceof LazyService) {
+            return ((LazyService<T>) service).get();
+        }
+        return (T) service;
+    }
+
     private String getFeatureValue(Class<?> featureClass) {
         var annotation = featureClass.getAnnotation(Feature.class);
         if (annotation == null) {
@@ -281,5 +340,29 @@ public class DefaultServiceExtensionContext implements ServiceExtensionContext {
         return annotation.value();
     }
 
+    /**
+     * Holds a service that is created on first access.
+     */
+    private static class LazyService<T> {
+        private final Supplier<T> supplier;
+        private volatile T instance;
+
+        LazyService(Supplier<T> supplier) {
+            this.supplier = supplier;
+        }
 
+        T get() {
+            var result = instance;
+            if (result == null) {
+                synchronized (this) {
+                    result = instance;
+                    if (result == null) {
+                        result = supplier.get();
+                        instance = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
 }
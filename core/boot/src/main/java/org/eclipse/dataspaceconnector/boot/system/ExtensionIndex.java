@@ -0,0 +1,276 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.boot.system;
+
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.eclipse.dataspaceconnector.spi.system.FieldInjectionPoint;
+import org.eclipse.dataspaceconnector.spi.system.InjectionPoint;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The extension metadata that was precomputed at compile time by the {@code core:boot-processor} annotation processor. Modules that were built
+ * with the processor contain an index resource at {@value #INDEX_LOCATION}, which lists the provided and required features and the injection
+ * points of their extensions.
+ * <p>
+ * The index only describes extensions, it does not discover them: extensions are still loaded through the {@link ServiceLocator}, and every
+ * extension that has no (or no valid) entry is introspected reflectively as before. The processor writes the index into the same output as
+ * the classes it describes, so an entry is trusted if its class was loaded from the same code source (jar or directory) as the index resource
+ * the entry was read from. This check does not inspect the class; only the indexed fields are looked up by name to create the injection points.
+ */
+public class ExtensionIndex {
+    public static final String INDEX_LOCATION = "META-INF/edc/extension-index";
+
+    private final Map<String, Entry> entries;
+    private final Monitor monitor;
+
+    private ExtensionIndex(Map<String, Entry> entries, Monitor monitor) {
+        this.entries = entries;
+        this.monitor = monitor;
+    }
+
+    public static ExtensionIndex empty() {
+        return new ExtensionIndex(Collections.emptyMap(), null);
+    }
+
+    /**
+     * Reads all index resources visible to the class loader. Malformed lines are skipped, the respective extensions fall back to reflection.
+     */
+    public static ExtensionIndex load(ClassLoader classLoader, Monitor monitor) {
+        var lines = new LinkedHashMap<String, List<String>>();
+        try {
+            var resources = classLoader.getResources(INDEX_LOCATION);
+            while (resources.hasMoreElements()) {
+                var resource = resources.nextElement();
+                lines.computeIfAbsent(codeSource(resource), k -> new ArrayList<>()).addAll(read(resource));
+            }
+        } catch (IOException e) {
+            monitor.warning("Could not read the extension index, falling back to reflection: " + e.getMessage());
+            return empty();
+        }
+        var entries = new HashMap<String, Entry>();
+        // the first entry wins, just like the first resource wins for the class loader
+        lines.forEach((codeSource, resourceLines) -> parse(codeSource, resourceLines, monitor).entries.forEach(entries::putIfAbsent));
+        return new ExtensionIndex(entries, monitor);
+    }
+
+    /**
+     * Parses the lines of the index resource found in the given code source.
+     */
+    static ExtensionIndex parse(String codeSource, List<String> lines, Monitor monitor) {
+        var entries = new HashMap<String, Entry>();
+        for (var line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            var columns = line.split("\t", -1);
+            if (columns.length != 4) {
+                monitor.warning("Skipping malformed extension index entry: " + line);
+                continue;
+            }
+            var injections = new ArrayList<IndexedField>();
+            for (var injection : split(columns[3])) {
+                var parts = injection.split("#", -1);
+                if (parts.length != 4) {
+                    monitor.warning("Skipping malformed extension index entry: " + line);
+                    injections = null;
+                    break;
+                }
+                injections.add(new IndexedField(parts[0], parts[1], parts[2], Boolean.parseBoolean(parts[3])));
+            }
+            if (injections != null) {
+                entries.putIfAbsent(columns[0], new Entry(codeSource, new HashSet<>(split(columns[1])), new HashSet<>(split(columns[2])), injections));
+            }
+        }
+        return new ExtensionIndex(entries, monitor);
+    }
+
+    /**
+     * The location of the class, in the form of the code sources the index resources are attributed to, or null if it is unknown.
+     */
+    static String codeSource(Class<?> type) {
+        var codeSource = type.getProtectionDomain().getCodeSource();
+        return codeSource != null && codeSource.getLocation() != null ? codeSource.getLocation().toString() : null;
+    }
+
+    /**
+     * The jar or directory that contains the index resource, e.g. {@code file:/lib/extension.jar} for
+     * {@code jar:file:/lib/extension.jar!/META-INF/edc/extension-index}.
+     */
+    static String codeSource(URL resource) {
+        var url = resource.toString();
+        if (url.startsWith("jar:") && url.contains("!/")) {
+            return url.substring("jar:".length(), url.lastIndexOf("!/"));
+        }
+        return url.substring(0, url.length() - INDEX_LOCATION.length());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Whether the type has an entry in the index that matches the class.
+     */
+    public boolean contains(Class<?> type) {
+        return entry(type) != null;
+    }
+
+    /**
+     * The features the type provides, or empty if it is not indexed or the index does not match the class.
+     */
+    public Optional<Set<String>> getProvidedFeatures(Class<?> type) {
+        return Optional.ofNullable(entry(type)).map(entry -> entry.provides);
+    }
+
+    /**
+     * The features the type requires, or empty if it is not indexed or the index does not match the class.
+     */
+    public Optional<Set<String>> getRequiredFeatures(Class<?> type) {
+        return Optional.ofNullable(entry(type)).map(entry -> entry.requires);
+    }
+
+    /**
+     * The injection points of the instance, or empty if its type is not indexed or the index does not match the class.
+     */
+    public <T> Optional<Set<InjectionPoint<T>>> getInjectionPoints(T instance) {
+        var entry = entry(instance.getClass());
+        if (entry == null) {
+            return Optional.empty();
+        }
+        var fields = entry.fields;
+        var injectionPoints = new HashSet<InjectionPoint<T>>();
+        for (var i = 0; i < fields.length; i++) {
+            var indexed = entry.injections.get(i);
+            injectionPoints.add(new FieldInjectionPoint<>(instance, fields[i], indexed.feature, indexed.required));
+        }
+        return Optional.of(injectionPoints);
+    }
+
+    /**
+     * Returns the entry of the type if it matches the class, null otherwise.
+     */
+    private Entry entry(Class<?> type) {
+        var entry = entries.get(type.getName());
+        if (entry == null) {
+            return null;
+        }
+        if (entry.matches(type)) {
+            return entry;
+        }
+        if (monitor != null && entry.reportStale()) {
+            monitor.warning("The extension index entry of " + type.getName() + " was not built with the class, falling back to reflection");
+        }
+        return null;
+    }
+
+    private static List<String> read(URL resource) throws IOException {
+        try (var reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        }
+    }
+
+    private static List<String> split(String column) {
+        return column.isEmpty() ? Collections.emptyList() : Arrays.asList(column.split(","));
+    }
+
+    private static class Entry {
+        private final String codeSource;
+        private final Set<String> provides;
+        private final Set<String> requires;
+        private final List<IndexedField> injections;
+        private volatile Field[] fields;
+        private volatile Boolean matches;
+        private boolean reported;
+
+        Entry(String codeSource, Set<String> provides, Set<String> requires, List<IndexedField> injections) {
+            this.codeSource = codeSource;
+            this.provides = Collections.unmodifiableSet(provides);
+            this.requires = Collections.unmodifiableSet(requires);
+            this.injections = injections;
+        }
+
+        /**
+         * Checks the entry once. It matches if the class was loaded from the code source of the index, i.e. was compiled together with it, and
+         * still declares the indexed fields. Otherwise the index was built from a different copy or version of the class.
+         */
+        boolean matches(Class<?> type) {
+            var result = matches;
+            if (result == null) {
+                result = codeSource.equals(codeSource(type)) && resolveFields(type);
+                matches = result;
+            }
+            return result;
+        }
+
+        /**
+         * Returns true only on the first call, so a stale entry is reported once.
+         */
+        synchronized boolean reportStale() {
+            if (reported) {
+                return false;
+            }
+            reported = true;
+            return true;
+        }
+
+        private boolean resolveFields(Class<?> type) {
+            var resolved = new Field[injections.size()];
+            for (var i = 0; i < resolved.length; i++) {
+                var indexed = injections.get(i);
+                if (!indexed.declaringClass.equals(type.getName())) {
+                    return false;
+                }
+                try {
+                    resolved[i] = type.getDeclaredField(indexed.name);
+                } catch (NoSuchFieldException e) {
+                    return false;
+                }
+            }
+            fields = resolved;
+            return true;
+        }
+    }
+
+    private static class IndexedField {
+        private final String declaringClass;
+        private final String name;
+        private final String feature;
+        private final boolean required;
+
+        IndexedField(String declaringClass, String name, String feature, boolean required) {
+            this.declaringClass = declaringClass;
+            this.name = name;
+            this.feature = feature;
+            this.required = required;
+        }
+    }
+}
@@ -14,8 +14,11 @@
 
 package org.eclipse.dataspaceconnector.boot.system;
 
+import org.eclipse.dataspaceconnector.core.monitor.AsyncMonitor;
 import org.eclipse.dataspaceconnector.core.monitor.ConsoleMonitor;
+import org.eclipse.dataspaceconnector.core.monitor.JsonLinesMonitor;
 import org.eclipse.dataspaceconnector.core.security.NullVaultExtension;
+import org.eclipse.dataspaceconnector.spi.EdcSetting;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.monitor.MultiplexingMonitor;
 import org.eclipse.dataspaceconnector.spi.security.CertificateResolver;
@@ -29,6 +32,7 @@ import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
 import org.eclipse.dataspaceconnector.spi.system.VaultExtension;
 import org.jetbrains.annotations.NotNull;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.ServiceLoader;
 import java.util.stream.Collectors;
@@ -37,6 +41,47 @@ import static java.lang.String.format;
 
 public class ExtensionLoader {
 
+    /**
+     * Whether independent extensions are initialized and started concurrently. Extensions must declare the services they provide with
+     * {@code @Provides} for this to be safe.
+     */
+    @EdcSetting
+    public static final String PARALLEL_BOOT_SETTING = "edc.boot.parallel";
+
+    /**
+     * The maximum time in seconds an extension waits for an undeclared service during a parallel boot.
+     */
+    @EdcSetting
+    public static final String SERVICE_TIMEOUT_SETTING = "edc.boot.service.timeout";
+
+    /**
+     * Whether log events are written on a background thread. The monitor is created before the configuration is loaded, so this and the
+     * other monitor settings are read from system properties or environment variables.
+     */
+    @EdcSetting
+    public static final String MONITOR_ASYNC_SETTING = "edc.monitor.async";
+
+    /**
+     * The number of log events the asynchronous monitor can queue.
+     */
+    @EdcSetting
+    public static final String MONITOR_ASYNC_CAPACITY_SETTING = "edc.monitor.async.capacity";
+
+    /**
+     * What the asynchronous monitor does if its queue is full: {@code BLOCK} (default) or {@code DROP}.
+     */
+    @EdcSetting
+    public static final String MONITOR_ASYNC_OVERFLOW_SETTING = "edc.monitor.async.overflow";
+
+    /**
+     * The format of the default console monitor: {@code text} (default) or {@code json} for JSON lines.
+     */
+    @EdcSetting
+    public static final String MONITOR_FORMAT_SETTING = "edc.monitor.format";
+
+    private static final long DEFAULT_SERVICE_TIMEOUT = 60;
+    private static final int SLOWEST_EXTENSIONS_LOGGED = 5;
+
     private ExtensionLoader() {
     }
 
@@ -44,23 +89,52 @@ public class ExtensionLoader {
      * Convenience method for loading service extensions.
      */
     public static void bootServiceExtensions(List<InjectionContainer<ServiceExtension>> containers, ServiceExtensionContext context) {
+        bootServiceExtensions(containers, context, new StartupProfile());
+    }
+
+    /**
+     * Initializes and starts the service extensions, recording the time each extension takes in the given profile. Extensions are booted one
+     * after the other in the given order unless {@link #PARALLEL_BOOT_SETTING} is set.
+     */
+    public static void bootServiceExtensions(List<InjectionContainer<ServiceExtension>> containers, ServiceExtensionContext context, StartupProfile profile) {
+        var monitor = context.getMonitor();
+        var parallel = Boolean.parseBoolean(context.getSetting(PARALLEL_BOOT_SETTING, "false"));
+        var start = System.nanoTime();
+
+        if (parallel) {
+            var timeout = Duration.ofSeconds(context.getSetting(SERVICE_TIMEOUT_SETTING, DEFAULT_SERVICE_TIMEOUT));
+            new ParallelExtensionBoot(containers, context, profile, timeout).boot();
+        } else {
+            containers.forEach(container -> initializeExtension(container, context, profile));
+            containers.forEach(container -> startExtension(container, monitor, profile));
+        }
+
+        profile.completed(parallel, System.nanoTime() - start);
+        monitor.info(format("Booted %d extensions in %d ms%s", containers.size(), profile.getTotalMillis(), parallel ? " in parallel" : ""));
+        monitor.debug(() -> "Slowest extensions: " + profile.slowest(SLOWEST_EXTENSIONS_LOGGED));
+    }
+
+    static void initializeExtension(InjectionContainer<ServiceExtension> container, ServiceExtensionContext context, StartupProfile profile) {
         var monitor = context.getMonitor();
+        var extension = container.getInjectionTarget();
+        var start = System.nanoTime();
+        getInjector().inject(container, context);
+        extension.initialize(context);
+        profile.recordInitialize(extension, System.nanoTime() - start);
+        //todo: add verification here, that every @Provides corresponds to a .registerService call
+        var result = container.validate(context);
+        if (!result.succeeded()) {
+            monitor.warning(format("There were missing service registrations in extension %s: %s", extension.getClass(), String.join(", ", result.getFailureMessages())));
+        }
+        monitor.info("Initialized " + extension.name());
+    }
 
-        containers.forEach(container -> {
-            getInjector().inject(container, context);
-            container.getInjectionTarget().initialize(context);
-            //todo: add verification here, that every @Provides corresponds to a .registerService call
-            var result = container.validate(context);
-            if (!result.succeeded()) {
-                monitor.warning(format("There were missing service registrations in extension %s: %s", container.getInjectionTarget().getClass(), String.join(", ", result.getFailureMessages())));
-            }
-            monitor.info("Initialized " + container.getInjectionTarget().name());
-        });
-
-        containers.forEach(extension -> {
-            extension.getInjectionTarget().start();
-            monitor.info("Started " + extension.getInjectionTarget().name());
-        });
+    static void startExtension(InjectionContainer<ServiceExtension> container, Monitor monitor, StartupProfile profile) {
+        var extension = container.getInjectionTarget();
+        var start = System.nanoTime();
+        extension.start();
+        profile.recordStart(extension, System.nanoTime() - start);
+        monitor.info("Started " + extension.name());
     }
 
     private static Injector getInjector() {
@@ -90,16 +164,39 @@ public class ExtensionLoader {
     }
 
     static @NotNull Monitor loadMonitor(List<MonitorExtension> availableMonitors) {
-
-
+        Monitor monitor;
         if (availableMonitors.isEmpty()) {
-            return new ConsoleMonitor();
+            var async = Boolean.parseBoolean(propOrEnv(MONITOR_ASYNC_SETTING, "false"));
+            monitor = "json".equalsIgnoreCase(propOrEnv(MONITOR_FORMAT_SETTING, "text"))
+                    ? new JsonLinesMonitor(System.out, ConsoleMonitor.Level.DEBUG, !async)
+                    : new ConsoleMonitor();
+        } else if (availableMonitors.size() > 1) {
+            monitor = new MultiplexingMonitor(availableMonitors.stream().map(MonitorExtension::getMonitor).collect(Collectors.toList()));
+        } else {
+            monitor = availableMonitors.get(0).getMonitor();
         }
 
-        if (availableMonitors.size() > 1) {
-            return new MultiplexingMonitor(availableMonitors.stream().map(MonitorExtension::getMonitor).collect(Collectors.toList()));
+        if (Boolean.parseBoolean(propOrEnv(MONITOR_ASYNC_SETTING, "false"))) {
+            var asyncMonitor = AsyncMonitor.Builder.newInstance(monitor)
+                    .capacity(Integer.parseInt(propOrEnv(MONITOR_ASYNC_CAPACITY_SETTING, "8192")))
+                    .overflowPolicy(AsyncMonitor.OverflowPolicy.valueOf(propOrEnv(MONITOR_ASYNC_OVERFLOW_SETTING, "BLOCK").toUpperCase()))
+                    .build();
+            // shutdown hooks run concurrently, so messages logged after closing are written on the calling thread
+            Runtime.getRuntime().addShutdownHook(new Thread(asyncMonitor::close));
+            return asyncMonitor;
         }
+        return monitor;
+    }
 
-        return availableMonitors.get(0).getMonitor();
+    /**
+     * Returns the system property, the environment variable with the upper-cased key and dots replaced by underscores, or the default value.
+     */
+    private static String propOrEnv(String key, String defaultValue) {
+        var value = System.getProperty(key);
+        if (value != null) {
+            return value;
+        }
+        value = System.getenv(key.toUpperCase().replace('.', '_'));
+        return value != null ? value : defaultValue;
     }
 }
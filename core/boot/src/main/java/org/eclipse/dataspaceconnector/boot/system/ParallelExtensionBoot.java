@@ -0,0 +1,155 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.boot.system;
+
+import org.eclipse.dataspaceconnector.core.BaseExtension;
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.system.Feature;
+import org.eclipse.dataspaceconnector.spi.system.InjectionContainer;
+import org.eclipse.dataspaceconnector.spi.system.InjectionPoint;
+import org.eclipse.dataspaceconnector.spi.system.Provides;
+import org.eclipse.dataspaceconnector.spi.system.Requires;
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Boots service extensions concurrently. An extension is initialized as soon as all extensions it depends on are initialized, and started as soon
+ * as they are started, so independent branches of the dependency graph do not wait for each other. Dependencies are taken from {@code @Inject}
+ * fields and {@code @Requires}; every extension also depends on the {@link BaseExtension}s.
+ * <p>
+ * Extensions that look up services through {@link ServiceExtensionContext#getService(Class)} without declaring them are supported as long as the
+ * providing extension declares the service with {@code @Provides}: the lookup waits until the service is registered, see {@link BootContext}.
+ */
+class ParallelExtensionBoot {
+    private final List<InjectionContainer<ServiceExtension>> containers;
+    private final ServiceExtensionContext context;
+    private final StartupProfile profile;
+    private final Duration serviceTimeout;
+
+    ParallelExtensionBoot(List<InjectionContainer<ServiceExtension>> containers, ServiceExtensionContext context, StartupProfile profile, Duration serviceTimeout) {
+        this.containers = containers;
+        this.context = context;
+        this.profile = profile;
+        this.serviceTimeout = serviceTimeout;
+    }
+
+    void boot() {
+        var dependencies = dependencies();
+        var bootContext = new BootContext(context, containers, serviceTimeout);
+        var executor = createExecutor();
+        try {
+            runInDependencyOrder(dependencies, container -> bootContext.initialize(container, () -> ExtensionLoader.initializeExtension(container, bootContext, profile)), executor);
+            runInDependencyOrder(dependencies, container -> ExtensionLoader.startExtension(container, context.getMonitor(), profile), executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void runInDependencyOrder(Map<InjectionContainer<ServiceExtension>, Set<InjectionContainer<ServiceExtension>>> dependencies,
+                                      Consumer<InjectionContainer<ServiceExtension>> action, ExecutorService executor) {
+        var futures = new HashMap<InjectionContainer<ServiceExtension>, CompletableFuture<Void>>();
+        containers.forEach(container -> schedule(container, dependencies, action, executor, futures));
+        try {
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new EdcException(e.getCause());
+        }
+    }
+
+    private CompletableFuture<Void> schedule(InjectionContainer<ServiceExtension> container,
+                                             Map<InjectionContainer<ServiceExtension>, Set<InjectionContainer<ServiceExtension>>> dependencies,
+                                             Consumer<InjectionContainer<ServiceExtension>> action, ExecutorService executor,
+                                             Map<InjectionContainer<ServiceExtension>, CompletableFuture<Void>> futures) {
+        var future = futures.get(container);
+        if (future != null) {
+            return future;
+        }
+        // the graph was verified to be acyclic when the extensions were sorted, so the recursion terminates
+        var upstream = dependencies.get(container).stream()
+                .map(dependency -> schedule(dependency, dependencies, action, executor, futures))
+                .toArray(CompletableFuture[]::new);
+        future = CompletableFuture.allOf(upstream).thenRunAsync(() -> action.accept(container), executor);
+        futures.put(container, future);
+        return future;
+    }
+
+    private Map<InjectionContainer<ServiceExtension>, Set<InjectionContainer<ServiceExtension>>> dependencies() {
+        var providers = new HashMap<String, List<InjectionContainer<ServiceExtension>>>();
+        containers.forEach(container -> providedTypes(container.getInjectionTarget())
+                .forEach(type -> providers.computeIfAbsent(featureOf(type), k -> new ArrayList<>()).add(container)));
+        var baseExtensions = containers.stream()
+                .filter(container -> container.getInjectionTarget().getClass().isAnnotationPresent(BaseExtension.class))
+                .collect(Collectors.toList());
+
+        var dependencies = new HashMap<InjectionContainer<ServiceExtension>, Set<InjectionContainer<ServiceExtension>>>();
+        for (var container : containers) {
+            var extension = container.getInjectionTarget();
+            var features = new HashSet<String>();
+            container.getInjectionPoints().stream().map(InjectionPoint::getFeatureName).forEach(features::add);
+            var requires = extension.getClass().getAnnotation(Requires.class);
+            if (requires != null) {
+                Stream.of(requires.value()).map(ParallelExtensionBoot::featureOf).forEach(features::add);
+            }
+            var upstream = new LinkedHashSet<InjectionContainer<ServiceExtension>>();
+            if (!baseExtensions.contains(container)) {
+                upstream.addAll(baseExtensions);
+            }
+            features.forEach(feature -> upstream.addAll(providers.getOrDefault(feature, List.of())));
+            upstream.remove(container);
+            dependencies.put(container, upstream);
+        }
+        return dependencies;
+    }
+
+    static List<Class<?>> providedTypes(ServiceExtension extension) {
+        var provides = extension.getClass().getAnnotation(Provides.class);
+        return provides == null ? List.of() : List.of(provides.value());
+    }
+
+    private static String featureOf(Class<?> type) {
+        var feature = type.getAnnotation(Feature.class);
+        return feature == null ? type.getName() : feature.value();
+    }
+
+    private static ExecutorService createExecutor() {
+        // threads may block while waiting for undeclared services, so the pool must not be bounded below the number of extensions
+        var counter = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "edc-boot-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
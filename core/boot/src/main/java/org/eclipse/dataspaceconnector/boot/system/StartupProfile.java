@@ -0,0 +1,128 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.boot.system;
+
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Records how long each service extension took to initialize and to start. The {@link org.eclipse.dataspaceconnector.boot.system.runtime.BaseRuntime}
+ * reports the profile as details of its startup health status.
+ */
+public class StartupProfile {
+    private final Map<ServiceExtension, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean parallel;
+    private volatile long totalNanos;
+
+    void recordInitialize(ServiceExtension extension, long nanos) {
+        entry(extension).initializeNanos = nanos;
+    }
+
+    void recordStart(ServiceExtension extension, long nanos) {
+        entry(extension).startNanos = nanos;
+    }
+
+    void completed(boolean parallel, long totalNanos) {
+        this.parallel = parallel;
+        this.totalNanos = totalNanos;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public long getTotalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+    }
+
+    /**
+     * The entries in the order the extensions were initialized.
+     */
+    public List<Entry> getEntries() {
+        return entries.values().stream().sorted(Comparator.comparingLong(e -> e.sequence)).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the given number of entries that took longest to initialize and start.
+     */
+    public List<Entry> slowest(int count) {
+        return entries.values().stream()
+                .sorted(Comparator.comparingLong((Entry e) -> e.initializeNanos + e.startNanos).reversed())
+                .limit(count)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the profile as a map that serializes to readable JSON.
+     */
+    public Map<String, Object> toMap() {
+        var extensions = new ArrayList<Map<String, Object>>();
+        for (var entry : getEntries()) {
+            var map = new LinkedHashMap<String, Object>();
+            map.put("name", entry.name);
+            map.put("initializeMillis", entry.getInitializeMillis());
+            map.put("startMillis", entry.getStartMillis());
+            extensions.add(map);
+        }
+        var profile = new LinkedHashMap<String, Object>();
+        profile.put("parallel", parallel);
+        profile.put("totalMillis", getTotalMillis());
+        profile.put("extensions", extensions);
+        return profile;
+    }
+
+    private Entry entry(ServiceExtension extension) {
+        return entries.computeIfAbsent(extension, ext -> new Entry(ext.name(), sequence.getAndIncrement()));
+    }
+
+    public static class Entry {
+        private final String name;
+        private final long sequence;
+        private volatile long initializeNanos;
+        private volatile long startNanos;
+
+        Entry(String name, long sequence) {
+            this.name = name;
+            this.sequence = sequence;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getInitializeMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(initializeNanos);
+        }
+
+        public long getStartMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(startNanos);
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + getInitializeMillis() + " ms init, " + getStartMillis() + " ms start)";
+        }
+    }
+}
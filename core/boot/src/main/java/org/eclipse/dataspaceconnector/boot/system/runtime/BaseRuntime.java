@@ -4,6 +4,8 @@ package org.eclipse.dataspaceconnector.boot.system.runtime;
 import org.eclipse.dataspaceconnector.boot.monitor.MonitorProvider;
 import org.eclipse.dataspaceconnector.boot.system.DefaultServiceExtensionContext;
 import org.eclipse.dataspaceconnector.boot.system.ExtensionLoader;
+import org.eclipse.dataspaceconnector.boot.system.StartupProfile;
+import org.eclipse.dataspaceconnector.spi.EdcSetting;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.system.InjectionContainer;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
@@ -14,6 +16,9 @@ import org.eclipse.dataspaceconnector.spi.types.TypeManager;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -31,14 +36,19 @@ import static java.lang.String.format;
  *          calling {@link ExtensionLoader#loadVault(ServiceExtensionContext)} </li>
  *     <li>{@link BaseRuntime#createExtensions(ServiceExtensionContext)}: creates a list of {@code ServiceExtension} objects. By default, these are created through {@link ServiceExtensionContext#loadServiceExtensions()}</li>
  *     <li>{@link BaseRuntime#bootExtensions(ServiceExtensionContext, List)}: initializes the service extensions by putting them through their lifecycle.
- *     By default this calls {@link ExtensionLoader#bootServiceExtensions(List, ServiceExtensionContext)} </li>
+ *     By default this calls {@link ExtensionLoader#bootServiceExtensions(List, ServiceExtensionContext, StartupProfile)} </li>
  *     <li>{@link BaseRuntime#onError(Exception)}: receives any Exception that was raised during initialization</li>
  * </ul>
  */
 public class BaseRuntime {
 
+    @EdcSetting
+    public static final String CONFIG_RELOAD_PERIOD_SETTING = "edc.config.reload.period";
+
     private final AtomicReference<HealthCheckResult> startupStatus = new AtomicReference<>(HealthCheckResult.failed("Startup not complete"));
+    private final StartupProfile startupProfile = new StartupProfile();
     private Monitor monitor;
+    private ScheduledExecutorService configReloader;
 
     public static void main(String[] args) {
         BaseRuntime runtime = new BaseRuntime();
@@ -49,6 +59,13 @@ public class BaseRuntime {
         return monitor;
     }
 
+    /**
+     * The time each extension took to initialize and start. It is also reported as details of the startup health status.
+     */
+    protected StartupProfile getStartupProfile() {
+        return startupProfile;
+    }
+
     /**
      * Main entry point to runtime initialization. Calls all methods.
      */
@@ -66,13 +83,19 @@ public class BaseRuntime {
             initializeVault(context);
             List<InjectionContainer<ServiceExtension>> serviceExtensions = createExtensions(context);
             var seList = serviceExtensions.stream().map(InjectionContainer::getInjectionTarget).collect(Collectors.toList());
-            getRuntime().addShutdownHook(new Thread(() -> shutdown(seList, monitor)));
+            getRuntime().addShutdownHook(new Thread(() -> {
+                if (configReloader != null) {
+                    configReloader.shutdownNow();
+                }
+                shutdown(seList, monitor);
+            }));
             bootExtensions(context, serviceExtensions);
+            scheduleConfigReload(context);
 
             var healthCheckService = context.getService(HealthCheckService.class);
             healthCheckService.addStartupStatusProvider(this::getStartupStatus);
 
-            startupStatus.set(HealthCheckResult.success());
+            startupStatus.set(HealthCheckResult.Builder.newInstance().component("BaseRuntime").details(startupProfile.toMap()).build());
 
             healthCheckService.refresh();
         } catch (Exception e) {
@@ -110,13 +133,13 @@ public class BaseRuntime {
     }
 
     /**
-     * Starts all service extensions by invoking {@link ExtensionLoader#bootServiceExtensions(List, ServiceExtensionContext)}
+     * Starts all service extensions by invoking {@link ExtensionLoader#bootServiceExtensions(List, ServiceExtensionContext, StartupProfile)}
      *
      * @param context           The {@code ServiceExtensionContext} that is used in this runtime.
      * @param serviceExtensions a list of extensions
      */
     protected void bootExtensions(ServiceExtensionContext context, List<InjectionContainer<ServiceExtension>> serviceExtensions) {
-        ExtensionLoader.bootServiceExtensions(serviceExtensions, context);
+        ExtensionLoader.bootServiceExtensions(serviceExtensions, context, startupProfile);
     }
 
     /**
@@ -193,6 +216,30 @@ public class BaseRuntime {
         return new TypeManager();
     }
 
+    /**
+     * Periodically reloads the configuration if {@value #CONFIG_RELOAD_PERIOD_SETTING} is set to a period in seconds. This requires the default
+     * context, custom contexts have to reload their configuration themselves.
+     */
+    private void scheduleConfigReload(ServiceExtensionContext context) {
+        var period = context.getSetting(CONFIG_RELOAD_PERIOD_SETTING, 0L);
+        if (period <= 0 || !(context instanceof DefaultServiceExtensionContext)) {
+            return;
+        }
+        var defaultContext = (DefaultServiceExtensionContext) context;
+        configReloader = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "edc-config-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        configReloader.scheduleWithFixedDelay(() -> {
+            try {
+                defaultContext.reloadConfig();
+            } catch (Exception e) {
+                monitor.severe("Error reloading configuration", e);
+            }
+        }, period, period, TimeUnit.SECONDS);
+    }
+
     private HealthCheckResult getStartupStatus() {
         return startupStatus.get();
     }
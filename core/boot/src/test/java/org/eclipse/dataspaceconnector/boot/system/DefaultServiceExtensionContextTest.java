@@ -37,6 +37,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -76,6 +77,24 @@ class DefaultServiceExtensionContextTest {
         assertThat(config.getString("entry2")).isEqualTo("value2");
     }
 
+    @Test
+    void reloadConfig_replacesSnapshotWhenSourceChanged() {
+        var configExtMock = mock(ConfigurationExtension.class);
+        when(configExtMock.getConfig())
+                .thenReturn(ConfigFactory.fromMap(Map.of("edc.test.entry", "value1")))
+                .thenReturn(ConfigFactory.fromMap(Map.of("edc.test.entry", "value2")));
+        when(configExtMock.reload()).thenReturn(false, true);
+        when(serviceLocatorMock.loadImplementors(eq(ConfigurationExtension.class), anyBoolean())).thenReturn(List.of(configExtMock));
+        context.initialize();
+        var defaultContext = (DefaultServiceExtensionContext) context;
+
+        assertThat(defaultContext.reloadConfig()).isFalse();
+        assertThat(context.getSetting("edc.test.entry", null)).isEqualTo("value1");
+
+        assertThat(defaultContext.reloadConfig()).isTrue();
+        assertThat(context.getSetting("edc.test.entry", null)).isEqualTo("value2");
+    }
+
     @Test
     void getConfig_withOtherProperties() {
         var path = "edc.test";
@@ -309,6 +328,23 @@ class DefaultServiceExtensionContextTest {
         assertThat(setting).isEqualTo("default");
     }
 
+    @Test
+    void registerLazyService_createdOnFirstAccessOnly() {
+        var created = new AtomicInteger();
+        context.registerLazyService(SomeObject.class, () -> {
+            created.incrementAndGet();
+            return new SomeObject();
+        });
+
+        assertThat(context.hasService(SomeObject.class)).isTrue();
+        assertThat(created.get()).isZero();
+
+        var service = context.getService(SomeObject.class);
+
+        assertThat(context.getService(SomeObject.class, true)).isSameAs(service);
+        assertThat(created.get()).isEqualTo(1);
+    }
+
     @SafeVarargs
     private <T> List<T> mutableListOf(T... elements) {
         return new ArrayList<>(List.of(elements));
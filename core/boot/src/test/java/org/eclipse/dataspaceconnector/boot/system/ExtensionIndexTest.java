@@ -0,0 +1,191 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.boot.system;
+
+import org.eclipse.dataspaceconnector.core.BaseExtension;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.eclipse.dataspaceconnector.spi.system.Feature;
+import org.eclipse.dataspaceconnector.spi.system.Inject;
+import org.eclipse.dataspaceconnector.spi.system.InjectionContainer;
+import org.eclipse.dataspaceconnector.spi.system.InjectionPoint;
+import org.eclipse.dataspaceconnector.spi.system.InjectionPointScanner;
+import org.eclipse.dataspaceconnector.spi.system.Provides;
+import org.eclipse.dataspaceconnector.spi.system.Requires;
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExtensionIndexTest {
+    private static final String CONSUMING = ConsumingExtension.class.getName();
+    private static final String PROVIDING = ProvidingExtension.class.getName();
+    private static final String CONSUMING_ENTRY = CONSUMING + "\t\t\t" + CONSUMING + "#someObject#some:object#true," + CONSUMING + "#optional#" + Object.class.getName() + "#false";
+    private static final String CODE_SOURCE = ExtensionIndex.codeSource(ExtensionIndexTest.class);
+
+    private Monitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = mock(Monitor.class);
+    }
+
+    @Test
+    void verifyIndexedMetadata() {
+        var index = ExtensionIndex.parse(CODE_SOURCE, List.of(
+                CONSUMING_ENTRY,
+                PROVIDING + "\tsome:object\t\t",
+                RequiringExtension.class.getName() + "\t\tother:feature\t"
+        ), monitor);
+        var extension = new ConsumingExtension();
+
+        assertThat(index.getProvidedFeatures(ProvidingExtension.class)).contains(Set.of("some:object"));
+        assertThat(index.getRequiredFeatures(RequiringExtension.class)).contains(Set.of("other:feature"));
+        assertThat(index.getInjectionPoints(extension)).hasValueSatisfying(points -> assertThat(describe(points))
+                .containsExactlyInAnyOrder("some:object:true", Object.class.getName() + ":false"));
+        verify(monitor, never()).warning(anyString());
+    }
+
+    @Test
+    void verifyUnknownAndStaleEntriesFallBack() {
+        var index = ExtensionIndex.parse(CODE_SOURCE, List.of(
+                CONSUMING + "\t\t\t" + CONSUMING + "#removedField#some:object#true",
+                "malformed line"
+        ), monitor);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.getInjectionPoints(new ConsumingExtension())).isEmpty();
+        assertThat(index.getProvidedFeatures(ProvidingExtension.class)).isEmpty();
+        verify(monitor, times(2)).warning(anyString());
+    }
+
+    @Test
+    void verifyEntryFromOtherCodeSourceFallsBack() {
+        // the class was loaded from a different jar or directory than the index, so the index may describe another version of it
+        var index = ExtensionIndex.parse("file:/other.jar", List.of(PROVIDING + "\tsome:object\t\t", CONSUMING_ENTRY), monitor);
+
+        assertThat(index.contains(ConsumingExtension.class)).isFalse();
+        assertThat(index.getInjectionPoints(new ConsumingExtension())).isEmpty();
+        assertThat(index.getProvidedFeatures(ProvidingExtension.class)).isEmpty();
+        verify(monitor, times(2)).warning(anyString());
+    }
+
+    @Test
+    void verifyCodeSourceOfResource() throws IOException {
+        assertThat(ExtensionIndex.codeSource(new URL("jar:file:/lib/extension.jar!/" + ExtensionIndex.INDEX_LOCATION))).isEqualTo("file:/lib/extension.jar");
+        assertThat(ExtensionIndex.codeSource(new URL("file:/build/classes/java/main/" + ExtensionIndex.INDEX_LOCATION))).isEqualTo("file:/build/classes/java/main/");
+    }
+
+    @Test
+    void verifyLoadReadsAllIndexResources(@TempDir Path first, @TempDir Path second) throws IOException {
+        writeIndex(first, PROVIDING + "\tsome:object\t\t");
+        writeIndex(second, PROVIDING + "\tother:object\t\t\n" + CONSUMING_ENTRY);
+
+        try (var classLoader = new URLClassLoader(new URL[]{ first.toUri().toURL(), second.toUri().toURL() }, null)) {
+            var index = ExtensionIndex.load(classLoader, monitor);
+
+            assertThat(index.size()).isEqualTo(2);
+            // the test classes were not loaded from the directories of the index
+            assertThat(index.getProvidedFeatures(ProvidingExtension.class)).isEmpty();
+        }
+    }
+
+    @Test
+    void verifyContextSortsByIndexedFeatures() {
+        var index = ExtensionIndex.parse(CODE_SOURCE, List.of(PROVIDING + "\tsome:object\t\t", CONSUMING_ENTRY), monitor);
+        var serviceLocator = mock(ServiceLocator.class);
+        var consuming = new ConsumingExtension();
+        var providing = new ProvidingExtension();
+        when(serviceLocator.loadImplementors(eq(ServiceExtension.class), anyBoolean()))
+                .thenReturn(new ArrayList<>(List.of(new TestBaseExtension(), consuming, providing)));
+        var context = new DefaultServiceExtensionContext(new TypeManager(), monitor, serviceLocator, index);
+
+        var containers = context.loadServiceExtensions();
+
+        var order = containers.stream().map(InjectionContainer::getInjectionTarget).collect(Collectors.toList());
+        assertThat(order.indexOf(providing)).isLessThan(order.indexOf(consuming));
+        assertThat(containers.get(order.indexOf(consuming)).getInjectionPoints()).hasSize(2);
+        assertThat(index.contains(ConsumingExtension.class)).isTrue();
+        assertThat(index.contains(ProvidingExtension.class)).isTrue();
+    }
+
+    @Test
+    void verifyIndexMatchesReflection() {
+        var index = ExtensionIndex.parse(CODE_SOURCE, List.of(CONSUMING_ENTRY), monitor);
+        var extension = new ConsumingExtension();
+
+        var indexed = index.getInjectionPoints(extension).orElseThrow();
+
+        assertThat(describe(indexed)).containsExactlyInAnyOrderElementsOf(describe(new InjectionPointScanner().getInjectionPoints(extension)));
+    }
+
+    private List<String> describe(Set<? extends InjectionPoint<?>> injectionPoints) {
+        return injectionPoints.stream().map(ip -> ip.getFeatureName() + ":" + ip.isRequired()).collect(Collectors.toList());
+    }
+
+    private void writeIndex(Path root, String content) throws IOException {
+        var file = root.resolve(ExtensionIndex.INDEX_LOCATION);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private static class ConsumingExtension implements ServiceExtension {
+        @Inject
+        private SomeObject someObject;
+        @Inject(required = false)
+        private Object optional;
+        private String notInjected;
+    }
+
+    @Provides(SomeObject.class)
+    private static class ProvidingExtension implements ServiceExtension {
+    }
+
+    @Requires(OtherFeature.class)
+    private static class RequiringExtension implements ServiceExtension {
+    }
+
+    @BaseExtension
+    private static class TestBaseExtension implements ServiceExtension {
+    }
+
+    @Feature("some:object")
+    private static class SomeObject {
+    }
+
+    @Feature("other:feature")
+    private interface OtherFeature {
+    }
+}
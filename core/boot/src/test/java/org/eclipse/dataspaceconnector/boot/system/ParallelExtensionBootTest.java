@@ -0,0 +1,248 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.boot.system;
+
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.eclipse.dataspaceconnector.spi.system.Inject;
+import org.eclipse.dataspaceconnector.spi.system.InjectionContainer;
+import org.eclipse.dataspaceconnector.spi.system.InjectionPointScanner;
+import org.eclipse.dataspaceconnector.spi.system.Provides;
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ParallelExtensionBootTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private ServiceExtensionContext context;
+    private StartupProfile profile;
+
+    @BeforeEach
+    void setUp() {
+        context = new DefaultServiceExtensionContext(new TypeManager(), mock(Monitor.class), mock(ServiceLocator.class));
+        context.initialize();
+        profile = new StartupProfile();
+    }
+
+    @Test
+    void verifyInjectedDependencyIsInitializedFirst() {
+        var provider = new ProvidingExtension(200);
+        var consumer = new InjectingExtension();
+
+        boot(List.of(provider, consumer), TIMEOUT);
+
+        assertThat(consumer.seen).isNotNull();
+        assertThat(consumer.started).isTrue();
+    }
+
+    @Test
+    void verifyUndeclaredLookupWaitsForProvider() {
+        var provider = new ProvidingExtension(200);
+        var consumer = new LookupExtension();
+
+        boot(List.of(consumer, provider), TIMEOUT);
+
+        assertThat(consumer.seen).isNotNull();
+    }
+
+    @Test
+    void verifyLookupProceedsWhenProviderRegistersNothing() {
+        var provider = new ProvidingExtension(100);
+        provider.register = false;
+        var consumer = new LookupExtension();
+
+        boot(List.of(consumer, provider), TIMEOUT);
+
+        assertThat(consumer.seen).isNull();
+    }
+
+    @Test
+    void verifyLookupTimesOut() {
+        var provider = new ProvidingExtension(2000);
+        var consumer = new LookupExtension();
+
+        assertThatThrownBy(() -> boot(List.of(consumer, provider), Duration.ofMillis(100)))
+                .isInstanceOf(EdcException.class)
+                .hasMessageContaining("Timed out");
+    }
+
+    @Test
+    void verifyExtensionLookingUpItsOwnServiceDoesNotWait() {
+        var provider = new SelfLookupExtension();
+
+        boot(List.of(provider), Duration.ofMillis(100));
+
+        assertThat(provider.seen).isNull();
+    }
+
+    @Test
+    void verifyProfileIsRecorded() {
+        var extensions = List.<ServiceExtension>of(new SlowExtension("one", 50, 0), new SlowExtension("two", 0, 50));
+
+        boot(extensions, TIMEOUT);
+
+        assertThat(profile.getEntries()).extracting(StartupProfile.Entry::getName).containsExactlyInAnyOrder("one", "two");
+        assertThat(profile.slowest(1)).hasSize(1);
+        assertThat(profile.toMap()).containsKeys("parallel", "totalMillis", "extensions");
+    }
+
+    @Test
+    void verifyIndependentExtensionsAreInitializedConcurrently() {
+        // every extension waits in initialize() until all of them have been entered, which only happens if they are initialized concurrently
+        var entered = new CountDownLatch(4);
+        var extensions = IntStream.range(0, 4).mapToObj(i -> new RendezvousExtension(entered)).collect(Collectors.toList());
+
+        boot(List.copyOf(extensions), TIMEOUT);
+
+        assertThat(extensions).allMatch(extension -> extension.allEntered);
+    }
+
+    private void boot(List<ServiceExtension> extensions, Duration timeout) {
+        new ParallelExtensionBoot(containers(extensions), context, profile, timeout).boot();
+    }
+
+    private List<InjectionContainer<ServiceExtension>> containers(List<ServiceExtension> extensions) {
+        var scanner = new InjectionPointScanner();
+        return extensions.stream().map(extension -> new InjectionContainer<>(extension, scanner.getInjectionPoints(extension))).collect(Collectors.toList());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface SomeService {
+    }
+
+    @Provides(SomeService.class)
+    private static class ProvidingExtension implements ServiceExtension {
+        private final long delay;
+        private boolean register = true;
+
+        ProvidingExtension(long delay) {
+            this.delay = delay;
+        }
+
+        @Override
+        public void initialize(ServiceExtensionContext context) {
+            sleep(delay);
+            if (register) {
+                context.registerService(SomeService.class, new SomeService() {
+                });
+            }
+        }
+    }
+
+    private static class InjectingExtension implements ServiceExtension {
+        @Inject
+        private SomeService service;
+        private SomeService seen;
+        private boolean started;
+
+        @Override
+        public void initialize(ServiceExtensionContext context) {
+            seen = service;
+        }
+
+        @Override
+        public void start() {
+            started = true;
+        }
+    }
+
+    private static class LookupExtension implements ServiceExtension {
+        private SomeService seen;
+
+        @Override
+        public void initialize(ServiceExtensionContext context) {
+            seen = context.getService(SomeService.class, true);
+        }
+    }
+
+    @Provides(SomeService.class)
+    private static class SelfLookupExtension implements ServiceExtension {
+        private SomeService seen;
+
+        @Override
+        public void initialize(ServiceExtensionContext context) {
+            seen = context.getService(SomeService.class, true);
+            context.registerService(SomeService.class, new SomeService() {
+            });
+        }
+    }
+
+    private static class RendezvousExtension implements ServiceExtension {
+        private final CountDownLatch entered;
+        private volatile boolean allEntered;
+
+        RendezvousExtension(CountDownLatch entered) {
+            this.entered = entered;
+        }
+
+        @Override
+        public void initialize(ServiceExtensionContext context) {
+            entered.countDown();
+            try {
+                allEntered = entered.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class SlowExtension implements ServiceExtension {
+        private final String name;
+        private final long initializeDelay;
+        private final long startDelay;
+
+        SlowExtension(String name, long initializeDelay, long startDelay) {
+            this.name = name;
+            this.initializeDelay = initializeDelay;
+            this.startDelay = startDelay;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void initialize(ServiceExtensionContext context) {
+            sleep(initializeDelay);
+        }
+
+        @Override
+        public void start() {
+            sleep(startDelay);
+        }
+    }
+}
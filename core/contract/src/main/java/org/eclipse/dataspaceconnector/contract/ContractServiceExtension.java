@@ -38,6 +38,8 @@ import org.eclipse.dataspaceconnector.spi.contract.offer.store.ContractDefinitio
 import org.eclipse.dataspaceconnector.spi.contract.policy.PolicyEngine;
 import org.eclipse.dataspaceconnector.spi.contract.validation.ContractValidationService;
 import org.eclipse.dataspaceconnector.spi.message.RemoteMessageDispatcherRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.MetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.NoopMetricRegistry;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.system.Inject;
 import org.eclipse.dataspaceconnector.spi.system.Provides;
@@ -61,6 +63,8 @@ public class ContractServiceExtension implements ServiceExtension {
     private ContractDefinitionStore contractDefinitionStore;
     @Inject
     private RemoteMessageDispatcherRegistry dispatcherRegistry;
+    @Inject(required = false)
+    private MetricRegistry metricRegistry;
 
     @Override
     public String name() {
@@ -118,6 +122,8 @@ public class ContractServiceExtension implements ServiceExtension {
 
         var waitStrategy = context.hasService(NegotiationWaitStrategy.class) ? context.getService(NegotiationWaitStrategy.class) : new ExponentialWaitStrategy(DEFAULT_ITERATION_WAIT);
 
+        var metrics = metricRegistry != null ? metricRegistry : NoopMetricRegistry.INSTANCE;
+
         var observable = new ContractNegotiationObservableImpl();
         context.registerService(ContractNegotiationObservable.class, observable);
 
@@ -127,6 +133,7 @@ public class ContractServiceExtension implements ServiceExtension {
                 .monitor(monitor)
                 .validationService(validationService)
                 .observable(observable)
+                .metrics(metrics)
                 .build();
 
         providerNegotiationManager = ProviderContractNegotiationManagerImpl.Builder.newInstance()
@@ -135,6 +142,7 @@ public class ContractServiceExtension implements ServiceExtension {
                 .monitor(monitor)
                 .validationService(validationService)
                 .observable(observable)
+                .metrics(metrics)
                 .build();
 
         context.registerService(ConsumerContractNegotiationManager.class, consumerNegotiationManager);
@@ -24,6 +24,8 @@ import org.eclipse.dataspaceconnector.spi.contract.negotiation.store.ContractNeg
 import org.eclipse.dataspaceconnector.spi.contract.validation.ContractValidationService;
 import org.eclipse.dataspaceconnector.spi.iam.ClaimToken;
 import org.eclipse.dataspaceconnector.spi.message.RemoteMessageDispatcherRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.MetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.NoopMetricRegistry;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.result.Result;
 import org.eclipse.dataspaceconnector.spi.types.domain.contract.agreement.ContractAgreement;
@@ -38,6 +40,8 @@ import org.eclipse.dataspaceconnector.spi.types.domain.transfer.TransferProcessS
 import org.jetbrains.annotations.NotNull;
 
 import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -67,7 +71,11 @@ import static org.eclipse.dataspaceconnector.spi.types.domain.contract.negotiati
  * - method call in CoreTransferExtension
  */
 public class ConsumerContractNegotiationManagerImpl implements ConsumerContractNegotiationManager {
+    static final String PROCESSED_METRIC = "edc.negotiation.processed";
+    static final String STORE_LATENCY_METRIC = "edc.store.latency";
+
     private final AtomicBoolean active = new AtomicBoolean();
+    private final Map<ContractNegotiationStates, EntitiesProcessor<ContractNegotiation>> stateProcessors = new EnumMap<>(ContractNegotiationStates.class);
     private ContractNegotiationStore negotiationStore;
     private ContractValidationService validationService;
 
@@ -78,6 +86,7 @@ public class ConsumerContractNegotiationManagerImpl implements ConsumerContractN
 
     private RemoteMessageDispatcherRegistry dispatcherRegistry;
     private ContractNegotiationObservable observable;
+    private MetricRegistry metrics = NoopMetricRegistry.INSTANCE;
     private Predicate<Boolean> isProcessed = it -> it;
 
     public ConsumerContractNegotiationManagerImpl() {
@@ -85,6 +94,10 @@ public class ConsumerContractNegotiationManagerImpl implements ConsumerContractN
 
     public void start(ContractNegotiationStore store) {
         negotiationStore = store;
+        // the processors are created once, so their meters are not looked up on every iteration of the loop
+        for (var state : ContractNegotiationStates.values()) {
+            stateProcessors.put(state, createStateProcessor(state));
+        }
         active.set(true);
         executor = Executors.newSingleThreadExecutor();
         executor.submit(this::run);
@@ -483,7 +496,13 @@ public class ConsumerContractNegotiationManagerImpl implements ConsumerContractN
     }
 
     private EntitiesProcessor<ContractNegotiation> onNegotiationsInState(ContractNegotiationStates state) {
-        return new EntitiesProcessor<>(() -> negotiationStore.nextForState(state.code(), batchSize));
+        return stateProcessors.get(state);
+    }
+
+    private EntitiesProcessor<ContractNegotiation> createStateProcessor(ContractNegotiationStates state) {
+        return new EntitiesProcessor<>(() -> negotiationStore.nextForState(state.code(), batchSize),
+                metrics.timer(STORE_LATENCY_METRIC, "store", "contract-negotiation", "operation", "nextForState"),
+                metrics.counter(PROCESSED_METRIC, "role", "consumer", "state", state.name()));
     }
 
     /**
@@ -530,6 +549,11 @@ public class ConsumerContractNegotiationManagerImpl implements ConsumerContractN
             return this;
         }
 
+        public Builder metrics(MetricRegistry metrics) {
+            manager.metrics = metrics;
+            return this;
+        }
+
         public ConsumerContractNegotiationManagerImpl build() {
             Objects.requireNonNull(manager.validationService, "contractValidationService");
             Objects.requireNonNull(manager.monitor, "monitor");
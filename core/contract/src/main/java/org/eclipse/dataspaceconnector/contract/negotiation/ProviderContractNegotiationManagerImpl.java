@@ -24,6 +24,8 @@ import org.eclipse.dataspaceconnector.spi.contract.negotiation.store.ContractNeg
 import org.eclipse.dataspaceconnector.spi.contract.validation.ContractValidationService;
 import org.eclipse.dataspaceconnector.spi.iam.ClaimToken;
 import org.eclipse.dataspaceconnector.spi.message.RemoteMessageDispatcherRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.MetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.NoopMetricRegistry;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.result.Result;
 import org.eclipse.dataspaceconnector.spi.types.domain.contract.agreement.ContractAgreement;
@@ -36,6 +38,8 @@ import org.eclipse.dataspaceconnector.spi.types.domain.contract.offer.ContractOf
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
@@ -56,8 +60,11 @@ import static org.eclipse.dataspaceconnector.spi.types.domain.contract.negotiati
  * Implementation of the {@link ProviderContractNegotiationManager}.
  */
 public class ProviderContractNegotiationManagerImpl implements ProviderContractNegotiationManager {
+    static final String PROCESSED_METRIC = "edc.negotiation.processed";
+    static final String STORE_LATENCY_METRIC = "edc.store.latency";
 
     private final AtomicBoolean active = new AtomicBoolean();
+    private final Map<ContractNegotiationStates, EntitiesProcessor<ContractNegotiation>> stateProcessors = new EnumMap<>(ContractNegotiationStates.class);
 
     private int batchSize = 5;
     private NegotiationWaitStrategy waitStrategy = () -> 5000L;  // default wait five seconds
@@ -68,6 +75,7 @@ public class ProviderContractNegotiationManagerImpl implements ProviderContractN
     private Monitor monitor;
     private ExecutorService executor;
     private ContractNegotiationObservable observable;
+    private MetricRegistry metrics = NoopMetricRegistry.INSTANCE;
     private Predicate<Boolean> isProcessed = it -> it;
 
     private ProviderContractNegotiationManagerImpl() { }
@@ -78,6 +86,10 @@ public class ProviderContractNegotiationManagerImpl implements ProviderContractN
 
     public void start(ContractNegotiationStore negotiationStore) {
         this.negotiationStore = negotiationStore;
+        // the processors are created once, so their meters are not looked up on every iteration of the loop
+        for (var state : ContractNegotiationStates.values()) {
+            stateProcessors.put(state, createStateProcessor(state));
+        }
         active.set(true);
         executor = Executors.newSingleThreadExecutor();
         executor.submit(this::run);
@@ -280,7 +292,13 @@ public class ProviderContractNegotiationManagerImpl implements ProviderContractN
     }
 
     private EntitiesProcessor<ContractNegotiation> onNegotiationsInState(ContractNegotiationStates state) {
-        return new EntitiesProcessor<>(() -> negotiationStore.nextForState(state.code(), batchSize));
+        return stateProcessors.get(state);
+    }
+
+    private EntitiesProcessor<ContractNegotiation> createStateProcessor(ContractNegotiationStates state) {
+        return new EntitiesProcessor<>(() -> negotiationStore.nextForState(state.code(), batchSize),
+                metrics.timer(STORE_LATENCY_METRIC, "store", "contract-negotiation", "operation", "nextForState"),
+                metrics.counter(PROCESSED_METRIC, "role", "provider", "state", state.name()));
     }
 
     /**
@@ -483,6 +501,11 @@ public class ProviderContractNegotiationManagerImpl implements ProviderContractN
             return this;
         }
 
+        public Builder metrics(MetricRegistry metrics) {
+            manager.metrics = metrics;
+            return this;
+        }
+
         public ProviderContractNegotiationManagerImpl build() {
             Objects.requireNonNull(manager.validationService, "contractValidationService");
             Objects.requireNonNull(manager.monitor, "monitor");
@@ -20,6 +20,8 @@ import org.eclipse.dataspaceconnector.spi.command.CommandHandlerRegistry;
 import org.eclipse.dataspaceconnector.spi.command.CommandQueue;
 import org.eclipse.dataspaceconnector.spi.command.CommandRunner;
 import org.eclipse.dataspaceconnector.spi.message.RemoteMessageDispatcherRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.MetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.NoopMetricRegistry;
 import org.eclipse.dataspaceconnector.spi.proxy.DataProxyManager;
 import org.eclipse.dataspaceconnector.spi.proxy.ProxyEntryHandlerRegistry;
 import org.eclipse.dataspaceconnector.spi.security.Vault;
@@ -64,6 +66,8 @@ public class CoreTransferExtension implements ServiceExtension {
     private CommandHandlerRegistry registry;
     @Inject
     private RemoteMessageDispatcherRegistry dispatcherRegistry;
+    @Inject(required = false)
+    private MetricRegistry metricRegistry;
 
     private TransferProcessManagerImpl processManager;
 
@@ -99,6 +103,8 @@ public class CoreTransferExtension implements ServiceExtension {
 
         var waitStrategy = context.hasService(TransferWaitStrategy.class) ? context.getService(TransferWaitStrategy.class) : new ExponentialWaitStrategy(DEFAULT_ITERATION_WAIT);
 
+        var metrics = metricRegistry != null ? metricRegistry : NoopMetricRegistry.INSTANCE;
+
         var dataProxyManager = new DataProxyManagerImpl();
         context.registerService(DataProxyManager.class, dataProxyManager);
 
@@ -125,6 +131,7 @@ public class CoreTransferExtension implements ServiceExtension {
                 .dataProxyManager(dataProxyManager)
                 .proxyEntryHandlerRegistry(proxyEntryHandlerRegistry)
                 .observable(observable)
+                .metrics(metrics)
                 .build();
 
 
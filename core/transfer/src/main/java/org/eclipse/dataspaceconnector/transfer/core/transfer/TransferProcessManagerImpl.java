@@ -19,6 +19,8 @@ import org.eclipse.dataspaceconnector.spi.command.Command;
 import org.eclipse.dataspaceconnector.spi.command.CommandQueue;
 import org.eclipse.dataspaceconnector.spi.command.CommandRunner;
 import org.eclipse.dataspaceconnector.spi.message.RemoteMessageDispatcherRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.MetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.NoopMetricRegistry;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.proxy.DataProxyManager;
 import org.eclipse.dataspaceconnector.spi.proxy.DataProxyRequest;
@@ -46,7 +48,9 @@ import org.eclipse.dataspaceconnector.spi.types.domain.transfer.TransferProcessS
 import org.jetbrains.annotations.NotNull;
 
 import java.net.ConnectException;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -88,7 +92,12 @@ import static org.eclipse.dataspaceconnector.spi.types.domain.transfer.TransferP
  * A wait strategy may implement a backoff scheme.
  */
 public class TransferProcessManagerImpl implements TransferProcessManager {
+    static final String PROCESSED_METRIC = "edc.transfer.processed";
+    static final String COMMANDS_PROCESSED_METRIC = "edc.transfer.commands.processed";
+    static final String STORE_LATENCY_METRIC = "edc.store.latency";
+
     private final AtomicBoolean active = new AtomicBoolean();
+    private final Map<TransferProcessStates, EntitiesProcessor<TransferProcess>> stateProcessors = new EnumMap<>(TransferProcessStates.class);
 
     private int batchSize = 5;
     private TransferWaitStrategy waitStrategy = () -> 5000L;  // default wait five seconds
@@ -107,6 +116,8 @@ public class TransferProcessManagerImpl implements TransferProcessManager {
     private DataProxyManager dataProxyManager;
     private ProxyEntryHandlerRegistry proxyEntryHandlers;
     private TransferProcessObservable observable;
+    private MetricRegistry metrics = NoopMetricRegistry.INSTANCE;
+    private EntitiesProcessor<Command> commandProcessor;
 
     private TransferProcessManagerImpl() {
 
@@ -114,6 +125,11 @@ public class TransferProcessManagerImpl implements TransferProcessManager {
 
     public void start(TransferProcessStore processStore) {
         transferProcessStore = processStore;
+        // the processors are created once, so their meters are not looked up on every iteration of the loop
+        for (var state : TransferProcessStates.values()) {
+            stateProcessors.put(state, createStateProcessor(state));
+        }
+        commandProcessor = createCommandProcessor();
         active.set(true);
         executor = Executors.newSingleThreadExecutor();
         executor.submit(this::run);
@@ -362,11 +378,23 @@ public class TransferProcessManagerImpl implements TransferProcessManager {
     }
 
     private EntitiesProcessor<TransferProcess> onTransfersInState(TransferProcessStates state) {
-        return new EntitiesProcessor<>(() -> transferProcessStore.nextForState(state.code(), batchSize));
+        return stateProcessors.get(state);
     }
 
     private EntitiesProcessor<Command> onCommands() {
-        return new EntitiesProcessor<>(() -> commandQueue.dequeue(5));
+        return commandProcessor;
+    }
+
+    private EntitiesProcessor<TransferProcess> createStateProcessor(TransferProcessStates state) {
+        return new EntitiesProcessor<>(() -> transferProcessStore.nextForState(state.code(), batchSize),
+                metrics.timer(STORE_LATENCY_METRIC, "store", "transfer-process", "operation", "nextForState"),
+                metrics.counter(PROCESSED_METRIC, "state", state.name()));
+    }
+
+    private EntitiesProcessor<Command> createCommandProcessor() {
+        return new EntitiesProcessor<>(() -> commandQueue.dequeue(5),
+                metrics.timer(STORE_LATENCY_METRIC, "store", "command-queue", "operation", "dequeue"),
+                metrics.counter(COMMANDS_PROCESSED_METRIC));
     }
 
     private boolean processCommand(Command command) {
@@ -634,6 +662,11 @@ public class TransferProcessManagerImpl implements TransferProcessManager {
             return this;
         }
 
+        public Builder metrics(MetricRegistry metrics) {
+            manager.metrics = metrics;
+            return this;
+        }
+
         public TransferProcessManagerImpl build() {
             Objects.requireNonNull(manager.manifestGenerator, "manifestGenerator");
             Objects.requireNonNull(manager.provisionManager, "provisionManager");
@@ -136,9 +136,10 @@ abstract class IdsMultipartSender<M extends RemoteMessage, R> implements IdsMess
 
         RequestBody headerRequestBody;
         try {
+            // write bytes directly instead of an intermediate string, the charset is what OkHttp would have added for a string body
             headerRequestBody = RequestBody.create(
-                    objectMapper.writeValueAsString(message),
-                    okhttp3.MediaType.get(MediaType.APPLICATION_JSON));
+                    objectMapper.writeValueAsBytes(message),
+                    okhttp3.MediaType.get(MediaType.APPLICATION_JSON + "; charset=utf-8"));
         } catch (IOException exception) {
             return failedFuture(exception);
         }
@@ -20,6 +20,7 @@ import okhttp3.MediaType;
 import okhttp3.RequestBody;
 
 public class MessageFunctions {
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
 
     private MessageFunctions() {
     }
@@ -29,7 +30,7 @@ public class MessageFunctions {
      */
     public static RequestBody writeJson(Object body, ObjectMapper mapper) {
         try {
-            return RequestBody.create(mapper.writeValueAsString(body), MediaType.get("application/json"));
+            return RequestBody.create(mapper.writeValueAsBytes(body), JSON);
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException(e);
         }
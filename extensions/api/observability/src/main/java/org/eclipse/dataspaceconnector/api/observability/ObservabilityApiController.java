@@ -22,6 +22,8 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.eclipse.dataspaceconnector.spi.metrics.MetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.NoopMetricRegistry;
 import org.eclipse.dataspaceconnector.spi.system.health.HealthCheckService;
 import org.eclipse.dataspaceconnector.spi.system.health.HealthStatus;
 
@@ -33,9 +35,16 @@ public class ObservabilityApiController {
 
 
     private final HealthCheckService healthCheckService;
+    private final MetricRegistry metricRegistry;
+    private final PrometheusFormatter formatter = new PrometheusFormatter();
 
     public ObservabilityApiController(HealthCheckService provider) {
+        this(provider, NoopMetricRegistry.INSTANCE);
+    }
+
+    public ObservabilityApiController(HealthCheckService provider, MetricRegistry metricRegistry) {
         healthCheckService = provider;
+        this.metricRegistry = metricRegistry;
     }
 
     @GET
@@ -67,6 +76,13 @@ public class ObservabilityApiController {
         return createResponse(status);
     }
 
+    @GET
+    @Path("metrics")
+    @Produces({ MediaType.TEXT_PLAIN })
+    public Response getMetrics() {
+        return Response.ok(formatter.format(metricRegistry.getMeters()), PrometheusFormatter.CONTENT_TYPE).build();
+    }
+
     private Response createResponse(HealthStatus status) {
         return status.isHealthy() ?
                 Response.ok().entity(status).build() :
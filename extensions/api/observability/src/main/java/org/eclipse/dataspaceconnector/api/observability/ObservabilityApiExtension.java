@@ -1,6 +1,8 @@
 package org.eclipse.dataspaceconnector.api.observability;
 
 import org.eclipse.dataspaceconnector.spi.WebService;
+import org.eclipse.dataspaceconnector.spi.metrics.MetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.NoopMetricRegistry;
 import org.eclipse.dataspaceconnector.spi.system.Inject;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
@@ -13,6 +15,8 @@ public class ObservabilityApiExtension implements ServiceExtension {
     private WebService webService;
     @Inject
     private HealthCheckService healthCheckService;
+    @Inject(required = false)
+    private MetricRegistry metricRegistry;
 
     public ObservabilityApiExtension(WebService webServiceMock, HealthCheckService healthCheckService) {
         webService = webServiceMock;
@@ -31,7 +35,8 @@ public class ObservabilityApiExtension implements ServiceExtension {
     public void initialize(ServiceExtensionContext serviceExtensionContext) {
 
 
-        webService.registerController(new ObservabilityApiController(healthCheckService));
+        var metrics = metricRegistry != null ? metricRegistry : NoopMetricRegistry.INSTANCE;
+        webService.registerController(new ObservabilityApiController(healthCheckService, metrics));
 
         // contribute to the liveness probe
         healthCheckService.addReadinessProvider(() -> HealthCheckResult.Builder.newInstance().component("Observability API").build());
@@ -0,0 +1,148 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.api.observability;
+
+import org.eclipse.dataspaceconnector.spi.metrics.Counter;
+import org.eclipse.dataspaceconnector.spi.metrics.Gauge;
+import org.eclipse.dataspaceconnector.spi.metrics.Histogram;
+import org.eclipse.dataspaceconnector.spi.metrics.HistogramSnapshot;
+import org.eclipse.dataspaceconnector.spi.metrics.Meter;
+import org.eclipse.dataspaceconnector.spi.metrics.Timer;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Renders meters in the <a href="https://prometheus.io/docs/instrumenting/exposition_formats/">Prometheus text exposition format</a>. Dots and
+ * other characters that are not allowed in metric names are replaced by underscores, counters get a {@code _total} suffix and timers, which are
+ * recorded in seconds, a {@code _seconds} suffix.
+ */
+class PrometheusFormatter {
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    String format(Collection<Meter> meters) {
+        var builder = new StringBuilder();
+        var byName = meters.stream()
+                .sorted(Comparator.comparing((Meter m) -> m.getId().getName()).thenComparing(m -> m.getId().getTags().toString()))
+                .collect(Collectors.groupingBy(m -> m.getId().getName(), LinkedHashMap::new, Collectors.toList()));
+        byName.forEach((name, group) -> {
+            var type = group.get(0).getType();
+            var metricName = metricName(name, type);
+            builder.append("# TYPE ").append(metricName).append(' ').append(prometheusType(type)).append('\n');
+            for (var meter : group) {
+                if (meter.getType() != type) {
+                    continue; // a name can only have one type in Prometheus
+                }
+                var tags = meter.getId().getTags();
+                switch (type) {
+                    case COUNTER:
+                        sample(builder, metricName, tags, null, ((Counter) meter).count());
+                        break;
+                    case GAUGE:
+                        sample(builder, metricName, tags, null, ((Gauge) meter).value());
+                        break;
+                    case TIMER:
+                        histogram(builder, metricName, tags, ((Timer) meter).snapshot());
+                        break;
+                    case HISTOGRAM:
+                        histogram(builder, metricName, tags, ((Histogram) meter).snapshot());
+                        break;
+                    default:
+                        break;
+                }
+            }
+        });
+        return builder.toString();
+    }
+
+    private void histogram(StringBuilder builder, String name, Map<String, String> tags, HistogramSnapshot snapshot) {
+        var buckets = snapshot.getBuckets();
+        var counts = snapshot.getBucketCounts();
+        for (var i = 0; i < buckets.length; i++) {
+            sample(builder, name + "_bucket", tags, number(buckets[i]), counts[i]);
+        }
+        sample(builder, name + "_bucket", tags, "+Inf", snapshot.getCount());
+        sample(builder, name + "_sum", tags, null, snapshot.getSum());
+        sample(builder, name + "_count", tags, null, snapshot.getCount());
+    }
+
+    private void sample(StringBuilder builder, String name, Map<String, String> tags, String le, Number value) {
+        builder.append(name);
+        if (!tags.isEmpty() || le != null) {
+            builder.append('{');
+            var first = true;
+            for (var tag : tags.entrySet()) {
+                if (!first) {
+                    builder.append(',');
+                }
+                first = false;
+                builder.append(sanitize(tag.getKey())).append("=\"").append(escape(tag.getValue())).append('"');
+            }
+            if (le != null) {
+                if (!first) {
+                    builder.append(',');
+                }
+                builder.append("le=\"").append(le).append('"');
+            }
+            builder.append('}');
+        }
+        builder.append(' ').append(value instanceof Double ? number((Double) value) : value.toString()).append('\n');
+    }
+
+    private String metricName(String name, Meter.Type type) {
+        var sanitized = sanitize(name);
+        switch (type) {
+            case COUNTER:
+                return sanitized.endsWith("_total") ? sanitized : sanitized + "_total";
+            case TIMER:
+                return sanitized.endsWith("_seconds") ? sanitized : sanitized + "_seconds";
+            default:
+                return sanitized;
+        }
+    }
+
+    private String prometheusType(Meter.Type type) {
+        switch (type) {
+            case COUNTER:
+                return "counter";
+            case GAUGE:
+                return "gauge";
+            default:
+                return "histogram";
+        }
+    }
+
+    private static String sanitize(String name) {
+        var sanitized = name.replaceAll("[^a-zA-Z0-9_:]", "_");
+        return Character.isDigit(sanitized.charAt(0)) ? "_" + sanitized : sanitized;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String number(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long) value) : Double.toString(value);
+    }
+}
@@ -1,6 +1,7 @@
 package org.eclipse.dataspaceconnector.api.observability;
 
 import jakarta.ws.rs.core.Response;
+import org.eclipse.dataspaceconnector.core.metrics.DefaultMetricRegistry;
 import org.eclipse.dataspaceconnector.spi.system.health.HealthCheckResult;
 import org.eclipse.dataspaceconnector.spi.system.health.HealthCheckService;
 import org.eclipse.dataspaceconnector.spi.system.health.HealthStatus;
@@ -146,4 +147,17 @@ class ObservabilityApiControllerTest {
         verify(healthCheckServiceMock, times(1)).getStartupStatus();
         verifyNoMoreInteractions(healthCheckServiceMock);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getMetrics() {
+        var metricRegistry = new DefaultMetricRegistry();
+        metricRegistry.counter("edc.test").increment();
+        var metricsController = new ObservabilityApiController(healthCheckServiceMock, metricRegistry);
+
+        var response = metricsController.getMetrics();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getEntity()).isEqualTo("# TYPE edc_test_total counter\nedc_test_total 1\n");
+        verifyNoMoreInteractions(healthCheckServiceMock);
+    }
+}
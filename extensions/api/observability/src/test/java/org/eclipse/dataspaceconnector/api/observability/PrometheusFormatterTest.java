@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.api.observability;
+
+import org.eclipse.dataspaceconnector.core.metrics.DefaultMetricRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrometheusFormatterTest {
+    private DefaultMetricRegistry registry;
+    private PrometheusFormatter formatter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new DefaultMetricRegistry();
+        formatter = new PrometheusFormatter();
+    }
+
+    @Test
+    void verifyCounter() {
+        registry.counter("edc.transfer.processed", "state", "INITIAL").increment(3);
+        registry.counter("edc.transfer.processed", "state", "PROVISIONED").increment();
+
+        assertThat(formatter.format(registry.getMeters())).isEqualTo(
+                "# TYPE edc_transfer_processed_total counter\n" +
+                        "edc_transfer_processed_total{state=\"INITIAL\"} 3\n" +
+                        "edc_transfer_processed_total{state=\"PROVISIONED\"} 1\n");
+    }
+
+    @Test
+    void verifyGauge() {
+        registry.gauge("edc.dataplane.queue.size", () -> 7);
+
+        assertThat(formatter.format(registry.getMeters())).isEqualTo(
+                "# TYPE edc_dataplane_queue_size gauge\n" +
+                        "edc_dataplane_queue_size 7\n");
+    }
+
+    @Test
+    void verifyTimer() {
+        var timer = registry.timer("edc.store.latency", "store", "transfer-process");
+        timer.record(3, TimeUnit.MILLISECONDS);
+        timer.record(20, TimeUnit.SECONDS);
+
+        var text = formatter.format(registry.getMeters());
+
+        assertThat(text).startsWith("# TYPE edc_store_latency_seconds histogram\n")
+                .contains("edc_store_latency_seconds_bucket{store=\"transfer-process\",le=\"0.001\"} 0\n")
+                .contains("edc_store_latency_seconds_bucket{store=\"transfer-process\",le=\"0.005\"} 1\n")
+                .contains("edc_store_latency_seconds_bucket{store=\"transfer-process\",le=\"10\"} 1\n")
+                .contains("edc_store_latency_seconds_bucket{store=\"transfer-process\",le=\"+Inf\"} 2\n")
+                .contains("edc_store_latency_seconds_sum{store=\"transfer-process\"} 20.003\n")
+                .contains("edc_store_latency_seconds_count{store=\"transfer-process\"} 2\n");
+    }
+
+    @Test
+    void verifyLabelValuesAreEscaped() {
+        registry.counter("edc.test", "message", "say \"hi\"\n").increment();
+
+        assertThat(formatter.format(registry.getMeters())).contains("edc_test_total{message=\"say \\\"hi\\\"\\n\"} 1\n");
+    }
+}
@@ -26,6 +26,7 @@ dependencies {
     implementation("com.azure:azure-cosmos:${cosmosSdkVersion}")
 
     testImplementation(testFixtures(project(":common:util")))
+    testImplementation(testFixtures(project(":extensions:azure:cosmos:cosmos-common")))
 }
 
 
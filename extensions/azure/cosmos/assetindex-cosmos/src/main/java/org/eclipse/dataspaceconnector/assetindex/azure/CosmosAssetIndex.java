@@ -18,19 +18,25 @@ import com.azure.cosmos.models.SqlQuerySpec;
 import net.jodah.failsafe.RetryPolicy;
 import org.eclipse.dataspaceconnector.assetindex.azure.model.AssetDocument;
 import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDbApi;
+import org.eclipse.dataspaceconnector.cosmos.azure.CosmosQueryPage;
 import org.eclipse.dataspaceconnector.dataloading.AssetEntry;
 import org.eclipse.dataspaceconnector.dataloading.AssetLoader;
+import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.asset.AssetIndex;
 import org.eclipse.dataspaceconnector.spi.asset.AssetSelectorExpression;
 import org.eclipse.dataspaceconnector.spi.asset.DataAddressResolver;
 import org.eclipse.dataspaceconnector.spi.query.Criterion;
+import org.eclipse.dataspaceconnector.spi.query.QuerySpec;
 import org.eclipse.dataspaceconnector.spi.types.TypeManager;
 import org.eclipse.dataspaceconnector.spi.types.domain.DataAddress;
 import org.eclipse.dataspaceconnector.spi.types.domain.asset.Asset;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static net.jodah.failsafe.Failsafe.with;
@@ -61,22 +67,59 @@ public class CosmosAssetIndex implements AssetIndex, DataAddressResolver, AssetL
 
     @Override
     public Stream<Asset> queryAssets(AssetSelectorExpression expression) {
-        Objects.requireNonNull(expression, "AssetSelectorExpression can not be null!");
+        return queryAssets(expression, (Collection<String>) null);
+    }
 
-        SqlQuerySpec query = queryBuilder.from(expression);
+    /**
+     * Returns the assets selected by the expression, reading only the given properties of each asset from the database.
+     * This is not part of the {@link AssetIndex}, contract offers always carry the complete asset and are queried through
+     * {@link #queryAssets(AssetSelectorExpression)}, which reads all properties but not the data address.
+     *
+     * @param expression the selector of the assets
+     * @param properties the properties the returned assets should have, or null for all properties. The id is always returned.
+     */
+    public Stream<Asset> queryAssets(AssetSelectorExpression expression, @Nullable Collection<String> properties) {
+        Objects.requireNonNull(expression, "AssetSelectorExpression can not be null!");
 
-        var response = with(retryPolicy).get(() -> assetDb.queryItems(query));
-        return response.map(this::convertObject)
-                .map(AssetDocument::getWrappedAsset);
+        SqlQuerySpec query = queryBuilder.projection(expression, properties);
+        return queryInternal(query);
     }
 
     @Override
     public Stream<Asset> queryAssets(List<Criterion> criteria) {
-
         SqlQuerySpec query = queryBuilder.from(criteria);
-        var response = with(retryPolicy).get(() -> assetDb.queryItems(query));
-        return response.map(this::convertObject)
-                .map(AssetDocument::getWrappedAsset);
+        return queryInternal(query);
+    }
+
+    /**
+     * Returns the page of assets described by the offset, limit, filter and sort order of the query spec.
+     */
+    public Stream<Asset> queryAssets(QuerySpec querySpec) {
+        Objects.requireNonNull(querySpec, "QuerySpec can not be null!");
+
+        SqlQuerySpec query = queryBuilder.from(querySpec);
+        return queryInternal(query);
+    }
+
+    /**
+     * Returns one page of the assets selected by the expression. Other than paging with an offset, resuming a query with the continuation
+     * token of the previous page does not read the skipped documents again, so it costs the same for every page.
+     * This is not part of the {@link AssetIndex} either, as the contract offer query has no means to resume a query.
+     *
+     * @param expression the selector of the assets, which must be the same for all pages
+     * @param continuationToken the continuation token of the previous page, or null to start with the first page
+     * @param pageSize the maximum number of assets of the page
+     */
+    public CosmosQueryPage<Asset> queryAssets(AssetSelectorExpression expression, @Nullable String continuationToken, int pageSize) {
+        Objects.requireNonNull(expression, "AssetSelectorExpression can not be null!");
+
+        SqlQuerySpec query = queryBuilder.projection(expression, null);
+        var page = with(retryPolicy).get(() -> assetDb.queryPage(query, Object.class, continuationToken, pageSize));
+        var assets = page.getItems().stream()
+                .map(this::convertObject)
+                .map(AssetDocument::getWrappedAsset)
+                .collect(Collectors.toList());
+        return new CosmosQueryPage<>(assets, page.getContinuationToken(), page.getRequestCharge());
     }
 
     @Override
@@ -101,10 +144,32 @@ public class CosmosAssetIndex implements AssetIndex, DataAddressResolver, AssetL
         accept(item.getAsset(), item.getDataAddress());
     }
 
+    /**
+     * Stores the assets with bulk upserts, which take one request per {@value CosmosDbApi#MAX_BATCH_OPERATIONS} assets instead of one per asset.
+     *
+     * @throws EdcException if any of the assets could not be stored
+     */
+    @Override
+    public void acceptAll(Collection<AssetEntry> items) {
+        var documents = items.stream()
+                .map(item -> new AssetDocument(item.getAsset(), partitionKey, item.getDataAddress()))
+                .collect(Collectors.toList());
+        var result = assetDb.upsertItems(documents, null);
+        if (!result.succeeded()) {
+            throw new EdcException("Failed to store assets: " + result);
+        }
+    }
+
     // we need to read the AssetDocument as Object, because no custom JSON deserialization can be registered
     // with the CosmosDB SDK, so it would not know about subtypes, etc.
     private AssetDocument convertObject(Object databaseDocument) {
-        return typeManager.readValue(typeManager.writeValueAsString(databaseDocument), AssetDocument.class);
+        return typeManager.convertValue(databaseDocument, AssetDocument.class);
+    }
+
+    private Stream<Asset> queryInternal(SqlQuerySpec query) {
+        var response = with(retryPolicy).get(() -> assetDb.queryItems(query));
+        return response.map(this::convertObject)
+                .map(AssetDocument::getWrappedAsset);
     }
 
     private Optional<AssetDocument> queryByIdInternal(String assetId) {
@@ -21,7 +21,10 @@ import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDbApiImpl;
 import org.eclipse.dataspaceconnector.dataloading.AssetLoader;
 import org.eclipse.dataspaceconnector.spi.asset.AssetIndex;
 import org.eclipse.dataspaceconnector.spi.asset.DataAddressResolver;
+import org.eclipse.dataspaceconnector.spi.metrics.MetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.NoopMetricRegistry;
 import org.eclipse.dataspaceconnector.spi.security.Vault;
+import org.eclipse.dataspaceconnector.spi.system.Inject;
 import org.eclipse.dataspaceconnector.spi.system.Provides;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
@@ -33,6 +36,9 @@ import org.eclipse.dataspaceconnector.spi.system.health.HealthCheckService;
 @Provides({ AssetIndex.class, DataAddressResolver.class, AssetLoader.class })
 public class CosmosAssetIndexExtension implements ServiceExtension {
 
+    @Inject(required = false)
+    private MetricRegistry metricRegistry;
+
     @Override
     public String name() {
         return "CosmosDB Asset Index";
@@ -43,7 +49,9 @@ public class CosmosAssetIndexExtension implements ServiceExtension {
         var configuration = new AssetIndexCosmosConfig(context);
         Vault vault = context.getService(Vault.class);
 
-        CosmosDbApi cosmosDbApi = new CosmosDbApiImpl(vault, configuration);
+        var metrics = metricRegistry != null ? metricRegistry : NoopMetricRegistry.INSTANCE;
+
+        CosmosDbApi cosmosDbApi = new CosmosDbApiImpl(vault, configuration, metrics, context.getMonitor());
         var assetIndex = new CosmosAssetIndex(cosmosDbApi, configuration.getPartitionKey(), context.getTypeManager(), context.getService(RetryPolicy.class));
         context.registerService(AssetIndex.class, assetIndex);
         context.registerService(AssetLoader.class, assetIndex);
@@ -7,22 +7,32 @@ import org.eclipse.dataspaceconnector.common.collection.CollectionUtil;
 import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.asset.AssetSelectorExpression;
 import org.eclipse.dataspaceconnector.spi.query.Criterion;
+import org.eclipse.dataspaceconnector.spi.query.QuerySpec;
+import org.eclipse.dataspaceconnector.spi.query.SortOrder;
 import org.eclipse.dataspaceconnector.spi.types.domain.asset.Asset;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 public class CosmosAssetQueryBuilder {
 
     private static final String PROPERTIES_FIELD = "wrappedInstance";
+    private static final String PARTITION_KEY_FIELD = "partitionKey";
     private static final String PATH_TO_PROPERTIES = String.join(".", AssetDocument.class.getSimpleName(), PROPERTIES_FIELD);
+    private static final String PATH_TO_PARTITION_KEY = String.join(".", AssetDocument.class.getSimpleName(), PARTITION_KEY_FIELD);
 
     public CosmosAssetQueryBuilder() {
         // pre-check fields of the AssetDocument class that will be used to build the queries
         assertClassContainsField(AssetDocument.class, PROPERTIES_FIELD);
+        assertClassContainsField(AssetDocument.class, PARTITION_KEY_FIELD);
     }
 
     private static void assertClassContainsField(Class<?> clazz, String fieldName) {
@@ -57,6 +67,54 @@ public class CosmosAssetQueryBuilder {
         return new SqlQuerySpec("SELECT * FROM " + AssetDocument.class.getSimpleName() + whereClause.getWhere(), whereClause.getParameters());
     }
 
+    /**
+     * Builds a query that only reads the asset properties of the selected documents and leaves out everything else, most notably the data
+     * address, which is never needed to build offers.
+     *
+     * @param expression the selector of the assets
+     * @param properties the asset properties to read, or null to read all properties. The asset id is always read.
+     */
+    public SqlQuerySpec projection(AssetSelectorExpression expression, @Nullable Collection<String> properties) {
+        WhereClause whereClause = new WhereClause(expression);
+        return new SqlQuerySpec(select(properties) + whereClause.getWhere(), whereClause.getParameters());
+    }
+
+    /**
+     * Builds a query for one page of the assets matching the filter of the query spec, sorted by the sort field of the spec if there is one.
+     * Like {@link #projection(AssetSelectorExpression, Collection)}, the query reads all asset properties but no data address.
+     */
+    public SqlQuerySpec from(QuerySpec querySpec) {
+        WhereClause whereClause = new WhereClause(Objects.requireNonNullElse(querySpec.getFilterExpression(), List.<Criterion>of()));
+        var query = select(null) + whereClause.getWhere();
+        if (querySpec.getSortField() != null) {
+            var direction = querySpec.getSortOrder() == SortOrder.DESC ? "DESC" : "ASC";
+            query += " ORDER BY " + propertyPath(querySpec.getSortField()) + " " + direction;
+        }
+        // OFFSET and LIMIT only take literals or parameters, both are ints so they can be inlined safely
+        query += " OFFSET " + querySpec.getOffset() + " LIMIT " + querySpec.getLimit();
+        return new SqlQuerySpec(query, whereClause.getParameters());
+    }
+
+    private static String select(@Nullable Collection<String> properties) {
+        if (properties == null) {
+            return "SELECT " + PATH_TO_PROPERTIES + ", " + PATH_TO_PARTITION_KEY + " FROM " + AssetDocument.class.getSimpleName();
+        }
+        var keys = new LinkedHashSet<String>();
+        keys.add(AssetDocument.sanitize(Asset.PROPERTY_ID));
+        properties.forEach(property -> keys.add(AssetDocument.sanitize(property)));
+        var object = keys.stream()
+                .map(key -> "\"" + key + "\": " + propertyPath(key))
+                .collect(Collectors.joining(", ", "{", "}"));
+        return "SELECT " + object + " AS " + PROPERTIES_FIELD + ", " + PATH_TO_PARTITION_KEY + " FROM " + AssetDocument.class.getSimpleName();
+    }
+
+    private static String propertyPath(String property) {
+        if (property.indexOf('"') >= 0 || property.indexOf('\\') >= 0) {
+            throw new EdcException("Illegal asset property name: " + property);
+        }
+        return PATH_TO_PROPERTIES + "[\"" + AssetDocument.sanitize(property) + "\"]";
+    }
+
     private static class WhereClause {
         public static final String EQUALS_OPERATOR = "=";
         public static final String IN_OPERATOR = "IN";
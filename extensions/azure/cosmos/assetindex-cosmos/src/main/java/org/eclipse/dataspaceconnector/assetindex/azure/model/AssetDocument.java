@@ -22,8 +22,9 @@ import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDocument;
 import org.eclipse.dataspaceconnector.spi.types.domain.DataAddress;
 import org.eclipse.dataspaceconnector.spi.types.domain.asset.Asset;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.UnaryOperator;
 
 @JsonTypeName("dataspaceconnector:assetdocument")
 public class AssetDocument extends CosmosDocument<Map<String, Object>> {
@@ -51,9 +52,18 @@ public class AssetDocument extends CosmosDocument<Map<String, Object>> {
         return key.replace(':', '_');
     }
 
+    private static String unsanitize(String key) {
+        return key.replace('_', ':');
+    }
+
     private static Map<String, Object> sanitizeProperties(Asset asset) {
-        return asset.getProperties().entrySet().stream()
-                .collect(Collectors.toMap(entry -> sanitize(entry.getKey()), Map.Entry::getValue));
+        return mapKeys(asset.getProperties(), AssetDocument::sanitize);
+    }
+
+    private static Map<String, Object> mapKeys(Map<String, Object> properties, UnaryOperator<String> mapping) {
+        var mapped = new HashMap<String, Object>(properties.size() * 4 / 3 + 1);
+        properties.forEach((key, value) -> mapped.put(mapping.apply(key), value));
+        return mapped;
     }
 
     @Override
@@ -74,12 +84,6 @@ public class AssetDocument extends CosmosDocument<Map<String, Object>> {
     }
 
     private Map<String, Object> restoreProperties() {
-        var map = getWrappedInstance();
-
-        return map.entrySet().stream().collect(Collectors.toMap(entry -> unsanitize(entry.getKey()), Map.Entry::getValue));
-    }
-
-    private String unsanitize(String key) {
-        return key.replace("_", ":");
+        return mapKeys(getWrappedInstance(), AssetDocument::unsanitize);
     }
 }
@@ -0,0 +1,110 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.assetindex.azure;
+
+import net.jodah.failsafe.RetryPolicy;
+import org.eclipse.dataspaceconnector.assetindex.azure.model.AssetDocument;
+import org.eclipse.dataspaceconnector.cosmos.azure.CosmosBulkResult;
+import org.eclipse.dataspaceconnector.cosmos.azure.testfixtures.InMemoryCosmosDbApi;
+import org.eclipse.dataspaceconnector.dataloading.AssetEntry;
+import org.eclipse.dataspaceconnector.dataloading.DataLoader;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.eclipse.dataspaceconnector.spi.types.domain.DataAddress;
+import org.eclipse.dataspaceconnector.spi.types.domain.asset.Asset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Loads assets through the {@link DataLoader} into a {@link CosmosAssetIndex} backed by an in-memory CosmosDB, once asset by asset and once
+ * with bulk upserts.
+ */
+class CosmosAssetIndexDataLoadingTest {
+    private static final String PARTITION_KEY = "test-partition";
+    private static final int ASSETS = 500;
+
+    private InMemoryCosmosDbApi cosmosDbApi;
+    private CosmosAssetIndex assetIndex;
+
+    @BeforeEach
+    void setUp() {
+        var typeManager = new TypeManager();
+        typeManager.registerTypes(AssetDocument.class, Asset.class);
+        cosmosDbApi = new InMemoryCosmosDbApi(typeManager.getMapper());
+        assetIndex = new CosmosAssetIndex(cosmosDbApi, PARTITION_KEY, typeManager, new RetryPolicy<>());
+    }
+
+    @Test
+    void verifyBulkLoadingRoundTrips() {
+        var loader = DataLoader.Builder.<AssetEntry>newInstance().sink(assetIndex).build();
+
+        createEntries("single").forEach(loader::insert);
+        assertThat(cosmosDbApi.getRoundTrips()).isEqualTo(ASSETS);
+
+        cosmosDbApi.resetRoundTrips();
+        loader.insertAll(createEntries("bulk"));
+        assertThat(cosmosDbApi.getRoundTrips()).isEqualTo(ASSETS / 100);
+
+        assertThat(assetIndex.findById("single" + (ASSETS - 1))).isNotNull();
+        assertThat(assetIndex.findById("bulk" + (ASSETS - 1))).isNotNull();
+    }
+
+    @Test
+    void verifyBulkProgressAndStatistics() {
+        var documents = createEntries("progress").stream()
+                .map(entry -> new AssetDocument(entry.getAsset(), PARTITION_KEY, entry.getDataAddress()))
+                .collect(Collectors.toList());
+        var progress = new ArrayList<CosmosBulkResult>();
+
+        var result = cosmosDbApi.upsertItems(documents, progress::add);
+
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.getRequestCharge()).isPositive();
+        assertThat(progress).extracting(CosmosBulkResult::getCompleted).containsExactly(100, 200, 300, 400, 500);
+
+        var deleted = cosmosDbApi.deleteItems(PARTITION_KEY, List.of("progress0", "progress1", "unknown"), null);
+        assertThat(deleted.getSucceeded()).isEqualTo(2);
+        assertThat(deleted.getFailures()).extracting(CosmosBulkResult.Failure::getId).containsExactly("unknown");
+    }
+
+    @Test
+    void verifyBatchIsAtomic() {
+        var documents = createEntries("batch").stream()
+                .limit(10)
+                .map(entry -> new AssetDocument(entry.getAsset(), PARTITION_KEY, entry.getDataAddress()))
+                .collect(Collectors.toList());
+
+        var result = cosmosDbApi.executeBatch(PARTITION_KEY, documents, List.of("unknown"));
+
+        assertThat(result.succeeded()).isFalse();
+        assertThat(result.getFailures()).extracting(CosmosBulkResult.Failure::getId, CosmosBulkResult.Failure::getStatusCode)
+                .contains(tuple("unknown", 404), tuple("batch0", 424));
+        assertThat(assetIndex.findById("batch0")).isNull();
+    }
+
+    private List<AssetEntry> createEntries(String prefix) {
+        return IntStream.range(0, ASSETS)
+                .mapToObj(i -> new AssetEntry(Asset.Builder.newInstance().id(prefix + i).name("asset " + i).build(),
+                        DataAddress.Builder.newInstance().type("test").property("path", "/data/" + i).build()))
+                .collect(Collectors.toList());
+    }
+}
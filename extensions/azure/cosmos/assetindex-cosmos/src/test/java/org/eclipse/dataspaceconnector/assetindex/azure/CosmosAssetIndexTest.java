@@ -17,15 +17,21 @@ package org.eclipse.dataspaceconnector.assetindex.azure;
 import com.azure.cosmos.models.SqlQuerySpec;
 import net.jodah.failsafe.RetryPolicy;
 import org.eclipse.dataspaceconnector.assetindex.azure.model.AssetDocument;
+import org.eclipse.dataspaceconnector.cosmos.azure.CosmosBulkResult;
 import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDbApi;
+import org.eclipse.dataspaceconnector.cosmos.azure.CosmosQueryPage;
+import org.eclipse.dataspaceconnector.dataloading.AssetEntry;
 import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.asset.AssetSelectorExpression;
+import org.eclipse.dataspaceconnector.spi.query.QuerySpec;
 import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.eclipse.dataspaceconnector.spi.types.domain.DataAddress;
 import org.eclipse.dataspaceconnector.spi.types.domain.asset.Asset;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -35,6 +41,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -53,6 +60,10 @@ class CosmosAssetIndexTest {
         return new AssetDocument(Asset.Builder.newInstance().id(id).build(), "partitionkey-test", null);
     }
 
+    private static AssetEntry createEntry(String id) {
+        return new AssetEntry(Asset.Builder.newInstance().id(id).build(), DataAddress.Builder.newInstance().type("test").build());
+    }
+
     @BeforeEach
     public void setUp() {
         typeManager = new TypeManager();
@@ -169,4 +180,77 @@ class CosmosAssetIndexTest {
         verify(api).queryItems(queryCapture.capture());
         verifyNoMoreInteractions(api);
     }
+
+    @Test
+    void queryAssets_doesNotReadDataAddress() {
+        var queryCapture = ArgumentCaptor.forClass(SqlQuerySpec.class);
+        when(api.queryItems(queryCapture.capture())).thenReturn(Stream.of(createDocument("id1")));
+
+        var assets = assetIndex.queryAssets(AssetSelectorExpression.SELECT_ALL).collect(Collectors.toList());
+
+        assertThat(assets).extracting(Asset::getId).containsExactly("id1");
+        assertThat(queryCapture.getValue().getQueryText()).startsWith("SELECT AssetDocument.wrappedInstance, AssetDocument.partitionKey FROM");
+    }
+
+    @Test
+    void queryAssets_withProjection() {
+        var queryCapture = ArgumentCaptor.forClass(SqlQuerySpec.class);
+        when(api.queryItems(queryCapture.capture())).thenReturn(Stream.of(createDocument("id1")));
+
+        var assets = assetIndex.queryAssets(AssetSelectorExpression.SELECT_ALL, List.of(Asset.PROPERTY_NAME)).collect(Collectors.toList());
+
+        assertThat(assets).extracting(Asset::getId).containsExactly("id1");
+        assertThat(queryCapture.getValue().getQueryText()).contains("AssetDocument.wrappedInstance[\"asset_prop_name\"]");
+    }
+
+    @Test
+    void queryAssets_withQuerySpec() {
+        var queryCapture = ArgumentCaptor.forClass(SqlQuerySpec.class);
+        when(api.queryItems(queryCapture.capture())).thenReturn(Stream.of(createDocument("id1"), createDocument("id2")));
+
+        var assets = assetIndex.queryAssets(QuerySpec.Builder.newInstance().offset(10).limit(2).build());
+
+        assertThat(assets).extracting(Asset::getId).containsExactly("id1", "id2");
+        assertThat(queryCapture.getValue().getQueryText()).endsWith("OFFSET 10 LIMIT 2");
+    }
+
+    @Test
+    void queryAssets_withContinuationToken() {
+        when(api.queryPage(any(SqlQuerySpec.class), eq(Object.class), isNull(), eq(2)))
+                .thenReturn(new CosmosQueryPage<>(List.of(createDocument("id1"), createDocument("id2")), "token", 2.5));
+        when(api.queryPage(any(SqlQuerySpec.class), eq(Object.class), eq("token"), eq(2)))
+                .thenReturn(new CosmosQueryPage<>(List.of(createDocument("id3")), null, 1.5));
+
+        var first = assetIndex.queryAssets(AssetSelectorExpression.SELECT_ALL, null, 2);
+        var second = assetIndex.queryAssets(AssetSelectorExpression.SELECT_ALL, first.getContinuationToken(), 2);
+
+        assertThat(first.getItems()).extracting(Asset::getId).containsExactly("id1", "id2");
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.getItems()).extracting(Asset::getId).containsExactly("id3");
+        assertThat(second.hasMore()).isFalse();
+        assertThat(second.getRequestCharge()).isEqualTo(1.5);
+    }
+
+    @Test
+    void acceptAll_upsertsInBulk() {
+        var items = List.of(createEntry("id1"), createEntry("id2"));
+        when(api.upsertItems(any(), any())).thenReturn(CosmosBulkResult.Builder.newInstance(2).succeeded(1).succeeded(1).build());
+
+        assetIndex.acceptAll(items);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<AssetDocument>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(api).upsertItems(captor.capture(), any());
+        assertThat(captor.getValue()).extracting(AssetDocument::getId).containsExactly("id1", "id2");
+        assertThat(captor.getValue()).allMatch(document -> document.getPartitionKey().equals(TEST_PARTITION_KEY));
+        verifyNoMoreInteractions(api);
+    }
+
+    @Test
+    void acceptAll_failedOperations() {
+        var items = List.of(createEntry("id1"), createEntry("id2"));
+        when(api.upsertItems(any(), any())).thenReturn(CosmosBulkResult.Builder.newInstance(2).succeeded(1).failed("id2", 429, 0).build());
+
+        assertThatExceptionOfType(EdcException.class).isThrownBy(() -> assetIndex.acceptAll(items));
+    }
 }
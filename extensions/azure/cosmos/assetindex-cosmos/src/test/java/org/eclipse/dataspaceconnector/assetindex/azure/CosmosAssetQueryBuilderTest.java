@@ -3,9 +3,14 @@ package org.eclipse.dataspaceconnector.assetindex.azure;
 import com.azure.cosmos.models.SqlQuerySpec;
 import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.asset.AssetSelectorExpression;
+import org.eclipse.dataspaceconnector.spi.query.QuerySpec;
+import org.eclipse.dataspaceconnector.spi.query.SortOrder;
+import org.eclipse.dataspaceconnector.spi.types.domain.asset.Asset;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
@@ -49,6 +54,55 @@ class CosmosAssetQueryBuilderTest {
         assertThat(query.getQueryText()).isEqualTo("SELECT * FROM AssetDocument WHERE AssetDocument.wrappedInstance.test_id = 'id-test' AND AssetDocument.wrappedInstance.test_name = 'name-test'");
     }
 
+    @Test
+    void projectionOfAllProperties() {
+        var expression = AssetSelectorExpression.Builder.newInstance().whenEquals("name", "'name-test'").build();
+
+        SqlQuerySpec query = builder.projection(expression, null);
+
+        assertThat(query.getQueryText()).isEqualTo("SELECT AssetDocument.wrappedInstance, AssetDocument.partitionKey FROM AssetDocument WHERE AssetDocument.wrappedInstance.name = 'name-test'");
+    }
+
+    @Test
+    void projectionOfSomeProperties() {
+        SqlQuerySpec query = builder.projection(AssetSelectorExpression.SELECT_ALL, List.of(Asset.PROPERTY_NAME, "foo"));
+
+        assertThat(query.getQueryText()).isEqualTo("SELECT {" +
+                "\"asset_prop_id\": AssetDocument.wrappedInstance[\"asset_prop_id\"], " +
+                "\"asset_prop_name\": AssetDocument.wrappedInstance[\"asset_prop_name\"], " +
+                "\"foo\": AssetDocument.wrappedInstance[\"foo\"]" +
+                "} AS wrappedInstance, AssetDocument.partitionKey FROM AssetDocument");
+    }
+
+    @Test
+    void projectionWithIllegalPropertyName() {
+        assertThatExceptionOfType(EdcException.class)
+                .isThrownBy(() -> builder.projection(AssetSelectorExpression.SELECT_ALL, List.of("foo\"]")));
+    }
+
+    @Test
+    void queryPage() {
+        var querySpec = QuerySpec.Builder.newInstance().offset(20).limit(10).build();
+
+        SqlQuerySpec query = builder.from(querySpec);
+
+        assertThat(query.getQueryText()).isEqualTo("SELECT AssetDocument.wrappedInstance, AssetDocument.partitionKey FROM AssetDocument OFFSET 20 LIMIT 10");
+    }
+
+    @Test
+    void queryPageSorted() {
+        var querySpec = QuerySpec.Builder.newInstance()
+                .filter("asset:prop:id IN (id1,id2)")
+                .sortField(Asset.PROPERTY_VERSION)
+                .sortOrder(SortOrder.DESC)
+                .build();
+
+        SqlQuerySpec query = builder.from(querySpec);
+
+        assertThat(query.getQueryText()).isEqualTo("SELECT AssetDocument.wrappedInstance, AssetDocument.partitionKey FROM AssetDocument " +
+                "WHERE AssetDocument.wrappedInstance.asset_prop_id IN (id1,id2) ORDER BY AssetDocument.wrappedInstance[\"asset_prop_version\"] DESC OFFSET 0 LIMIT 50");
+    }
+
     @Test
     void throwEdcExceptionIfCriterionOperationNotHandled() {
         AssetSelectorExpression expression = AssetSelectorExpression.Builder.newInstance()
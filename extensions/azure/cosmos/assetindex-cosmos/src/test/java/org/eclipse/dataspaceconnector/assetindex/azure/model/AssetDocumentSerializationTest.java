@@ -20,6 +20,8 @@ import org.eclipse.dataspaceconnector.spi.types.domain.asset.Asset;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class AssetDocumentSerializationTest {
@@ -72,4 +74,27 @@ class AssetDocumentSerializationTest {
         var deserialized = typeManager.readValue(json, AssetDocument.class);
         assertThat(deserialized.getWrappedInstance()).usingRecursiveComparison().isEqualTo(document.getWrappedInstance());
     }
+
+    @Test
+    void testDeserializationOfProjection() {
+        var projection = Map.of(
+                "wrappedInstance", Map.of("asset_prop_id", "id-test", "asset_prop_name", "node-test"),
+                "partitionKey", "partitionkey-test");
+
+        var deserialized = typeManager.convertValue(projection, AssetDocument.class);
+
+        assertThat(deserialized.getDataAddress()).isNull();
+        assertThat(deserialized.getWrappedAsset().getId()).isEqualTo("id-test");
+        assertThat(deserialized.getWrappedAsset().getProperties()).containsEntry(Asset.PROPERTY_NAME, "node-test");
+    }
+
+    @Test
+    void testSanitizeIsReversible() {
+        var asset = createAsset();
+
+        var restored = new AssetDocument(asset, "partitionkey-test", null).getWrappedAsset();
+
+        assertThat(restored.getProperties()).isEqualTo(asset.getProperties());
+        assertThat(AssetDocument.sanitize(Asset.PROPERTY_ID)).isSameAs(AssetDocument.sanitize(Asset.PROPERTY_ID));
+    }
 }
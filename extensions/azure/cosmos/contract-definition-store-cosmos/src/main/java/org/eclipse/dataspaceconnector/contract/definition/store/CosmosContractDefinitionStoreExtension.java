@@ -19,16 +19,37 @@ import org.eclipse.dataspaceconnector.contract.definition.store.model.ContractDe
 import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDbApi;
 import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDbApiImpl;
 import org.eclipse.dataspaceconnector.dataloading.ContractDefinitionLoader;
+import org.eclipse.dataspaceconnector.spi.EdcSetting;
 import org.eclipse.dataspaceconnector.spi.contract.offer.store.ContractDefinitionStore;
 import org.eclipse.dataspaceconnector.spi.security.Vault;
 import org.eclipse.dataspaceconnector.spi.system.Provides;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
 import org.eclipse.dataspaceconnector.spi.system.health.HealthCheckService;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.offer.ContractDefinition;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
 
 @Provides({ ContractDefinitionStore.class, ContractDefinitionLoader.class })
 public class CosmosContractDefinitionStoreExtension implements ServiceExtension {
 
+    /**
+     * The maximum age of the cached contract definitions in seconds, before they are refreshed incrementally. Refreshes also remove the
+     * definitions deleted by other connectors, so this bounds how long a deleted definition is still offered. Zero disables refreshes.
+     */
+    @EdcSetting
+    private static final String CACHE_MAX_STALENESS_SETTING = "edc.contractdefinitionstore.cosmos.cache.max-staleness";
+    private static final long DEFAULT_CACHE_MAX_STALENESS = 60;
+
+    /**
+     * The maximum time in seconds between two complete reloads of the cached contract definitions.
+     */
+    @EdcSetting
+    private static final String CACHE_FULL_REFRESH_INTERVAL_SETTING = "edc.contractdefinitionstore.cosmos.cache.full-refresh-interval";
+    private static final long DEFAULT_CACHE_FULL_REFRESH_INTERVAL = 3600;
+
     @Override
     public String name() {
         return "CosmosDB ContractDefinition Store";
@@ -40,10 +61,23 @@ public class CosmosContractDefinitionStoreExtension implements ServiceExtension
         Vault vault = context.getService(Vault.class);
 
         CosmosDbApi cosmosDbApi = new CosmosDbApiImpl(vault, configuration);
-        var store = new CosmosContractDefinitionStore(cosmosDbApi, context.getTypeManager(), (RetryPolicy<Object>) context.getService(RetryPolicy.class));
+        var maxStaleness = Duration.ofSeconds(Math.max(0, context.getSetting(CACHE_MAX_STALENESS_SETTING, DEFAULT_CACHE_MAX_STALENESS)));
+        var fullRefreshInterval = Duration.ofSeconds(Math.max(0, context.getSetting(CACHE_FULL_REFRESH_INTERVAL_SETTING, DEFAULT_CACHE_FULL_REFRESH_INTERVAL)));
+        var store = new CosmosContractDefinitionStore(cosmosDbApi, context.getTypeManager(), (RetryPolicy<Object>) context.getService(RetryPolicy.class),
+                maxStaleness, fullRefreshInterval, Clock.systemUTC());
         context.registerService(ContractDefinitionStore.class, store);
 
-        ContractDefinitionLoader loader = store::save;
+        ContractDefinitionLoader loader = new ContractDefinitionLoader() {
+            @Override
+            public void accept(ContractDefinition definition) {
+                store.save(definition);
+            }
+
+            @Override
+            public void acceptAll(Collection<ContractDefinition> definitions) {
+                store.save(definitions);
+            }
+        };
         context.registerService(ContractDefinitionLoader.class, loader);
 
         context.getTypeManager().registerTypes(ContractDefinitionDocument.class);
@@ -0,0 +1,226 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.contract.definition.store;
+
+import net.jodah.failsafe.RetryPolicy;
+import org.eclipse.dataspaceconnector.common.testfixtures.MutableClock;
+import org.eclipse.dataspaceconnector.contract.definition.store.model.ContractDefinitionDocument;
+import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDocument;
+import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDocumentCache;
+import org.eclipse.dataspaceconnector.cosmos.azure.testfixtures.InMemoryCosmosDbApi;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.offer.ContractDefinition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.dataspaceconnector.contract.definition.store.TestFunctions.generateDefinition;
+
+/**
+ * Exercises the cache of the {@link CosmosContractDefinitionStore} against an in-memory CosmosDB, which answers the query for modified
+ * documents from their timestamps.
+ */
+class CosmosContractDefinitionStoreCacheTest {
+    private static final Duration MAX_STALENESS = Duration.ofSeconds(10);
+
+    private InMemoryCosmosDbApi cosmosDbApi;
+    private MutableClock clock;
+    private AtomicInteger documentsRead;
+    private CosmosContractDefinitionStore store;
+
+    @BeforeEach
+    void setUp() {
+        var typeManager = new TypeManager();
+        clock = new MutableClock();
+        documentsRead = new AtomicInteger();
+        cosmosDbApi = new InMemoryCosmosDbApi(typeManager.getMapper()).clock(clock);
+        cosmosDbApi.registerQuery(CosmosDocumentCache.MODIFIED_SINCE_QUERY, (container, query) -> {
+            var since = query.getParameters().get(0).getValue(Long.class);
+            return container.documents()
+                    .filter(document -> ((Number) document.get(InMemoryCosmosDbApi.TIMESTAMP_PROPERTY)).longValue() >= since)
+                    .peek(document -> documentsRead.incrementAndGet());
+        });
+        cosmosDbApi.registerQuery(CosmosDocumentCache.ID_QUERY, (container, query) -> container.documents().map(document -> document.get("id")));
+        store = new CosmosContractDefinitionStore(cosmosDbApi, typeManager, new RetryPolicy<>(), MAX_STALENESS, Duration.ofHours(1), clock);
+    }
+
+    @Test
+    void verifyModificationsOfOtherConnectorsArePickedUp() {
+        var definition = generateDefinition();
+        store.save(definition);
+        clock.advance(Duration.ofSeconds(1));
+        var modified = generateDefinition();
+        saveDirectly(List.of(modified));
+
+        assertThat(store.findAll()).containsExactly(definition);
+
+        clock.advance(MAX_STALENESS);
+        assertThat(store.findAll()).containsExactlyInAnyOrder(definition, modified);
+    }
+
+    @Test
+    void verifyDeletionsOfOtherConnectorsArePickedUp() {
+        var deleted = generateDefinition();
+        var kept = generateDefinition();
+        store.save(List.of(deleted, kept));
+        cosmosDbApi.deleteItem(deleted.getId());
+
+        assertThat(store.findAll()).containsExactly(deleted, kept);
+
+        clock.advance(MAX_STALENESS);
+        assertThat(store.findAll()).containsExactly(kept);
+    }
+
+    @Test
+    void verifyConcurrentReadsSeeConsistentSnapshots() throws InterruptedException {
+        var writers = 4;
+        var readers = 4;
+        var definitionsPerWriter = 250;
+        var executor = Executors.newFixedThreadPool(writers + readers + 1);
+        var errors = new ConcurrentLinkedQueue<Throwable>();
+        var writersDone = new CountDownLatch(writers);
+        var stop = new AtomicBoolean();
+
+        for (var i = 0; i < writers; i++) {
+            executor.submit(() -> {
+                try {
+                    IntStream.range(0, definitionsPerWriter).forEach(j -> store.save(generateDefinition()));
+                } catch (Throwable e) {
+                    errors.add(e);
+                } finally {
+                    writersDone.countDown();
+                }
+            });
+        }
+        // definitions saved by another connector, which only become visible through incremental refreshes
+        executor.submit(() -> {
+            try {
+                while (!stop.get()) {
+                    saveDirectly(List.of(generateDefinition()));
+                    clock.advance(Duration.ofSeconds(1));
+                    TimeUnit.MILLISECONDS.sleep(1);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable e) {
+                errors.add(e);
+            }
+        });
+        for (var i = 0; i < readers; i++) {
+            executor.submit(() -> {
+                var previousSize = 0;
+                while (!stop.get()) {
+                    try {
+                        var snapshot = store.findAll();
+                        var copy = new ArrayList<>(snapshot);
+                        assertThat(copy).doesNotContainNull().hasSize(snapshot.size());
+                        // definitions are only added, so a later snapshot never has fewer of them
+                        assertThat(copy.size()).isGreaterThanOrEqualTo(previousSize);
+                        previousSize = copy.size();
+                    } catch (Throwable e) {
+                        errors.add(e);
+                        return;
+                    }
+                }
+            });
+        }
+
+        assertThat(writersDone.await(60, TimeUnit.SECONDS)).isTrue();
+        stop.set(true);
+        shutdown(executor);
+
+        assertThat(errors).isEmpty();
+        clock.advance(MAX_STALENESS);
+        var cachedIds = store.findAll().stream().map(ContractDefinition::getId).collect(Collectors.toSet());
+        var storedIds = cosmosDbApi.documents().map(document -> document.get("id")).collect(Collectors.toSet());
+        assertThat(cachedIds).hasSize(storedIds.size()).hasSizeGreaterThanOrEqualTo(writers * definitionsPerWriter);
+        assertThat(cachedIds).isEqualTo(storedIds);
+    }
+
+    @Test
+    void verifyIncrementalRefreshOnlyReadsModifiedDocuments() {
+        var definitions = 1_000;
+        var modifications = 100;
+        store.save(IntStream.range(0, definitions).mapToObj(i -> generateDefinition()).collect(Collectors.toList()));
+        clock.advance(Duration.ofSeconds(1));
+        saveDirectly(List.of(generateDefinition()));
+        store.reload();
+        assertThat(store.findAll()).hasSize(definitions + 1);
+
+        clock.advance(Duration.ofSeconds(1));
+        saveDirectly(IntStream.range(0, modifications).mapToObj(i -> generateDefinition()).collect(Collectors.toList()));
+        clock.advance(MAX_STALENESS);
+        documentsRead.set(0);
+
+        assertThat(store.findAll()).hasSize(definitions + 1 + modifications);
+        // the documents of the second of the last known modification are read again
+        assertThat(documentsRead.get()).isEqualTo(modifications + 1);
+    }
+
+    @Test
+    void verifyReadersAreServedThePreviousSnapshotDuringRefresh() throws InterruptedException {
+        var definition = generateDefinition();
+        store.save(definition);
+        var refreshStarted = new CountDownLatch(1);
+        var releaseRefresh = new CountDownLatch(1);
+        cosmosDbApi.registerQuery(CosmosDocumentCache.MODIFIED_SINCE_QUERY, (container, query) -> {
+            refreshStarted.countDown();
+            try {
+                releaseRefresh.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return container.documents();
+        });
+        clock.advance(Duration.ofSeconds(1));
+        var modified = generateDefinition();
+        saveDirectly(List.of(modified));
+        clock.advance(MAX_STALENESS);
+
+        var executor = Executors.newSingleThreadExecutor();
+        var refreshing = executor.submit(() -> store.findAll());
+        assertThat(refreshStarted.await(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(store.findAll()).containsExactly(definition);
+
+        releaseRefresh.countDown();
+        assertThat(refreshing).succeedsWithin(Duration.ofSeconds(30)).satisfies(all -> assertThat(all).containsExactlyInAnyOrder(definition, modified));
+        assertThat(store.findAll()).containsExactlyInAnyOrder(definition, modified);
+        shutdown(executor);
+    }
+
+    private void saveDirectly(Collection<ContractDefinition> definitions) {
+        cosmosDbApi.saveItems(definitions.stream().map(ContractDefinitionDocument::new).collect(Collectors.<CosmosDocument<?>>toList()));
+    }
+
+    private void shutdown(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+}
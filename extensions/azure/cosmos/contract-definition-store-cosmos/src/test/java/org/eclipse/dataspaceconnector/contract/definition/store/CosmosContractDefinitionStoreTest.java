@@ -1,34 +1,50 @@
 package org.eclipse.dataspaceconnector.contract.definition.store;
 
+import com.azure.cosmos.models.SqlQuerySpec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import net.jodah.failsafe.RetryPolicy;
+import org.eclipse.dataspaceconnector.common.testfixtures.MutableClock;
+import org.eclipse.dataspaceconnector.contract.definition.store.model.ContractDefinitionDocument;
 import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDbApi;
 import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDocument;
+import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDocumentCache;
 import org.eclipse.dataspaceconnector.spi.types.TypeManager;
 import org.eclipse.dataspaceconnector.spi.types.domain.contract.offer.ContractDefinition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.eclipse.dataspaceconnector.contract.definition.store.TestFunctions.generateDefinition;
 import static org.eclipse.dataspaceconnector.contract.definition.store.TestFunctions.generateDocument;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 class CosmosContractDefinitionStoreTest {
     private CosmosContractDefinitionStore store;
     private CosmosDbApi cosmosDbApiMock;
+    private TypeManager typeManager;
+    private MutableClock clock;
 
     @BeforeEach
     void setup() {
         cosmosDbApiMock = mock(CosmosDbApi.class);
-        var typeManager = new TypeManager();
+        typeManager = new TypeManager();
+        clock = new MutableClock();
         var retryPolicy = new RetryPolicy<>();
         store = new CosmosContractDefinitionStore(cosmosDbApiMock, typeManager, retryPolicy);
     }
@@ -107,4 +123,107 @@ class CosmosContractDefinitionStoreTest {
         verify(cosmosDbApiMock).deleteItem(notNull());
     }
 
-}
\ No newline at end of file
+    @Test
+    void delete_cachedDefinitionUsesPointDelete() {
+        var definition = generateDefinition();
+        when(cosmosDbApiMock.queryAllItems()).thenReturn(Collections.emptyList());
+        store.save(definition);
+
+        store.delete(definition.getId());
+
+        verify(cosmosDbApiMock).deleteItem(definition.getId(), definition.getAccessPolicy().getUid());
+        verify(cosmosDbApiMock, never()).deleteItem(definition.getId());
+    }
+
+    @Test
+    void delete_removesFromCache() {
+        var definition = generateDefinition();
+        when(cosmosDbApiMock.queryAllItems()).thenReturn(Collections.emptyList());
+        store.save(definition);
+
+        store.delete(definition.getId());
+
+        assertThat(store.findAll()).isEmpty();
+    }
+
+    @Test
+    void findAll_notStale() {
+        var store = createRefreshingStore();
+        when(cosmosDbApiMock.queryAllItems()).thenReturn(List.of(generateDocument()));
+
+        store.findAll();
+        clock.advance(Duration.ofSeconds(9));
+        var all = store.findAll();
+
+        assertThat(all).hasSize(1);
+        verify(cosmosDbApiMock).queryAllItems();
+        verifyNoMoreInteractions(cosmosDbApiMock);
+    }
+
+    @Test
+    void findAll_staleRefreshesIncrementally() {
+        var store = createRefreshingStore();
+        var doc1 = generateDocument();
+        var doc2 = generateDocument();
+        when(cosmosDbApiMock.queryAllItems()).thenReturn(List.of(withTimestamp(doc1, 100)));
+        when(cosmosDbApiMock.queryItems(any(SqlQuerySpec.class), eq(JsonNode.class))).thenReturn(Stream.of(withTimestamp(doc2, 120)));
+        when(cosmosDbApiMock.queryItems(any(SqlQuerySpec.class), eq(String.class))).thenReturn(Stream.of(doc1.getId(), doc2.getId()));
+        var queryCaptor = ArgumentCaptor.forClass(SqlQuerySpec.class);
+
+        var before = store.findAll();
+        clock.advance(Duration.ofSeconds(10));
+        var after = store.findAll();
+
+        assertThat(before).containsExactly(doc1.getWrappedInstance());
+        assertThat(after).containsExactlyInAnyOrder(doc1.getWrappedInstance(), doc2.getWrappedInstance());
+        verify(cosmosDbApiMock).queryAllItems();
+        verify(cosmosDbApiMock).queryItems(queryCaptor.capture(), eq(JsonNode.class));
+        assertThat(queryCaptor.getValue().getQueryText()).isEqualTo(CosmosDocumentCache.MODIFIED_SINCE_QUERY);
+        assertThat(queryCaptor.getValue().getParameters().get(0).getValue(Long.class)).isEqualTo(100L);
+    }
+
+    @Test
+    void findAll_staleRefreshRemovesDeletedDefinitions() {
+        var store = createRefreshingStore();
+        var doc1 = generateDocument();
+        var doc2 = generateDocument();
+        when(cosmosDbApiMock.queryAllItems()).thenReturn(List.of(withTimestamp(doc1, 100), withTimestamp(doc2, 100)));
+        when(cosmosDbApiMock.queryItems(any(SqlQuerySpec.class), eq(JsonNode.class))).thenReturn(Stream.empty());
+        when(cosmosDbApiMock.queryItems(any(SqlQuerySpec.class), eq(String.class))).thenReturn(Stream.of(doc2.getId()));
+        var queryCaptor = ArgumentCaptor.forClass(SqlQuerySpec.class);
+
+        store.findAll();
+        clock.advance(Duration.ofSeconds(10));
+        var all = store.findAll();
+
+        assertThat(all).containsExactly(doc2.getWrappedInstance());
+        verify(cosmosDbApiMock).queryAllItems();
+        verify(cosmosDbApiMock).queryItems(queryCaptor.capture(), eq(String.class));
+        assertThat(queryCaptor.getValue().getQueryText()).isEqualTo(CosmosDocumentCache.ID_QUERY);
+    }
+
+    @Test
+    void findAll_fullRefreshDue() {
+        var store = createRefreshingStore();
+        var doc1 = generateDocument();
+        var doc2 = generateDocument();
+        when(cosmosDbApiMock.queryAllItems()).thenReturn(List.of(doc1, doc2), List.of(doc2));
+
+        store.findAll();
+        clock.advance(Duration.ofHours(1));
+        var all = store.findAll();
+
+        assertThat(all).containsExactly(doc2.getWrappedInstance());
+        verify(cosmosDbApiMock, times(2)).queryAllItems();
+        verifyNoMoreInteractions(cosmosDbApiMock);
+    }
+
+    private CosmosContractDefinitionStore createRefreshingStore() {
+        return new CosmosContractDefinitionStore(cosmosDbApiMock, typeManager, new RetryPolicy<>(), Duration.ofSeconds(10), Duration.ofHours(1), clock);
+    }
+
+    private JsonNode withTimestamp(ContractDefinitionDocument document, long timestamp) {
+        ObjectNode node = typeManager.getMapper().valueToTree(document);
+        return node.put("_ts", timestamp);
+    }
+}
@@ -1,11 +1,17 @@
 package org.eclipse.dataspaceconnector.contract.negotiation.store;
 
+import com.azure.cosmos.implementation.NotFoundException;
 import com.azure.cosmos.models.SqlParameter;
 import com.azure.cosmos.models.SqlQuerySpec;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import net.jodah.failsafe.FailsafeExecutor;
 import net.jodah.failsafe.RetryPolicy;
 import org.eclipse.dataspaceconnector.contract.negotiation.store.model.ContractNegotiationDocument;
+import org.eclipse.dataspaceconnector.contract.negotiation.store.model.Lease;
 import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDbApi;
+import org.eclipse.dataspaceconnector.cosmos.azure.ETagMismatchException;
+import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.contract.negotiation.store.ContractNegotiationStore;
 import org.eclipse.dataspaceconnector.spi.contract.offer.store.ContractDefinitionStore;
 import org.eclipse.dataspaceconnector.spi.types.TypeManager;
@@ -15,7 +21,16 @@ import org.eclipse.dataspaceconnector.spi.types.domain.contract.negotiation.Cont
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static net.jodah.failsafe.Failsafe.with;
@@ -24,73 +39,260 @@ import static net.jodah.failsafe.Failsafe.with;
  * Implementation of the {@link ContractDefinitionStore} based on CosmosDB. This store implements simple write-through
  * caching mechanics: read operations (e.g. findAll) hit the cache, while write operations affect both the cache AND the
  * database.
+ * <p>
+ * Negotiations are leased to one connector replica at a time: {@link #nextForState(int, int)} leases a batch of negotiations with a single call of
+ * the {@code nextForState} stored procedure, so several connector replicas can work off the same container without stepping on each other.
+ * A lease ends when the negotiation is saved, is extended with {@link #renewLeases()} while the negotiation is still being processed, and is
+ * taken over by any replica once it has expired. A negotiation that is never saved, e.g. because its processing failed, is renewed only up to a
+ * maximum hold time, after which its lease expires like that of a crashed replica.
+ * <p>
+ * Saves use optimistic concurrency: the store remembers the ETag of every document it has leased or read while no other replica held the
+ * lease on it, and overwrites the document only if it still has that ETag. A replica whose lease has expired and has been taken over therefore
+ * cannot overwrite the state written by the new lease holder.
  */
 public class CosmosContractNegotiationStore implements ContractNegotiationStore {
+    /**
+     * The default maximum hold time, in lease durations.
+     */
+    public static final int DEFAULT_MAX_HOLD_LEASES = 10;
+    private static final String FIND_BY_ID_QUERY = "SELECT * FROM c WHERE c.id = @id";
+    private static final String FIND_BY_CORRELATION_ID_QUERY = "SELECT * FROM c WHERE c.wrappedInstance.correlationId = @corrId";
+    private static final String FIND_CONTRACT_AGREEMENT_QUERY = "SELECT VALUE c.wrappedInstance.contractAgreement FROM c WHERE c.wrappedInstance.contractAgreement.id = @contractId";
+    private static final TypeReference<List<ContractNegotiationDocument>> DOCUMENT_LIST_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<List<String>> ID_LIST_TYPE = new TypeReference<>() {
+    };
+    private static final int MAX_CACHED_ETAGS = 10_000;
+
     private final CosmosDbApi cosmosDbApi;
     private final TypeManager typeManager;
     private final RetryPolicy<Object> retryPolicy;
     private final String connectorId;
     private final String partitionKey;
+    private final String leaseHolder;
+    private final long leaseDurationSeconds;
+    private final Duration maxHoldTime;
+    private final FailsafeExecutor<Object> conditionalWriteExecutor;
+    private final Map<String, Instant> leasedIds = new ConcurrentHashMap<>();
+    private final Map<String, String> etags = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_CACHED_ETAGS;
+        }
+    });
 
     public CosmosContractNegotiationStore(CosmosDbApi cosmosDbApi, TypeManager typeManager, RetryPolicy<Object> retryPolicy, String connectorId) {
+        this(cosmosDbApi, typeManager, retryPolicy, connectorId, connectorId, Duration.ofSeconds(Lease.DEFAULT_LEASE_DURATION_SECONDS));
+    }
+
+    /**
+     * Creates a store for one of several replicas of a connector.
+     *
+     * @param connectorId the id of the connector, which is also the partition key of its negotiations
+     * @param leaseHolder the name the leases of this replica are held by, which must be unique among the replicas of the connector
+     * @param leaseDuration the duration of a lease, which should be well above the time it takes to process a batch of negotiations. It is
+     *         rounded down to whole seconds.
+     */
+    public CosmosContractNegotiationStore(CosmosDbApi cosmosDbApi, TypeManager typeManager, RetryPolicy<Object> retryPolicy, String connectorId, String leaseHolder, Duration leaseDuration) {
+        this(cosmosDbApi, typeManager, retryPolicy, connectorId, leaseHolder, leaseDuration, leaseDuration.multipliedBy(DEFAULT_MAX_HOLD_LEASES));
+    }
+
+    /**
+     * Creates a store for one of several replicas of a connector.
+     *
+     * @param connectorId the id of the connector, which is also the partition key of its negotiations
+     * @param leaseHolder the name the leases of this replica are held by, which must be unique among the replicas of the connector
+     * @param leaseDuration the duration of a lease, which should be well above the time it takes to process a batch of negotiations. It is
+     *         rounded down to whole seconds.
+     * @param maxHoldTime the time after which {@link #renewLeases()} stops renewing the lease on a negotiation that has not been saved
+     */
+    public CosmosContractNegotiationStore(CosmosDbApi cosmosDbApi, TypeManager typeManager, RetryPolicy<Object> retryPolicy, String connectorId, String leaseHolder, Duration leaseDuration,
+                                          Duration maxHoldTime) {
         this.cosmosDbApi = cosmosDbApi;
         this.typeManager = typeManager;
         this.retryPolicy = retryPolicy;
         this.connectorId = connectorId;
         partitionKey = connectorId;
+        this.leaseHolder = leaseHolder;
+        leaseDurationSeconds = leaseDuration.toSeconds();
+        this.maxHoldTime = maxHoldTime;
+        // retrying a conditional write with the same ETag cannot succeed, conflicts are resolved in writeConditionally
+        conditionalWriteExecutor = with(retryPolicy.copy().abortOn(ETagMismatchException.class, NotFoundException.class));
+    }
+
+    /**
+     * The duration of the leases this store acquires.
+     */
+    public Duration getLeaseDuration() {
+        return Duration.ofSeconds(leaseDurationSeconds);
     }
 
     @Override
     public @Nullable ContractNegotiation find(String negotiationId) {
-        var object = with(retryPolicy).get(() -> cosmosDbApi.queryItemById(negotiationId));
-        return object != null ? toNegotiation(object) : null;
+        var querySpec = new SqlQuerySpec(FIND_BY_ID_QUERY, new SqlParameter("@id", negotiationId));
+        return findFirst(querySpec);
     }
 
 
     @Override
     public @Nullable ContractNegotiation findForCorrelationId(String correlationId) {
-        final String query = "SELECT * FROM c WHERE (c.wrappedInstance.correlationId = @corrId)";
-        SqlParameter param = new SqlParameter("@corrId", correlationId);
-        var querySpec = new SqlQuerySpec(query, param);
+        var querySpec = new SqlQuerySpec(FIND_BY_CORRELATION_ID_QUERY, new SqlParameter("@corrId", correlationId));
 
         //todo: throw exception if more than 1 element?
-        var objects = with(retryPolicy).get(() -> cosmosDbApi.queryItems(querySpec));
-        return objects.findFirst().map(this::toNegotiation).orElse(null);
+        return findFirst(querySpec);
     }
 
     @Override
     public @Nullable ContractAgreement findContractAgreement(String contractId) {
-        final String query = "SELECT * FROM c WHERE c.wrappedInstance.contractAgreement.id = @contractId";
-        SqlParameter param = new SqlParameter("@contractId", contractId);
-
-        var spec = new SqlQuerySpec(query, param);
-        var objects = with(retryPolicy).get(() -> cosmosDbApi.queryItems(spec));
-        return objects.findFirst().map(o -> toNegotiation(o).getContractAgreement()).orElse(null);
+        // only the agreement is projected, the rest of the negotiation is neither transferred nor deserialized
+        var spec = new SqlQuerySpec(FIND_CONTRACT_AGREEMENT_QUERY, new SqlParameter("@contractId", contractId));
+        var node = with(retryPolicy).get(() -> cosmosDbApi.queryItems(spec, JsonNode.class).findFirst().orElse(null));
+        return node != null ? typeManager.readValue(node, ContractAgreement.class) : null;
     }
 
+    /**
+     * Writes the negotiation and releases the lease of this replica in a single round trip, provided the stored document has not changed since
+     * this store last leased, read or wrote it. Negotiations that do not exist yet are created.
+     *
+     * @throws EdcException if the negotiation is leased by another replica or has been modified concurrently
+     */
     @Override
     public void save(ContractNegotiation negotiation) {
-        cosmosDbApi.saveItem(new ContractNegotiationDocument(negotiation, partitionKey));
+        var document = new ContractNegotiationDocument(negotiation, partitionKey);
+        try {
+            var etag = writeConditionally(negotiation.getId(), ifMatch -> cosmosDbApi.saveItem(document, ifMatch));
+            etags.put(negotiation.getId(), etag);
+        } finally {
+            leasedIds.remove(negotiation.getId());
+        }
     }
 
     @Override
     public void delete(String negotiationId) {
-        cosmosDbApi.deleteItem(negotiationId);
+        leasedIds.remove(negotiationId);
+        etags.remove(negotiationId);
+        try {
+            cosmosDbApi.deleteItem(negotiationId, partitionKey);
+        } catch (NotFoundException e) {
+            // the negotiation may have been stored by another connector, i.e. in another partition
+            cosmosDbApi.deleteItem(negotiationId);
+        }
     }
 
+    /**
+     * Leases up to {@code max} negotiations in the given state that are not leased by another replica, or whose lease has expired, and
+     * returns them. All of them are leased in one round trip.
+     */
     @Override
     public @NotNull List<ContractNegotiation> nextForState(int state, int max) {
+        String rawJson = cosmosDbApi.invokeStoredProcedure("nextForState", partitionKey, state, max, leaseHolder, leaseDurationSeconds);
+        var list = typeManager.readValue(rawJson, DOCUMENT_LIST_TYPE);
+        var leasedAt = Instant.now();
+        list.forEach(document -> {
+            rememberETag(document);
+            leasedIds.put(document.getId(), leasedAt);
+        });
+        return list.stream().map(ContractNegotiationDocument::getWrappedInstance).collect(Collectors.toList());
+    }
 
-        String rawJson = cosmosDbApi.invokeStoredProcedure("nextForState", partitionKey, state, max, connectorId);
-        var typeRef = new TypeReference<List<Object>>() {
-        };
-        var list = typeManager.readValue(rawJson, typeRef);
-        return list.stream().map(this::toNegotiation).collect(Collectors.toList());
+    /**
+     * Renews the leases on all negotiations this store has leased with {@link #nextForState(int, int)} and not saved or deleted since, and
+     * forgets the ones whose lease has been lost. Negotiations leased longer ago than the maximum hold time are forgotten without being
+     * renewed, so their leases expire. Meant to be called periodically, well within the lease duration.
+     */
+    public void renewLeases() {
+        var now = Instant.now();
+        leasedIds.entrySet().removeIf(entry -> !now.isBefore(entry.getValue().plus(maxHoldTime)));
+        var held = List.copyOf(leasedIds.keySet());
+        if (held.isEmpty()) {
+            return;
+        }
+        var renewed = Set.copyOf(renewLeases(held));
+        held.stream().filter(id -> !renewed.contains(id)).forEach(leasedIds::remove);
     }
 
+    /**
+     * Extends the leases this replica holds on the given negotiations by the lease duration, counted from now, in one round trip. This
+     * keeps negotiations whose processing takes longer than the lease duration from being taken over by another connector.
+     *
+     * @param negotiationIds the ids of the negotiations leased by this replica
+     * @return the ids of the negotiations whose lease has been renewed. The others are no longer leased by this replica, either because
+     *         they have been saved in the meantime or because their lease had expired and was taken over.
+     */
+    public List<String> renewLeases(Collection<String> negotiationIds) {
+        if (negotiationIds.isEmpty()) {
+            return List.of();
+        }
+        String rawJson = cosmosDbApi.invokeStoredProcedure("renewLease", partitionKey, List.copyOf(negotiationIds), leaseHolder, leaseDurationSeconds);
+        return typeManager.readValue(rawJson, ID_LIST_TYPE);
+    }
+
+    /**
+     * Reads the documents as JSON trees and converts them with the {@link TypeManager}, because the CosmosDB client does not know about the
+     * subtypes registered with it.
+     */
+    @Nullable
+    private ContractNegotiation findFirst(SqlQuerySpec querySpec) {
+        var node = with(retryPolicy).get(() -> cosmosDbApi.queryItems(querySpec, JsonNode.class).findFirst().orElse(null));
+        if (node == null) {
+            return null;
+        }
+        var document = typeManager.readValue(node, ContractNegotiationDocument.class);
+        rememberETag(document);
+        return document.getWrappedInstance();
+    }
+
+    @Nullable
+    private ContractNegotiationDocument readDocument(String negotiationId) {
+        var node = with(retryPolicy).get(() -> cosmosDbApi.queryItemById(negotiationId, partitionKey, JsonNode.class));
+        return node != null ? typeManager.readValue(node, ContractNegotiationDocument.class) : null;
+    }
+
+    /**
+     * Performs a conditional write with the cached ETag of the negotiation. Without a cached ETag, or if the cached one turns out to be stale,
+     * the document is read first to check the lease and to get the current ETag.
+     */
+    private String writeConditionally(String negotiationId, Function<String, String> write) {
+        var cachedETag = etags.remove(negotiationId);
+        if (cachedETag != null) {
+            try {
+                return conditionalWriteExecutor.get(() -> write.apply(cachedETag));
+            } catch (ETagMismatchException ex) {
+                // the document has changed since it was cached, e.g. by a lease renewal, which is only safe to overwrite if this replica
+                // still holds the lease
+                return writeWithCurrentETag(negotiationId, true, write);
+            }
+        }
+        return writeWithCurrentETag(negotiationId, false, write);
+    }
+
+    private String writeWithCurrentETag(String negotiationId, boolean requireOwnLease, Function<String, String> write) {
+        var document = readDocument(negotiationId);
+        String etag = null;
+        if (document != null) {
+            var lease = document.getLease();
+            if (lease != null && !leaseHolder.equals(lease.getLeasedBy()) && !lease.isExpired(Instant.now())) {
+                throw new EdcException("ContractNegotiation " + negotiationId + " is leased by " + lease.getLeasedBy());
+            }
+            if (requireOwnLease && (lease == null || !leaseHolder.equals(lease.getLeasedBy()))) {
+                throw new EdcException("ContractNegotiation " + negotiationId + " has been modified concurrently");
+            }
+            etag = document.getETag();
+        }
+        var currentETag = etag;
+        try {
+            return conditionalWriteExecutor.get(() -> write.apply(currentETag));
+        } catch (ETagMismatchException ex) {
+            throw new EdcException("ContractNegotiation " + negotiationId + " has been modified concurrently", ex);
+        }
+    }
 
-    private ContractNegotiation toNegotiation(Object object) {
-        var json = typeManager.writeValueAsString(object);
-        return typeManager.readValue(json, ContractNegotiationDocument.class).getWrappedInstance();
+    private void rememberETag(ContractNegotiationDocument document) {
+        var lease = document.getLease();
+        var etag = document.getETag();
+        // a document leased by another replica must never be overwritten based on its ETag alone
+        if (etag != null && (lease == null || leaseHolder.equals(lease.getLeasedBy()))) {
+            etags.put(document.getId(), etag);
+        }
     }
 }
@@ -16,18 +16,51 @@ package org.eclipse.dataspaceconnector.contract.negotiation.store;
 
 import net.jodah.failsafe.RetryPolicy;
 import org.eclipse.dataspaceconnector.contract.negotiation.store.model.ContractNegotiationDocument;
+import org.eclipse.dataspaceconnector.contract.negotiation.store.model.Lease;
 import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDbApi;
 import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDbApiImpl;
+import org.eclipse.dataspaceconnector.spi.EdcSetting;
 import org.eclipse.dataspaceconnector.spi.contract.negotiation.store.ContractNegotiationStore;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.security.Vault;
 import org.eclipse.dataspaceconnector.spi.system.Provides;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
 import org.eclipse.dataspaceconnector.spi.system.health.HealthCheckService;
 
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 @Provides(ContractNegotiationStore.class)
 public class CosmosContractNegotiationStoreExtension implements ServiceExtension {
 
+    /**
+     * The duration in seconds a connector holds a lease on the negotiations it processes, unless it renews it.
+     */
+    @EdcSetting
+    private static final String LEASE_DURATION_SETTING = "edc.contractnegotiationstore.cosmos.lease-duration";
+
+    /**
+     * The name this runtime holds leases by, which must be unique among the replicas of a connector. Defaults to the connector id with a
+     * random suffix.
+     */
+    @EdcSetting
+    private static final String LEASE_HOLDER_SETTING = "edc.contractnegotiationstore.cosmos.lease-holder";
+
+    /**
+     * The time in seconds after which a connector stops renewing the lease on a negotiation it has not saved, e.g. because its processing
+     * failed. Defaults to ten lease durations.
+     */
+    @EdcSetting
+    private static final String MAX_LEASE_HOLD_SETTING = "edc.contractnegotiationstore.cosmos.max-lease-hold";
+
+    private CosmosContractNegotiationStore store;
+    private Monitor monitor;
+    private ScheduledExecutorService leaseRenewal;
+
     @Override
     public String name() {
         return "CosmosDB ContractNegotiation Store";
@@ -40,7 +73,12 @@ public class CosmosContractNegotiationStoreExtension implements ServiceExtension
         Vault vault = context.getService(Vault.class);
 
         CosmosDbApi cosmosDbApi = new CosmosDbApiImpl(vault, configuration);
-        var store = new CosmosContractNegotiationStore(cosmosDbApi, context.getTypeManager(), (RetryPolicy<Object>) context.getService(RetryPolicy.class), context.getConnectorId());
+        var leaseDuration = Duration.ofSeconds(Math.max(1, context.getSetting(LEASE_DURATION_SETTING, Lease.DEFAULT_LEASE_DURATION_SECONDS)));
+        var leaseHolder = context.getSetting(LEASE_HOLDER_SETTING, context.getConnectorId() + ":" + UUID.randomUUID());
+        var maxHoldTime = Duration.ofSeconds(context.getSetting(MAX_LEASE_HOLD_SETTING, leaseDuration.toSeconds() * CosmosContractNegotiationStore.DEFAULT_MAX_HOLD_LEASES));
+        monitor = context.getMonitor();
+        store = new CosmosContractNegotiationStore(cosmosDbApi, context.getTypeManager(), (RetryPolicy<Object>) context.getService(RetryPolicy.class),
+                context.getConnectorId(), leaseHolder, leaseDuration, maxHoldTime);
         context.registerService(ContractNegotiationStore.class, store);
 
         context.getTypeManager().registerTypes(ContractNegotiationDocument.class);
@@ -49,5 +87,35 @@ public class CosmosContractNegotiationStoreExtension implements ServiceExtension
 
     }
 
+    /**
+     * Renews the leases on the negotiations this runtime is processing twice per lease duration, so that they are not taken over by another
+     * replica while the processing takes longer than a lease.
+     */
+    @Override
+    public void start() {
+        leaseRenewal = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "contract-negotiation-lease-renewal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var period = store.getLeaseDuration().toMillis() / 2;
+        leaseRenewal.scheduleWithFixedDelay(this::renewLeases, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+        if (leaseRenewal != null) {
+            leaseRenewal.shutdownNow();
+        }
+    }
+
+    private void renewLeases() {
+        try {
+            store.renewLeases();
+        } catch (Exception e) {
+            monitor.warning("Failed to renew the leases on contract negotiations", e);
+        }
+    }
+
 }
 
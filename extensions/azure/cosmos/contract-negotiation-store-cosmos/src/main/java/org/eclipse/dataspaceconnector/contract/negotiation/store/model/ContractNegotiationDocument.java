@@ -50,22 +50,23 @@ public class ContractNegotiationDocument extends CosmosDocument<ContractNegotiat
      * @throws IllegalStateException if the {@link ContractNegotiationDocument} has been leased before by a different connector
      */
     public void acquireLease(String connectorId) {
-        acquireLease(connectorId, Duration.ofSeconds(60));
+        acquireLease(connectorId, Duration.ofSeconds(Lease.DEFAULT_LEASE_DURATION_SECONDS));
     }
 
     /**
      * Tries to lock down the TransferProcess to avoid concurrent modification. No database modification takes place.
      *
      * @param connectorId The ID of the connector that attempts acquiring the lease.
-     * @throws IllegalStateException if the {@link ContractNegotiationDocument} has been leased before by a different connector
+     * @param leaseDuration The duration of the lease, which is stored with a precision of seconds.
+     * @throws IllegalStateException if the {@link ContractNegotiationDocument} has been leased before by a different connector and the lease has not expired yet
      */
     public void acquireLease(String connectorId, Duration leaseDuration) {
-        if (lease == null || lease.getLeasedBy().equals(connectorId)) {
-            lease = new Lease(connectorId, Instant.now().toEpochMilli(), leaseDuration.toMillis());
+        var now = Instant.now();
+        if (lease == null || lease.getLeasedBy().equals(connectorId) || lease.isExpired(now)) {
+            lease = new Lease(connectorId, now.toEpochMilli(), leaseDuration.toSeconds());
         } else {
             var startDate = Instant.ofEpochMilli(lease.getLeasedAt());
-            var endDate = startDate.plusSeconds(lease.getLeaseDuration());
-            throw new IllegalStateException("This document is leased by " + lease.getLeasedBy() + "on " + startDate + " and cannot be leased again until " + endDate.toString() + "!");
+            throw new IllegalStateException("This document is leased by " + lease.getLeasedBy() + "on " + startDate + " and cannot be leased again until " + lease.getExpiresAt() + "!");
         }
     }
 }
@@ -14,26 +14,46 @@
 
 package org.eclipse.dataspaceconnector.contract.negotiation.store.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.Instant;
 
+/**
+ * A lease of a document, held by one connector from {@code leasedAt} (epoch milliseconds) for {@code leaseDurationSeconds} seconds. The
+ * stored procedures that acquire and renew leases use the same units.
+ * <p>
+ * Leases written by earlier versions store their duration in milliseconds as {@code leaseDuration}. They are still read, and the stored
+ * procedures still honour them, until the lease is renewed or released.
+ */
 public class Lease {
+    public static final long DEFAULT_LEASE_DURATION_SECONDS = 60;
+
     @JsonProperty
     private final String leasedBy;
     @JsonProperty
     private final long leasedAt;
     @JsonProperty
-    private final long leaseDuration;
+    private final long leaseDurationSeconds;
 
     Lease(String leasedBy) {
-        this(leasedBy, Instant.now().toEpochMilli(), 1000 * 60);
+        this(leasedBy, Instant.now().toEpochMilli(), DEFAULT_LEASE_DURATION_SECONDS);
     }
 
-    public Lease(@JsonProperty("leasedBy") String leasedBy, @JsonProperty("leasedAt") long leasedAt, @JsonProperty("leaseDuration") long leaseDurationSeconds) {
+    public Lease(String leasedBy, long leasedAt, long leaseDurationSeconds) {
         this.leasedBy = leasedBy;
         this.leasedAt = leasedAt;
-        leaseDuration = leaseDurationSeconds;
+        this.leaseDurationSeconds = leaseDurationSeconds;
+    }
+
+    @JsonCreator
+    static Lease fromJson(@JsonProperty("leasedBy") String leasedBy, @JsonProperty("leasedAt") long leasedAt,
+                          @JsonProperty("leaseDurationSeconds") Long leaseDurationSeconds, @JsonProperty("leaseDuration") Long legacyLeaseDurationMillis) {
+        if (leaseDurationSeconds != null) {
+            return new Lease(leasedBy, leasedAt, leaseDurationSeconds);
+        }
+        return new Lease(leasedBy, leasedAt, legacyLeaseDurationMillis != null ? legacyLeaseDurationMillis / 1000 : 0);
     }
 
     public String getLeasedBy() {
@@ -44,7 +64,19 @@ public class Lease {
         return leasedAt;
     }
 
-    public long getLeaseDuration() {
-        return leaseDuration;
+    public long getLeaseDurationSeconds() {
+        return leaseDurationSeconds;
+    }
+
+    @JsonIgnore
+    public Instant getExpiresAt() {
+        return Instant.ofEpochMilli(leasedAt).plusSeconds(leaseDurationSeconds);
+    }
+
+    /**
+     * Whether the lease has run out, after which any connector may take it over.
+     */
+    public boolean isExpired(Instant now) {
+        return getExpiresAt().isBefore(now);
     }
 }
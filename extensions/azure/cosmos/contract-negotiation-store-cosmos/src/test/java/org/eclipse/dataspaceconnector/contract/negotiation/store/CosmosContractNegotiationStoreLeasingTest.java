@@ -0,0 +1,384 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.contract.negotiation.store;
+
+import net.jodah.failsafe.RetryPolicy;
+import org.eclipse.dataspaceconnector.contract.negotiation.store.model.ContractNegotiationDocument;
+import org.eclipse.dataspaceconnector.contract.negotiation.store.model.Lease;
+import org.eclipse.dataspaceconnector.cosmos.azure.testfixtures.InMemoryCosmosDbApi;
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.negotiation.ContractNegotiation;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.negotiation.ContractNegotiationStates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.eclipse.dataspaceconnector.contract.negotiation.store.TestFunctions.generateNegotiation;
+
+/**
+ * Runs the leasing of the store against an in-process container. The stored procedures mirror the ones in the test resources.
+ */
+class CosmosContractNegotiationStoreLeasingTest {
+    private static final String CONNECTOR_ID = "test-connector";
+    private static final int INITIAL = ContractNegotiationStates.INITIAL.code();
+
+    private TypeManager typeManager;
+    private InMemoryCosmosDbApi cosmosDbApi;
+
+    @BeforeEach
+    void setUp() {
+        typeManager = new TypeManager();
+        cosmosDbApi = new InMemoryCosmosDbApi(typeManager.getMapper());
+        cosmosDbApi.registerStoredProcedure("nextForState", CosmosContractNegotiationStoreLeasingTest::nextForState);
+        cosmosDbApi.registerStoredProcedure("renewLease", CosmosContractNegotiationStoreLeasingTest::renewLease);
+    }
+
+    @Test
+    void nextForState_leasesBatchInOneRoundTrip() {
+        var store = createStore("replica-1");
+        IntStream.range(0, 20).forEach(i -> store.save(generateNegotiation(ContractNegotiationStates.INITIAL)));
+        cosmosDbApi.resetRoundTrips();
+
+        var leased = store.nextForState(INITIAL, 15);
+
+        assertThat(leased).hasSize(15);
+        assertThat(cosmosDbApi.getRoundTrips()).isEqualTo(1);
+        var leases = leases();
+        assertThat(leases.values()).filteredOn(lease -> lease != null).hasSize(15).allSatisfy(lease -> {
+            assertThat(lease.getLeasedBy()).isEqualTo("replica-1");
+            assertThat(lease.getLeaseDurationSeconds()).isEqualTo(60);
+            assertThat(lease.isExpired(Instant.now())).isFalse();
+        });
+    }
+
+    @Test
+    void nextForState_skipsNegotiationsLeasedByOthers() {
+        var replica1 = createStore("replica-1");
+        var replica2 = createStore("replica-2");
+        IntStream.range(0, 10).forEach(i -> replica1.save(generateNegotiation(ContractNegotiationStates.INITIAL)));
+
+        var leased1 = replica1.nextForState(INITIAL, 6);
+        var leased2 = replica2.nextForState(INITIAL, 6);
+
+        assertThat(leased1).hasSize(6);
+        assertThat(leased2).hasSize(4).extracting(ContractNegotiation::getId)
+                .doesNotContainAnyElementsOf(leased1.stream().map(ContractNegotiation::getId).collect(Collectors.toList()));
+        assertThat(replica2.nextForState(INITIAL, 6)).hasSize(4);
+    }
+
+    @Test
+    void nextForState_reclaimsExpiredLeases() {
+        var negotiation = generateNegotiation(ContractNegotiationStates.INITIAL);
+        var document = new ContractNegotiationDocument(negotiation, CONNECTOR_ID);
+        cosmosDbApi.saveItem(document);
+        setLease(negotiation.getId(), new Lease("crashed-replica", Instant.now().minusSeconds(120).toEpochMilli(), 60));
+
+        var leased = createStore("replica-1").nextForState(INITIAL, 10);
+
+        assertThat(leased).extracting(ContractNegotiation::getId).containsExactly(negotiation.getId());
+        assertThat(leases().get(negotiation.getId()).getLeasedBy()).isEqualTo("replica-1");
+    }
+
+    @Test
+    void nextForState_leaseDurationInSeconds() {
+        var store = new CosmosContractNegotiationStore(cosmosDbApi, typeManager, new RetryPolicy<>(), CONNECTOR_ID, "replica-1", Duration.ofMinutes(10));
+        store.save(generateNegotiation(ContractNegotiationStates.INITIAL));
+
+        store.nextForState(INITIAL, 1);
+
+        var lease = leases().values().iterator().next();
+        assertThat(lease.getLeaseDurationSeconds()).isEqualTo(600);
+        assertThat(lease.getExpiresAt()).isAfter(Instant.now().plus(Duration.ofMinutes(9)));
+    }
+
+    @Test
+    void save_releasesLease() {
+        var store = createStore("replica-1");
+        store.save(generateNegotiation(ContractNegotiationStates.INITIAL));
+        var negotiation = store.nextForState(INITIAL, 1).get(0);
+
+        negotiation.transitionRequesting();
+        store.save(negotiation);
+
+        assertThat(leases().get(negotiation.getId())).isNull();
+    }
+
+    @Test
+    void renewLeases_onlyRenewsOwnLeases() {
+        var replica1 = createStore("replica-1");
+        var replica2 = createStore("replica-2");
+        var own = generateNegotiation(ContractNegotiationStates.INITIAL);
+        replica1.save(own);
+        replica1.nextForState(INITIAL, 1);
+        var other = generateNegotiation(ContractNegotiationStates.INITIAL);
+        replica2.save(other);
+        replica2.nextForState(INITIAL, 1);
+        var leasedAt = Instant.now().minusSeconds(30).toEpochMilli();
+        setLease(own.getId(), new Lease("replica-1", leasedAt, 60));
+        cosmosDbApi.resetRoundTrips();
+
+        var renewed = replica1.renewLeases(List.of(own.getId(), other.getId()));
+
+        assertThat(renewed).containsExactly(own.getId());
+        assertThat(cosmosDbApi.getRoundTrips()).isEqualTo(1);
+        assertThat(leases().get(own.getId()).getLeasedAt()).isGreaterThan(leasedAt);
+        assertThat(leases().get(other.getId()).getLeasedBy()).isEqualTo("replica-2");
+    }
+
+    @Test
+    void renewLeases_expiredLeaseTakenOver() {
+        var replica1 = createStore("replica-1");
+        var negotiation = generateNegotiation(ContractNegotiationStates.INITIAL);
+        replica1.save(negotiation);
+        replica1.nextForState(INITIAL, 1);
+        setLease(negotiation.getId(), new Lease("replica-1", Instant.now().minusSeconds(120).toEpochMilli(), 60));
+        createStore("replica-2").nextForState(INITIAL, 1);
+
+        assertThat(replica1.renewLeases(List.of(negotiation.getId()))).isEmpty();
+    }
+
+    @Test
+    void renewLeases_renewsLeasesHeldUntilSaved() {
+        var store = createStore("replica-1");
+        store.save(generateNegotiation(ContractNegotiationStates.INITIAL));
+        store.save(generateNegotiation(ContractNegotiationStates.INITIAL));
+        var leased = store.nextForState(INITIAL, 2);
+        var saved = leased.get(0);
+        saved.transitionRequesting();
+        store.save(saved);
+        var held = leased.get(1);
+        var leasedAt = Instant.now().minusSeconds(30).toEpochMilli();
+        setLease(held.getId(), new Lease("replica-1", leasedAt, 60));
+
+        store.renewLeases();
+
+        assertThat(leases().get(held.getId()).getLeasedAt()).isGreaterThan(leasedAt);
+        assertThat(leases().get(saved.getId())).isNull();
+    }
+
+    @Test
+    void renewLeases_stopsRenewingAfterMaxHoldTime() {
+        var store = new CosmosContractNegotiationStore(cosmosDbApi, typeManager, new RetryPolicy<>(), CONNECTOR_ID, "replica-1", Duration.ofSeconds(60), Duration.ZERO);
+        store.save(generateNegotiation(ContractNegotiationStates.INITIAL));
+        var held = store.nextForState(INITIAL, 1).get(0);
+        var leasedAt = Instant.now().minusSeconds(30).toEpochMilli();
+        setLease(held.getId(), new Lease("replica-1", leasedAt, 60));
+
+        store.renewLeases();
+        store.renewLeases();
+
+        assertThat(leases().get(held.getId()).getLeasedAt()).isEqualTo(leasedAt);
+    }
+
+    @Test
+    void save_afterLeaseWasTakenOver_fails() {
+        var replica1 = createStore("replica-1");
+        var replica2 = createStore("replica-2");
+        replica1.save(generateNegotiation(ContractNegotiationStates.INITIAL));
+        var negotiation = replica1.nextForState(INITIAL, 1).get(0);
+        setLease(negotiation.getId(), new Lease("replica-1", Instant.now().minusSeconds(120).toEpochMilli(), 60));
+        assertThat(replica2.nextForState(INITIAL, 1)).hasSize(1);
+
+        negotiation.transitionRequesting();
+        assertThatThrownBy(() -> replica1.save(negotiation)).isInstanceOf(EdcException.class);
+
+        assertThat(storedState(negotiation.getId())).isEqualTo(INITIAL);
+        assertThat(leases().get(negotiation.getId()).getLeasedBy()).isEqualTo("replica-2");
+    }
+
+    @Test
+    void save_whileLeasedByAnother_fails() {
+        var replica1 = createStore("replica-1");
+        var replica2 = createStore("replica-2");
+        replica1.save(generateNegotiation(ContractNegotiationStates.INITIAL));
+        var negotiation = replica1.nextForState(INITIAL, 1).get(0);
+
+        negotiation.transitionRequesting();
+        assertThatThrownBy(() -> replica2.save(negotiation)).isInstanceOf(EdcException.class);
+
+        assertThat(leases().get(negotiation.getId()).getLeasedBy()).isEqualTo("replica-1");
+    }
+
+    @Test
+    void save_afterLeaseWasRenewed() {
+        var store = createStore("replica-1");
+        store.save(generateNegotiation(ContractNegotiationStates.INITIAL));
+        var negotiation = store.nextForState(INITIAL, 1).get(0);
+        store.renewLeases();
+
+        negotiation.transitionRequesting();
+        store.save(negotiation);
+
+        assertThat(storedState(negotiation.getId())).isEqualTo(ContractNegotiationStates.REQUESTING.code());
+        assertThat(leases().get(negotiation.getId())).isNull();
+    }
+
+    @Test
+    void nextForState_honoursLeasesInMilliseconds() {
+        var negotiation = generateNegotiation(ContractNegotiationStates.INITIAL);
+        cosmosDbApi.saveItem(new ContractNegotiationDocument(negotiation, CONNECTOR_ID));
+        var document = cosmosDbApi.documents(CONNECTOR_ID).findFirst().orElseThrow();
+        // as stored by earlier versions, which kept the duration in milliseconds
+        document.put("lease", Map.of("leasedBy", "old-replica", "leasedAt", Instant.now().toEpochMilli(), "leaseDuration", 60_000));
+        cosmosDbApi.replaceDocument(document);
+
+        assertThat(createStore("replica-1").nextForState(INITIAL, 1)).isEmpty();
+        var lease = leases().get(negotiation.getId());
+        assertThat(lease.getLeaseDurationSeconds()).isEqualTo(60);
+        assertThat(lease.isExpired(Instant.now().plusSeconds(30))).isFalse();
+    }
+
+    /**
+     * Processes a set of negotiations with several replicas, each leasing batches, and verifies that every negotiation is processed exactly
+     * once.
+     */
+    @Test
+    void replicas_processEachNegotiationOnce() throws Exception {
+        var replicas = 4;
+        var ids = IntStream.range(0, 100).mapToObj(i -> generateNegotiation(ContractNegotiationStates.INITIAL))
+                .peek(negotiation -> createStore("loader").save(negotiation))
+                .map(ContractNegotiation::getId)
+                .collect(Collectors.toSet());
+        Set<String> processed = ConcurrentHashMap.newKeySet();
+        var duplicates = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(replicas);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (var r = 0; r < replicas; r++) {
+                var store = createStore("replica-" + r);
+                futures.add(executor.submit(() -> {
+                    List<ContractNegotiation> batch;
+                    while (!(batch = store.nextForState(INITIAL, 10)).isEmpty()) {
+                        for (var negotiation : batch) {
+                            if (!processed.add(negotiation.getId())) {
+                                duplicates.incrementAndGet();
+                            }
+                            negotiation.transitionRequesting();
+                            store.save(negotiation);
+                        }
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(processed).isEqualTo(ids);
+        assertThat(duplicates).hasValue(0);
+    }
+
+    private CosmosContractNegotiationStore createStore(String leaseHolder) {
+        return new CosmosContractNegotiationStore(cosmosDbApi, typeManager, new RetryPolicy<>(), CONNECTOR_ID, leaseHolder, Duration.ofSeconds(60));
+    }
+
+    private Map<String, Lease> leases() {
+        var leases = new HashMap<String, Lease>();
+        cosmosDbApi.documents(CONNECTOR_ID).forEach(document -> leases.put((String) document.get("id"), typeManager.getMapper().convertValue(document.get("lease"), Lease.class)));
+        return leases;
+    }
+
+    private int storedState(String id) {
+        var document = cosmosDbApi.documents(CONNECTOR_ID).filter(d -> id.equals(d.get("id"))).findFirst().orElseThrow();
+        return ((Number) wrappedInstance(document).get("state")).intValue();
+    }
+
+    private void setLease(String id, Lease lease) {
+        var document = cosmosDbApi.documents(CONNECTOR_ID).filter(d -> id.equals(d.get("id"))).findFirst().orElseThrow();
+        document.put("lease", typeManager.getMapper().convertValue(lease, Map.class));
+        cosmosDbApi.replaceDocument(document);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object nextForState(InMemoryCosmosDbApi container, String partitionKey, Object... args) {
+        var state = (int) args[0];
+        var limit = (int) args[1];
+        var leaseHolder = (String) args[2];
+        var leaseDuration = ((Number) args[3]).longValue();
+        var now = System.currentTimeMillis();
+        return container.documents(partitionKey)
+                .filter(document -> ((Number) wrappedInstance(document).get("state")).intValue() == state)
+                .filter(document -> isAvailable((Map<String, Object>) document.get("lease"), leaseHolder, now))
+                .sorted(Comparator.comparingLong((Map<String, Object> document) -> ((Number) wrappedInstance(document).get("stateTimestamp")).longValue()))
+                .limit(limit)
+                .map(document -> {
+                    document.put("lease", newLease(leaseHolder, now, leaseDuration));
+                    return container.replaceDocument(document);
+                })
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object renewLease(InMemoryCosmosDbApi container, String partitionKey, Object... args) {
+        var ids = (List<String>) args[0];
+        var leaseHolder = (String) args[1];
+        var leaseDuration = ((Number) args[2]).longValue();
+        var now = System.currentTimeMillis();
+        return container.documents(partitionKey)
+                .filter(document -> ids.contains((String) document.get("id")))
+                .filter(document -> document.get("lease") != null && leaseHolder.equals(((Map<String, Object>) document.get("lease")).get("leasedBy")))
+                .map(document -> {
+                    document.put("lease", newLease(leaseHolder, now, leaseDuration));
+                    return (String) container.replaceDocument(document).get("id");
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isAvailable(Map<String, Object> lease, String leaseHolder, long now) {
+        if (lease == null || leaseHolder.equals(lease.get("leasedBy"))) {
+            return true;
+        }
+        var leasedAt = ((Number) lease.get("leasedAt")).longValue();
+        var expiresAt = lease.containsKey("leaseDurationSeconds")
+                ? leasedAt + ((Number) lease.get("leaseDurationSeconds")).longValue() * 1000
+                : leasedAt + ((Number) lease.get("leaseDuration")).longValue();
+        return expiresAt < now;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> wrappedInstance(Map<String, Object> document) {
+        return (Map<String, Object>) document.get("wrappedInstance");
+    }
+
+    private static Map<String, Object> newLease(String leaseHolder, long now, long leaseDuration) {
+        var lease = new HashMap<String, Object>();
+        lease.put("leasedBy", leaseHolder);
+        lease.put("leasedAt", now);
+        lease.put("leaseDurationSeconds", leaseDuration);
+        return lease;
+    }
+}
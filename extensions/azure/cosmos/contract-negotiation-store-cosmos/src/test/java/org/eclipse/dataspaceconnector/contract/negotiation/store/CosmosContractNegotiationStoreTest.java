@@ -1,6 +1,8 @@
 package org.eclipse.dataspaceconnector.contract.negotiation.store;
 
+import com.azure.cosmos.implementation.NotFoundException;
 import com.azure.cosmos.models.SqlQuerySpec;
+import com.fasterxml.jackson.databind.JsonNode;
 import net.jodah.failsafe.RetryPolicy;
 import org.eclipse.dataspaceconnector.contract.negotiation.store.model.ContractNegotiationDocument;
 import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDbApi;
@@ -9,13 +11,18 @@ import org.eclipse.dataspaceconnector.spi.types.domain.contract.negotiation.Cont
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.eclipse.dataspaceconnector.contract.negotiation.store.TestFunctions.generateDocument;
 import static org.eclipse.dataspaceconnector.contract.negotiation.store.TestFunctions.generateNegotiation;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -25,11 +32,12 @@ class CosmosContractNegotiationStoreTest {
     private static final String PARTITION_KEY = "test-connector";
     private CosmosContractNegotiationStore store;
     private CosmosDbApi cosmosDbApi;
+    private TypeManager typeManager;
 
     @BeforeEach
     void setup() {
         cosmosDbApi = mock(CosmosDbApi.class);
-        var typeManager = new TypeManager();
+        typeManager = new TypeManager();
         var retryPolicy = new RetryPolicy<>();
         store = new CosmosContractNegotiationStore(cosmosDbApi, typeManager, retryPolicy, "test-connector");
     }
@@ -37,41 +45,42 @@ class CosmosContractNegotiationStoreTest {
     @Test
     void find() {
         var doc = generateDocument();
-        when(cosmosDbApi.queryItemById("test-id-1")).thenReturn(doc);
+        when(cosmosDbApi.queryItems(any(SqlQuerySpec.class), eq(JsonNode.class))).thenReturn(Stream.of(toTree(doc)));
 
         var result = store.find("test-id-1");
 
         assertThat(result).usingRecursiveComparison().isEqualTo(doc.getWrappedInstance());
-        verify(cosmosDbApi).queryItemById("test-id-1");
+        verify(cosmosDbApi).queryItems(argThat(querySpec -> "test-id-1".equals(querySpec.getParameters().get(0).getValue(String.class))), eq(JsonNode.class));
         verifyNoMoreInteractions(cosmosDbApi);
     }
 
     @Test
     void find_notFound() {
-        when(cosmosDbApi.queryItemById(anyString())).thenReturn(null);
+        when(cosmosDbApi.queryItems(any(SqlQuerySpec.class), eq(JsonNode.class))).thenReturn(Stream.empty());
 
         assertThat(store.find("test-id-1")).isNull();
-        verify(cosmosDbApi).queryItemById(anyString());
+        verify(cosmosDbApi).queryItems(any(SqlQuerySpec.class), eq(JsonNode.class));
         verifyNoMoreInteractions(cosmosDbApi);
     }
 
     @Test
     void findForCorrelationId() {
         var doc = generateDocument();
-        when(cosmosDbApi.queryItems(any(SqlQuerySpec.class))).thenReturn(Stream.of(doc));
+        when(cosmosDbApi.queryItems(any(SqlQuerySpec.class), eq(JsonNode.class))).thenReturn(Stream.of(toTree(doc)));
 
         assertThat(store.findForCorrelationId("some-correlation-id")).usingRecursiveComparison().isEqualTo(doc.getWrappedInstance());
-        verify(cosmosDbApi).queryItems(any(SqlQuerySpec.class));
+        verify(cosmosDbApi).queryItems(any(SqlQuerySpec.class), eq(JsonNode.class));
         verifyNoMoreInteractions(cosmosDbApi);
     }
 
     @Test
     void findContractAgreement() {
         var doc = generateDocument();
-        when(cosmosDbApi.queryItems(any(SqlQuerySpec.class))).thenReturn(Stream.of(doc));
+        var agreement = doc.getWrappedInstance().getContractAgreement();
+        when(cosmosDbApi.queryItems(any(SqlQuerySpec.class), eq(JsonNode.class))).thenReturn(Stream.of(toTree(agreement)));
 
-        assertThat(store.findContractAgreement("test-contract-id")).usingRecursiveComparison().isEqualTo(doc.getWrappedInstance().getContractAgreement());
-        verify(cosmosDbApi).queryItems(any(SqlQuerySpec.class));
+        assertThat(store.findContractAgreement("test-contract-id")).usingRecursiveComparison().isEqualTo(agreement);
+        verify(cosmosDbApi).queryItems(argThat(querySpec -> querySpec.getQueryText().startsWith("SELECT VALUE c.wrappedInstance.contractAgreement")), eq(JsonNode.class));
     }
 
     @Test
@@ -80,7 +89,8 @@ class CosmosContractNegotiationStoreTest {
 
         store.save(negotiation);
 
-        verify(cosmosDbApi).saveItem(any(ContractNegotiationDocument.class));
+        verify(cosmosDbApi).queryItemById(negotiation.getId(), PARTITION_KEY, JsonNode.class);
+        verify(cosmosDbApi).saveItem(any(ContractNegotiationDocument.class), isNull());
         verifyNoMoreInteractions(cosmosDbApi);
     }
 
@@ -88,6 +98,17 @@ class CosmosContractNegotiationStoreTest {
     void delete() {
         store.delete("test-id");
 
+        verify(cosmosDbApi).deleteItem("test-id", PARTITION_KEY);
+        verifyNoMoreInteractions(cosmosDbApi);
+    }
+
+    @Test
+    void delete_notInOwnPartition() {
+        doThrow(new NotFoundException("not found")).when(cosmosDbApi).deleteItem("test-id", PARTITION_KEY);
+
+        store.delete("test-id");
+
+        verify(cosmosDbApi).deleteItem("test-id", PARTITION_KEY);
         verify(cosmosDbApi).deleteItem("test-id");
         verifyNoMoreInteractions(cosmosDbApi);
     }
@@ -95,13 +116,54 @@ class CosmosContractNegotiationStoreTest {
     @Test
     void nextForState() {
         var state = ContractNegotiationStates.CONFIRMED;
-        when(cosmosDbApi.invokeStoredProcedure("nextForState", PARTITION_KEY, state.code(), 100, "test-connector"))
+        when(cosmosDbApi.invokeStoredProcedure("nextForState", PARTITION_KEY, state.code(), 100, "test-connector", 60L))
                 .thenReturn("[]");
 
         var result = store.nextForState(state.code(), 100);
 
         assertThat(result).isEmpty();
-        verify(cosmosDbApi).invokeStoredProcedure("nextForState", PARTITION_KEY, state.code(), 100, "test-connector");
+        verify(cosmosDbApi).invokeStoredProcedure("nextForState", PARTITION_KEY, state.code(), 100, "test-connector", 60L);
         verifyNoMoreInteractions(cosmosDbApi);
     }
+
+    @Test
+    void nextForState_shouldDeserializeDocuments() {
+        var doc = generateDocument();
+        when(cosmosDbApi.invokeStoredProcedure("nextForState", PARTITION_KEY, 100, 10, "test-connector", 60L))
+                .thenReturn(typeManager.writeValueAsString(List.of(doc)));
+
+        var result = store.nextForState(100, 10);
+
+        assertThat(result).hasSize(1).first().usingRecursiveComparison().isEqualTo(doc.getWrappedInstance());
+    }
+
+    @Test
+    void nextForState_withLeaseHolder() {
+        var store = new CosmosContractNegotiationStore(cosmosDbApi, typeManager, new RetryPolicy<>(), "test-connector", "replica-1", Duration.ofMinutes(5));
+        when(cosmosDbApi.invokeStoredProcedure("nextForState", PARTITION_KEY, 100, 10, "replica-1", 300L)).thenReturn("[]");
+
+        assertThat(store.nextForState(100, 10)).isEmpty();
+        verify(cosmosDbApi).invokeStoredProcedure("nextForState", PARTITION_KEY, 100, 10, "replica-1", 300L);
+    }
+
+    @Test
+    void renewLeases() {
+        when(cosmosDbApi.invokeStoredProcedure("renewLease", PARTITION_KEY, List.of("id1", "id2"), "test-connector", 60L)).thenReturn("[\"id1\"]");
+
+        var renewed = store.renewLeases(List.of("id1", "id2"));
+
+        assertThat(renewed).containsExactly("id1");
+        verify(cosmosDbApi).invokeStoredProcedure("renewLease", PARTITION_KEY, List.of("id1", "id2"), "test-connector", 60L);
+        verifyNoMoreInteractions(cosmosDbApi);
+    }
+
+    @Test
+    void renewLeases_empty() {
+        assertThat(store.renewLeases(List.of())).isEmpty();
+        verifyNoMoreInteractions(cosmosDbApi);
+    }
+
+    private JsonNode toTree(Object value) {
+        return typeManager.getMapper().valueToTree(value);
+    }
 }
\ No newline at end of file
@@ -47,7 +47,7 @@ function lease(processId, connectorId, shouldLease) {
 
         let document = items[0];
 
-        if (document.lease != null && document.lease.leasedBy !== connectorId) {
+        if (document.lease != null && document.lease.leasedBy !== connectorId && expiresAt(document.lease) >= Date.now()) {
             throw "Document is locked by another connector"
         }
 
@@ -62,11 +62,16 @@ function lease(processId, connectorId, shouldLease) {
 
     if (!accept) throw "Unable to read document details, abort ";
 
+    // leases stored by earlier versions keep their duration in milliseconds
+    function expiresAt(lease) {
+        return lease.leaseDurationSeconds !== undefined ? lease.leasedAt + lease.leaseDurationSeconds * 1000 : lease.leasedAt + lease.leaseDuration;
+    }
+
     function lease(document, connectorId) {
         document.lease = {
             leasedBy: connectorId,
             leasedAt: Date.now(),
-            leaseDuration: 60
+            leaseDurationSeconds: 60
         };
 
         var accept = collection.replaceDocument(document._self, document, function (err, itemReplaced) {
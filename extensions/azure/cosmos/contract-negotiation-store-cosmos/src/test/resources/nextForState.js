@@ -12,15 +12,24 @@
  *
  */
 
-function nextForState(state, limit, connectorId) {
+/**
+ * Leases up to "limit" documents in the given state in one transaction and returns them. A document can be leased if it is not leased,
+ * if it is leased by the calling connector, or if its lease has expired. Leases are held for "leaseDuration" seconds from now. Leases
+ * stored by earlier versions keep their duration in milliseconds in "lease.leaseDuration" and expire accordingly.
+ *
+ * If the stored procedure runs out of its time or request budget, the documents leased so far are returned, the others are left for the
+ * next call.
+ */
+function nextForState(state, limit, connectorId, leaseDuration) {
     var context = getContext();
     var collection = context.getCollection();
     var collectionLink = collection.getSelfLink();
     var response = context.getResponse();
+    var now = Date.now();
+    var duration = leaseDuration === undefined ? 60 : parseInt(leaseDuration, 10);
 
-    // first query
     var filterQuery = {
-        'query': 'SELECT * FROM t WHERE t.wrappedInstance.state = @state AND (t.lease = null OR t.lease.leasedBy = @leaser OR (t.lease.leasedAt + t.lease.leaseDuration) < @now) ORDER BY t.wrappedInstance.stateTimestamp OFFSET 0 LIMIT @limit',
+        'query': 'SELECT * FROM t WHERE t.wrappedInstance.state = @state AND (IS_NULL(t.lease) OR NOT IS_DEFINED(t.lease) OR t.lease.leasedBy = @leaser OR (IS_DEFINED(t.lease.leaseDurationSeconds) ? t.lease.leasedAt + t.lease.leaseDurationSeconds * 1000 : t.lease.leasedAt + t.lease.leaseDuration) < @now) ORDER BY t.wrappedInstance.stateTimestamp OFFSET 0 LIMIT @limit',
         'parameters': [
             {
                 'name': '@state', 'value': parseInt(state, 10)
@@ -32,42 +41,41 @@ function nextForState(state, limit, connectorId) {
                 'name': '@leaser', 'value': connectorId
             },
             {
-                'name': '@now', 'value': Date.now()
+                'name': '@now', 'value': now
             }
         ]
     };
 
-    var accept = collection.queryDocuments(collectionLink, filterQuery, {}, function (err, items, responseOptions) {
+    var accept = collection.queryDocuments(collectionLink, filterQuery, {}, function (err, items) {
         if (err) throw new Error("Error" + err.message);
 
-
-        if (!items || !items.length || items.length <= 0) {
-            response.setBody('no docs found')
-            console.log("No documents found!")
-        }
-
-        console.log("found " + items.length + " documents!")
-
-        // add lock to all items
-        for (var i = 0; i < items.length; i++) {
-            lease(items[i], connectorId)
-        }
-        response.setBody(items)
+        var leased = [];
+        leaseNext(items || [], 0, leased);
     });
 
     if (!accept) throw "Unable to read document details, abort ";
 
-    function lease(document, connectorId) {
+    // leases the documents one after the other, the response is only set when all replacements have completed
+    function leaseNext(items, index, leased) {
+        if (index >= items.length) {
+            response.setBody(leased);
+            return;
+        }
+        var document = items[index];
         document.lease = {
             leasedBy: connectorId,
-            leasedAt: Date.now(),
-            leaseDuration: 60
+            leasedAt: now,
+            leaseDurationSeconds: duration
         };
-
-        var accept = collection.replaceDocument(document._self, document, function (err, itemReplaced) {
+        // the ETag condition makes a concurrent modification of the document abort the transaction instead of overwriting it
+        var accepted = collection.replaceDocument(document._self, document, {etag: document._etag}, function (err, replaced) {
             if (err) throw "Unable to update Document, abort ";
-        })
-        if (!accept) throw "Unable to update Document, abort";
-        console.log("updated lease of document " + document.id)
+            leased.push(replaced);
+            leaseNext(items, index + 1, leased);
+        });
+        if (!accepted) {
+            // out of budget, return what has been leased so far
+            response.setBody(leased);
+        }
     }
-}
\ No newline at end of file
+}
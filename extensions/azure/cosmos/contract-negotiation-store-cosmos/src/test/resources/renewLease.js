@@ -0,0 +1,66 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+/**
+ * Renews the leases the calling connector holds on the given documents for another "leaseDuration" seconds from now, in one transaction.
+ * Documents that are not leased by the connector, including those whose lease has been taken over after it had expired, are skipped.
+ * Returns the ids of the documents whose lease has been renewed.
+ */
+function renewLease(ids, connectorId, leaseDuration) {
+    var context = getContext();
+    var collection = context.getCollection();
+    var collectionLink = collection.getSelfLink();
+    var response = context.getResponse();
+    var now = Date.now();
+
+    var filterQuery = {
+        'query': 'SELECT * FROM t WHERE ARRAY_CONTAINS(@ids, t.id) AND t.lease.leasedBy = @leaser',
+        'parameters': [
+            {
+                'name': '@ids', 'value': ids
+            },
+            {
+                'name': '@leaser', 'value': connectorId
+            }
+        ]
+    };
+
+    var accept = collection.queryDocuments(collectionLink, filterQuery, {}, function (err, items) {
+        if (err) throw new Error("Error" + err.message);
+
+        renewNext(items || [], 0, []);
+    });
+
+    if (!accept) throw "Unable to read document details, abort ";
+
+    function renewNext(items, index, renewed) {
+        if (index >= items.length) {
+            response.setBody(renewed);
+            return;
+        }
+        var document = items[index];
+        document.lease.leasedAt = now;
+        document.lease.leaseDurationSeconds = parseInt(leaseDuration, 10);
+        // drops the duration in milliseconds of leases stored by earlier versions
+        delete document.lease.leaseDuration;
+        var accepted = collection.replaceDocument(document._self, document, {etag: document._etag}, function (err) {
+            if (err) throw "Unable to update Document, abort ";
+            renewed.push(document.id);
+            renewNext(items, index + 1, renewed);
+        });
+        if (!accepted) {
+            response.setBody(renewed);
+        }
+    }
+}
@@ -14,6 +14,7 @@
 
 plugins {
     `java-library`
+    `java-test-fixtures`
 }
 
 val cosmosSdkVersion: String by project
@@ -26,6 +27,8 @@ dependencies {
 
     testImplementation(testFixtures(project(":common:util")))
 
+    testFixturesApi("com.azure:azure-cosmos:${cosmosSdkVersion}")
+
 }
 
 
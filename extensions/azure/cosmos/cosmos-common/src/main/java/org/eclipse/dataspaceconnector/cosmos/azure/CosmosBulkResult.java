@@ -0,0 +1,160 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.cosmos.azure;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The outcome of a bulk execution or a transactional batch: how many operations completed and failed, the request units they consumed and
+ * how many of them were throttled. Also used to report the progress of a bulk execution that is still running.
+ */
+public class CosmosBulkResult {
+    public static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private final int operations;
+    private final int succeeded;
+    private final int throttled;
+    private final double requestCharge;
+    private final List<Failure> failures;
+
+    private CosmosBulkResult(int operations, int succeeded, int throttled, double requestCharge, List<Failure> failures) {
+        this.operations = operations;
+        this.succeeded = succeeded;
+        this.throttled = throttled;
+        this.requestCharge = requestCharge;
+        this.failures = failures;
+    }
+
+    /**
+     * The total number of operations submitted.
+     */
+    public int getOperations() {
+        return operations;
+    }
+
+    /**
+     * The number of operations that have completed so far, successfully or not.
+     */
+    public int getCompleted() {
+        return succeeded + failures.size();
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failures.size();
+    }
+
+    /**
+     * The number of operations that failed because the request rate was too large, even after the retries of the CosmosDB client.
+     */
+    public int getThrottled() {
+        return throttled;
+    }
+
+    /**
+     * The request units consumed by all completed operations.
+     */
+    public double getRequestCharge() {
+        return requestCharge;
+    }
+
+    /**
+     * The failed operations in the order they completed. An item id appears once per failed operation on it.
+     */
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    public boolean succeeded() {
+        return failures.isEmpty() && succeeded == operations;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d/%d operations completed, %d failed (%d throttled), %.1f RU", getCompleted(), operations, getFailed(), throttled, requestCharge);
+    }
+
+    /**
+     * Accumulates the responses of the operations while they complete. Each call of {@link #build()} returns a snapshot.
+     */
+    public static class Builder {
+        private final int operations;
+        private final List<Failure> failures = new ArrayList<>();
+        private int succeeded;
+        private int throttled;
+        private double requestCharge;
+
+        private Builder(int operations) {
+            this.operations = operations;
+        }
+
+        public static Builder newInstance(int operations) {
+            return new Builder(operations);
+        }
+
+        public Builder succeeded(double requestCharge) {
+            succeeded++;
+            this.requestCharge += requestCharge;
+            return this;
+        }
+
+        public Builder failed(String id, int statusCode, double requestCharge) {
+            failures.add(new Failure(id, statusCode));
+            if (statusCode == HTTP_TOO_MANY_REQUESTS) {
+                throttled++;
+            }
+            this.requestCharge += requestCharge;
+            return this;
+        }
+
+        public int completed() {
+            return succeeded + failures.size();
+        }
+
+        public CosmosBulkResult build() {
+            return new CosmosBulkResult(operations, succeeded, throttled, requestCharge, List.copyOf(failures));
+        }
+    }
+
+    /**
+     * A failed operation: the id of the item it operated on and the status code it failed with.
+     */
+    public static class Failure {
+        private final String id;
+        private final int statusCode;
+
+        public Failure(String id, int statusCode) {
+            this.id = id;
+            this.statusCode = statusCode;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public String toString() {
+            return id + ": " + statusCode;
+        }
+    }
+}
@@ -6,26 +6,114 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 public interface CosmosDbApi extends ReadinessProvider {
+    int MAX_BATCH_OPERATIONS = 100;
 
     void saveItem(CosmosDocument<?> item);
 
+    /**
+     * Writes an item in a single round trip. If an ETag is given, the item is only replaced if the stored item still has that ETag, otherwise
+     * the item is created or replaced unconditionally.
+     *
+     * @param item the item to write
+     * @param ifMatchETag the ETag the stored item must have, or null for an unconditional write
+     * @return the ETag of the written item
+     * @throws ETagMismatchException if the stored item has a different ETag or does not exist anymore
+     */
+    String saveItem(CosmosDocument<?> item, @Nullable String ifMatchETag);
+
+    /**
+     * Upserts the items with a bulk execution.
+     *
+     * @throws org.eclipse.dataspaceconnector.spi.EdcException if any of the items could not be written. Upserts are idempotent, so the whole
+     *                                                         collection can be written again.
+     */
     void saveItems(Collection<CosmosDocument<?>> definitions);
 
+    /**
+     * Upserts the items with a bulk execution, which groups them by partition and sends them to CosmosDB in as few requests as possible.
+     * Failed operations do not abort the execution, they are reported in the result.
+     *
+     * @param items the items to upsert
+     * @param progressListener receives the progress while the execution runs, may be null
+     */
+    CosmosBulkResult upsertItems(Collection<? extends CosmosDocument<?>> items, @Nullable Consumer<CosmosBulkResult> progressListener);
+
+    /**
+     * Deletes the items of a partition with a bulk execution. Items that do not exist are reported as failures with status code 404.
+     *
+     * @param partitionKey the partition of the items
+     * @param ids the ids of the items to delete
+     * @param progressListener receives the progress while the execution runs, may be null
+     */
+    CosmosBulkResult deleteItems(String partitionKey, Collection<String> ids, @Nullable Consumer<CosmosBulkResult> progressListener);
+
+    /**
+     * Upserts and deletes items of a single partition in one transactional batch: either all operations succeed or none is applied. A batch
+     * holds at most {@value #MAX_BATCH_OPERATIONS} operations.
+     *
+     * @throws IllegalArgumentException if there are more operations than fit into a batch or an item belongs to another partition
+     */
+    CosmosBulkResult executeBatch(String partitionKey, Collection<? extends CosmosDocument<?>> upserts, Collection<String> deletedIds);
+
+    /**
+     * Deletes an item by id, which requires a query to find its partition first. Use {@link #deleteItem(String, String)} if the partition is
+     * known.
+     */
     void deleteItem(String id);
 
+    /**
+     * Deletes an item of a known partition in a single round trip.
+     *
+     * @throws com.azure.cosmos.implementation.NotFoundException if the item does not exist
+     */
+    void deleteItem(String id, String partitionKey);
+
+    /**
+     * Deletes an item in a single round trip, provided the stored item still has the given ETag.
+     *
+     * @throws ETagMismatchException if the stored item has a different ETag
+     * @throws com.azure.cosmos.implementation.NotFoundException if the item does not exist
+     */
+    void deleteItem(String id, String partitionKey, String ifMatchETag);
+
     @Nullable Object queryItemById(String id);
 
     @Nullable Object queryItemById(String id, String partitionKey);
 
+    /**
+     * Reads an item with a point read and returns it as the given type. The CosmosDB client deserializes the item itself and does not know about
+     * the subtypes registered with the {@code TypeManager}, so documents should be read as {@code JsonNode} and converted with the type manager.
+     */
+    <T> @Nullable T queryItemById(String id, String partitionKey, Class<T> type);
+
     List<Object> queryAllItems(String partitionKey);
 
     List<Object> queryAllItems();
 
     Stream<Object> queryItems(SqlQuerySpec querySpec);
 
+    /**
+     * Runs a query and returns the results as the given type, e.g. {@code JsonNode} for whole documents (see
+     * {@link #queryItemById(String, String, Class)}) or {@code String} for a {@code SELECT VALUE} projection of a string property. Queries
+     * should pass values as parameters, so that their text, and therefore their cached query plan, is the same for every invocation.
+     */
+    <T> Stream<T> queryItems(SqlQuerySpec querySpec, Class<T> type);
+
+    /**
+     * Runs a query and returns a single page of the results, which can be resumed with the continuation token of the page, e.g. in a
+     * subsequent request of a client that pages through a large result.
+     *
+     * @param querySpec the query, which must be the same for all pages
+     * @param type the type to read the results as
+     * @param continuationToken the token of the previous page, or null for the first page
+     * @param pageSize the maximum number of items of the page
+     */
+    <T> CosmosQueryPage<T> queryPage(SqlQuerySpec querySpec, Class<T> type, @Nullable String continuationToken, int pageSize);
+
     Stream<Object> queryItems(String query);
 
     String invokeStoredProcedure(String procedureName, String partitionKey, Object... args);
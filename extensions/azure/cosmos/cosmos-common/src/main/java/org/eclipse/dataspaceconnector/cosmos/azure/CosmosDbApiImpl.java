@@ -8,16 +8,25 @@ import com.azure.cosmos.CosmosDatabase;
 import com.azure.cosmos.CosmosException;
 import com.azure.cosmos.CosmosStoredProcedure;
 import com.azure.cosmos.implementation.NotFoundException;
+import com.azure.cosmos.models.CosmosBatch;
+import com.azure.cosmos.models.CosmosBatchResponse;
+import com.azure.cosmos.models.CosmosBulkOperationResponse;
+import com.azure.cosmos.models.CosmosBulkOperations;
+import com.azure.cosmos.models.CosmosItemOperation;
 import com.azure.cosmos.models.CosmosItemRequestOptions;
 import com.azure.cosmos.models.CosmosItemResponse;
 import com.azure.cosmos.models.CosmosQueryRequestOptions;
 import com.azure.cosmos.models.CosmosStoredProcedureRequestOptions;
 import com.azure.cosmos.models.CosmosStoredProcedureResponse;
+import com.azure.cosmos.models.FeedResponse;
 import com.azure.cosmos.models.PartitionKey;
 import com.azure.cosmos.models.SqlParameter;
 import com.azure.cosmos.models.SqlQuerySpec;
 import org.eclipse.dataspaceconnector.common.string.StringUtils;
 import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.metrics.MetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.NoopMetricRegistry;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.security.Vault;
 import org.eclipse.dataspaceconnector.spi.system.health.HealthCheckResult;
 import org.jetbrains.annotations.NotNull;
@@ -27,28 +36,51 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class CosmosDbApiImpl implements CosmosDbApi {
 
     private static final String HOST_TEMPLATE = "https://%s.documents.azure.com:443/";
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_PRECONDITION_FAILED = 412;
+    private static final int PROGRESS_INTERVAL = 100;
 
     private final CosmosItemRequestOptions itemRequestOptions;
     private final CosmosQueryRequestOptions queryRequestOptions;
     private final CosmosContainer container;
+    private final QueryMetricsRecorder queryMetrics;
 
     public CosmosDbApiImpl(@NotNull CosmosContainer container, boolean isQueryMetricsEnabled) {
+        this(container, isQueryMetricsEnabled, NoopMetricRegistry.INSTANCE, new Monitor() {
+        });
+    }
+
+    /**
+     * Creates an API that records the request charge, latency and query metrics of every page of query results in the given registry and
+     * logs them to the monitor at debug level.
+     */
+    public CosmosDbApiImpl(@NotNull CosmosContainer container, boolean isQueryMetricsEnabled, @NotNull MetricRegistry metrics, @NotNull Monitor monitor) {
         queryRequestOptions = new CosmosQueryRequestOptions();
         queryRequestOptions.setQueryMetricsEnabled(isQueryMetricsEnabled);
         itemRequestOptions = new CosmosItemRequestOptions();
         this.container = container;
+        queryMetrics = new QueryMetricsRecorder(metrics, monitor, container.getId());
     }
 
     public CosmosDbApiImpl(@NotNull Vault vault, @NotNull AbstractCosmosConfig config) {
         this(getContainer(vault, config), config.isQueryMetricsEnabled());
     }
 
+    public CosmosDbApiImpl(@NotNull Vault vault, @NotNull AbstractCosmosConfig config, @NotNull MetricRegistry metrics, @NotNull Monitor monitor) {
+        this(getContainer(vault, config), config.isQueryMetricsEnabled(), metrics, monitor);
+    }
+
     private static void handleResponse(CosmosItemResponse<?> response, String error) {
         handleResponse(response.getStatusCode(), error);
     }
@@ -100,9 +132,80 @@ public class CosmosDbApiImpl implements CosmosDbApi {
         }
     }
 
+    @Override
+    public String saveItem(CosmosDocument<?> item, @Nullable String ifMatchETag) {
+        try {
+            CosmosItemResponse<Object> response;
+            if (ifMatchETag == null) {
+                response = container.upsertItem(item, itemRequestOptions);
+            } else {
+                var options = new CosmosItemRequestOptions();
+                options.setIfMatchETag(ifMatchETag);
+                response = container.replaceItem(item, item.getId(), new PartitionKey(item.getPartitionKey()), options);
+            }
+            handleResponse(response, "Failed to write item");
+            return response.getETag();
+        } catch (CosmosException e) {
+            throw translateConditionalWriteException(e, item.getId());
+        }
+    }
+
     @Override
     public void saveItems(Collection<CosmosDocument<?>> definitions) {
-        definitions.forEach(this::saveItem);
+        var result = upsertItems(definitions, null);
+        if (!result.succeeded()) {
+            throw new EdcException("Failed to save items: " + result + ", failures: " + result.getFailures());
+        }
+    }
+
+    @Override
+    public CosmosBulkResult upsertItems(Collection<? extends CosmosDocument<?>> items, @Nullable Consumer<CosmosBulkResult> progressListener) {
+        var operations = items.stream()
+                .map(item -> CosmosBulkOperations.getUpsertItemOperation(item, new PartitionKey(item.getPartitionKey())))
+                .collect(Collectors.toList());
+        return executeBulk(operations, progressListener);
+    }
+
+    @Override
+    public CosmosBulkResult deleteItems(String partitionKey, Collection<String> ids, @Nullable Consumer<CosmosBulkResult> progressListener) {
+        var key = new PartitionKey(partitionKey);
+        var operations = ids.stream()
+                .map(id -> CosmosBulkOperations.getDeleteItemOperation(id, key))
+                .collect(Collectors.toList());
+        return executeBulk(operations, progressListener);
+    }
+
+    @Override
+    public CosmosBulkResult executeBatch(String partitionKey, Collection<? extends CosmosDocument<?>> upserts, Collection<String> deletedIds) {
+        if (upserts.size() + deletedIds.size() > MAX_BATCH_OPERATIONS) {
+            throw new IllegalArgumentException("A batch holds at most " + MAX_BATCH_OPERATIONS + " operations");
+        }
+        var batch = CosmosBatch.createCosmosBatch(new PartitionKey(partitionKey));
+        for (var item : upserts) {
+            if (!partitionKey.equals(item.getPartitionKey())) {
+                throw new IllegalArgumentException("Item " + item.getId() + " does not belong to partition " + partitionKey);
+            }
+            batch.upsertItemOperation(item);
+        }
+        deletedIds.forEach(batch::deleteItemOperation);
+
+        CosmosBatchResponse response;
+        try {
+            response = container.executeCosmosBatch(batch);
+        } catch (CosmosException e) {
+            throw new EdcException(e);
+        }
+        var result = CosmosBulkResult.Builder.newInstance(upserts.size() + deletedIds.size());
+        for (var operationResult : response.getResults()) {
+            var id = operationResult.getOperation().getId();
+            if (response.isSuccessStatusCode()) {
+                result.succeeded(operationResult.getRequestCharge());
+            } else {
+                // the operations that did not cause the failure report 424 (failed dependency)
+                result.failed(id, operationResult.getStatusCode(), operationResult.getRequestCharge());
+            }
+        }
+        return result.build();
     }
 
     @Override
@@ -120,6 +223,30 @@ public class CosmosDbApiImpl implements CosmosDbApi {
         }
     }
 
+    @Override
+    public void deleteItem(String id, String partitionKey) {
+        try {
+            container.deleteItem(id, new PartitionKey(partitionKey), itemRequestOptions);
+        } catch (NotFoundException e) {
+            throw e;
+        } catch (CosmosException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    @Override
+    public void deleteItem(String id, String partitionKey, String ifMatchETag) {
+        var options = new CosmosItemRequestOptions();
+        options.setIfMatchETag(ifMatchETag);
+        try {
+            container.deleteItem(id, new PartitionKey(partitionKey), options);
+        } catch (NotFoundException e) {
+            throw e;
+        } catch (CosmosException e) {
+            throw translateConditionalWriteException(e, id);
+        }
+    }
+
     @Override
     public @Nullable Object queryItemById(String id) {
         var query = new SqlQuerySpec("SELECT * FROM c WHERE c.id = @id", new SqlParameter("@id", id));
@@ -135,9 +262,14 @@ public class CosmosDbApiImpl implements CosmosDbApi {
 
     @Override
     public @Nullable Object queryItemById(String id, String partitionKey) {
-        CosmosItemResponse<Object> response;
+        return queryItemById(id, partitionKey, Object.class);
+    }
+
+    @Override
+    public <T> @Nullable T queryItemById(String id, String partitionKey, Class<T> type) {
+        CosmosItemResponse<T> response;
         try {
-            response = container.readItem(id, new PartitionKey(partitionKey), itemRequestOptions, Object.class);
+            response = container.readItem(id, new PartitionKey(partitionKey), itemRequestOptions, type);
         } catch (NotFoundException e) {
             return null;
         } catch (CosmosException e) {
@@ -168,8 +300,36 @@ public class CosmosDbApiImpl implements CosmosDbApi {
 
     @Override
     public Stream<Object> queryItems(SqlQuerySpec querySpec) {
+        return queryItems(querySpec, Object.class);
+    }
+
+    @Override
+    public <T> Stream<T> queryItems(SqlQuerySpec querySpec, Class<T> type) {
+        try {
+            var pages = container.queryItems(querySpec, queryRequestOptions, type).iterableByPage();
+            // the pages are fetched lazily, so the iterator is only created once the stream is consumed
+            Supplier<Spliterator<FeedResponse<T>>> timedPages = () -> Spliterators.spliteratorUnknownSize(
+                    new TimedPageIterator<>(pages.iterator(), (page, latencyNanos) -> recordQueryMetrics(querySpec, page, latencyNanos)), Spliterator.ORDERED);
+            return StreamSupport.stream(timedPages, Spliterator.ORDERED, false)
+                    .flatMap(page -> page.getResults().stream());
+        } catch (CosmosException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    @Override
+    public <T> CosmosQueryPage<T> queryPage(SqlQuerySpec querySpec, Class<T> type, @Nullable String continuationToken, int pageSize) {
+        var start = System.nanoTime();
         try {
-            return container.queryItems(querySpec, queryRequestOptions, Object.class).stream();
+            var items = container.queryItems(querySpec, queryRequestOptions, type);
+            var pages = continuationToken != null ? items.iterableByPage(continuationToken, pageSize) : items.iterableByPage(pageSize);
+            var iterator = pages.iterator();
+            if (!iterator.hasNext()) {
+                return new CosmosQueryPage<>(List.of(), null, 0);
+            }
+            var page = iterator.next();
+            recordQueryMetrics(querySpec, page, System.nanoTime() - start);
+            return new CosmosQueryPage<>(page.getResults(), page.getContinuationToken(), page.getRequestCharge());
         } catch (CosmosException e) {
             throw new EdcException(e);
         }
@@ -209,6 +369,56 @@ public class CosmosDbApiImpl implements CosmosDbApi {
                 .build();
     }
 
+    private CosmosBulkResult executeBulk(List<CosmosItemOperation> operations, @Nullable Consumer<CosmosBulkResult> progressListener) {
+        var result = CosmosBulkResult.Builder.newInstance(operations.size());
+        if (operations.isEmpty()) {
+            return result.build();
+        }
+        try {
+            // the client groups the operations by partition, sends them in batches and retries throttled ones on its own
+            Iterable<CosmosBulkOperationResponse<Object>> responses = container.executeBulkOperations(operations);
+            for (var response : responses) {
+                var id = response.getOperation().getId();
+                var itemResponse = response.getResponse();
+                if (itemResponse != null && itemResponse.isSuccessStatusCode()) {
+                    result.succeeded(itemResponse.getRequestCharge());
+                } else if (itemResponse != null) {
+                    result.failed(id, itemResponse.getStatusCode(), itemResponse.getRequestCharge());
+                } else {
+                    var exception = response.getException();
+                    result.failed(id, exception instanceof CosmosException ? ((CosmosException) exception).getStatusCode() : -1, 0);
+                }
+                if (progressListener != null && result.completed() % PROGRESS_INTERVAL == 0) {
+                    progressListener.accept(result.build());
+                }
+            }
+        } catch (CosmosException e) {
+            throw new EdcException(e);
+        }
+        var completed = result.build();
+        if (progressListener != null && completed.getCompleted() % PROGRESS_INTERVAL != 0) {
+            progressListener.accept(completed);
+        }
+        return completed;
+    }
+
+    private void recordQueryMetrics(SqlQuerySpec querySpec, FeedResponse<?> page, long latencyNanos) {
+        var headers = page.getResponseHeaders();
+        var metricsHeader = headers != null ? headers.get(QueryMetricsRecorder.QUERY_METRICS_HEADER) : null;
+        queryMetrics.record(querySpec.getQueryText(), page.getRequestCharge(), page.getResults().size(), metricsHeader, latencyNanos);
+    }
+
+    private EdcException translateConditionalWriteException(CosmosException e, String id) {
+        switch (e.getStatusCode()) {
+            case HTTP_PRECONDITION_FAILED:
+                return new ETagMismatchException("The item with the ID " + id + " has been modified concurrently", e);
+            case HTTP_NOT_FOUND:
+                return new ETagMismatchException("The item with the ID " + id + " has been deleted concurrently", e);
+            default:
+                return new EdcException(e);
+        }
+    }
+
     private CosmosStoredProcedure getStoredProcedure(String sprocName) {
         return container.getScripts().getStoredProcedure(sprocName);
     }
@@ -1,6 +1,8 @@
 package org.eclipse.dataspaceconnector.cosmos.azure;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * This is a wrapper solely used to store objects in an Azure CosmosDB.
@@ -15,6 +17,14 @@ public abstract class CosmosDocument<T> {
     @JsonProperty
     private final String partitionKey;
 
+    // set by CosmosDB, only read so that it is never written back
+    @JsonProperty(value = "_etag", access = JsonProperty.Access.WRITE_ONLY)
+    private String etag;
+
+    // set by CosmosDB, the time of the last modification in epoch seconds
+    @JsonProperty(value = "_ts", access = JsonProperty.Access.WRITE_ONLY)
+    private long timestamp;
+
     protected CosmosDocument(@JsonProperty("wrappedInstance") T wrappedInstance, @JsonProperty("partitionKey") String partitionKey) {
         this.wrappedInstance = wrappedInstance;
         this.partitionKey = partitionKey;
@@ -28,5 +38,23 @@ public abstract class CosmosDocument<T> {
         return wrappedInstance;
     }
 
+    /**
+     * The ETag of the document as it was read from the database, or null if the document has not been read from the database.
+     */
+    @JsonIgnore
+    @Nullable
+    public String getETag() {
+        return etag;
+    }
+
+    /**
+     * The time of the last modification of the document in epoch seconds as it was read from the database, or 0 if the document has not been
+     * read from the database.
+     */
+    @JsonIgnore
+    public long getTimestamp() {
+        return timestamp;
+    }
+
     public abstract String getId();
 }
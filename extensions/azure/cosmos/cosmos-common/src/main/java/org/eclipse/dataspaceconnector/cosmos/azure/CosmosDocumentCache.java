@@ -0,0 +1,369 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.cosmos.azure;
+
+import com.azure.cosmos.models.SqlParameter;
+import com.azure.cosmos.models.SqlQuerySpec;
+import com.fasterxml.jackson.databind.JsonNode;
+import net.jodah.failsafe.RetryPolicy;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static net.jodah.failsafe.Failsafe.with;
+
+/**
+ * Caches the entities stored in a CosmosDB container, or in one partition of it, in an immutable snapshot that is replaced on every change
+ * (copy-on-write), so readers never block each other and always see a consistent state.
+ * <p>
+ * Writes through the cache and refreshes are serialized. Once the snapshot is older than the maximum staleness, the next read refreshes it
+ * incrementally: only the documents modified since the last refresh are queried, based on their {@code _ts} timestamp. Readers that come
+ * along while the refresh is running are served the previous snapshot instead of waiting for it; only the initial load blocks them.
+ * <p>
+ * The incremental query cannot see documents deleted by other runtimes. If deletions must be detected within the maximum staleness, e.g. for
+ * data that governs access, every incremental refresh also queries the ids of all documents and removes the entities that no longer exist.
+ * Otherwise such deletions stay visible until the snapshot is reloaded completely, once the full refresh interval has elapsed.
+ *
+ * @param <T> the type of the cached entities
+ * @param <D> the type of the documents the entities are stored in
+ */
+public class CosmosDocumentCache<T, D extends CosmosDocument<T>> {
+    public static final String MODIFIED_SINCE_QUERY = "SELECT * FROM c WHERE c._ts >= @since";
+    public static final String MODIFIED_SINCE_IN_PARTITION_QUERY = "SELECT * FROM c WHERE c.partitionKey = @partitionKey AND c._ts >= @since";
+    public static final String ID_QUERY = "SELECT VALUE c.id FROM c";
+    public static final String ID_IN_PARTITION_QUERY = "SELECT VALUE c.id FROM c WHERE c.partitionKey = @partitionKey";
+
+    private CosmosDbApi cosmosDbApi;
+    private TypeManager typeManager;
+    private RetryPolicy<Object> retryPolicy;
+    private Class<D> documentType;
+    private Function<T, String> idFunction;
+    private String partitionKey;
+    private Duration maxStaleness = Duration.ZERO;
+    private Duration fullRefreshInterval = Duration.ZERO;
+    private boolean detectDeletions;
+    private Clock clock = Clock.systemUTC();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Snapshot<T> snapshot;
+
+    private CosmosDocumentCache() {
+    }
+
+    /**
+     * Returns the current snapshot, which is loaded first if it has not been yet. A stale snapshot is refreshed, unless another thread is
+     * refreshing it or writing through the cache already, in which case the stale snapshot is returned.
+     */
+    public Snapshot<T> get() {
+        var current = snapshot;
+        if (current == null) {
+            return load();
+        }
+        if (isStale(current) && lock.tryLock()) {
+            try {
+                refresh();
+                return snapshot;
+            } finally {
+                lock.unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * The entity with the given id in the current snapshot, without loading or refreshing it.
+     */
+    @Nullable
+    public T find(String id) {
+        var current = snapshot;
+        return current != null ? current.entities.get(id) : null;
+    }
+
+    /**
+     * Reloads all documents, waiting for a running refresh or write to finish.
+     */
+    public Snapshot<T> reload() {
+        lock.lock();
+        try {
+            snapshot = loadAll(snapshot);
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the database write and adds the entities to the snapshot, or replaces those with the same ids. The snapshot is loaded first if it
+     * has not been yet.
+     */
+    public void write(Collection<T> changed, Runnable databaseWrite) {
+        lock.lock();
+        try {
+            if (snapshot == null) {
+                snapshot = loadAll(null);
+            }
+            databaseWrite.run();
+            snapshot = snapshot.with(changed, idFunction, snapshot.highWatermark, snapshot.loadedAt, snapshot.refreshedAt);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the database delete and removes the entity from the snapshot, if it has been loaded.
+     */
+    public void delete(String id, Runnable databaseDelete) {
+        lock.lock();
+        try {
+            databaseDelete.run();
+            if (snapshot != null) {
+                snapshot = snapshot.without(id);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Snapshot<T> load() {
+        lock.lock();
+        try {
+            // another thread may have loaded the snapshot while this one was waiting for the lock
+            if (snapshot == null) {
+                snapshot = loadAll(null);
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refresh() {
+        var current = snapshot;
+        if (isFullRefreshDue(current)) {
+            snapshot = loadAll(current);
+        } else if (isStale(current)) {
+            snapshot = loadModifiedSince(current);
+        }
+    }
+
+    private boolean isStale(Snapshot<T> current) {
+        return !maxStaleness.isZero() && !clock.instant().isBefore(current.refreshedAt.plus(maxStaleness));
+    }
+
+    private boolean isFullRefreshDue(Snapshot<T> current) {
+        return !fullRefreshInterval.isZero() && isStale(current) && !clock.instant().isBefore(current.loadedAt.plus(fullRefreshInterval));
+    }
+
+    private Snapshot<T> loadAll(@Nullable Snapshot<T> current) {
+        var now = clock.instant();
+        var documents = with(retryPolicy)
+                .get(() -> partitionKey != null ? cosmosDbApi.queryAllItems(partitionKey) : cosmosDbApi.queryAllItems())
+                .stream()
+                .map(item -> typeManager.convertValue(item, documentType))
+                .collect(Collectors.toList());
+        var entities = new LinkedHashMap<String, T>();
+        documents.forEach(document -> entities.put(document.getId(), document.getWrappedInstance()));
+        var highWatermark = highWatermark(documents, 0);
+        if (current == null) {
+            return new Snapshot<>(Collections.unmodifiableMap(entities), 1, highWatermark, now, now);
+        }
+        if (current.entities.equals(entities)) {
+            return new Snapshot<>(current.entities, current.version, highWatermark, now, now);
+        }
+        return new Snapshot<>(Collections.unmodifiableMap(entities), current.version + 1, highWatermark, now, now);
+    }
+
+    private Snapshot<T> loadModifiedSince(Snapshot<T> current) {
+        var now = clock.instant();
+        // timestamps have a resolution of seconds, so the documents modified in the second of the high watermark are queried again
+        var since = new SqlParameter("@since", current.highWatermark);
+        var query = partitionKey != null ?
+                new SqlQuerySpec(MODIFIED_SINCE_IN_PARTITION_QUERY, List.of(new SqlParameter("@partitionKey", partitionKey), since)) :
+                new SqlQuerySpec(MODIFIED_SINCE_QUERY, since);
+        var documents = with(retryPolicy)
+                .get(() -> cosmosDbApi.queryItems(query, JsonNode.class).map(node -> typeManager.readValue(node, documentType)).collect(Collectors.toList()));
+        var changed = documents.stream().map(CosmosDocument::getWrappedInstance).collect(Collectors.toList());
+        var refreshed = current.with(changed, idFunction, highWatermark(documents, current.highWatermark), current.loadedAt, now);
+        return detectDeletions ? refreshed.retain(queryIds()) : refreshed;
+    }
+
+    /**
+     * The ids of all documents. Queried after the modified documents, so a document deleted in between is removed as well.
+     */
+    private Set<String> queryIds() {
+        var query = partitionKey != null ?
+                new SqlQuerySpec(ID_IN_PARTITION_QUERY, new SqlParameter("@partitionKey", partitionKey)) :
+                new SqlQuerySpec(ID_QUERY);
+        return with(retryPolicy).get(() -> cosmosDbApi.queryItems(query, String.class).collect(Collectors.toSet()));
+    }
+
+    private long highWatermark(List<D> documents, long previous) {
+        return documents.stream().mapToLong(CosmosDocument::getTimestamp).reduce(previous, Math::max);
+    }
+
+    /**
+     * An immutable state of the cache. Its version only changes if the entities have changed.
+     */
+    public static final class Snapshot<T> {
+        private final Map<String, T> entities;
+        private final long version;
+        private final long highWatermark;
+        private final Instant loadedAt;
+        private final Instant refreshedAt;
+
+        private Snapshot(Map<String, T> entities, long version, long highWatermark, Instant loadedAt, Instant refreshedAt) {
+            this.entities = entities;
+            this.version = version;
+            this.highWatermark = highWatermark;
+            this.loadedAt = loadedAt;
+            this.refreshedAt = refreshedAt;
+        }
+
+        /**
+         * The entities by id, in the order they were loaded or added. The map is unmodifiable.
+         */
+        public Map<String, T> getEntities() {
+            return entities;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        private Snapshot<T> with(Collection<T> changed, Function<T, String> idFunction, long highWatermark, Instant loadedAt, Instant refreshedAt) {
+            var modified = changed.stream().filter(entity -> !entity.equals(entities.get(idFunction.apply(entity)))).collect(Collectors.toList());
+            if (modified.isEmpty()) {
+                return new Snapshot<>(entities, version, highWatermark, loadedAt, refreshedAt);
+            }
+            var copy = new LinkedHashMap<>(entities);
+            modified.forEach(entity -> copy.put(idFunction.apply(entity), entity));
+            return new Snapshot<>(Collections.unmodifiableMap(copy), version + 1, highWatermark, loadedAt, refreshedAt);
+        }
+
+        private Snapshot<T> retain(Set<String> ids) {
+            if (ids.containsAll(entities.keySet())) {
+                return this;
+            }
+            var copy = new LinkedHashMap<>(entities);
+            copy.keySet().retainAll(ids);
+            return new Snapshot<>(Collections.unmodifiableMap(copy), version + 1, highWatermark, loadedAt, refreshedAt);
+        }
+
+        private Snapshot<T> without(String id) {
+            if (!entities.containsKey(id)) {
+                return this;
+            }
+            var copy = new LinkedHashMap<>(entities);
+            copy.remove(id);
+            return new Snapshot<>(Collections.unmodifiableMap(copy), version + 1, highWatermark, loadedAt, refreshedAt);
+        }
+    }
+
+    public static final class Builder<T, D extends CosmosDocument<T>> {
+        private final CosmosDocumentCache<T, D> cache;
+
+        private Builder(Class<D> documentType, Function<T, String> idFunction) {
+            cache = new CosmosDocumentCache<>();
+            cache.documentType = documentType;
+            cache.idFunction = idFunction;
+        }
+
+        /**
+         * Creates a builder for a cache of the documents of the given type.
+         *
+         * @param idFunction returns the id of an entity, which must be the id of the document it is stored in
+         */
+        public static <T, D extends CosmosDocument<T>> Builder<T, D> newInstance(Class<D> documentType, Function<T, String> idFunction) {
+            return new Builder<>(documentType, idFunction);
+        }
+
+        public Builder<T, D> cosmosDbApi(CosmosDbApi cosmosDbApi) {
+            cache.cosmosDbApi = cosmosDbApi;
+            return this;
+        }
+
+        public Builder<T, D> typeManager(TypeManager typeManager) {
+            cache.typeManager = typeManager;
+            return this;
+        }
+
+        public Builder<T, D> retryPolicy(RetryPolicy<Object> retryPolicy) {
+            cache.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Restricts the cache to the documents of a partition. By default, all documents of the container are cached.
+         */
+        public Builder<T, D> partitionKey(String partitionKey) {
+            cache.partitionKey = partitionKey;
+            return this;
+        }
+
+        /**
+         * The maximum age of the snapshot before a read refreshes it incrementally. Zero, the default, disables refreshes, i.e. the snapshot only
+         * changes with writes through the cache and with {@link CosmosDocumentCache#reload()}.
+         */
+        public Builder<T, D> maxStaleness(Duration maxStaleness) {
+            cache.maxStaleness = maxStaleness;
+            return this;
+        }
+
+        /**
+         * The maximum time between two complete reloads of the snapshot, which also remove the documents deleted by other runtimes. Zero, the
+         * default, means that refreshes are always incremental.
+         */
+        public Builder<T, D> fullRefreshInterval(Duration fullRefreshInterval) {
+            cache.fullRefreshInterval = fullRefreshInterval;
+            return this;
+        }
+
+        /**
+         * Whether incremental refreshes also remove the entities whose documents have been deleted by other runtimes, at the cost of querying the
+         * ids of all documents. By default, such deletions are only picked up by full refreshes.
+         */
+        public Builder<T, D> detectDeletions(boolean detectDeletions) {
+            cache.detectDeletions = detectDeletions;
+            return this;
+        }
+
+        public Builder<T, D> clock(Clock clock) {
+            cache.clock = clock;
+            return this;
+        }
+
+        public CosmosDocumentCache<T, D> build() {
+            Objects.requireNonNull(cache.cosmosDbApi, "cosmosDbApi");
+            Objects.requireNonNull(cache.typeManager, "typeManager");
+            Objects.requireNonNull(cache.retryPolicy, "retryPolicy");
+            Objects.requireNonNull(cache.maxStaleness, "maxStaleness");
+            Objects.requireNonNull(cache.fullRefreshInterval, "fullRefreshInterval");
+            Objects.requireNonNull(cache.clock, "clock");
+            return cache;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.cosmos.azure;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * One page of a query result and the continuation token to resume the query with the next page.
+ */
+public class CosmosQueryPage<T> {
+    private final List<T> items;
+    private final String continuationToken;
+    private final double requestCharge;
+
+    public CosmosQueryPage(List<T> items, @Nullable String continuationToken, double requestCharge) {
+        this.items = items;
+        this.continuationToken = continuationToken;
+        this.requestCharge = requestCharge;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * The token to pass to the next query for the following page, or null if this is the last page. A page may hold fewer items than
+     * requested even if there are more, so only the absence of a token signals the end of the result.
+     */
+    @Nullable
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public boolean hasMore() {
+        return continuationToken != null;
+    }
+
+    /**
+     * The request units consumed by the query of this page.
+     */
+    public double getRequestCharge() {
+        return requestCharge;
+    }
+}
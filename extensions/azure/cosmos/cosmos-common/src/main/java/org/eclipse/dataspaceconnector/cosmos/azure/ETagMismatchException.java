@@ -0,0 +1,31 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.cosmos.azure;
+
+import org.eclipse.dataspaceconnector.spi.EdcException;
+
+/**
+ * Thrown by a conditional write if the stored item no longer has the ETag the write was based on, i.e. it was modified or deleted concurrently.
+ */
+public class ETagMismatchException extends EdcException {
+
+    public ETagMismatchException(String message) {
+        super(message);
+    }
+
+    public ETagMismatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
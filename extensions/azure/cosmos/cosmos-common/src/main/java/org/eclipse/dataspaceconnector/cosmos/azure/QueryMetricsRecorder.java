@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.cosmos.azure;
+
+import org.eclipse.dataspaceconnector.spi.metrics.Counter;
+import org.eclipse.dataspaceconnector.spi.metrics.Histogram;
+import org.eclipse.dataspaceconnector.spi.metrics.MetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.Timer;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the request charge, latency and query metrics of the pages of CosmosDB queries as meters and logs them at debug level.
+ * <p>
+ * The query metrics are taken from the {@value #QUERY_METRICS_HEADER} response header, which CosmosDB only returns if query metrics are
+ * enabled. It holds semicolon separated key/value pairs such as {@code totalExecutionTimeInMs=0.52;retrievedDocumentCount=10;...}.
+ */
+class QueryMetricsRecorder {
+    static final String QUERY_METRICS_HEADER = "x-ms-documentdb-query-metrics";
+    static final String REQUEST_CHARGE_METRIC = "edc.cosmos.query.request.charge";
+    static final String LATENCY_METRIC = "edc.cosmos.query.latency";
+    static final String EXECUTION_TIME_METRIC = "edc.cosmos.query.execution.time";
+    static final String DOCUMENTS_METRIC = "edc.cosmos.query.documents";
+
+    private final Monitor monitor;
+    private final String container;
+    private final Histogram requestCharge;
+    private final Timer latency;
+    private final Timer executionTime;
+    private final Counter retrievedDocuments;
+    private final Counter outputDocuments;
+
+    QueryMetricsRecorder(MetricRegistry metrics, Monitor monitor, String container) {
+        this.monitor = monitor;
+        this.container = container;
+        requestCharge = metrics.histogram(REQUEST_CHARGE_METRIC, "container", container);
+        latency = metrics.timer(LATENCY_METRIC, "container", container);
+        executionTime = metrics.timer(EXECUTION_TIME_METRIC, "container", container);
+        retrievedDocuments = metrics.counter(DOCUMENTS_METRIC, "container", container, "kind", "retrieved");
+        outputDocuments = metrics.counter(DOCUMENTS_METRIC, "container", container, "kind", "output");
+    }
+
+    /**
+     * Records a page of a query result.
+     *
+     * @param queryText the text of the query
+     * @param charge the request units consumed by the page
+     * @param items the number of items in the page
+     * @param queryMetrics the value of the query metrics header, may be null
+     * @param latencyNanos the time it took to fetch the page, or a negative value if it is not known
+     */
+    void record(String queryText, double charge, int items, @Nullable String queryMetrics, long latencyNanos) {
+        requestCharge.record(charge);
+        if (latencyNanos >= 0) {
+            latency.record(latencyNanos, TimeUnit.NANOSECONDS);
+        }
+        var retrieved = -1L;
+        var output = -1L;
+        if (queryMetrics != null) {
+            for (var pair : queryMetrics.split(";")) {
+                var separator = pair.indexOf('=');
+                if (separator < 0) {
+                    continue;
+                }
+                var key = pair.substring(0, separator).trim();
+                var value = pair.substring(separator + 1).trim();
+                try {
+                    switch (key) {
+                        case "totalExecutionTimeInMs":
+                            executionTime.record((long) (Double.parseDouble(value) * 1_000_000), TimeUnit.NANOSECONDS);
+                            break;
+                        case "retrievedDocumentCount":
+                            retrieved = Long.parseLong(value);
+                            retrievedDocuments.increment(retrieved);
+                            break;
+                        case "outputDocumentCount":
+                            output = Long.parseLong(value);
+                            outputDocuments.increment(output);
+                            break;
+                        default:
+                            break;
+                    }
+                } catch (NumberFormatException e) {
+                    // malformed metrics must not fail the query
+                }
+            }
+        }
+        var retrievedCount = retrieved;
+        var outputCount = output;
+        monitor.debug(() -> String.format("CosmosDB query on %s: %d items, %.2f RU, %s retrieved/%s output documents, %s ms: %s", container, items, charge,
+                retrievedCount >= 0 ? retrievedCount : "?", outputCount >= 0 ? outputCount : "?",
+                latencyNanos >= 0 ? String.valueOf(TimeUnit.NANOSECONDS.toMillis(latencyNanos)) : "?", queryText));
+    }
+}
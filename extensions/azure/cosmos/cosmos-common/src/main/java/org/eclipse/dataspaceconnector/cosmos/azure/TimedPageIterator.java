@@ -0,0 +1,54 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.cosmos.azure;
+
+import java.util.Iterator;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Passes each page of a lazily fetched query result to a listener together with the time it took to fetch it. The CosmosDB iterators fetch
+ * the next page in {@link #hasNext()}, so the time is measured from the first call to {@code hasNext()} until {@link #next()} returns the
+ * page, which excludes the time the consumer spends on the previous page.
+ *
+ * @param <P> the type of the pages
+ */
+class TimedPageIterator<P> implements Iterator<P> {
+    private final Iterator<P> pages;
+    private final ObjLongConsumer<P> listener;
+    private long fetchStart = -1;
+
+    TimedPageIterator(Iterator<P> pages, ObjLongConsumer<P> listener) {
+        this.pages = pages;
+        this.listener = listener;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (fetchStart < 0) {
+            fetchStart = System.nanoTime();
+        }
+        return pages.hasNext();
+    }
+
+    @Override
+    public P next() {
+        var start = fetchStart >= 0 ? fetchStart : System.nanoTime();
+        var page = pages.next();
+        fetchStart = -1;
+        listener.accept(page, System.nanoTime() - start);
+        return page;
+    }
+}
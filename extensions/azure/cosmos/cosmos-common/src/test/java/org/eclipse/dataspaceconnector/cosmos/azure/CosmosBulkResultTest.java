@@ -0,0 +1,38 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.cosmos.azure;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CosmosBulkResultTest {
+
+    @Test
+    void verifyEveryFailedOperationIsCounted() {
+        var result = CosmosBulkResult.Builder.newInstance(3)
+                .failed("id1", 409, 1)
+                .failed("id1", CosmosBulkResult.HTTP_TOO_MANY_REQUESTS, 0)
+                .failed("id2", 409, 1)
+                .build();
+
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getCompleted()).isEqualTo(3);
+        assertThat(result.getThrottled()).isEqualTo(1);
+        assertThat(result.getFailures()).extracting(CosmosBulkResult.Failure::getId).containsExactly("id1", "id1", "id2");
+        assertThat(result.succeeded()).isFalse();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.cosmos.azure;
+
+import org.eclipse.dataspaceconnector.core.metrics.DefaultMetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.Counter;
+import org.eclipse.dataspaceconnector.spi.metrics.Histogram;
+import org.eclipse.dataspaceconnector.spi.metrics.Timer;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class QueryMetricsRecorderTest {
+    private static final String CONTAINER = "assets";
+
+    private DefaultMetricRegistry metrics;
+    private Monitor monitor;
+    private QueryMetricsRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new DefaultMetricRegistry();
+        monitor = mock(Monitor.class);
+        recorder = new QueryMetricsRecorder(metrics, monitor, CONTAINER);
+    }
+
+    @Test
+    void record() {
+        recorder.record("SELECT * FROM c", 2.5, 10, "totalExecutionTimeInMs=1.50;queryCompileTimeInMs=0.05;retrievedDocumentCount=12;outputDocumentCount=10",
+                TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertThat(histogram(QueryMetricsRecorder.REQUEST_CHARGE_METRIC).snapshot().getSum()).isEqualTo(2.5);
+        assertThat(timer(QueryMetricsRecorder.LATENCY_METRIC).snapshot().getCount()).isEqualTo(1);
+        assertThat(timer(QueryMetricsRecorder.EXECUTION_TIME_METRIC).snapshot().getSum()).isCloseTo(0.0015, offset(1e-9));
+        assertThat(counter("retrieved").count()).isEqualTo(12);
+        assertThat(counter("output").count()).isEqualTo(10);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Supplier<String>> captor = ArgumentCaptor.forClass(Supplier.class);
+        verify(monitor).debug(captor.capture());
+        assertThat(captor.getValue().get()).contains(CONTAINER, "10 items", "2.50 RU", "12 retrieved/10 output", "20 ms", "SELECT * FROM c");
+    }
+
+    @Test
+    void record_withoutQueryMetrics() {
+        recorder.record("SELECT * FROM c", 1, 0, null, -1);
+
+        assertThat(histogram(QueryMetricsRecorder.REQUEST_CHARGE_METRIC).snapshot().getCount()).isEqualTo(1);
+        assertThat(timer(QueryMetricsRecorder.LATENCY_METRIC).snapshot().getCount()).isZero();
+        assertThat(timer(QueryMetricsRecorder.EXECUTION_TIME_METRIC).snapshot().getCount()).isZero();
+    }
+
+    @Test
+    void record_malformedQueryMetrics() {
+        recorder.record("SELECT * FROM c", 1, 1, "retrievedDocumentCount=abc;outputDocumentCount;=3;outputDocumentCount=1", -1);
+
+        assertThat(counter("retrieved").count()).isZero();
+        assertThat(counter("output").count()).isEqualTo(1);
+    }
+
+    private Histogram histogram(String name) {
+        return metrics.histogram(name, "container", CONTAINER);
+    }
+
+    private Timer timer(String name) {
+        return metrics.timer(name, "container", CONTAINER);
+    }
+
+    private Counter counter(String kind) {
+        return metrics.counter(QueryMetricsRecorder.DOCUMENTS_METRIC, "container", CONTAINER, "kind", kind);
+    }
+}
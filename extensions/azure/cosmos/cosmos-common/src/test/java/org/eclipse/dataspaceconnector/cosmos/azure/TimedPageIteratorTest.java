@@ -0,0 +1,76 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.cosmos.azure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimedPageIteratorTest {
+
+    @Test
+    void verifyEachPageIsPassedWithItsFetchTime() {
+        var latencies = new ArrayList<Long>();
+        var iterator = new TimedPageIterator<>(new SlowIterator(List.of("page1", "page2")), (page, latencyNanos) -> latencies.add(latencyNanos));
+
+        var pages = new ArrayList<String>();
+        iterator.forEachRemaining(pages::add);
+
+        assertThat(pages).containsExactly("page1", "page2");
+        assertThat(latencies).hasSize(2).allSatisfy(latency -> assertThat(latency).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(SlowIterator.FETCH_MILLIS)));
+    }
+
+    @Test
+    void verifyNextWithoutHasNext() {
+        var latencies = new ArrayList<Long>();
+        var iterator = new TimedPageIterator<>(List.of("page1").iterator(), (page, latencyNanos) -> latencies.add(latencyNanos));
+
+        assertThat(iterator.next()).isEqualTo("page1");
+        assertThat(latencies).hasSize(1).allSatisfy(latency -> assertThat(latency).isNotNegative());
+    }
+
+    /**
+     * Fetches the next page in {@link #hasNext()}, like the CosmosDB iterators.
+     */
+    private static class SlowIterator implements Iterator<String> {
+        static final long FETCH_MILLIS = 5;
+        private final Iterator<String> pages;
+
+        SlowIterator(List<String> pages) {
+            this.pages = pages.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                Thread.sleep(FETCH_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return pages.hasNext();
+        }
+
+        @Override
+        public String next() {
+            return pages.next();
+        }
+    }
+}
@@ -0,0 +1,423 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.cosmos.azure.testfixtures;
+
+import com.azure.cosmos.implementation.NotFoundException;
+import com.azure.cosmos.models.SqlQuerySpec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.dataspaceconnector.cosmos.azure.CosmosBulkResult;
+import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDbApi;
+import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDocument;
+import org.eclipse.dataspaceconnector.cosmos.azure.CosmosQueryPage;
+import org.eclipse.dataspaceconnector.cosmos.azure.ETagMismatchException;
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.system.health.HealthCheckResult;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An in-process stand-in for a CosmosDB container that keeps documents as JSON and maintains ETags and modification timestamps like CosmosDB
+ * does.
+ * <p>
+ * Every call of the {@link CosmosDbApi} counts as one round trip, except for {@link #deleteItem(String)}, which queries the item first like
+ * the real implementation, and bulk executions, which like the CosmosDB client send one request per partition and
+ * {@value CosmosDbApi#MAX_BATCH_OPERATIONS} operations. An artificial latency can be added to each round trip. Stored procedures and SQL
+ * queries are registered as Java functions that operate on the documents through {@link #documents()}, {@link #documents(String)} and
+ * {@link #replaceDocument(Map)}, which are server side operations and no round trips. Unregistered SQL queries are not supported.
+ */
+public class InMemoryCosmosDbApi implements CosmosDbApi {
+    public static final String ETAG_PROPERTY = "_etag";
+    public static final String TIMESTAMP_PROPERTY = "_ts";
+    private static final double REQUEST_CHARGE = 10;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_FAILED_DEPENDENCY = 424;
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper mapper;
+    private final Map<String, StoredDocument> documents = new ConcurrentHashMap<>();
+    private final Map<String, StoredProcedure> storedProcedures = new ConcurrentHashMap<>();
+    private final Map<String, Query> queries = new ConcurrentHashMap<>();
+    private final Map<String, Object> partitionLocks = new ConcurrentHashMap<>();
+    private final AtomicInteger roundTrips = new AtomicInteger();
+    private final AtomicLong etagSequence = new AtomicLong();
+    private Clock clock = Clock.systemUTC();
+
+    public InMemoryCosmosDbApi(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Sets the clock the modification timestamps are taken from.
+     */
+    public InMemoryCosmosDbApi clock(Clock clock) {
+        this.clock = clock;
+        return this;
+    }
+
+    public void registerStoredProcedure(String name, StoredProcedure storedProcedure) {
+        storedProcedures.put(name, storedProcedure);
+    }
+
+    /**
+     * Registers the function that answers the SQL query with the given text.
+     */
+    public void registerQuery(String queryText, Query query) {
+        queries.put(queryText, query);
+    }
+
+    public int getRoundTrips() {
+        return roundTrips.get();
+    }
+
+    public void resetRoundTrips() {
+        roundTrips.set(0);
+    }
+
+    /**
+     * Returns copies of all documents, including their ETags and timestamps.
+     */
+    public Stream<Map<String, Object>> documents() {
+        return documents.values().stream().map(this::toMap);
+    }
+
+    /**
+     * Returns copies of all documents of a partition, including their ETags and timestamps.
+     */
+    public Stream<Map<String, Object>> documents(String partitionKey) {
+        return documents.values().stream().filter(d -> d.partitionKey.equals(partitionKey)).map(this::toMap);
+    }
+
+    /**
+     * Replaces a document unconditionally and returns the stored copy with its new ETag.
+     */
+    public Map<String, Object> replaceDocument(Map<String, Object> document) {
+        var id = Objects.requireNonNull(document.get("id"), "id").toString();
+        var partitionKey = Objects.requireNonNull(document.get("partitionKey"), "partitionKey").toString();
+        var stored = store(id, partitionKey, document);
+        documents.put(id, stored);
+        return toMap(stored);
+    }
+
+    @Override
+    public void saveItem(CosmosDocument<?> item) {
+        saveItem(item, null);
+    }
+
+    @Override
+    public String saveItem(CosmosDocument<?> item, @Nullable String ifMatchETag) {
+        roundTrip();
+        var stored = store(item.getId(), item.getPartitionKey(), mapper.convertValue(item, MAP_TYPE));
+        documents.compute(item.getId(), (id, current) -> {
+            if (ifMatchETag != null && (current == null || !current.etag.equals(ifMatchETag))) {
+                throw new ETagMismatchException("The item with the ID " + id + " has been modified concurrently");
+            }
+            return stored;
+        });
+        return stored.etag;
+    }
+
+    @Override
+    public void saveItems(Collection<CosmosDocument<?>> definitions) {
+        var result = upsertItems(definitions, null);
+        if (!result.succeeded()) {
+            throw new EdcException("Failed to save items: " + result);
+        }
+    }
+
+    @Override
+    public CosmosBulkResult upsertItems(Collection<? extends CosmosDocument<?>> items, @Nullable Consumer<CosmosBulkResult> progressListener) {
+        var result = CosmosBulkResult.Builder.newInstance(items.size());
+        var byPartition = items.stream().collect(Collectors.groupingBy(CosmosDocument::getPartitionKey, LinkedHashMap::new, Collectors.toList()));
+        byPartition.values().forEach(partition -> inChunks(partition, chunk -> {
+            chunk.forEach(item -> {
+                documents.put(item.getId(), store(item.getId(), item.getPartitionKey(), mapper.convertValue(item, MAP_TYPE)));
+                result.succeeded(REQUEST_CHARGE);
+            });
+            notify(progressListener, result);
+        }));
+        return result.build();
+    }
+
+    @Override
+    public CosmosBulkResult deleteItems(String partitionKey, Collection<String> ids, @Nullable Consumer<CosmosBulkResult> progressListener) {
+        var result = CosmosBulkResult.Builder.newInstance(ids.size());
+        inChunks(List.copyOf(ids), chunk -> {
+            chunk.forEach(id -> {
+                var current = documents.get(id);
+                if (current != null && current.partitionKey.equals(partitionKey) && documents.remove(id, current)) {
+                    result.succeeded(REQUEST_CHARGE);
+                } else {
+                    result.failed(id, HTTP_NOT_FOUND, 0);
+                }
+            });
+            notify(progressListener, result);
+        });
+        return result.build();
+    }
+
+    @Override
+    public CosmosBulkResult executeBatch(String partitionKey, Collection<? extends CosmosDocument<?>> upserts, Collection<String> deletedIds) {
+        if (upserts.size() + deletedIds.size() > MAX_BATCH_OPERATIONS) {
+            throw new IllegalArgumentException("A batch holds at most " + MAX_BATCH_OPERATIONS + " operations");
+        }
+        upserts.forEach(item -> {
+            if (!partitionKey.equals(item.getPartitionKey())) {
+                throw new IllegalArgumentException("Item " + item.getId() + " does not belong to partition " + partitionKey);
+            }
+        });
+        roundTrip();
+        var result = CosmosBulkResult.Builder.newInstance(upserts.size() + deletedIds.size());
+        synchronized (documents) {
+            var missing = deletedIds.stream()
+                    .filter(id -> documents.get(id) == null || !documents.get(id).partitionKey.equals(partitionKey))
+                    .findFirst();
+            if (missing.isPresent()) {
+                upserts.forEach(item -> result.failed(item.getId(), HTTP_FAILED_DEPENDENCY, 0));
+                deletedIds.forEach(id -> result.failed(id, id.equals(missing.get()) ? HTTP_NOT_FOUND : HTTP_FAILED_DEPENDENCY, 0));
+                return result.build();
+            }
+            upserts.forEach(item -> {
+                documents.put(item.getId(), store(item.getId(), item.getPartitionKey(), mapper.convertValue(item, MAP_TYPE)));
+                result.succeeded(REQUEST_CHARGE);
+            });
+            deletedIds.forEach(id -> {
+                documents.remove(id);
+                result.succeeded(REQUEST_CHARGE);
+            });
+        }
+        return result.build();
+    }
+
+    @Override
+    public void deleteItem(String id) {
+        if (queryItemById(id) == null) {
+            throw new NotFoundException("An object with the ID " + id + " could not be found!");
+        }
+        roundTrip();
+        documents.remove(id);
+    }
+
+    @Override
+    public void deleteItem(String id, String partitionKey) {
+        roundTrip();
+        documents.compute(id, (key, current) -> {
+            if (current == null || !current.partitionKey.equals(partitionKey)) {
+                throw new NotFoundException("An object with the ID " + id + " could not be found!");
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteItem(String id, String partitionKey, String ifMatchETag) {
+        roundTrip();
+        documents.compute(id, (key, current) -> {
+            if (current == null || !current.partitionKey.equals(partitionKey)) {
+                throw new NotFoundException("An object with the ID " + id + " could not be found!");
+            }
+            if (!current.etag.equals(ifMatchETag)) {
+                throw new ETagMismatchException("The item with the ID " + id + " has been modified concurrently");
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public @Nullable Object queryItemById(String id) {
+        roundTrip();
+        var stored = documents.get(id);
+        return stored != null ? toMap(stored) : null;
+    }
+
+    @Override
+    public @Nullable Object queryItemById(String id, String partitionKey) {
+        roundTrip();
+        var stored = documents.get(id);
+        return stored != null && stored.partitionKey.equals(partitionKey) ? toMap(stored) : null;
+    }
+
+    @Override
+    public <T> @Nullable T queryItemById(String id, String partitionKey, Class<T> type) {
+        roundTrip();
+        var stored = documents.get(id);
+        return stored != null && stored.partitionKey.equals(partitionKey) ? read(stored, type) : null;
+    }
+
+    @Override
+    public List<Object> queryAllItems(String partitionKey) {
+        roundTrip();
+        return documents(partitionKey).collect(Collectors.<Object>toList());
+    }
+
+    @Override
+    public List<Object> queryAllItems() {
+        roundTrip();
+        return documents.values().stream().map(this::toMap).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Object> queryItems(SqlQuerySpec querySpec) {
+        return query(querySpec).map(Object.class::cast);
+    }
+
+    @Override
+    public <T> Stream<T> queryItems(SqlQuerySpec querySpec, Class<T> type) {
+        return query(querySpec).map(document -> mapper.convertValue(document, type));
+    }
+
+    /**
+     * Returns a page of the result of a registered query. The continuation token is the position of the next item in the result.
+     */
+    @Override
+    public <T> CosmosQueryPage<T> queryPage(SqlQuerySpec querySpec, Class<T> type, @Nullable String continuationToken, int pageSize) {
+        var result = query(querySpec).collect(Collectors.toList());
+        var start = continuationToken != null ? Integer.parseInt(continuationToken) : 0;
+        var end = Math.min(start + pageSize, result.size());
+        var items = result.subList(Math.min(start, end), end).stream().map(document -> mapper.convertValue(document, type)).collect(Collectors.toList());
+        return new CosmosQueryPage<>(items, end < result.size() ? String.valueOf(end) : null, 0);
+    }
+
+    @Override
+    public Stream<Object> queryItems(String query) {
+        throw new UnsupportedOperationException("SQL queries are not supported: " + query);
+    }
+
+    @Override
+    public String invokeStoredProcedure(String procedureName, String partitionKey, Object... args) {
+        roundTrip();
+        var storedProcedure = storedProcedures.get(procedureName);
+        if (storedProcedure == null) {
+            throw new EdcException("Failed to invoke stored procedure: " + procedureName);
+        }
+        // stored procedures run as transactions of their partition, which the stand-in isolates by running them one at a time
+        synchronized (partitionLocks.computeIfAbsent(partitionKey, k -> new Object())) {
+            try {
+                return mapper.writeValueAsString(storedProcedure.execute(this, partitionKey, args));
+            } catch (JsonProcessingException e) {
+                throw new EdcException(e);
+            }
+        }
+    }
+
+    @Override
+    public HealthCheckResult get() {
+        return HealthCheckResult.Builder.newInstance().component("CosmosDB in-memory").success(true).build();
+    }
+
+    private StoredDocument store(String id, String partitionKey, Map<String, Object> document) {
+        var etag = "\"" + etagSequence.incrementAndGet() + "\"";
+        document.put("id", id);
+        document.put(ETAG_PROPERTY, etag);
+        document.put(TIMESTAMP_PROPERTY, clock.instant().getEpochSecond());
+        try {
+            return new StoredDocument(partitionKey, etag, mapper.writeValueAsBytes(document));
+        } catch (JsonProcessingException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    private Map<String, Object> toMap(StoredDocument stored) {
+        try {
+            return mapper.readValue(stored.json, MAP_TYPE);
+        } catch (IOException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    private <T> T read(StoredDocument stored, Class<T> type) {
+        try {
+            return mapper.readValue(stored.json, type);
+        } catch (IOException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    private Stream<?> query(SqlQuerySpec querySpec) {
+        var query = queries.get(querySpec.getQueryText());
+        if (query == null) {
+            throw new UnsupportedOperationException("SQL queries are not supported: " + querySpec.getQueryText());
+        }
+        roundTrip();
+        // materialize the result like the CosmosDB client does with a page, so that it does not see later modifications
+        return query.execute(this, querySpec).collect(Collectors.<Object>toList()).stream();
+    }
+
+    private <T> void inChunks(List<T> items, Consumer<List<T>> chunkConsumer) {
+        for (var start = 0; start < items.size(); start += MAX_BATCH_OPERATIONS) {
+            roundTrip();
+            chunkConsumer.accept(items.subList(start, Math.min(start + MAX_BATCH_OPERATIONS, items.size())));
+        }
+    }
+
+    private void notify(@Nullable Consumer<CosmosBulkResult> progressListener, CosmosBulkResult.Builder result) {
+        if (progressListener != null) {
+            progressListener.accept(result.build());
+        }
+    }
+
+    private void roundTrip() {
+        roundTrips.incrementAndGet();
+    }
+
+    /**
+     * A stored procedure, executed on the server side of the stand-in container.
+     */
+    @FunctionalInterface
+    public interface StoredProcedure {
+        /**
+         * Executes the procedure and returns the response body, which is serialized to JSON.
+         */
+        Object execute(InMemoryCosmosDbApi container, String partitionKey, Object... args);
+    }
+
+    /**
+     * A SQL query, executed on the server side of the stand-in container.
+     */
+    @FunctionalInterface
+    public interface Query {
+        /**
+         * Returns the documents the query selects, or the values for a {@code SELECT VALUE} query.
+         */
+        Stream<?> execute(InMemoryCosmosDbApi container, SqlQuerySpec querySpec);
+    }
+
+    private static class StoredDocument {
+        private final String partitionKey;
+        private final String etag;
+        private final byte[] json;
+
+        StoredDocument(String partitionKey, String etag, byte[] json) {
+            this.partitionKey = partitionKey;
+            this.etag = etag;
+            this.json = json;
+        }
+    }
+}
@@ -18,42 +18,82 @@ import net.jodah.failsafe.RetryPolicy;
 import org.eclipse.dataspaceconnector.catalog.node.directory.azure.model.FederatedCacheNodeDocument;
 import org.eclipse.dataspaceconnector.catalog.spi.FederatedCacheNode;
 import org.eclipse.dataspaceconnector.catalog.spi.FederatedCacheNodeDirectory;
+import org.eclipse.dataspaceconnector.catalog.spi.NodeDirectorySnapshot;
 import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDbApi;
+import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDocumentCache;
 import org.eclipse.dataspaceconnector.spi.types.TypeManager;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import static net.jodah.failsafe.Failsafe.with;
 
+/**
+ * Node directory based on CosmosDB, which keeps the nodes in a {@link CosmosDocumentCache}. The version of the directory snapshot only changes
+ * if the nodes have changed, so the crawlers can skip rebuilding their work items if it has not.
+ */
 public class CosmosFederatedCacheNodeDirectory implements FederatedCacheNodeDirectory {
 
     private final CosmosDbApi cosmosDbApi;
-    private final TypeManager typeManager;
     private final String partitionKey;
     private final RetryPolicy<Object> retryPolicy;
+    private final boolean reloadOnRead;
+    private final CosmosDocumentCache<FederatedCacheNode, FederatedCacheNodeDocument> cache;
+    private volatile NodeDirectorySnapshot directorySnapshot;
 
     /**
-     * Creates a new instance of the CosmosDB-based federated cache node store.
+     * Creates a new instance of the CosmosDB-based federated cache node store, which reads all nodes from the database on every call of
+     * {@link #getAll()}.
      *
      * @param cosmosDbApi Api to interact with CosmosDB container.
      * @param typeManager The {@link TypeManager} that's used for serialization and deserialization.
      */
     public CosmosFederatedCacheNodeDirectory(CosmosDbApi cosmosDbApi, String partitionKey, TypeManager typeManager, RetryPolicy<Object> retryPolicy) {
+        this(cosmosDbApi, partitionKey, typeManager, retryPolicy, Duration.ZERO, Duration.ZERO, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a node directory that caches the nodes.
+     *
+     * @param maxStaleness        the maximum age of the cached nodes before a read refreshes them incrementally. Zero means that every read
+     *                            reloads all nodes.
+     * @param fullRefreshInterval the maximum time between two complete reloads, which also remove the nodes deleted by other runtimes. Zero
+     *                            means that refreshes are always incremental.
+     * @param clock               the clock to determine the age of the cached nodes
+     */
+    public CosmosFederatedCacheNodeDirectory(CosmosDbApi cosmosDbApi, String partitionKey, TypeManager typeManager, RetryPolicy<Object> retryPolicy,
+                                             Duration maxStaleness, Duration fullRefreshInterval, Clock clock) {
         this.cosmosDbApi = cosmosDbApi;
-        this.typeManager = typeManager;
         this.partitionKey = partitionKey;
         this.retryPolicy = retryPolicy;
+        reloadOnRead = maxStaleness.isZero();
+        cache = CosmosDocumentCache.Builder.newInstance(FederatedCacheNodeDocument.class, FederatedCacheNode::getName)
+                .cosmosDbApi(cosmosDbApi)
+                .typeManager(typeManager)
+                .retryPolicy(retryPolicy)
+                .partitionKey(partitionKey)
+                .maxStaleness(maxStaleness)
+                .fullRefreshInterval(fullRefreshInterval)
+                .clock(clock)
+                .build();
     }
 
     @Override
     public List<FederatedCacheNode> getAll() {
-        var response = with(retryPolicy).get(() -> cosmosDbApi.queryAllItems(partitionKey));
-        return response.stream()
-                .map(databaseDocument -> typeManager.readValue(typeManager.writeValueAsString(databaseDocument), FederatedCacheNodeDocument.class))
-                .map(FederatedCacheNodeDocument::getWrappedInstance)
-                .collect(Collectors.toList());
+        return getSnapshot().getNodes();
+    }
+
+    @Override
+    public NodeDirectorySnapshot getSnapshot() {
+        var snapshot = reloadOnRead ? cache.reload() : cache.get();
+        var current = directorySnapshot;
+        if (current == null || current.getVersion() != snapshot.getVersion()) {
+            current = new NodeDirectorySnapshot(snapshot.getVersion(), List.copyOf(snapshot.getEntities().values()));
+            directorySnapshot = current;
+        }
+        return current;
     }
 
     @Override
@@ -61,6 +101,12 @@ public class CosmosFederatedCacheNodeDirectory implements FederatedCacheNodeDire
         Objects.requireNonNull(node.getName(), "FederatedCacheNode must have a name!");
 
         var document = new FederatedCacheNodeDocument(node, partitionKey);
-        with(retryPolicy).run(() -> cosmosDbApi.saveItem(document));
+        Runnable save = () -> with(retryPolicy).run(() -> cosmosDbApi.saveItem(document));
+        if (reloadOnRead) {
+            // the next read reloads all nodes anyway, so there is no point in loading them before
+            save.run();
+        } else {
+            cache.write(List.of(node), save);
+        }
     }
 }
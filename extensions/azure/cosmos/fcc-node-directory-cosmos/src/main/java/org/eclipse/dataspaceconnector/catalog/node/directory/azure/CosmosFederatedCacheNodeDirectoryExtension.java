@@ -19,18 +19,37 @@ import org.eclipse.dataspaceconnector.catalog.node.directory.azure.model.Federat
 import org.eclipse.dataspaceconnector.catalog.spi.FederatedCacheNodeDirectory;
 import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDbApi;
 import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDbApiImpl;
+import org.eclipse.dataspaceconnector.spi.EdcSetting;
 import org.eclipse.dataspaceconnector.spi.security.Vault;
 import org.eclipse.dataspaceconnector.spi.system.Provides;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
 import org.eclipse.dataspaceconnector.spi.system.health.HealthCheckService;
 
+import java.time.Clock;
+import java.time.Duration;
+
 /**
  * Provides a persistent implementation of the {@link FederatedCacheNodeDirectory} using CosmosDB.
  */
 @Provides(FederatedCacheNodeDirectory.class)
 public class CosmosFederatedCacheNodeDirectoryExtension implements ServiceExtension {
 
+    /**
+     * The maximum age of the cached nodes in seconds, before they are refreshed incrementally. Zero reloads all nodes on every read.
+     */
+    @EdcSetting
+    private static final String CACHE_MAX_STALENESS_SETTING = "edc.node.directory.cosmos.cache.max-staleness";
+    private static final long DEFAULT_CACHE_MAX_STALENESS = 60;
+
+    /**
+     * The maximum time in seconds between two complete reloads of the cached nodes. Incremental refreshes do not see deletions, so nodes
+     * deleted by other runtimes stay in the cache for up to this long.
+     */
+    @EdcSetting
+    private static final String CACHE_FULL_REFRESH_INTERVAL_SETTING = "edc.node.directory.cosmos.cache.full-refresh-interval";
+    private static final long DEFAULT_CACHE_FULL_REFRESH_INTERVAL = 3600;
+
     @Override
     public String name() {
         return "CosmosDB Federated Cache Node Directory";
@@ -42,7 +61,10 @@ public class CosmosFederatedCacheNodeDirectoryExtension implements ServiceExtens
         Vault vault = context.getService(Vault.class);
 
         CosmosDbApi cosmosDbApi = new CosmosDbApiImpl(vault, configuration);
-        FederatedCacheNodeDirectory directory = new CosmosFederatedCacheNodeDirectory(cosmosDbApi, configuration.getPartitionKey(), context.getTypeManager(), context.getService(RetryPolicy.class));
+        var maxStaleness = Duration.ofSeconds(Math.max(0, context.getSetting(CACHE_MAX_STALENESS_SETTING, DEFAULT_CACHE_MAX_STALENESS)));
+        var fullRefreshInterval = Duration.ofSeconds(Math.max(0, context.getSetting(CACHE_FULL_REFRESH_INTERVAL_SETTING, DEFAULT_CACHE_FULL_REFRESH_INTERVAL)));
+        FederatedCacheNodeDirectory directory = new CosmosFederatedCacheNodeDirectory(cosmosDbApi, configuration.getPartitionKey(), context.getTypeManager(), context.getService(RetryPolicy.class),
+                maxStaleness, fullRefreshInterval, Clock.systemUTC());
         context.registerService(FederatedCacheNodeDirectory.class, directory);
 
         context.getTypeManager().registerTypes(FederatedCacheNodeDocument.class);
@@ -0,0 +1,155 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.catalog.node.directory.azure;
+
+import net.jodah.failsafe.RetryPolicy;
+import org.eclipse.dataspaceconnector.catalog.node.directory.azure.model.FederatedCacheNodeDocument;
+import org.eclipse.dataspaceconnector.catalog.spi.FederatedCacheNode;
+import org.eclipse.dataspaceconnector.common.testfixtures.MutableClock;
+import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDocumentCache;
+import org.eclipse.dataspaceconnector.cosmos.azure.testfixtures.InMemoryCosmosDbApi;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exercises the cache of the {@link CosmosFederatedCacheNodeDirectory} against an in-memory CosmosDB, which answers the query for modified
+ * documents from their timestamps.
+ */
+class CosmosFederatedCacheNodeDirectoryCacheTest {
+    private static final String PARTITION_KEY = "partition-test";
+    private static final Duration MAX_STALENESS = Duration.ofSeconds(10);
+    private static final Duration FULL_REFRESH_INTERVAL = Duration.ofMinutes(10);
+
+    private TypeManager typeManager;
+    private InMemoryCosmosDbApi cosmosDbApi;
+    private MutableClock clock;
+    private CosmosFederatedCacheNodeDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        typeManager = new TypeManager();
+        typeManager.registerTypes(FederatedCacheNodeDocument.class, FederatedCacheNode.class);
+        clock = new MutableClock();
+        cosmosDbApi = new InMemoryCosmosDbApi(typeManager.getMapper()).clock(clock);
+        cosmosDbApi.registerQuery(CosmosDocumentCache.MODIFIED_SINCE_IN_PARTITION_QUERY, (container, query) -> {
+            var partitionKey = query.getParameters().get(0).getValue(String.class);
+            var since = query.getParameters().get(1).getValue(Long.class);
+            return container.documents(partitionKey)
+                    .filter(document -> ((Number) document.get(InMemoryCosmosDbApi.TIMESTAMP_PROPERTY)).longValue() >= since);
+        });
+        directory = createDirectory(MAX_STALENESS);
+    }
+
+    @Test
+    void verifyReadsAreServedFromCache() {
+        saveDirectly(node("node1", "http://node1"), node("node2", "http://node2"));
+
+        assertThat(directory.getAll()).extracting(FederatedCacheNode::getName).containsExactlyInAnyOrder("node1", "node2");
+        cosmosDbApi.resetRoundTrips();
+
+        clock.advance(MAX_STALENESS.minusSeconds(1));
+        assertThat(directory.getAll()).hasSize(2);
+        assertThat(cosmosDbApi.getRoundTrips()).isZero();
+    }
+
+    @Test
+    void verifyModificationsOfOtherRuntimesArePickedUp() {
+        directory.insert(node("node1", "http://node1"));
+        var initial = directory.getSnapshot();
+
+        clock.advance(Duration.ofSeconds(1));
+        saveDirectly(node("node1", "http://node1-moved"), node("node2", "http://node2"));
+        assertThat(directory.getSnapshot()).isSameAs(initial);
+
+        clock.advance(MAX_STALENESS);
+        var refreshed = directory.getSnapshot();
+        assertThat(refreshed.getVersion()).isGreaterThan(initial.getVersion());
+        assertThat(refreshed.getNodes()).extracting(FederatedCacheNode::getTargetUrl).containsExactlyInAnyOrder("http://node1-moved", "http://node2");
+    }
+
+    @Test
+    void verifyVersionIsKeptWhenNothingChanged() {
+        saveDirectly(node("node1", "http://node1"));
+        var initial = directory.getSnapshot();
+
+        clock.advance(MAX_STALENESS);
+        // the document modified in the second of the high watermark is read again, but it has not changed
+        assertThat(directory.getSnapshot().getVersion()).isEqualTo(initial.getVersion());
+
+        directory.insert(node("node1", "http://node1"));
+        assertThat(directory.getSnapshot().getVersion()).isEqualTo(initial.getVersion());
+    }
+
+    @Test
+    void verifyInsertReplacesNodeWithSameName() {
+        directory.insert(node("node1", "http://node1"));
+        var initial = directory.getSnapshot();
+
+        directory.insert(node("node1", "http://node1-moved"));
+
+        var snapshot = directory.getSnapshot();
+        assertThat(snapshot.getVersion()).isGreaterThan(initial.getVersion());
+        assertThat(snapshot.getNodes()).extracting(FederatedCacheNode::getTargetUrl).containsExactly("http://node1-moved");
+    }
+
+    @Test
+    void verifyFullRefreshRemovesDeletedNodes() {
+        saveDirectly(node("node1", "http://node1"), node("node2", "http://node2"));
+        assertThat(directory.getAll()).hasSize(2);
+
+        cosmosDbApi.deleteItem("node2", PARTITION_KEY);
+        clock.advance(MAX_STALENESS);
+        assertThat(directory.getAll()).hasSize(2);
+
+        clock.advance(FULL_REFRESH_INTERVAL);
+        assertThat(directory.getAll()).extracting(FederatedCacheNode::getName).containsExactly("node1");
+    }
+
+    @Test
+    void verifyZeroStalenessReloadsOnEveryRead() {
+        saveDirectly(node("node1", "http://node1"));
+        var uncached = createDirectory(Duration.ZERO);
+        var initial = uncached.getSnapshot();
+        cosmosDbApi.resetRoundTrips();
+
+        assertThat(uncached.getAll()).hasSize(1);
+        assertThat(uncached.getAll()).hasSize(1);
+        assertThat(cosmosDbApi.getRoundTrips()).isEqualTo(2);
+        assertThat(uncached.getSnapshot()).isSameAs(initial);
+
+        saveDirectly(node("node2", "http://node2"));
+        assertThat(uncached.getSnapshot().getVersion()).isGreaterThan(initial.getVersion());
+    }
+
+    private CosmosFederatedCacheNodeDirectory createDirectory(Duration maxStaleness) {
+        return new CosmosFederatedCacheNodeDirectory(cosmosDbApi, PARTITION_KEY, typeManager, new RetryPolicy<>(), maxStaleness, FULL_REFRESH_INTERVAL, clock);
+    }
+
+    private void saveDirectly(FederatedCacheNode... nodes) {
+        for (var node : nodes) {
+            cosmosDbApi.saveItem(new FederatedCacheNodeDocument(node, PARTITION_KEY));
+        }
+    }
+
+    private static FederatedCacheNode node(String name, String targetUrl) {
+        return new FederatedCacheNode(name, targetUrl, List.of("ids-multipart"));
+    }
+}
@@ -25,6 +25,7 @@ dependencies {
     api(project(":extensions:azure:cosmos:cosmos-common"))
 
     testImplementation(testFixtures(project(":common:util")))
+    testImplementation(testFixtures(project(":extensions:azure:cosmos:cosmos-common")))
 }
 
 
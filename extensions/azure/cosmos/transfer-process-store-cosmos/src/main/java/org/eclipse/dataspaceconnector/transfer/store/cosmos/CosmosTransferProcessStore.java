@@ -14,15 +14,18 @@
 
 package org.eclipse.dataspaceconnector.transfer.store.cosmos;
 
-import com.azure.cosmos.CosmosException;
-import com.azure.cosmos.implementation.BadRequestException;
 import com.azure.cosmos.implementation.NotFoundException;
 import com.azure.cosmos.implementation.RequestRateTooLargeException;
 import com.azure.cosmos.models.CosmosQueryRequestOptions;
+import com.azure.cosmos.models.SqlParameter;
+import com.azure.cosmos.models.SqlQuerySpec;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import net.jodah.failsafe.FailsafeExecutor;
 import net.jodah.failsafe.Fallback;
 import net.jodah.failsafe.RetryPolicy;
 import org.eclipse.dataspaceconnector.cosmos.azure.CosmosDbApi;
+import org.eclipse.dataspaceconnector.cosmos.azure.ETagMismatchException;
 import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.transfer.store.TransferProcessStore;
 import org.eclipse.dataspaceconnector.spi.types.TypeManager;
@@ -33,18 +36,30 @@ import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static net.jodah.failsafe.Failsafe.with;
 
+/**
+ * Stores {@link TransferProcess} objects in a CosmosDB container.
+ * <p>
+ * Writes use optimistic concurrency instead of a lease round trip: the store remembers the ETag of every document it has read or written while
+ * no other connector held the lease on it, and updates or deletes the document only if it still has that ETag. The lease of this connector is
+ * released by the same write, so a regular state transition costs a single round trip. Conflicting writers are detected by an ETag mismatch.
+ */
 public class CosmosTransferProcessStore implements TransferProcessStore {
 
-
     private static final String NEXT_FOR_STATE_S_PROC_NAME = "nextForState";
-    private static final String LEASE_S_PROC_NAME = "lease";
+    private static final String PROCESS_ID_FOR_TRANSFER_ID_QUERY = "SELECT VALUE t.wrappedInstance.id FROM t WHERE t.wrappedInstance.dataRequest.id = @transferId";
+    private static final TypeReference<List<TransferProcessDocument>> DOCUMENT_LIST_TYPE = new TypeReference<>() {
+    };
+    private static final int MAX_CACHED_ETAGS = 10_000;
     private final CosmosDbApi cosmosDbApi;
     private final CosmosQueryRequestOptions tracingOptions;
     private final TypeManager typeManager;
@@ -53,6 +68,13 @@ public class CosmosTransferProcessStore implements TransferProcessStore {
     private final RetryPolicy<Object> generalRetry;
     private final RetryPolicy<Object> rateLimitRetry;
     private final FailsafeExecutor<Object> failsafeExecutor;
+    private final FailsafeExecutor<Object> conditionalWriteExecutor;
+    private final Map<String, String> etags = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_CACHED_ETAGS;
+        }
+    });
 
     /**
      * Creates a new instance of the CosmosDB-based transfer process store.
@@ -81,25 +103,25 @@ public class CosmosTransferProcessStore implements TransferProcessStore {
         generalRetry = retryPolicy;
 
         failsafeExecutor = with(rateLimitRetry, generalRetry);
+        // retrying a conditional write with the same ETag cannot succeed, conflicts are resolved in writeConditionally
+        conditionalWriteExecutor = with(rateLimitRetry, generalRetry.copy().abortOn(ETagMismatchException.class, NotFoundException.class));
     }
 
     @Override
     public TransferProcess find(String id) {
-        // we need to read the TransferProcessDocument as Object, because no custom JSON deserialization can be registered
-        // with the CosmosDB SDK, so it would not know about subtypes, etc.
-        Object obj = failsafeExecutor.get(() -> cosmosDbApi.queryItemById(id, partitionKey));
-        return obj != null ? convertObject(obj).getWrappedInstance() : null;
+        var document = readDocument(id);
+        if (document == null) {
+            return null;
+        }
+        rememberETag(document);
+        return document.getWrappedInstance();
     }
 
     @Override
     public @Nullable String processIdForTransferId(String transferId) {
-        var query = "SELECT * FROM t WHERE t.wrappedInstance.dataRequest.id = '" + transferId + "'";
-        var response = failsafeExecutor.get(() -> cosmosDbApi.queryItems(query));
-        return response
-                .map(this::convertObject)
-                .map(pd -> pd.getWrappedInstance().getId())
-                .findFirst()
-                .orElse(null);
+        // only the id is projected, so neither the documents have to be transferred nor deserialized
+        var query = new SqlQuerySpec(PROCESS_ID_FOR_TRANSFER_ID_QUERY, new SqlParameter("@transferId", transferId));
+        return failsafeExecutor.get(() -> cosmosDbApi.queryItems(query, String.class).findFirst().orElse(null));
     }
 
     @Override
@@ -113,14 +135,11 @@ public class CosmosTransferProcessStore implements TransferProcessStore {
             return Collections.emptyList();
         }
 
-        //now we need to convert to a list, convert each element in that list to json, and convert that back to a TransferProcessDocument
-        var l = typeManager.readValue(rawJson, List.class);
-
-        return (List<TransferProcess>) l.stream().map(typeManager::writeValueAsString)
-                .map(json -> typeManager.readValue(json.toString(), TransferProcessDocument.class))
-                .map(tp -> ((TransferProcessDocument) tp).getWrappedInstance())
+        List<TransferProcessDocument> documents = typeManager.readValue(rawJson, DOCUMENT_LIST_TYPE);
+        documents.forEach(this::rememberETag);
+        return documents.stream()
+                .map(TransferProcessDocument::getWrappedInstance)
                 .collect(Collectors.toList());
-
     }
 
 
@@ -131,31 +150,37 @@ public class CosmosTransferProcessStore implements TransferProcessStore {
 
         //todo: configure indexing
         var document = new TransferProcessDocument(process, partitionKey);
-        failsafeExecutor.run(() -> cosmosDbApi.saveItem(document));
+        var etag = failsafeExecutor.get(() -> cosmosDbApi.saveItem(document, null));
+        etags.put(process.getId(), etag);
     }
 
+    /**
+     * Writes the process and releases the lease of this connector in a single round trip, provided the stored document has not changed since
+     * this store last read or wrote it. Processes that do not exist yet are created.
+     *
+     * @throws EdcException if the document is leased by another connector or has been modified concurrently
+     */
     @Override
     public void update(TransferProcess process) {
         var document = new TransferProcessDocument(process, partitionKey);
-        try {
-            lease(process.getId(), connectorId);
-            failsafeExecutor.run(() -> cosmosDbApi.saveItem(document));
-            release(process.getId(), connectorId);
-        } catch (BadRequestException ex) {
-            throw new EdcException(ex);
-        }
+        var etag = writeConditionally(process.getId(), ifMatch -> cosmosDbApi.saveItem(document, ifMatch));
+        etags.put(process.getId(), etag);
     }
 
     @Override
     public void delete(String processId) {
         try {
-            lease(processId, connectorId);
-            failsafeExecutor.run(() -> cosmosDbApi.deleteItem(processId));
-            release(processId, connectorId);
+            writeConditionally(processId, ifMatch -> {
+                // a null ETag means that there is no document to delete
+                if (ifMatch != null) {
+                    cosmosDbApi.deleteItem(processId, partitionKey, ifMatch);
+                }
+                return null;
+            });
         } catch (NotFoundException ex) {
             //do nothing
-        } catch (CosmosException ex) {
-            throw new EdcException(ex);
+        } finally {
+            etags.remove(processId);
         }
     }
 
@@ -184,19 +209,60 @@ public class CosmosTransferProcessStore implements TransferProcessStore {
         throw new UnsupportedOperationException("Not yet implemented");
     }
 
-    private TransferProcessDocument convertObject(Object databaseDocument) {
-        return typeManager.readValue(typeManager.writeValueAsString(databaseDocument), TransferProcessDocument.class);
+    /**
+     * Reads the document as a JSON tree and converts it with the {@link TypeManager}, because the CosmosDB client does not know about the subtypes
+     * registered with it.
+     */
+    @Nullable
+    private TransferProcessDocument readDocument(String processId) {
+        var node = failsafeExecutor.get(() -> cosmosDbApi.queryItemById(processId, partitionKey, JsonNode.class));
+        return node != null ? typeManager.readValue(node, TransferProcessDocument.class) : null;
     }
 
-    private void release(String processId, Object connectorId) {
-        writeLease(processId, connectorId, false);
+    /**
+     * Performs a conditional write with the cached ETag of the process. Without a cached ETag, or if the cached one turns out to be stale, the
+     * document is read first to check the lease and to get the current ETag.
+     */
+    private <T> T writeConditionally(String processId, Function<String, T> write) {
+        var cachedETag = etags.remove(processId);
+        if (cachedETag != null) {
+            try {
+                return conditionalWriteExecutor.get(() -> write.apply(cachedETag));
+            } catch (ETagMismatchException ex) {
+                // the document has changed since it was cached, which is only safe to overwrite if this connector still holds the lease
+                return writeWithCurrentETag(processId, true, write);
+            }
+        }
+        return writeWithCurrentETag(processId, false, write);
     }
 
-    private void lease(String processId, String connectorId) {
-        writeLease(processId, connectorId, true);
+    private <T> T writeWithCurrentETag(String processId, boolean requireOwnLease, Function<String, T> write) {
+        var document = readDocument(processId);
+        String etag = null;
+        if (document != null) {
+            var lease = document.getLease();
+            if (lease != null && !connectorId.equals(lease.getLeasedBy())) {
+                throw new EdcException("TransferProcess " + processId + " is leased by " + lease.getLeasedBy());
+            }
+            if (lease == null && requireOwnLease) {
+                throw new EdcException("TransferProcess " + processId + " has been modified concurrently");
+            }
+            etag = document.getETag();
+        }
+        var currentETag = etag;
+        try {
+            return conditionalWriteExecutor.get(() -> write.apply(currentETag));
+        } catch (ETagMismatchException ex) {
+            throw new EdcException("TransferProcess " + processId + " has been modified concurrently", ex);
+        }
     }
 
-    private void writeLease(String processId, Object connectorId, boolean writeLease) {
-        failsafeExecutor.run(() -> cosmosDbApi.invokeStoredProcedure(LEASE_S_PROC_NAME, partitionKey, processId, connectorId, writeLease));
+    private void rememberETag(TransferProcessDocument document) {
+        var lease = document.getLease();
+        var etag = document.getETag();
+        // a document leased by another connector must never be overwritten based on its ETag alone
+        if (etag != null && (lease == null || connectorId.equals(lease.getLeasedBy()))) {
+            etags.put(document.getId(), etag);
+        }
     }
-}
\ No newline at end of file
+}
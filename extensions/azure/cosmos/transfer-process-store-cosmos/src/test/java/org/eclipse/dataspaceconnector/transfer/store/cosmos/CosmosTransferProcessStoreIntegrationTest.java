@@ -19,7 +19,6 @@ import com.azure.cosmos.CosmosClientBuilder;
 import com.azure.cosmos.CosmosContainer;
 import com.azure.cosmos.CosmosDatabase;
 import com.azure.cosmos.CosmosScripts;
-import com.azure.cosmos.implementation.BadRequestException;
 import com.azure.cosmos.models.CosmosContainerResponse;
 import com.azure.cosmos.models.CosmosDatabaseResponse;
 import com.azure.cosmos.models.CosmosItemResponse;
@@ -353,7 +352,20 @@ class CosmosTransferProcessStoreIntegrationTest {
 
         //act
         tp.transitionProvisioning(ResourceManifest.Builder.newInstance().build());
-        assertThatThrownBy(() -> store.update(tp)).isInstanceOf(EdcException.class).hasRootCauseInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> store.update(tp)).isInstanceOf(EdcException.class).hasMessageContaining("leased by another-connector");
+    }
+
+    @Test
+    void update_modifiedConcurrently_shouldThrowException() {
+        var tp = createTransferProcess("proc1");
+        store.create(tp);
+
+        //simulate another writer that does not lease the document
+        var other = createTransferProcess("proc1", TransferProcessStates.PROVISIONING);
+        container.upsertItem(new TransferProcessDocument(other, partitionKey));
+
+        tp.transitionProvisioning(ResourceManifest.Builder.newInstance().build());
+        assertThatThrownBy(() -> store.update(tp)).isInstanceOf(EdcException.class).hasMessageContaining("modified concurrently");
     }
 
     @Test
@@ -378,7 +390,7 @@ class CosmosTransferProcessStoreIntegrationTest {
         doc.acquireLease("some-other-connector");
         container.upsertItem(doc);
 
-        assertThatThrownBy(() -> store.delete(processId)).isInstanceOf(EdcException.class).hasRootCauseInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> store.delete(processId)).isInstanceOf(EdcException.class).hasMessageContaining("leased by some-other-connector");
     }
 
     @Test
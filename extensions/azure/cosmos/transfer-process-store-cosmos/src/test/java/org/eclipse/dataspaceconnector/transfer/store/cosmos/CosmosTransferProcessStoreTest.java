@@ -0,0 +1,293 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.transfer.store.cosmos;
+
+import net.jodah.failsafe.RetryPolicy;
+import org.eclipse.dataspaceconnector.cosmos.azure.testfixtures.InMemoryCosmosDbApi;
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.DataRequest;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.ResourceManifest;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.TransferProcess;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.TransferProcessStates;
+import org.eclipse.dataspaceconnector.transfer.store.cosmos.model.TransferProcessDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.eclipse.dataspaceconnector.transfer.store.cosmos.TestHelper.createTransferProcess;
+
+/**
+ * Runs the store against an in-process container that counts round trips. The stored procedures mirror the ones in the test resources.
+ */
+class CosmosTransferProcessStoreTest {
+    private static final String PARTITION_KEY = "test-partition";
+    private static final String CONNECTOR_ID = "test-connector";
+
+    private TypeManager typeManager;
+    private InMemoryCosmosDbApi cosmosDbApi;
+    private CosmosTransferProcessStore store;
+
+    @BeforeEach
+    void setUp() {
+        typeManager = new TypeManager();
+        typeManager.registerTypes(DataRequest.class);
+        cosmosDbApi = new InMemoryCosmosDbApi(typeManager.getMapper());
+        cosmosDbApi.registerStoredProcedure("nextForState", CosmosTransferProcessStoreTest::nextForState);
+        cosmosDbApi.registerStoredProcedure("lease", CosmosTransferProcessStoreTest::lease);
+        store = createStore(CONNECTOR_ID);
+    }
+
+    @Test
+    void update_afterNextForState_singleRoundTrip() {
+        var tp = createTransferProcess("proc1");
+        store.create(tp);
+        assertThat(store.nextForState(TransferProcessStates.INITIAL.code(), 10)).hasSize(1);
+        cosmosDbApi.resetRoundTrips();
+
+        tp.transitionProvisioning(ResourceManifest.Builder.newInstance().build());
+        store.update(tp);
+
+        assertThat(cosmosDbApi.getRoundTrips()).isEqualTo(1);
+        var stored = readDocument("proc1");
+        assertThat(stored.getWrappedInstance().getState()).isEqualTo(TransferProcessStates.PROVISIONING.code());
+        assertThat(stored.getLease()).isNull();
+    }
+
+    @Test
+    void update_consecutiveUpdates_singleRoundTripEach() {
+        var tp = createTransferProcess("proc1");
+        store.create(tp);
+        cosmosDbApi.resetRoundTrips();
+
+        tp.transitionProvisioning(ResourceManifest.Builder.newInstance().build());
+        store.update(tp);
+        tp.transitionProvisioned();
+        store.update(tp);
+
+        assertThat(cosmosDbApi.getRoundTrips()).isEqualTo(2);
+        assertThat(readDocument("proc1").getWrappedInstance().getState()).isEqualTo(TransferProcessStates.PROVISIONED.code());
+    }
+
+    @Test
+    void update_noCachedETag_shouldReadFirst() {
+        var tp = createTransferProcess("proc1");
+        store.create(tp);
+        var otherInstance = createStore(CONNECTOR_ID);
+        cosmosDbApi.resetRoundTrips();
+
+        tp.transitionProvisioning(ResourceManifest.Builder.newInstance().build());
+        otherInstance.update(tp);
+
+        assertThat(cosmosDbApi.getRoundTrips()).isEqualTo(2);
+        assertThat(readDocument("proc1").getWrappedInstance().getState()).isEqualTo(TransferProcessStates.PROVISIONING.code());
+    }
+
+    @Test
+    void update_notExist_shouldCreate() {
+        var tp = createTransferProcess("proc1");
+        tp.transitionInitial();
+
+        store.update(tp);
+
+        var stored = readDocument("proc1");
+        assertThat(stored.getWrappedInstance()).isEqualTo(tp);
+        assertThat(stored.getLease()).isNull();
+    }
+
+    @Test
+    void update_leasedByOther_shouldThrowException() {
+        var tp = createTransferProcess("proc1", TransferProcessStates.INITIAL);
+        var doc = new TransferProcessDocument(tp, PARTITION_KEY);
+        doc.acquireLease("another-connector");
+        cosmosDbApi.saveItem(doc);
+
+        tp.transitionProvisioning(ResourceManifest.Builder.newInstance().build());
+
+        assertThatThrownBy(() -> store.update(tp)).isInstanceOf(EdcException.class).hasMessageContaining("leased by another-connector");
+        assertThat(readDocument("proc1").getWrappedInstance().getState()).isEqualTo(TransferProcessStates.INITIAL.code());
+    }
+
+    @Test
+    void update_leasedByOtherAfterRead_shouldThrowException() {
+        var tp = createTransferProcess("proc1");
+        store.create(tp);
+        var other = createStore("another-connector");
+        assertThat(other.nextForState(TransferProcessStates.INITIAL.code(), 10)).hasSize(1);
+
+        tp.transitionProvisioning(ResourceManifest.Builder.newInstance().build());
+
+        assertThatThrownBy(() -> store.update(tp)).isInstanceOf(EdcException.class).hasMessageContaining("leased by another-connector");
+        var stored = readDocument("proc1");
+        assertThat(stored.getWrappedInstance().getState()).isEqualTo(TransferProcessStates.INITIAL.code());
+        assertThat(stored.getLease().getLeasedBy()).isEqualTo("another-connector");
+    }
+
+    @Test
+    void update_modifiedConcurrentlyWithoutLease_shouldThrowException() {
+        var tp = createTransferProcess("proc1");
+        store.create(tp);
+        cosmosDbApi.saveItem(new TransferProcessDocument(createTransferProcess("proc1", TransferProcessStates.DEPROVISIONING), PARTITION_KEY));
+
+        tp.transitionProvisioning(ResourceManifest.Builder.newInstance().build());
+
+        assertThatThrownBy(() -> store.update(tp)).isInstanceOf(EdcException.class).hasMessageContaining("modified concurrently");
+        assertThat(readDocument("proc1").getWrappedInstance().getState()).isEqualTo(TransferProcessStates.DEPROVISIONING.code());
+    }
+
+    @Test
+    void update_modifiedConcurrentlyWhileLeasedBySelf_shouldWrite() {
+        var tp = createTransferProcess("proc1");
+        store.create(tp);
+        // another instance of the same connector leases the document, so the cached ETag is stale, but the lease is still held by this connector
+        createStore(CONNECTOR_ID).nextForState(TransferProcessStates.INITIAL.code(), 10);
+        cosmosDbApi.resetRoundTrips();
+
+        tp.transitionProvisioning(ResourceManifest.Builder.newInstance().build());
+        store.update(tp);
+
+        assertThat(cosmosDbApi.getRoundTrips()).isEqualTo(3);
+        var stored = readDocument("proc1");
+        assertThat(stored.getWrappedInstance().getState()).isEqualTo(TransferProcessStates.PROVISIONING.code());
+        assertThat(stored.getLease()).isNull();
+    }
+
+    @Test
+    void find_leasedByOther_shouldNotAllowOverwrite() {
+        var tp = createTransferProcess("proc1", TransferProcessStates.INITIAL);
+        var doc = new TransferProcessDocument(tp, PARTITION_KEY);
+        doc.acquireLease("another-connector");
+        cosmosDbApi.saveItem(doc);
+
+        var found = store.find("proc1");
+        found.transitionProvisioning(ResourceManifest.Builder.newInstance().build());
+
+        assertThatThrownBy(() -> store.update(found)).isInstanceOf(EdcException.class).hasMessageContaining("leased by another-connector");
+    }
+
+    @Test
+    void delete_cachedETag_singleRoundTrip() {
+        store.create(createTransferProcess("proc1"));
+        cosmosDbApi.resetRoundTrips();
+
+        store.delete("proc1");
+
+        assertThat(cosmosDbApi.getRoundTrips()).isEqualTo(1);
+        assertThat(cosmosDbApi.queryItemById("proc1")).isNull();
+    }
+
+    @Test
+    void delete_leasedByOther_shouldThrowException() {
+        var doc = new TransferProcessDocument(createTransferProcess("proc1", TransferProcessStates.INITIAL), PARTITION_KEY);
+        doc.acquireLease("another-connector");
+        cosmosDbApi.saveItem(doc);
+
+        assertThatThrownBy(() -> store.delete("proc1")).isInstanceOf(EdcException.class).hasMessageContaining("leased by another-connector");
+        assertThat(cosmosDbApi.queryItemById("proc1")).isNotNull();
+    }
+
+    @Test
+    void delete_notExist() {
+        store.delete("not-exist");
+
+        assertThat(cosmosDbApi.getRoundTrips()).isEqualTo(1);
+    }
+
+    @Test
+    void update_takesOneRoundTripPerTransition() {
+        IntStream.range(0, 200).forEach(i -> store.create(createTransferProcess("process" + i)));
+        var processes = store.nextForState(TransferProcessStates.INITIAL.code(), 200);
+        cosmosDbApi.resetRoundTrips();
+
+        processes.forEach(process -> {
+            process.transitionProvisioning(ResourceManifest.Builder.newInstance().build());
+            store.update(process);
+        });
+
+        // no lease is acquired or released around the write, the ETag of the leased document guards it
+        assertThat(cosmosDbApi.getRoundTrips()).isEqualTo(200);
+        assertThat(processes).hasSize(200).allSatisfy(process -> assertThat(store.find(process.getId()).getState()).isEqualTo(TransferProcessStates.PROVISIONING.code()));
+    }
+
+    private CosmosTransferProcessStore createStore(String connectorId) {
+        return new CosmosTransferProcessStore(cosmosDbApi, typeManager, PARTITION_KEY, connectorId, new RetryPolicy<>().withMaxRetries(2));
+    }
+
+    private TransferProcessDocument readDocument(String id) {
+        return typeManager.getMapper().convertValue(cosmosDbApi.queryItemById(id), TransferProcessDocument.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object nextForState(InMemoryCosmosDbApi container, String partitionKey, Object... args) {
+        var state = (int) args[0];
+        var limit = (int) args[1];
+        var connectorId = (String) args[2];
+        return container.documents(partitionKey)
+                .filter(document -> ((Number) wrappedInstance(document).get("state")).intValue() == state)
+                .filter(document -> document.get("lease") == null || connectorId.equals(((Map<String, Object>) document.get("lease")).get("leasedBy")))
+                .sorted(Comparator.comparingLong((Map<String, Object> document) -> ((Number) wrappedInstance(document).get("stateTimestamp")).longValue()))
+                .limit(limit)
+                .map(document -> {
+                    document.put("lease", newLease(connectorId));
+                    return container.replaceDocument(document);
+                })
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object lease(InMemoryCosmosDbApi container, String partitionKey, Object... args) {
+        var processId = (String) args[0];
+        var connectorId = (String) args[1];
+        var shouldLease = (boolean) args[2];
+        var document = container.documents(partitionKey)
+                .filter(d -> processId.equals(wrappedInstance(d).get("id")))
+                .findFirst()
+                .orElse(null);
+        if (document == null) {
+            return "No documents found!";
+        }
+        var lease = (Map<String, Object>) document.get("lease");
+        if (lease != null && !connectorId.equals(lease.get("leasedBy"))) {
+            throw new EdcException("Document is locked by another connector");
+        }
+        // like the stored procedure, only acquiring a lease is written, clearing one happens with the next write of the document
+        if (shouldLease) {
+            document.put("lease", newLease(connectorId));
+            return container.replaceDocument(document);
+        }
+        document.put("lease", null);
+        return document;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> wrappedInstance(Map<String, Object> document) {
+        return (Map<String, Object>) document.get("wrappedInstance");
+    }
+
+    private static Map<String, Object> newLease(String connectorId) {
+        var lease = new HashMap<String, Object>();
+        lease.put("leasedBy", connectorId);
+        lease.put("leasedAt", System.currentTimeMillis());
+        lease.put("leaseDuration", 60);
+        return lease;
+    }
+}
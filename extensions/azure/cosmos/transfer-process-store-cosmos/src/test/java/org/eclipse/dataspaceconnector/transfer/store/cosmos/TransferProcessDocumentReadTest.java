@@ -0,0 +1,82 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.transfer.store.cosmos;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.DataRequest;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.TransferProcess;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.TransferProcessStates;
+import org.eclipse.dataspaceconnector.transfer.store.cosmos.model.TransferProcessDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.dataspaceconnector.transfer.store.cosmos.TestHelper.createTransferProcess;
+
+/**
+ * Verifies that reading the documents returned by CosmosDB directly into their types yields the same processes as the former approach of
+ * writing every item back to a JSON string and parsing that again.
+ */
+class TransferProcessDocumentReadTest {
+    private static final TypeReference<List<TransferProcessDocument>> DOCUMENT_LIST_TYPE = new TypeReference<>() {
+    };
+
+    private TypeManager typeManager;
+
+    @BeforeEach
+    void setUp() {
+        typeManager = new TypeManager();
+        typeManager.registerTypes(DataRequest.class);
+    }
+
+    @Test
+    void verifyNextForStateBatch() {
+        var documents = IntStream.range(0, 50)
+                .mapToObj(i -> new TransferProcessDocument(createTransferProcess("process-" + i, TransferProcessStates.INITIAL), "partition"))
+                .collect(Collectors.toList());
+        var rawJson = typeManager.writeValueAsString(documents);
+
+        List<Object> items = typeManager.readValue(rawJson, List.class);
+        List<TransferProcess> stringRoundTrip = items.stream()
+                .map(typeManager::writeValueAsString)
+                .map(json -> typeManager.readValue(json, TransferProcessDocument.class).getWrappedInstance())
+                .collect(Collectors.toList());
+        var typed = typeManager.readValue(rawJson, DOCUMENT_LIST_TYPE).stream()
+                .map(TransferProcessDocument::getWrappedInstance)
+                .collect(Collectors.toList());
+
+        assertThat(typed).hasSize(50).usingRecursiveFieldByFieldElementComparator().isEqualTo(stringRoundTrip);
+    }
+
+    @Test
+    void verifyPointRead() {
+        var document = new TransferProcessDocument(createTransferProcess("process-id", TransferProcessStates.INITIAL), "partition");
+        // what the CosmosDB client returns for Object.class and for JsonNode.class respectively
+        Map<?, ?> map = typeManager.getMapper().convertValue(document, Map.class);
+        JsonNode tree = typeManager.getMapper().valueToTree(document);
+
+        var stringRoundTrip = typeManager.readValue(typeManager.writeValueAsString(map), TransferProcessDocument.class).getWrappedInstance();
+        var typed = typeManager.readValue(tree, TransferProcessDocument.class).getWrappedInstance();
+
+        assertThat(typed).usingRecursiveComparison().isEqualTo(stringRoundTrip);
+    }
+}
@@ -46,16 +46,17 @@ function nextForState(state, limit, connectorId) {
 
         console.log("found " + items.length + " documents!")
 
-        // add lock to all items
+        // add lock to all items. The replaced documents are returned instead of the queried ones, so that their ETags are current
+        var leased = items.slice();
         for (var i = 0; i < items.length; i++) {
-            lease(items[i], connectorId)
+            lease(items[i], connectorId, leased, i)
         }
-        response.setBody(items)
+        response.setBody(leased)
     });
 
     if (!accept) throw "Unable to read document details, abort ";
 
-    function lease(document, connectorId) {
+    function lease(document, connectorId, leased, index) {
         document.lease = {
             leasedBy: connectorId,
             leasedAt: Date.now(),
@@ -64,6 +65,8 @@ function nextForState(state, limit, connectorId) {
 
         var accept = collection.replaceDocument(document._self, document, function (err, itemReplaced) {
             if (err) throw "Unable to update Document, abort ";
+            leased[index] = itemReplaced;
+            response.setBody(leased);
         })
         if (!accept) throw "Unable to update Document, abort";
         console.log("updated lease of document " + document.id)
@@ -0,0 +1,58 @@
+package org.eclipse.dataspaceconnector.catalog.cache;
+
+import org.eclipse.dataspaceconnector.catalog.spi.FederatedCacheNode;
+import org.eclipse.dataspaceconnector.catalog.spi.FederatedCacheNodeDirectory;
+import org.eclipse.dataspaceconnector.catalog.spi.NodeDirectorySnapshot;
+import org.eclipse.dataspaceconnector.catalog.spi.WorkItem;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Supplies a work item for every node in the {@link FederatedCacheNodeDirectory} except the connector itself.
+ * <p>
+ * The nodes to crawl are only selected again when the version of the directory snapshot changes. Work items collect the errors of their crawl,
+ * so new ones are created on every call.
+ */
+class DirectoryWorkItemSupplier implements Supplier<List<WorkItem>> {
+    private final FederatedCacheNodeDirectory directory;
+    private final String connectorId;
+    private volatile Selection selection;
+
+    DirectoryWorkItemSupplier(FederatedCacheNodeDirectory directory, String connectorId) {
+        this.directory = directory;
+        this.connectorId = connectorId;
+    }
+
+    @Override
+    public List<WorkItem> get() {
+        var snapshot = directory.getSnapshot();
+        var current = selection;
+        if (current == null || current.version != snapshot.getVersion()) {
+            current = new Selection(snapshot);
+            selection = current;
+        }
+        return current.nodes.stream()
+                .map(node -> new WorkItem(node.getTargetUrl(), selectProtocol(node.getSupportedProtocols())))
+                .collect(Collectors.toList());
+    }
+
+    private String selectProtocol(List<String> supportedProtocols) {
+        //just take the first matching one.
+        return supportedProtocols.isEmpty() ? null : supportedProtocols.get(0);
+    }
+
+    private class Selection {
+        private final long version;
+        private final List<FederatedCacheNode> nodes;
+
+        Selection(NodeDirectorySnapshot snapshot) {
+            version = snapshot.getVersion();
+            // use all nodes EXCEPT self
+            nodes = snapshot.getNodes().stream()
+                    .filter(node -> !node.getName().equals(connectorId))
+                    .collect(Collectors.toUnmodifiableList());
+        }
+    }
+}
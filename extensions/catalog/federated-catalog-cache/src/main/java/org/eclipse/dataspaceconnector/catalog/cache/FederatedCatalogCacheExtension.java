@@ -20,7 +20,6 @@ import org.eclipse.dataspaceconnector.catalog.spi.NodeQueryAdapterRegistry;
 import org.eclipse.dataspaceconnector.catalog.spi.PartitionConfiguration;
 import org.eclipse.dataspaceconnector.catalog.spi.PartitionManager;
 import org.eclipse.dataspaceconnector.catalog.spi.QueryEngine;
-import org.eclipse.dataspaceconnector.catalog.spi.WorkItem;
 import org.eclipse.dataspaceconnector.catalog.spi.WorkItemQueue;
 import org.eclipse.dataspaceconnector.catalog.spi.model.UpdateResponse;
 import org.eclipse.dataspaceconnector.spi.WebService;
@@ -40,8 +39,6 @@ import java.util.Random;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 
@@ -81,7 +78,7 @@ public class FederatedCatalogCacheExtension implements ServiceExtension {
         var queryEngine = new QueryEngineImpl(queryAdapterRegistry);
         context.registerService(QueryEngine.class, queryEngine);
         monitor = context.getMonitor();
-        var catalogController = new CatalogController(monitor, queryEngine);
+        var catalogController = new CatalogController(monitor, queryEngine, context.getTypeManager());
         webService.registerController(catalogController);
 
         // contribute to the liveness probe
@@ -134,22 +131,11 @@ public class FederatedCatalogCacheExtension implements ServiceExtension {
     @NotNull
     private PartitionManager createPartitionManager(ServiceExtensionContext context, ArrayBlockingQueue<UpdateResponse> updateResponseQueue, NodeQueryAdapterRegistry protocolAdapterRegistry) {
 
-        // use all nodes EXCEPT self
-        Supplier<List<WorkItem>> nodes = () -> directory.getAll().stream()
-                .filter(node -> !node.getName().equals(context.getConnectorId()))
-                .map(n -> new WorkItem(n.getTargetUrl(), selectProtocol(n.getSupportedProtocols()))).collect(Collectors.toList());
-
         return new PartitionManagerImpl(monitor,
                 new DefaultWorkItemQueue(partitionManagerConfig.getWorkItemQueueSize(10)),
                 workItems -> createCrawler(workItems, context, protocolAdapterRegistry, updateResponseQueue),
                 partitionManagerConfig.getNumCrawlers(DEFAULT_NUM_CRAWLERS),
-                nodes);
-    }
-
-
-    private String selectProtocol(List<String> supportedProtocols) {
-        //just take the first matching one.
-        return supportedProtocols.isEmpty() ? null : supportedProtocols.get(0);
+                new DirectoryWorkItemSupplier(directory, context.getConnectorId()));
     }
 
     private Crawler createCrawler(WorkItemQueue workItems, ServiceExtensionContext context, NodeQueryAdapterRegistry protocolAdapters, ArrayBlockingQueue<UpdateResponse> updateQueue) {
@@ -5,15 +5,15 @@ import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 import org.eclipse.dataspaceconnector.catalog.cache.query.QueryException;
 import org.eclipse.dataspaceconnector.catalog.cache.query.QueryNotAcceptedException;
 import org.eclipse.dataspaceconnector.catalog.spi.QueryEngine;
 import org.eclipse.dataspaceconnector.catalog.spi.QueryResponse;
 import org.eclipse.dataspaceconnector.catalog.spi.model.FederatedCatalogCacheQuery;
+import org.eclipse.dataspaceconnector.extension.jersey.JsonStreamingOutput;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
-import org.eclipse.dataspaceconnector.spi.types.domain.contract.offer.ContractOffer;
-
-import java.util.Collection;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
 
 @Consumes({ MediaType.APPLICATION_JSON })
 @Produces({ MediaType.APPLICATION_JSON })
@@ -22,15 +22,17 @@ public class CatalogController {
 
     private final Monitor monitor;
     private final QueryEngine queryEngine;
+    private final TypeManager typeManager;
 
-    public CatalogController(Monitor monitor, QueryEngine queryEngine) {
+    public CatalogController(Monitor monitor, QueryEngine queryEngine, TypeManager typeManager) {
         this.monitor = monitor;
         this.queryEngine = queryEngine;
+        this.typeManager = typeManager;
     }
 
     @POST
     @Path("catalog")
-    public Collection<ContractOffer> getCatalog(FederatedCatalogCacheQuery federatedCatalogCacheQuery) {
+    public Response getCatalog(FederatedCatalogCacheQuery federatedCatalogCacheQuery) {
         monitor.info("Received a catalog request");
         var queryResponse = queryEngine.getCatalog(federatedCatalogCacheQuery);
         // query not possible
@@ -41,6 +43,7 @@ public class CatalogController {
             throw new QueryException(queryResponse.getErrors());
         }
 
-        return queryResponse.getOffers();
+        // the catalog can be large, so the offers are written one at a time instead of being serialized as a whole
+        return Response.ok(JsonStreamingOutput.of(queryResponse.getOffers(), typeManager.getMapper())).type(MediaType.APPLICATION_JSON).build();
     }
 }
@@ -0,0 +1,62 @@
+package org.eclipse.dataspaceconnector.catalog.cache;
+
+import org.eclipse.dataspaceconnector.catalog.spi.FederatedCacheNode;
+import org.eclipse.dataspaceconnector.catalog.spi.FederatedCacheNodeDirectory;
+import org.eclipse.dataspaceconnector.catalog.spi.NodeDirectorySnapshot;
+import org.eclipse.dataspaceconnector.catalog.spi.WorkItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DirectoryWorkItemSupplierTest {
+
+    private static final String CONNECTOR_ID = "self";
+
+    private final FederatedCacheNodeDirectory directory = mock(FederatedCacheNodeDirectory.class);
+    private final DirectoryWorkItemSupplier supplier = new DirectoryWorkItemSupplier(directory, CONNECTOR_ID);
+
+    @Test
+    void get_excludesSelf() {
+        when(directory.getSnapshot()).thenReturn(new NodeDirectorySnapshot(1, List.of(node(CONNECTOR_ID), node("other"))));
+
+        assertThat(supplier.get()).extracting(WorkItem::getUrl).containsExactly("http://other");
+    }
+
+    @Test
+    void get_returnsNewWorkItemsOnEveryCall() {
+        when(directory.getSnapshot()).thenReturn(new NodeDirectorySnapshot(1, List.of(node("other"))));
+        var first = supplier.get();
+        first.get(0).error("unreachable");
+
+        var second = supplier.get();
+
+        assertThat(second).hasSize(1).doesNotContainAnyElementsOf(first);
+        assertThat(second.get(0).getErrors()).isEmpty();
+    }
+
+    @Test
+    void get_selectsNodesAgainWhenVersionChanges() {
+        var nodes = List.of(node("node1"));
+        var snapshot = mock(NodeDirectorySnapshot.class);
+        when(snapshot.getVersion()).thenReturn(1L);
+        when(snapshot.getNodes()).thenReturn(nodes);
+        when(directory.getSnapshot()).thenReturn(snapshot);
+
+        supplier.get();
+        supplier.get();
+        verify(snapshot, times(1)).getNodes();
+
+        when(directory.getSnapshot()).thenReturn(new NodeDirectorySnapshot(2, List.of(node("node1"), node("node2"))));
+        assertThat(supplier.get()).extracting(WorkItem::getUrl).containsExactly("http://node1", "http://node2");
+    }
+
+    private static FederatedCacheNode node(String name) {
+        return new FederatedCacheNode(name, "http://" + name, List.of("ids-multipart"));
+    }
+}
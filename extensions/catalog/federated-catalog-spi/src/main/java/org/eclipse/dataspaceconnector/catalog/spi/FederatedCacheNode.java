@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Object that contains information of a FederatedCacheNode. This is used by the {@link FederatedCacheNodeDirectory}.
@@ -37,4 +38,21 @@ public class FederatedCacheNode {
     public String getName() {
         return name;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FederatedCacheNode that = (FederatedCacheNode) o;
+        return Objects.equals(name, that.name) && Objects.equals(targetUrl, that.targetUrl) && Objects.equals(supportedProtocols, that.supportedProtocols);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, targetUrl, supportedProtocols);
+    }
 }
@@ -17,7 +17,19 @@ public interface FederatedCacheNodeDirectory {
     List<FederatedCacheNode> getAll();
 
     /**
-     * Inserts (="registers") a node into the directory.
+     * Inserts (="registers") a node into the directory. A node replaces the node with the same name, if there is one.
      */
     void insert(FederatedCacheNode node);
+
+    /**
+     * Returns the current set of nodes with a version, which changes whenever the set of nodes changes. Consumers that derive something from
+     * the nodes, like the work items of the crawlers, only need to do so again if the version has changed.
+     * <p>
+     * The default implementation derives the version from the content of {@link #getAll()}. Implementations that track changes should
+     * override it, so that an unchanged directory is neither read nor compared.
+     */
+    default NodeDirectorySnapshot getSnapshot() {
+        var nodes = getAll();
+        return new NodeDirectorySnapshot(nodes.hashCode(), nodes);
+    }
 }
@@ -0,0 +1,27 @@
+package org.eclipse.dataspaceconnector.catalog.spi;
+
+import java.util.List;
+
+/**
+ * An immutable state of a {@link FederatedCacheNodeDirectory}. Two snapshots of the same directory with the same version hold the same nodes.
+ */
+public class NodeDirectorySnapshot {
+    private final long version;
+    private final List<FederatedCacheNode> nodes;
+
+    public NodeDirectorySnapshot(long version, List<FederatedCacheNode> nodes) {
+        this.version = version;
+        this.nodes = List.copyOf(nodes);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * The nodes of the directory, one per name. The list is unmodifiable.
+     */
+    public List<FederatedCacheNode> getNodes() {
+        return nodes;
+    }
+}
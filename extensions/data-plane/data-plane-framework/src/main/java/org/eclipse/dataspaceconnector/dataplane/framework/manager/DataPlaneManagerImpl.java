@@ -18,6 +18,10 @@ import org.eclipse.dataspaceconnector.dataplane.spi.pipeline.DataSink;
 import org.eclipse.dataspaceconnector.dataplane.spi.pipeline.DataSource;
 import org.eclipse.dataspaceconnector.dataplane.spi.pipeline.PipelineService;
 import org.eclipse.dataspaceconnector.dataplane.spi.result.TransferResult;
+import org.eclipse.dataspaceconnector.spi.metrics.Counter;
+import org.eclipse.dataspaceconnector.spi.metrics.MetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.NoopMetricRegistry;
+import org.eclipse.dataspaceconnector.spi.metrics.Timer;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.types.domain.transfer.DataFlowRequest;
 
@@ -36,14 +40,23 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * generally do not require low-latency. If low-latency operation becomes a requirement, a concurrent queuing mechanism can be used.
  */
 public class DataPlaneManagerImpl implements DataPlaneManager {
+    static final String QUEUE_SIZE_METRIC = "edc.dataplane.queue.size";
+    static final String REJECTED_METRIC = "edc.dataplane.rejected";
+    static final String TRANSFER_DURATION_METRIC = "edc.dataplane.transfer.duration";
+
     private int queueCapacity = 10000;
     private int workers = 1;
     private long waitTimeout = 100;
 
     private PipelineService pipelineService;
     private Monitor monitor;
+    private MetricRegistry metrics = NoopMetricRegistry.INSTANCE;
+
+    private Counter rejected;
+    private Timer succeeded;
+    private Timer failed;
 
-    private BlockingQueue<DataFlowRequest> queue;
+    private volatile BlockingQueue<DataFlowRequest> queue;
     private ExecutorService executorService;
 
     private AtomicBoolean active = new AtomicBoolean();
@@ -72,7 +85,12 @@ public class DataPlaneManagerImpl implements DataPlaneManager {
     }
 
     public void initiateTransfer(DataFlowRequest dataRequest) {
-        queue.add(dataRequest);
+        try {
+            queue.add(dataRequest);
+        } catch (IllegalStateException e) {
+            rejected.increment();
+            throw e;
+        }
     }
 
     @Override
@@ -94,7 +112,10 @@ public class DataPlaneManagerImpl implements DataPlaneManager {
                     continue;
                 }
                 final var polledRequest = request;
+                var start = System.nanoTime();
                 pipelineService.transfer(request).whenComplete((result, exception) -> {
+                    var timer = exception == null && result != null && result.succeeded() ? succeeded : failed;
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
                     if (polledRequest.isTrackable()) {
                         // TODO persist result
                     }
@@ -146,7 +167,20 @@ public class DataPlaneManagerImpl implements DataPlaneManager {
             return this;
         }
 
+        public Builder metrics(MetricRegistry metrics) {
+            manager.metrics = metrics;
+            return this;
+        }
+
         public DataPlaneManagerImpl build() {
+            // the registry keeps the first gauge of a name, so it is registered once and reads the queue of the current run
+            manager.metrics.gauge(QUEUE_SIZE_METRIC, () -> {
+                var queue = manager.queue;
+                return queue == null ? 0 : queue.size();
+            });
+            manager.rejected = manager.metrics.counter(REJECTED_METRIC);
+            manager.succeeded = manager.metrics.timer(TRANSFER_DURATION_METRIC, "outcome", "success");
+            manager.failed = manager.metrics.timer(TRANSFER_DURATION_METRIC, "outcome", "failure");
             return manager;
         }
 
@@ -14,18 +14,25 @@
 package org.eclipse.dataspaceconnector.dataplane.framework.manager;
 
 import org.eclipse.dataspaceconnector.dataplane.spi.pipeline.PipelineService;
+import org.eclipse.dataspaceconnector.spi.metrics.MetricRegistry;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.result.Result;
 import org.eclipse.dataspaceconnector.spi.types.domain.DataAddress;
 import org.eclipse.dataspaceconnector.spi.types.domain.transfer.DataFlowRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.RETURNS_MOCKS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -90,6 +97,47 @@ class DataPlaneManagerImplTest {
         verify(pipelineService, times(2)).transfer(isA(DataFlowRequest.class));
     }
 
+    /**
+     * Verifies that the queue size gauge is registered once and reads the queue of the current run after a restart.
+     */
+    @Test
+    void verifyQueueSizeGaugeFollowsRestart() throws InterruptedException {
+        var metrics = mock(MetricRegistry.class, RETURNS_MOCKS);
+        var dequeued = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(pipelineService.transfer(isA(DataFlowRequest.class))).thenAnswer(i -> {
+            dequeued.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return completedFuture(Result.success("ok"));
+        });
+        var manager = DataPlaneManagerImpl.Builder.newInstance()
+                .queueCapacity(100)
+                .workers(1)
+                .waitTimeout(10)
+                .pipelineService(pipelineService)
+                .metrics(metrics)
+                .monitor(mock(Monitor.class)).build();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Supplier<Number>> queueSize = ArgumentCaptor.forClass(Supplier.class);
+        verify(metrics).gauge(eq(DataPlaneManagerImpl.QUEUE_SIZE_METRIC), queueSize.capture());
+        assertThat(queueSize.getValue().get()).isEqualTo(0);
+
+        manager.start();
+        manager.initiateTransfer(createRequest());
+        assertThat(dequeued.await(10, TimeUnit.SECONDS)).isTrue();
+        manager.initiateTransfer(createRequest());
+        manager.initiateTransfer(createRequest());
+        assertThat(queueSize.getValue().get()).isEqualTo(2);
+
+        manager.stop();
+        release.countDown();
+        manager.start();
+
+        assertThat(queueSize.getValue().get()).isEqualTo(0);
+        manager.stop();
+        verify(metrics).gauge(eq(DataPlaneManagerImpl.QUEUE_SIZE_METRIC), any());
+    }
+
     @BeforeEach
     void setUp() {
         pipelineService = mock(PipelineService.class);
@@ -18,6 +18,8 @@ import okhttp3.OkHttpClient;
 import org.eclipse.dataspaceconnector.dataplane.http.pipeline.HttpDataSinkFactory;
 import org.eclipse.dataspaceconnector.dataplane.http.pipeline.HttpDataSourceFactory;
 import org.eclipse.dataspaceconnector.dataplane.spi.pipeline.PipelineService;
+import org.eclipse.dataspaceconnector.spi.EdcSetting;
+import org.eclipse.dataspaceconnector.spi.http.HttpClientProfiles;
 import org.eclipse.dataspaceconnector.spi.system.Inject;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
@@ -29,9 +31,20 @@ import java.util.concurrent.Executors;
  */
 public class DataPlaneHttpExtension implements ServiceExtension {
 
+    /**
+     * The HTTP client profile used for transfers, so they do not compete with control plane messaging for connections. Falls back to the
+     * default client if the profile is not configured.
+     */
+    @EdcSetting
+    public static final String HTTP_CLIENT_PROFILE_SETTING = "edc.dataplane.http.client.profile";
+    public static final String DEFAULT_HTTP_CLIENT_PROFILE = "data-plane";
+
     @Inject
     private OkHttpClient httpClient;
 
+    @Inject(required = false)
+    private HttpClientProfiles httpClientProfiles;
+
     @Inject
     @SuppressWarnings("rawtypes")
     private RetryPolicy retryPolicy;
@@ -50,10 +63,15 @@ public class DataPlaneHttpExtension implements ServiceExtension {
 
         var monitor = context.getMonitor();
 
-        @SuppressWarnings("unchecked") var sourceFactory = new HttpDataSourceFactory(httpClient, retryPolicy, monitor);
+        var client = httpClient;
+        if (httpClientProfiles != null) {
+            client = httpClientProfiles.getClient(context.getSetting(HTTP_CLIENT_PROFILE_SETTING, DEFAULT_HTTP_CLIENT_PROFILE));
+        }
+
+        @SuppressWarnings("unchecked") var sourceFactory = new HttpDataSourceFactory(client, retryPolicy, monitor);
         pipelineService.registerFactory(sourceFactory);
 
-        var sinkFactory = new HttpDataSinkFactory(httpClient, executorService, 5, monitor);
+        var sinkFactory = new HttpDataSinkFactory(client, executorService, 5, monitor);
         pipelineService.registerFactory(sinkFactory);
     }
 }
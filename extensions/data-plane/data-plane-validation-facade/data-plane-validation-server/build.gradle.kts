@@ -27,6 +27,8 @@ dependencies {
 
     implementation("com.nimbusds:nimbus-jose-jwt:${nimbusVersion}")
     api("jakarta.ws.rs:jakarta.ws.rs-api:${rsApi}")
+
+    testImplementation(testFixtures(project(":common:util")))
 }
 
 
@@ -16,12 +16,16 @@ package org.eclipse.dataspaceconnector.dataplane.validation.server;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.jwk.ECKey;
 import com.nimbusds.jose.jwk.JWK;
+import org.eclipse.dataspaceconnector.dataplane.validation.server.cache.CachingTokenValidationService;
+import org.eclipse.dataspaceconnector.dataplane.validation.server.cache.ContractAgreementCache;
+import org.eclipse.dataspaceconnector.dataplane.validation.server.cache.ContractAgreementInvalidationListener;
 import org.eclipse.dataspaceconnector.dataplane.validation.server.controller.DataPlaneValidationFacadeController;
 import org.eclipse.dataspaceconnector.dataplane.validation.server.rules.ContractValidationRule;
 import org.eclipse.dataspaceconnector.dataplane.validation.server.rules.ExpirationDateValidationRule;
 import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.EdcSetting;
 import org.eclipse.dataspaceconnector.spi.WebService;
+import org.eclipse.dataspaceconnector.spi.contract.negotiation.observe.ContractNegotiationObservable;
 import org.eclipse.dataspaceconnector.spi.contract.negotiation.store.ContractNegotiationStore;
 import org.eclipse.dataspaceconnector.spi.security.Vault;
 import org.eclipse.dataspaceconnector.spi.system.Inject;
@@ -30,6 +34,7 @@ import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
 import org.eclipse.dataspaceconnector.token.validation.impl.TokenValidationServiceImpl;
 
 import java.security.PublicKey;
+import java.time.Duration;
 import java.util.Arrays;
 
 /**
@@ -40,9 +45,28 @@ public class DataPlaneValidationServerExtension implements ServiceExtension {
     @EdcSetting
     private static final String DATA_PLANE_VALIDATION_PUBLIC_KEY_ALIAS = "edc.dataplane.validation.public-key.alias";
 
+    @EdcSetting
+    private static final String TOKEN_CACHE_TTL_SETTING = "edc.dataplane.validation.cache.ttl"; // in seconds, 0 disables the cache
+    private static final long DEFAULT_TOKEN_CACHE_TTL = 10;
+
+    @EdcSetting
+    private static final String TOKEN_CACHE_SIZE_SETTING = "edc.dataplane.validation.cache.size";
+    private static final int DEFAULT_TOKEN_CACHE_SIZE = 10000;
+
+    @EdcSetting
+    private static final String AGREEMENT_CACHE_TTL_SETTING = "edc.dataplane.validation.agreement.cache.ttl"; // in seconds, 0 disables the cache
+    private static final long DEFAULT_AGREEMENT_CACHE_TTL = 60;
+
+    @EdcSetting
+    private static final String AGREEMENT_CACHE_SIZE_SETTING = "edc.dataplane.validation.agreement.cache.size";
+    private static final int DEFAULT_AGREEMENT_CACHE_SIZE = 1000;
+
     @Inject
     private ContractNegotiationStore contractNegotiationStore;
 
+    @Inject(required = false)
+    private ContractNegotiationObservable contractNegotiationObservable;
+
     @Override
     public String name() {
         return "Access Validation Service";
@@ -50,8 +74,19 @@ public class DataPlaneValidationServerExtension implements ServiceExtension {
 
     @Override
     public void initialize(ServiceExtensionContext context) {
-        var validationRules = Arrays.asList(new ContractValidationRule(contractNegotiationStore), new ExpirationDateValidationRule());
-        var tokenValidationService = new TokenValidationServiceImpl(extractPublicKey(context), validationRules);
+        var agreementCache = ContractAgreementCache.Builder.newInstance(contractNegotiationStore)
+                .ttl(Duration.ofSeconds(Math.max(0, context.getSetting(AGREEMENT_CACHE_TTL_SETTING, DEFAULT_AGREEMENT_CACHE_TTL))))
+                .maxEntries(context.getSetting(AGREEMENT_CACHE_SIZE_SETTING, DEFAULT_AGREEMENT_CACHE_SIZE))
+                .build();
+        var validationRules = Arrays.asList(new ContractValidationRule(agreementCache), new ExpirationDateValidationRule());
+        var tokenValidationService = CachingTokenValidationService.Builder.newInstance(new TokenValidationServiceImpl(extractPublicKey(context), validationRules))
+                .ttl(Duration.ofSeconds(Math.max(0, context.getSetting(TOKEN_CACHE_TTL_SETTING, DEFAULT_TOKEN_CACHE_TTL))))
+                .maxEntries(context.getSetting(TOKEN_CACHE_SIZE_SETTING, DEFAULT_TOKEN_CACHE_SIZE))
+                .build();
+        if (contractNegotiationObservable != null) {
+            contractNegotiationObservable.registerListener(new ContractAgreementInvalidationListener(agreementCache, tokenValidationService));
+        }
+
         var webService = context.getService(WebService.class);
         webService.registerController(new DataPlaneValidationFacadeController(tokenValidationService));
     }
@@ -0,0 +1,189 @@
+/*
+ *  Copyright (c) 2021 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+package org.eclipse.dataspaceconnector.dataplane.validation.server.cache;
+
+import com.nimbusds.jwt.SignedJWT;
+import org.eclipse.dataspaceconnector.spi.iam.ClaimToken;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.eclipse.dataspaceconnector.token.spi.TokenValidationService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link TokenValidationService} that caches successfully validated tokens for a short period of time.
+ * <p>
+ * An entry lives for the configured time-to-live, but never beyond the expiration time of the token itself. Concurrent validations of the same
+ * token are coalesced into a single validation. Failed validations are not cached.
+ */
+public class CachingTokenValidationService implements TokenValidationService {
+    static final String CONTRACT_ID_CLAIM = "cid";
+
+    private final TokenValidationService delegate;
+    private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Result<ClaimToken>>> inFlight = new ConcurrentHashMap<>();
+    private Duration ttl = Duration.ZERO;
+    private int maxEntries = 10000;
+    private Clock clock = Clock.systemUTC();
+
+    private CachingTokenValidationService(TokenValidationService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Result<ClaimToken> validate(@NotNull String token) {
+        if (ttl.isZero()) {
+            return delegate.validate(token);
+        }
+        var entry = cache.get(token);
+        if (entry != null && clock.instant().isBefore(entry.expiresAt)) {
+            return Result.success(entry.claimToken);
+        }
+        return load(token);
+    }
+
+    /**
+     * Removes all cached tokens issued for the given contract, e.g. because its agreement changed.
+     */
+    public void invalidateContract(String contractId) {
+        cache.values().removeIf(entry -> contractId.equals(entry.claimToken.getClaims().get(CONTRACT_ID_CLAIM)));
+    }
+
+    /**
+     * Removes all cached tokens.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    /**
+     * Validates the token through the delegate, joining an already running validation of the same token if there is one.
+     */
+    private Result<ClaimToken> load(String token) {
+        var future = new CompletableFuture<Result<ClaimToken>>();
+        var running = inFlight.putIfAbsent(token, future);
+        if (running != null) {
+            return running.join();
+        }
+        try {
+            var result = delegate.validate(token);
+            if (result.succeeded()) {
+                store(token, result.getContent());
+            }
+            future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(token, future);
+        }
+    }
+
+    private void store(String token, ClaimToken claimToken) {
+        var expiration = expiration(token);
+        if (expiration == null) {
+            return;
+        }
+        var now = clock.instant();
+        var expiresAt = now.plus(ttl);
+        if (expiration.isBefore(expiresAt)) {
+            expiresAt = expiration;
+        }
+        if (!now.isBefore(expiresAt)) {
+            return;
+        }
+        if (!cache.containsKey(token) && cache.size() >= maxEntries) {
+            evict(now);
+        }
+        cache.put(token, new CacheEntry(claimToken, expiresAt));
+    }
+
+    @Nullable
+    private static Instant expiration(String token) {
+        try {
+            var expirationTime = SignedJWT.parse(token).getJWTClaimsSet().getExpirationTime();
+            return expirationTime != null ? expirationTime.toInstant() : null;
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    private void evict(Instant now) {
+        cache.entrySet().removeIf(e -> !now.isBefore(e.getValue().expiresAt));
+        if (cache.size() >= maxEntries) {
+            cache.entrySet().stream()
+                    .min(Comparator.comparing(e -> e.getValue().expiresAt))
+                    .ifPresent(e -> cache.remove(e.getKey(), e.getValue()));
+        }
+    }
+
+    private static class CacheEntry {
+        private final ClaimToken claimToken;
+        private final Instant expiresAt;
+
+        CacheEntry(ClaimToken claimToken, Instant expiresAt) {
+            this.claimToken = claimToken;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public static class Builder {
+        private final CachingTokenValidationService service;
+
+        private Builder(TokenValidationService delegate) {
+            service = new CachingTokenValidationService(delegate);
+        }
+
+        public static Builder newInstance(TokenValidationService delegate) {
+            return new Builder(delegate);
+        }
+
+        /**
+         * The maximum time a validated token is reused before it is validated again. Zero disables caching.
+         */
+        public Builder ttl(Duration ttl) {
+            service.ttl = ttl;
+            return this;
+        }
+
+        public Builder maxEntries(int maxEntries) {
+            service.maxEntries = maxEntries;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            service.clock = clock;
+            return this;
+        }
+
+        public CachingTokenValidationService build() {
+            Objects.requireNonNull(service.delegate, "delegate");
+            return service;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *  Copyright (c) 2021 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+package org.eclipse.dataspaceconnector.dataplane.validation.server.cache;
+
+import org.eclipse.dataspaceconnector.spi.contract.negotiation.store.ContractNegotiationStore;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.agreement.ContractAgreement;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches contract agreements loaded from the {@link ContractNegotiationStore}.
+ * <p>
+ * Agreements do not change once negotiated, so an entry is only reloaded when it expires or is invalidated. Missing agreements are not cached, as
+ * the agreement may be stored shortly after the first token referencing it is presented.
+ */
+public class ContractAgreementCache {
+    private final ContractNegotiationStore store;
+    private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    private Duration ttl = Duration.ZERO;
+    private int maxEntries = 1000;
+    private Clock clock = Clock.systemUTC();
+
+    private ContractAgreementCache(ContractNegotiationStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Returns the agreement with the given id, or null if it does not exist.
+     */
+    @Nullable
+    public ContractAgreement find(String contractId) {
+        if (ttl.isZero()) {
+            return store.findContractAgreement(contractId);
+        }
+        var now = clock.instant();
+        var entry = cache.get(contractId);
+        if (entry != null && now.isBefore(entry.expiresAt)) {
+            return entry.agreement;
+        }
+
+        var agreement = store.findContractAgreement(contractId);
+        if (agreement == null) {
+            cache.remove(contractId);
+            return null;
+        }
+        if (!cache.containsKey(contractId) && cache.size() >= maxEntries) {
+            evict(now);
+        }
+        cache.put(contractId, new CacheEntry(agreement, now.plus(ttl)));
+        return agreement;
+    }
+
+    /**
+     * Removes the cached agreement, forcing the next lookup to go to the store.
+     */
+    public void invalidate(String contractId) {
+        cache.remove(contractId);
+    }
+
+    /**
+     * Removes all cached agreements.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private void evict(Instant now) {
+        cache.entrySet().removeIf(e -> !now.isBefore(e.getValue().expiresAt));
+        if (cache.size() >= maxEntries) {
+            cache.entrySet().stream()
+                    .min(Comparator.comparing(e -> e.getValue().expiresAt))
+                    .ifPresent(e -> cache.remove(e.getKey(), e.getValue()));
+        }
+    }
+
+    private static class CacheEntry {
+        private final ContractAgreement agreement;
+        private final Instant expiresAt;
+
+        CacheEntry(ContractAgreement agreement, Instant expiresAt) {
+            this.agreement = agreement;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public static class Builder {
+        private final ContractAgreementCache cache;
+
+        private Builder(ContractNegotiationStore store) {
+            cache = new ContractAgreementCache(store);
+        }
+
+        public static Builder newInstance(ContractNegotiationStore store) {
+            return new Builder(store);
+        }
+
+        /**
+         * The time an agreement is reused before it is loaded from the store again. Zero disables caching.
+         */
+        public Builder ttl(Duration ttl) {
+            cache.ttl = ttl;
+            return this;
+        }
+
+        public Builder maxEntries(int maxEntries) {
+            cache.maxEntries = maxEntries;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            cache.clock = clock;
+            return this;
+        }
+
+        public ContractAgreementCache build() {
+            Objects.requireNonNull(cache.store, "store");
+            return cache;
+        }
+    }
+}
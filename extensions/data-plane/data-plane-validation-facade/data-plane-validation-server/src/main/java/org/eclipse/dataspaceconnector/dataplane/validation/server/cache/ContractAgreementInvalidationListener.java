@@ -0,0 +1,54 @@
+/*
+ *  Copyright (c) 2021 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+package org.eclipse.dataspaceconnector.dataplane.validation.server.cache;
+
+import org.eclipse.dataspaceconnector.spi.contract.negotiation.observe.ContractNegotiationListener;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.negotiation.ContractNegotiation;
+
+/**
+ * Evicts cached agreements and tokens when the negotiation of their contract changes state.
+ */
+public class ContractAgreementInvalidationListener implements ContractNegotiationListener {
+    private final ContractAgreementCache agreementCache;
+    private final CachingTokenValidationService tokenValidationService;
+
+    public ContractAgreementInvalidationListener(ContractAgreementCache agreementCache, CachingTokenValidationService tokenValidationService) {
+        this.agreementCache = agreementCache;
+        this.tokenValidationService = tokenValidationService;
+    }
+
+    @Override
+    public void confirmed(ContractNegotiation negotiation) {
+        invalidate(negotiation);
+    }
+
+    @Override
+    public void declined(ContractNegotiation negotiation) {
+        invalidate(negotiation);
+    }
+
+    @Override
+    public void error(ContractNegotiation negotiation) {
+        invalidate(negotiation);
+    }
+
+    private void invalidate(ContractNegotiation negotiation) {
+        var agreement = negotiation.getContractAgreement();
+        if (agreement == null) {
+            return;
+        }
+        agreementCache.invalidate(agreement.getId());
+        tokenValidationService.invalidateContract(agreement.getId());
+    }
+}
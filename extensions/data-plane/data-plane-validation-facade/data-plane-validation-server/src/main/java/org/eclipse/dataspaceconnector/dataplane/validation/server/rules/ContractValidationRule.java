@@ -1,6 +1,7 @@
 package org.eclipse.dataspaceconnector.dataplane.validation.server.rules;
 
 import com.nimbusds.jwt.JWTClaimsSet;
+import org.eclipse.dataspaceconnector.dataplane.validation.server.cache.ContractAgreementCache;
 import org.eclipse.dataspaceconnector.spi.contract.negotiation.store.ContractNegotiationStore;
 import org.eclipse.dataspaceconnector.spi.result.Result;
 import org.eclipse.dataspaceconnector.spi.types.domain.contract.agreement.ContractAgreement;
@@ -12,10 +13,14 @@ import java.time.Instant;
 
 public class ContractValidationRule implements ValidationRule {
 
-    private final ContractNegotiationStore contractNegotiationStore;
+    private final ContractAgreementCache contractAgreementCache;
 
     public ContractValidationRule(ContractNegotiationStore contractNegotiationStore) {
-        this.contractNegotiationStore = contractNegotiationStore;
+        this(ContractAgreementCache.Builder.newInstance(contractNegotiationStore).build());
+    }
+
+    public ContractValidationRule(ContractAgreementCache contractAgreementCache) {
+        this.contractAgreementCache = contractAgreementCache;
     }
 
     @Override
@@ -31,7 +36,7 @@ public class ContractValidationRule implements ValidationRule {
             return Result.failure("Missing contract id claim `cid`");
         }
 
-        ContractAgreement contractAgreement = contractNegotiationStore.findContractAgreement(contractId);
+        ContractAgreement contractAgreement = contractAgreementCache.find(contractId);
         if (contractAgreement == null) {
             return Result.failure("No contract agreement found for id: " + contractId);
         }
@@ -0,0 +1,250 @@
+/*
+ *  Copyright (c) 2021 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+package org.eclipse.dataspaceconnector.dataplane.validation.server.cache;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.eclipse.dataspaceconnector.common.testfixtures.MutableClock;
+import org.eclipse.dataspaceconnector.dataplane.validation.server.rules.ContractValidationRule;
+import org.eclipse.dataspaceconnector.dataplane.validation.server.rules.ExpirationDateValidationRule;
+import org.eclipse.dataspaceconnector.policy.model.Policy;
+import org.eclipse.dataspaceconnector.spi.contract.negotiation.store.ContractNegotiationStore;
+import org.eclipse.dataspaceconnector.spi.iam.ClaimToken;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.eclipse.dataspaceconnector.spi.types.domain.asset.Asset;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.agreement.ContractAgreement;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.negotiation.ContractNegotiation;
+import org.eclipse.dataspaceconnector.token.spi.TokenValidationService;
+import org.eclipse.dataspaceconnector.token.validation.impl.TokenValidationServiceImpl;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CachingTokenValidationServiceTest {
+    private static final String CONTRACT_ID = "contract1";
+    private static RSAKey key;
+
+    private StandInValidationService delegate;
+    private MutableClock clock;
+
+    @BeforeAll
+    static void createKey() throws JOSEException {
+        key = new RSAKeyGenerator(2048).generate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        delegate = new StandInValidationService();
+        clock = new MutableClock();
+    }
+
+    @Test
+    void verifyValidatedTokenIsCached() throws JOSEException {
+        var service = createService();
+        var token = createToken(Instant.now().plusSeconds(3600));
+
+        for (var i = 0; i < 100; i++) {
+            assertThat(service.validate(token).succeeded()).isTrue();
+        }
+
+        assertThat(delegate.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void verifyTtlIsRespected() throws JOSEException {
+        var service = createService();
+        var token = createToken(Instant.now().plusSeconds(3600));
+
+        service.validate(token);
+        clock.advance(Duration.ofSeconds(11));
+        service.validate(token);
+
+        assertThat(delegate.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void verifyTokenExpiryBoundsEntry() throws JOSEException {
+        var service = createService();
+        var token = createToken(clock.instant().plusSeconds(2));
+
+        service.validate(token);
+        clock.advance(Duration.ofSeconds(3));
+        service.validate(token);
+
+        assertThat(delegate.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void verifyFailuresAreNotCached() throws JOSEException {
+        delegate.fail = true;
+        var service = createService();
+        var token = createToken(Instant.now().plusSeconds(3600));
+
+        assertThat(service.validate(token).failed()).isTrue();
+        assertThat(service.validate(token).failed()).isTrue();
+
+        assertThat(delegate.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void verifyConcurrentValidationsAreCoalesced() throws Exception {
+        delegate.gate = new CountDownLatch(1);
+        var service = createService();
+        var token = createToken(Instant.now().plusSeconds(3600));
+        var executor = Executors.newFixedThreadPool(8);
+
+        var futures = new ArrayList<Future<Result<ClaimToken>>>();
+        for (var i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> service.validate(token)));
+        }
+        // give all callers the chance to pile up behind the first validation
+        Thread.sleep(200);
+        delegate.gate.countDown();
+
+        for (var future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS).succeeded()).isTrue();
+        }
+        executor.shutdownNow();
+
+        assertThat(delegate.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void verifyNegotiationChangeInvalidatesContract() throws JOSEException {
+        var store = mock(ContractNegotiationStore.class);
+        when(store.findContractAgreement(CONTRACT_ID)).thenReturn(createAgreement());
+        var agreementCache = ContractAgreementCache.Builder.newInstance(store).ttl(Duration.ofMinutes(1)).clock(clock).build();
+        var service = createService();
+        var listener = new ContractAgreementInvalidationListener(agreementCache, service);
+        agreementCache.find(CONTRACT_ID);
+        service.validate(createToken(Instant.now().plusSeconds(3600)));
+
+        listener.declined(ContractNegotiation.Builder.newInstance()
+                .id("negotiation1")
+                .counterPartyId("consumer")
+                .counterPartyAddress("http://consumer")
+                .protocol("ids-multipart")
+                .contractAgreement(createAgreement())
+                .build());
+
+        assertThat(agreementCache.size()).isZero();
+        assertThat(service.size()).isZero();
+    }
+
+    @Test
+    void verifyConcurrentProxyRequestsReadTheAgreementOnce() throws Exception {
+        var store = mock(ContractNegotiationStore.class);
+        var storeCalls = new AtomicInteger();
+        when(store.findContractAgreement(anyString())).thenAnswer(invocation -> {
+            storeCalls.incrementAndGet();
+            return createAgreement();
+        });
+        var agreementCache = ContractAgreementCache.Builder.newInstance(store).ttl(Duration.ofMinutes(1)).build();
+        var validationService = new TokenValidationServiceImpl(key.toPublicKey(), List.of(new ContractValidationRule(agreementCache), new ExpirationDateValidationRule()));
+        var service = CachingTokenValidationService.Builder.newInstance(validationService).ttl(Duration.ofSeconds(10)).build();
+        var token = createToken(Instant.now().plusSeconds(3600));
+        var executor = Executors.newFixedThreadPool(8);
+
+        try {
+            var futures = new ArrayList<Future<Result<ClaimToken>>>();
+            for (var i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> service.validate(token)));
+            }
+            for (var future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS).succeeded()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(storeCalls.get()).isEqualTo(1);
+    }
+
+    private CachingTokenValidationService createService() {
+        return CachingTokenValidationService.Builder.newInstance(delegate)
+                .ttl(Duration.ofSeconds(10))
+                .clock(clock)
+                .build();
+    }
+
+    private static String createToken(Instant expiration) throws JOSEException {
+        var claims = new JWTClaimsSet.Builder()
+                .claim(CachingTokenValidationService.CONTRACT_ID_CLAIM, CONTRACT_ID)
+                .expirationTime(Date.from(expiration))
+                .build();
+        var jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    private static ContractAgreement createAgreement() {
+        return ContractAgreement.Builder.newInstance()
+                .id(CONTRACT_ID)
+                .providerAgentId("provider")
+                .consumerAgentId("consumer")
+                .asset(Asset.Builder.newInstance().build())
+                .policy(Policy.Builder.newInstance().build())
+                .contractStartDate(Instant.now().getEpochSecond())
+                .contractEndDate(Instant.now().plus(Duration.ofDays(1)).getEpochSecond())
+                .build();
+    }
+
+    /**
+     * Stands in for the signature and rule checks, counting the validations that reach it.
+     */
+    private static class StandInValidationService implements TokenValidationService {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean fail;
+        private volatile CountDownLatch gate;
+
+        @Override
+        public Result<ClaimToken> validate(@NotNull String token) {
+            calls.incrementAndGet();
+            if (gate != null) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (fail) {
+                return Result.failure("Token verification failed");
+            }
+            return Result.success(ClaimToken.Builder.newInstance().claim(CachingTokenValidationService.CONTRACT_ID_CLAIM, CONTRACT_ID).build());
+        }
+    }
+}
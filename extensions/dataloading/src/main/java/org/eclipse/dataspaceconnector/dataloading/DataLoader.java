@@ -62,8 +62,8 @@ public class DataLoader<T> {
      * Accepts a collection of items into the backing store if they all pass validation. If even a single item fails validation, the
      * entire collection is rejected with a {@link ValidationException}.
      * <p>
-     * Note that this does NOT implement transactional semantics in the database-sense. This means that if all items pass validation,
-     * they are inserted one by one.
+     * Note that this does NOT implement transactional semantics in the database-sense. If all items pass validation, they are handed to the
+     * {@link DataSink} at once, which may store them in bulk or one by one.
      *
      * @param items a Collection of items
      * @throws ValidationException when on or more items fail validation
@@ -82,7 +82,7 @@ public class DataLoader<T> {
             throw new ValidationException(String.join("; ", errorMessages));
         }
 
-        items.forEach(sink::accept);
+        sink.acceptAll(items);
     }
 
     private Stream<Result<T>> validate(T item) {
@@ -13,9 +13,19 @@
  */
 package org.eclipse.dataspaceconnector.dataloading;
 
+import java.util.Collection;
+
 /**
  * Backing store for ingesting items.
  */
 public interface DataSink<T> {
     void accept(T item);
+
+    /**
+     * Ingests a collection of items. Backing stores that support bulk writes should override this to store the items with as few round trips
+     * as possible, the default implementation accepts them one by one.
+     */
+    default void acceptAll(Collection<T> items) {
+        items.forEach(this::accept);
+    }
 }
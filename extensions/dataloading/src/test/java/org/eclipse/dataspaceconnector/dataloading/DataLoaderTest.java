@@ -18,13 +18,13 @@ import org.eclipse.dataspaceconnector.spi.result.Result;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -81,10 +81,22 @@ class DataLoaderTest {
 
         dataLoader.insertAll(items);
 
-        verify(sink, times(9)).accept(any(TestEntity.class));
+        verify(sink).acceptAll(items);
         verifyNoMoreInteractions(sink);
     }
 
+    @Test
+    void insertAll_sinkWithoutBulkSupport() {
+        var accepted = new ArrayList<TestEntity>();
+        DataSink<TestEntity> sink = accepted::add;
+        var loader = DataLoader.Builder.<TestEntity>newInstance().sink(sink).build();
+        var items = IntStream.range(1, 10).mapToObj(i -> new TestEntity("Test Item " + i, i)).collect(Collectors.toList());
+
+        loader.insertAll(items);
+
+        assertThat(accepted).containsExactlyElementsOf(items);
+    }
+
     @Test
     void insertAll_oneItemFails() {
         var items = IntStream.range(1, 10).mapToObj(i -> new TestEntity("Test Item " + i, i)).collect(Collectors.toList());
@@ -27,6 +27,7 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
@@ -43,8 +44,10 @@ public class FsConfigurationExtension implements ConfigurationExtension {
     @EdcSetting
     private static final String CONFIG_LOCATION = propOrEnv("edc.fs.config", "dataspaceconnector-configuration.properties");
 
-    private Config config;
+    private volatile Config config;
     private Path configFile;
+    private Monitor monitor;
+    private FileTime lastModified;
 
     /**
      * Default ctor - required for extension loading
@@ -66,13 +69,46 @@ public class FsConfigurationExtension implements ConfigurationExtension {
 
     @Override
     public void initialize(Monitor monitor) {
-        var configPath = configFile != null ? configFile : Paths.get(FsConfigurationExtension.CONFIG_LOCATION);
-        if (!Files.exists(configPath)) {
+        this.monitor = monitor;
+        if (configFile == null) {
+            configFile = Paths.get(FsConfigurationExtension.CONFIG_LOCATION);
+        }
+        if (!Files.exists(configFile)) {
             monitor.info(format("Configuration file does not exist: %s. Ignoring.", FsConfigurationExtension.CONFIG_LOCATION));
             return;
         }
+        load();
+    }
+
+    @Override
+    public Config getConfig() {
+        return config;
+    }
+
+    /**
+     * Reads the configuration file again if its modification time has changed, or if it has been created since the last read.
+     */
+    @Override
+    public synchronized boolean reload() {
+        if (configFile == null || !Files.exists(configFile)) {
+            return false;
+        }
+        try {
+            if (Files.getLastModifiedTime(configFile).equals(lastModified)) {
+                return false;
+            }
+        } catch (IOException e) {
+            monitor.warning(format("Cannot check configuration file %s for changes: %s", configFile, e.getMessage()));
+            return false;
+        }
+        load();
+        monitor.info(format("Reloaded configuration file %s", configFile));
+        return true;
+    }
 
-        try (InputStream is = Files.newInputStream(configPath)) {
+    private void load() {
+        try (InputStream is = Files.newInputStream(configFile)) {
+            lastModified = Files.getLastModifiedTime(configFile);
             var properties = new Properties();
             properties.load(is);
             config = ConfigFactory.fromProperties(properties);
@@ -80,9 +116,4 @@ public class FsConfigurationExtension implements ConfigurationExtension {
             throw new EdcException(e);
         }
     }
-
-    @Override
-    public Config getConfig() {
-        return config;
-    }
 }
@@ -19,10 +19,15 @@ import org.eclipse.dataspaceconnector.spi.system.Config;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -56,4 +61,36 @@ class FsConfigurationExtensionTest {
         assertThat(config.getString("not.there", null)).isEqualTo(null);
     }
 
+    @Test
+    void verifyReloadPicksUpChanges(@TempDir Path tempDir) throws IOException {
+        var file = tempDir.resolve("config.properties");
+        Files.writeString(file, "key=value1");
+        var extension = new FsConfigurationExtension(file);
+        extension.initialize(mock(Monitor.class));
+        var snapshot = extension.getConfig();
+
+        assertThat(extension.reload()).isFalse();
+
+        Files.writeString(file, "key=value2");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+
+        assertThat(extension.reload()).isTrue();
+        assertThat(extension.getConfig().getString("key")).isEqualTo("value2");
+        assertThat(snapshot.getString("key")).isEqualTo("value1");
+        assertThat(extension.reload()).isFalse();
+    }
+
+    @Test
+    void verifyReloadPicksUpCreatedFile(@TempDir Path tempDir) throws IOException {
+        var file = tempDir.resolve("config.properties");
+        var extension = new FsConfigurationExtension(file);
+        extension.initialize(mock(Monitor.class));
+
+        assertThat(extension.getConfig()).isNull();
+        Files.writeString(file, "key=value");
+
+        assertThat(extension.reload()).isTrue();
+        assertThat(extension.getConfig().getString("key")).isEqualTo("value");
+    }
+
 }
@@ -1,6 +1,7 @@
 package org.eclipse.dataspaceconnector.extension.jersey;
 
 import org.eclipse.dataspaceconnector.extension.jetty.JettyService;
+import org.eclipse.dataspaceconnector.spi.EdcSetting;
 import org.eclipse.dataspaceconnector.spi.WebService;
 import org.eclipse.dataspaceconnector.spi.system.Provides;
 import org.eclipse.dataspaceconnector.spi.system.Requires;
@@ -11,6 +12,9 @@ import org.eclipse.dataspaceconnector.spi.types.TypeManager;
 @Provides({WebService.class})
 @Requires({JettyService.class})
 public class JerseyExtension implements ServiceExtension {
+    @EdcSetting
+    public static final String WARMUP_SETTING = "edc.web.rest.warmup";
+
     private JerseyRestService jerseyRestService;
 
     @Override
@@ -27,7 +31,9 @@ public class JerseyExtension implements ServiceExtension {
 
         var corsConfiguration = CorsFilterConfiguration.from(context);
 
-        jerseyRestService = new JerseyRestService(jettyService, typeManager, corsConfiguration, monitor);
+        var warmUp = Boolean.parseBoolean(context.getSetting(WARMUP_SETTING, Boolean.TRUE.toString()));
+
+        jerseyRestService = new JerseyRestService(jettyService, typeManager, corsConfiguration, monitor, warmUp);
 
         context.registerService(WebService.class, jerseyRestService);
     }
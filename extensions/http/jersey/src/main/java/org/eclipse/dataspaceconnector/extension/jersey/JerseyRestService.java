@@ -41,12 +41,24 @@ public class JerseyRestService implements WebService {
 
     private final Map<String, List<Object>> controllers = new HashMap<>();
     private final CorsFilterConfiguration corsConfiguration;
+    private final boolean warmUp;
 
     public JerseyRestService(JettyService jettyService, TypeManager typeManager, CorsFilterConfiguration corsConfiguration, Monitor monitor) {
+        this(jettyService, typeManager, corsConfiguration, monitor, false);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param warmUp whether the resources and the types they read and write are initialized when Jersey starts the application of a context instead of on the
+     *         first request, see {@link JerseyWarmUp}
+     */
+    public JerseyRestService(JettyService jettyService, TypeManager typeManager, CorsFilterConfiguration corsConfiguration, Monitor monitor, boolean warmUp) {
         this.jettyService = jettyService;
         this.typeManager = typeManager;
         this.corsConfiguration = corsConfiguration;
         this.monitor = monitor;
+        this.warmUp = warmUp;
     }
 
     @Override
@@ -91,6 +103,10 @@ public class JerseyRestService implements WebService {
         }
         resourceConfig.register(MultiPartFeature.class);
 
+        if (warmUp) {
+            resourceConfig.register(new JerseyWarmUp(contextAlias, controllers, typeManager.getMapper(), monitor));
+        }
+
         var servletContainer = new ServletContainer(resourceConfig);
         jettyService.registerServlet(contextAlias, servletContainer);
 
@@ -0,0 +1,160 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.extension.jersey;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.server.model.Parameter;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.spi.Container;
+import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+
+/**
+ * Does the work Jersey and Jackson otherwise do lazily on the first request to each resource method: building the resource model, looking
+ * up message body readers and writers, and introspecting request and response types to create their (de)serializers. Both Jersey and Jackson
+ * cache the results, so requests served right after startup do not pay for them.
+ * <p>
+ * Warm-up runs when Jersey has initialized the application of a context, as the message body readers and writers are only available from
+ * then on. It has no side effects on the resources: no resource method, filter or interceptor is invoked. Failures are logged and otherwise
+ * ignored, the affected type is then simply initialized on its first use.
+ */
+class JerseyWarmUp implements ContainerLifecycleListener {
+    private final String contextAlias;
+    private final List<Object> resources;
+    private final ObjectMapper mapper;
+    private final Monitor monitor;
+
+    JerseyWarmUp(String contextAlias, List<Object> resources, ObjectMapper mapper, Monitor monitor) {
+        this.contextAlias = contextAlias;
+        this.resources = resources;
+        this.mapper = mapper;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public void onStartup(Container container) {
+        var start = System.nanoTime();
+        MessageBodyWorkers workers;
+        try {
+            workers = container.getApplicationHandler().getInjectionManager().getInstance(MessageBodyWorkers.class);
+        } catch (RuntimeException e) {
+            monitor.debug(format("Could not warm up context alias %s, the Jersey message body workers are not available: %s", contextAlias, e.getMessage()));
+            return;
+        }
+        var methods = new ArrayList<ResourceMethod>();
+        for (var resource : resources) {
+            var resourceClass = resource.getClass();
+            // filters, features and other providers are registered like resources
+            if (Resource.isAcceptable(resourceClass) && Resource.getPath(resourceClass) != null) {
+                collectMethods(Resource.from(resourceClass), methods);
+            }
+        }
+        var workerCount = methods.stream().mapToInt(method -> warmUp(method, workers)).sum();
+        monitor.debug(format("Warmed up %d resource methods and %d message body readers and writers of context alias %s in %d ms", methods.size(), workerCount,
+                contextAlias, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+    }
+
+    @Override
+    public void onReload(Container container) {
+        onStartup(container);
+    }
+
+    @Override
+    public void onShutdown(Container container) {
+    }
+
+    private void collectMethods(Resource model, List<ResourceMethod> methods) {
+        for (var method : model.getAllMethods()) {
+            if (method.getType() != ResourceMethod.JaxrsType.SUB_RESOURCE_LOCATOR) {
+                methods.add(method);
+            }
+        }
+        for (var child : model.getChildResources()) {
+            collectMethods(child, methods);
+        }
+    }
+
+    /**
+     * Warms up the types read and written by a resource method.
+     *
+     * @return the number of message body readers and writers that were found
+     */
+    private int warmUp(ResourceMethod method, MessageBodyWorkers workers) {
+        var invocable = method.getInvocable();
+        var annotations = invocable.getHandlingMethod().getAnnotations();
+        var count = 0;
+
+        var rawResponseType = invocable.getRawResponseType();
+        if (isEntityType(rawResponseType)) {
+            var responseType = invocable.getResponseType();
+            warmUp(() -> mapper.writerFor(mapper.constructType(responseType)), responseType);
+            for (var mediaType : mediaTypes(method.getProducedTypes())) {
+                count += warmUp(() -> workers.getMessageBodyWriter(rawResponseType, responseType, annotations, mediaType), responseType);
+            }
+        }
+
+        for (var parameter : invocable.getParameters()) {
+            if (parameter.getSource() != Parameter.Source.ENTITY || !isEntityType(parameter.getRawType())) {
+                continue;
+            }
+            var type = parameter.getType();
+            warmUp(() -> mapper.readerFor(mapper.constructType(type)), type);
+            var parameterAnnotations = parameter.getDeclaredAnnotations();
+            for (var mediaType : mediaTypes(method.getConsumedTypes())) {
+                count += warmUp(() -> workers.getMessageBodyReader(parameter.getRawType(), type, parameterAnnotations, mediaType), type);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Runs a lookup that caches its result.
+     *
+     * @return 1 if the lookup found something, 0 otherwise
+     */
+    private int warmUp(Supplier<?> lookup, Type type) {
+        try {
+            return lookup.get() != null ? 1 : 0;
+        } catch (RuntimeException e) {
+            monitor.debug(format("Could not warm up type %s: %s", type.getTypeName(), e.getMessage()));
+            return 0;
+        }
+    }
+
+    /**
+     * Types whose (de)serialization is decided at runtime cannot be warmed up.
+     */
+    private boolean isEntityType(Class<?> type) {
+        return type != void.class && type != Void.class && type != Object.class &&
+                !Response.class.isAssignableFrom(type) && !StreamingOutput.class.isAssignableFrom(type);
+    }
+
+    private List<MediaType> mediaTypes(List<MediaType> declared) {
+        return declared.isEmpty() ? List.of(MediaType.APPLICATION_JSON_TYPE) : declared;
+    }
+}
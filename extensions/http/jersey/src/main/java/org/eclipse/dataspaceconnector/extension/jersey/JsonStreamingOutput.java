@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.extension.jersey;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Writes a potentially large collection as a JSON array one element at a time, so the response is never materialized as a whole. Return it as
+ * the entity of a resource method producing {@code application/json}:
+ * <pre>
+ *     return Response.ok(JsonStreamingOutput.of(store.findAll(query), typeManager.getMapper())).type(MediaType.APPLICATION_JSON).build();
+ * </pre>
+ * The output is flushed after every {@link Builder#flushInterval(int)} elements, which lets the container send chunks while the rest of the
+ * collection is still being read. The source stream is closed once it has been written, also if writing fails.
+ */
+public class JsonStreamingOutput implements StreamingOutput {
+    private Stream<?> items;
+    private ObjectMapper mapper;
+    private int flushInterval = 100;
+
+    private JsonStreamingOutput() {
+    }
+
+    public static JsonStreamingOutput of(Stream<?> items, ObjectMapper mapper) {
+        return Builder.newInstance().items(items).mapper(mapper).build();
+    }
+
+    public static JsonStreamingOutput of(Iterable<?> items, ObjectMapper mapper) {
+        return of(StreamSupport.stream(items.spliterator(), false), mapper);
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        var writer = mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (var source = items; var sequence = writer.writeValuesAsArray(output)) {
+            var iterator = source.iterator();
+            var count = 0;
+            while (iterator.hasNext()) {
+                sequence.write(iterator.next());
+                if (++count % flushInterval == 0) {
+                    sequence.flush();
+                }
+            }
+        }
+    }
+
+    public static class Builder {
+        private final JsonStreamingOutput output;
+
+        private Builder() {
+            output = new JsonStreamingOutput();
+        }
+
+        public static Builder newInstance() {
+            return new Builder();
+        }
+
+        public Builder items(Stream<?> items) {
+            output.items = items;
+            return this;
+        }
+
+        public Builder mapper(ObjectMapper mapper) {
+            output.mapper = mapper;
+            return this;
+        }
+
+        /**
+         * The number of elements written between two flushes of the output.
+         */
+        public Builder flushInterval(int flushInterval) {
+            output.flushInterval = flushInterval;
+            return this;
+        }
+
+        public JsonStreamingOutput build() {
+            Objects.requireNonNull(output.items, "items");
+            Objects.requireNonNull(output.mapper, "mapper");
+            if (output.flushInterval < 1) {
+                throw new IllegalArgumentException("flushInterval must be positive");
+            }
+            return output;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.extension.jersey;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.eclipse.dataspaceconnector.extension.jetty.JettyConfiguration;
+import org.eclipse.dataspaceconnector.extension.jetty.JettyService;
+import org.eclipse.dataspaceconnector.extension.jetty.PortMapping;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class JerseyWarmUpTest {
+    private final OkHttpClient client = new OkHttpClient();
+    private Monitor monitor;
+    private JettyService jettyService;
+    private int coldPort;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        monitor = mock(Monitor.class);
+        coldPort = freePort();
+        var configuration = new JettyConfiguration(null, null);
+        configuration.portMapping(new PortMapping("warm", freePort(), "/warm"));
+        configuration.portMapping(new PortMapping("cold", coldPort, "/cold"));
+        jettyService = new JettyService(configuration, monitor);
+        jettyService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jettyService.shutdown();
+    }
+
+    @Test
+    void verifyWarmUp() {
+        var service = new JerseyRestService(jettyService, new TypeManager(), CorsFilterConfiguration.none(), monitor, true);
+        service.registerResource("warm", new WarmController());
+        service.registerResource("warm", new JerseyRestServiceTest.BarRequestFilter());
+        service.start();
+
+        // no request has been sent: a GET and a POST method, their response types and the request type of the POST
+        verify(monitor).debug(contains("Warmed up 2 resource methods and 3 message body readers and writers of context alias warm"));
+        verify(monitor, never()).debug(contains("Could not warm up"));
+    }
+
+    @Test
+    void verifyWarmUpDisabled() throws IOException {
+        var service = new JerseyRestService(jettyService, new TypeManager(), CorsFilterConfiguration.none(), monitor);
+        service.registerResource("cold", new ColdController());
+        service.start();
+
+        get("http://localhost:" + coldPort + "/cold/items");
+
+        verify(monitor, never()).debug(contains("Warmed up"));
+    }
+
+    private void get(String url) throws IOException {
+        try (var response = client.newCall(new Request.Builder().url(url).build()).execute()) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(Objects.requireNonNull(response.body()).string()).startsWith("[{\"id\":\"item-0\"");
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static List<Item> items(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new Item("item-" + i, "description of item " + i, i)).collect(Collectors.toList());
+    }
+
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Path("/items")
+    public static class WarmController {
+
+        @GET
+        public List<WarmItem> getAll() {
+            return items(100).stream().map(WarmItem::new).collect(Collectors.toList());
+        }
+
+        @POST
+        public WarmItem create(WarmItem item) {
+            return item;
+        }
+    }
+
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Path("/items")
+    public static class ColdController {
+
+        @GET
+        public List<ColdItem> getAll() {
+            return items(100).stream().map(ColdItem::new).collect(Collectors.toList());
+        }
+
+        @POST
+        public ColdItem create(ColdItem item) {
+            return item;
+        }
+    }
+
+    public static class Item {
+        private String id;
+        private String description;
+        private int count;
+
+        Item() {
+        }
+
+        Item(String id, String description, int count) {
+            this.id = id;
+            this.description = description;
+            this.count = count;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    public static class WarmItem extends Item {
+        public WarmItem() {
+        }
+
+        WarmItem(Item item) {
+            super(item.getId(), item.getDescription(), item.getCount());
+        }
+    }
+
+    public static class ColdItem extends Item {
+        public ColdItem() {
+        }
+
+        ColdItem(Item item) {
+            super(item.getId(), item.getDescription(), item.getCount());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.extension.jersey;
+
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonStreamingOutputTest {
+    private final TypeManager typeManager = new TypeManager();
+
+    @Test
+    void verifyWritesArray() throws IOException {
+        var items = IntStream.range(0, 250).mapToObj(i -> Map.of("id", "item-" + i)).collect(Collectors.toList());
+        var output = new ByteArrayOutputStream();
+
+        JsonStreamingOutput.of(items, typeManager.getMapper()).write(output);
+
+        assertThat(output.toString()).isEqualTo(typeManager.writeValueAsString(items));
+    }
+
+    @Test
+    void verifyEmpty() throws IOException {
+        var output = new ByteArrayOutputStream();
+
+        JsonStreamingOutput.of(Stream.empty(), typeManager.getMapper()).write(output);
+
+        assertThat(output.toString()).isEqualTo("[]");
+    }
+
+    @Test
+    void verifyFlushesIncrementallyAndLeavesOutputOpen() throws IOException {
+        var flushes = new AtomicInteger();
+        var closed = new AtomicBoolean();
+        var output = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        JsonStreamingOutput.Builder.newInstance()
+                .items(IntStream.range(0, 1000).boxed())
+                .mapper(typeManager.getMapper())
+                .flushInterval(100)
+                .build()
+                .write(output);
+
+        // one flush per 100 elements plus the final one
+        assertThat(flushes.get()).isGreaterThanOrEqualTo(10);
+        assertThat(closed).isFalse();
+        assertThat(typeManager.readValue(output.toByteArray(), List.class)).hasSize(1000);
+    }
+
+    @Test
+    void verifySourceIsClosed() throws IOException {
+        var closed = new AtomicBoolean();
+        var items = Stream.of("a", "b").onClose(() -> closed.set(true));
+
+        JsonStreamingOutput.of(items, typeManager.getMapper()).write(new ByteArrayOutputStream());
+
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void verifyInvalidFlushInterval() {
+        assertThatThrownBy(() -> JsonStreamingOutput.Builder.newInstance().items(Stream.empty()).mapper(typeManager.getMapper()).flushInterval(0).build())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
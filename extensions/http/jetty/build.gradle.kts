@@ -21,6 +21,8 @@ val jerseyVersion: String by project
 
 dependencies {
     implementation("org.eclipse.jetty.websocket:websocket-jakarta-server:${jettyVersion}")
+    implementation("org.eclipse.jetty.http2:http2-server:${jettyVersion}")
+    implementation("org.eclipse.jetty:jetty-alpn-java-server:${jettyVersion}")
 
     api(project(":spi:core-spi"))
 
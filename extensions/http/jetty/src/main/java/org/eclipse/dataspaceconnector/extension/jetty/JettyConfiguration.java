@@ -21,7 +21,9 @@ import java.util.AbstractMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 public class JettyConfiguration {
@@ -32,6 +34,23 @@ public class JettyConfiguration {
     public static final int DEFAULT_PORT = 8181;
     @EdcSetting
     private static final String HTTP_PORT = "web.http.port";
+
+    // performance profile settings, relative to a port mapping, e.g. web.http.<alias>.max-threads
+    static final String MIN_THREADS = "min-threads";
+    static final String MAX_THREADS = "max-threads";
+    static final String THREAD_IDLE_TIMEOUT = "thread-idle-timeout";
+    static final String MAX_QUEUED_JOBS = "max-queued-jobs";
+    static final String VIRTUAL_THREADS = "virtual-threads";
+    static final String ACCEPTORS = "acceptors";
+    static final String SELECTORS = "selectors";
+    static final String IDLE_TIMEOUT = "idle-timeout";
+    static final String ACCEPT_QUEUE_SIZE = "accept-queue-size";
+    static final String OUTPUT_BUFFER_SIZE = "output-buffer-size";
+    static final String REQUEST_HEADER_SIZE = "request-header-size";
+    static final String HTTP2 = "http2";
+    static final String GZIP = "gzip";
+    static final String MAX_CONCURRENT_REQUESTS = "max-concurrent-requests";
+
     private final String keystorePassword;
     private final String keymanagerPassword;
     private final Set<PortMapping> portMappings;
@@ -53,7 +72,7 @@ public class JettyConfiguration {
                 .forEach(e -> split(tempMappings, e));
 
         var portMappings = tempMappings.entrySet().stream()
-                .map(e -> new PortMapping(e.getKey(), Integer.parseInt(e.getValue().getOrDefault("port", "" + DEFAULT_PORT)), e.getValue().getOrDefault("path", DEFAULT_PATH)))
+                .map(e -> new PortMapping(e.getKey(), Integer.parseInt(e.getValue().getOrDefault("port", "" + DEFAULT_PORT)), e.getValue().getOrDefault("path", DEFAULT_PATH), profile(e.getValue())))
                 .collect(Collectors.toSet());
 
         jettyConfig.portMappings.addAll(portMappings);
@@ -66,6 +85,32 @@ public class JettyConfiguration {
         return jettyConfig;
     }
 
+    private static PerformanceProfile profile(Map<String, String> settings) {
+        var builder = PerformanceProfile.Builder.newInstance();
+        intSetting(settings, MIN_THREADS, builder::minThreads);
+        intSetting(settings, MAX_THREADS, builder::maxThreads);
+        intSetting(settings, THREAD_IDLE_TIMEOUT, builder::threadIdleTimeout);
+        intSetting(settings, MAX_QUEUED_JOBS, builder::maxQueuedJobs);
+        intSetting(settings, ACCEPTORS, builder::acceptors);
+        intSetting(settings, SELECTORS, builder::selectors);
+        intSetting(settings, IDLE_TIMEOUT, builder::idleTimeout);
+        intSetting(settings, ACCEPT_QUEUE_SIZE, builder::acceptQueueSize);
+        intSetting(settings, OUTPUT_BUFFER_SIZE, builder::outputBufferSize);
+        intSetting(settings, REQUEST_HEADER_SIZE, builder::requestHeaderSize);
+        intSetting(settings, MAX_CONCURRENT_REQUESTS, builder::maxConcurrentRequests);
+        Optional.ofNullable(settings.get(VIRTUAL_THREADS)).map(Boolean::parseBoolean).ifPresent(builder::virtualThreads);
+        Optional.ofNullable(settings.get(HTTP2)).map(Boolean::parseBoolean).ifPresent(builder::http2);
+        Optional.ofNullable(settings.get(GZIP)).map(Boolean::parseBoolean).ifPresent(builder::gzip);
+        return builder.build();
+    }
+
+    private static void intSetting(Map<String, String> settings, String key, IntConsumer setter) {
+        var value = settings.get(key);
+        if (value != null) {
+            setter.accept(Integer.parseInt(value.trim()));
+        }
+    }
+
     /**
      * converts a map entry, that looks like "something.port" -> 1234, into a map entry, that looks like
      * "something" -> ("port" -> "1234") and adds it to an existing map
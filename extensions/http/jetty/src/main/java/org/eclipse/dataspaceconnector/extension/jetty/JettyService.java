@@ -17,23 +17,38 @@ package org.eclipse.dataspaceconnector.extension.jetty;
 import jakarta.servlet.Servlet;
 import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.server.ConnectionFactory;
 import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.server.handler.ContextHandlerCollection;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
 import org.eclipse.jetty.servlet.Source;
+import org.eclipse.jetty.util.BlockingArrayQueue;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.jetbrains.annotations.NotNull;
 
 import java.security.KeyStore;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 import static org.eclipse.jetty.servlet.ServletContextHandler.NO_SESSIONS;
@@ -49,6 +64,8 @@ public class JettyService {
     private final Monitor monitor;
     private final KeyStore keyStore;
     private final Map<String, ServletContextHandler> handlers = new HashMap<>();
+    private final Map<String, Semaphore> requestLimits = new ConcurrentHashMap<>();
+    private final List<ExecutorService> virtualThreadExecutors = new ArrayList<>();
     private Server server;
 
     public JettyService(JettyConfiguration configuration, Monitor monitor) {
@@ -75,20 +92,32 @@ public class JettyService {
                     throw new IllegalArgumentException("A binding for port " + mapping.getPort() + " already exists");
                 }
                 if (keyStore != null) {
-                    connector = httpsServerConnector(mapping.getPort());
+                    connector = httpsServerConnector(mapping);
                     monitor.info("HTTPS context '" + mapping.getName() + "' listening on port " + mapping.getPort());
                 } else {
-                    connector = httpServerConnector(mapping.getPort());
+                    connector = httpServerConnector(mapping);
                     monitor.info("HTTP context '" + mapping.getName() + "' listening on port " + mapping.getPort());
                 }
                 connector.setName(mapping.getName());
                 server.addConnector(connector);
 
+                var maxConcurrentRequests = mapping.getProfile().getMaxConcurrentRequests();
+                if (maxConcurrentRequests > 0) {
+                    requestLimits.put(mapping.getName(), new Semaphore(maxConcurrentRequests));
+                }
+
                 ServletContextHandler handler = createHandler(mapping);
                 handlers.put(mapping.getPath(), handler);
             });
             server.setErrorHandler(new JettyErrorHandler());
-            server.setHandler(new ContextHandlerCollection(handlers.values().toArray(ServletContextHandler[]::new)));
+            var contexts = new ContextHandlerCollection(handlers.values().toArray(ServletContextHandler[]::new));
+            if (requestLimits.isEmpty()) {
+                server.setHandler(contexts);
+            } else {
+                var sheddingHandler = new LoadSheddingHandler(requestLimits);
+                sheddingHandler.setHandler(contexts);
+                server.setHandler(sheddingHandler);
+            }
             server.start();
             monitor.debug("Port mappings: " + configuration.getPortMappings().stream().map(PortMapping::toString).collect(Collectors.joining(", ")));
         } catch (Exception e) {
@@ -103,6 +132,7 @@ public class JettyService {
                 server.stop();
                 server.join(); //wait for all threads to wind down
             }
+            virtualThreadExecutors.forEach(ExecutorService::shutdownNow);
         } catch (Exception e) {
             throw new EdcException("Error shutting down Jetty service", e);
         }
@@ -112,6 +142,7 @@ public class JettyService {
         ServletHolder servletHolder = new ServletHolder(Source.EMBEDDED);
         servletHolder.setName("EDC-" + contextName); //must be unique
         servletHolder.setServlet(servlet);
+        // load on startup: the servlet is initialized when the server starts, or right away if it is running already, not on the first request
         servletHolder.setInitOrder(1);
 
         var actualPath = configuration.getPortMappings().stream()
@@ -136,11 +167,14 @@ public class JettyService {
     private ServletContextHandler createHandler(PortMapping mapping) {
         var handler = new ServletContextHandler(null, mapping.getPath(), NO_SESSIONS);
         handler.setVirtualHosts(new String[]{ "@" + mapping.getName() });
+        if (mapping.getProfile().isGzip()) {
+            handler.insertHandler(new GzipHandler());
+        }
         return handler;
     }
 
     @NotNull
-    private ServerConnector httpsServerConnector(int port) {
+    private ServerConnector httpsServerConnector(PortMapping mapping) {
         var storePassword = configuration.getKeystorePassword();
         var managerPassword = configuration.getKeymanagerPassword();
 
@@ -149,23 +183,84 @@ public class JettyService {
         contextFactory.setKeyStorePassword(storePassword);
         contextFactory.setKeyManagerPassword(managerPassword);
 
-        var sslConnectionFactory = new SslConnectionFactory(contextFactory, "http/1.1");
-        var sslConnector = new ServerConnector(server, httpConnectionFactory(), sslConnectionFactory);
-        sslConnector.setPort(port);
-        return sslConnector;
+        var profile = mapping.getProfile();
+        var httpConfiguration = httpConfiguration(profile);
+        ConnectionFactory[] factories;
+        if (profile.isHttp2()) {
+            // h2 is negotiated through ALPN, clients without ALPN support fall back to HTTP/1.1
+            contextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+            contextFactory.setUseCipherSuitesOrder(true);
+            var http1 = new HttpConnectionFactory(httpConfiguration);
+            var http2 = new HTTP2ServerConnectionFactory(httpConfiguration);
+            var alpn = new ALPNServerConnectionFactory(http2.getProtocol(), http1.getProtocol());
+            alpn.setDefaultProtocol(http1.getProtocol());
+            factories = new ConnectionFactory[]{ new SslConnectionFactory(contextFactory, alpn.getProtocol()), alpn, http2, http1 };
+        } else {
+            factories = new ConnectionFactory[]{ new SslConnectionFactory(contextFactory, "http/1.1"), new HttpConnectionFactory(httpConfiguration) };
+        }
+        return serverConnector(mapping, factories);
+    }
+
+    @NotNull
+    private ServerConnector httpServerConnector(PortMapping mapping) {
+        var profile = mapping.getProfile();
+        var httpConfiguration = httpConfiguration(profile);
+        if (profile.isHttp2()) {
+            // h2c, either through prior knowledge or by upgrading an HTTP/1.1 connection
+            return serverConnector(mapping, new HttpConnectionFactory(httpConfiguration), new HTTP2CServerConnectionFactory(httpConfiguration));
+        }
+        return serverConnector(mapping, new HttpConnectionFactory(httpConfiguration));
     }
 
     @NotNull
-    private ServerConnector httpServerConnector(int port) {
-        ServerConnector connector = new ServerConnector(server, httpConnectionFactory());
-        connector.setPort(port);
+    private ServerConnector serverConnector(PortMapping mapping, ConnectionFactory... factories) {
+        var profile = mapping.getProfile();
+        var connector = new ServerConnector(server, executor(mapping), null, null, profile.getAcceptors(), profile.getSelectors(), factories);
+        connector.setPort(mapping.getPort());
+        connector.setIdleTimeout(profile.getIdleTimeout());
+        connector.setAcceptQueueSize(profile.getAcceptQueueSize());
         return connector;
     }
 
     @NotNull
-    private HttpConnectionFactory httpConnectionFactory() {
-        HttpConfiguration https = new HttpConfiguration();
-        return new HttpConnectionFactory(https);
+    private HttpConfiguration httpConfiguration(PerformanceProfile profile) {
+        HttpConfiguration configuration = new HttpConfiguration();
+        configuration.setOutputBufferSize(profile.getOutputBufferSize());
+        configuration.setRequestHeaderSize(profile.getRequestHeaderSize());
+        return configuration;
+    }
+
+    /**
+     * Returns the executor dedicated to the port mapping, or null if it shares the server thread pool.
+     */
+    private Executor executor(PortMapping mapping) {
+        var profile = mapping.getProfile();
+        if (profile.isVirtualThreads()) {
+            var executor = virtualThreadExecutor();
+            if (executor != null) {
+                virtualThreadExecutors.add(executor);
+                return executor;
+            }
+            monitor.warning("Virtual threads are not supported by this JVM, context '" + mapping.getName() + "' uses a thread pool");
+        }
+        if (profile.getMaxThreads() <= 0) {
+            return null;
+        }
+        var queue = profile.getMaxQueuedJobs() > 0 ? new BlockingArrayQueue<Runnable>(profile.getMaxQueuedJobs()) : null;
+        var threadPool = new QueuedThreadPool(profile.getMaxThreads(), profile.getMinThreads(), profile.getThreadIdleTimeout(), queue);
+        threadPool.setName("jetty-" + mapping.getName());
+        return threadPool;
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor through reflection, as the runtime may run on a JVM that does not support virtual threads.
+     */
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
     }
 
     private ServletContextHandler getOrCreate(String contextPath) {
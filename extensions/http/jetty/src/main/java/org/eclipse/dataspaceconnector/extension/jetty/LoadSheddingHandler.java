@@ -0,0 +1,111 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.extension.jetty;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits the number of requests processed concurrently per connector. Requests beyond the limit of their connector are rejected right away with a
+ * 503 instead of queueing up behind the ones in progress, so an overloaded port sheds load instead of running out of threads and memory.
+ * <p>
+ * A request holds its permit until it completes: for an asynchronous (suspended) request that is when its async context completes, not when
+ * the handler returns.
+ */
+class LoadSheddingHandler extends HandlerWrapper {
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    private final Map<String, Semaphore> limits;
+
+    /**
+     * Ctor.
+     *
+     * @param limits the permits per connector name. Connectors without an entry are not limited.
+     */
+    LoadSheddingHandler(Map<String, Semaphore> limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        var connector = baseRequest.getHttpChannel().getConnector();
+        var limit = connector != null ? limits.get(connector.getName()) : null;
+        if (limit == null || baseRequest.getDispatcherType() == DispatcherType.ASYNC) {
+            // an async dispatch still holds the permit of its request
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+        if (!limit.tryAcquire()) {
+            baseRequest.setHandled(true);
+            response.setHeader("Retry-After", RETRY_AFTER_SECONDS);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        var async = false;
+        try {
+            super.handle(target, baseRequest, request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(limit));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                limit.release();
+            }
+        }
+    }
+
+    /**
+     * Releases the permit of an asynchronous request once it has completed, whether normally, after an error or after a timeout.
+     */
+    private static class ReleasingListener implements AsyncListener {
+        private final Semaphore limit;
+
+        ReleasingListener(Semaphore limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // followed by onComplete
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // followed by onComplete
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // the listener is carried over to the new async cycle
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.extension.jetty;
+
+/**
+ * Connection and threading settings of a single {@link PortMapping}. The defaults correspond to Jetty's own defaults, so a port mapping without
+ * explicit settings behaves like a plain Jetty connector that shares the server thread pool.
+ *
+ * @see JettyConfiguration
+ * @see JettyService
+ */
+public class PerformanceProfile {
+    static final int DEFAULT_MIN_THREADS = 8;
+
+    private int minThreads = DEFAULT_MIN_THREADS;
+    private int maxThreads;
+    private int threadIdleTimeout = 60_000;
+    private int maxQueuedJobs = -1;
+    private boolean virtualThreads;
+    private int acceptors = -1;
+    private int selectors = -1;
+    private long idleTimeout = 30_000;
+    private int acceptQueueSize;
+    private int outputBufferSize = 32 * 1024;
+    private int requestHeaderSize = 8 * 1024;
+    private boolean http2;
+    private boolean gzip;
+    private int maxConcurrentRequests;
+
+    private PerformanceProfile() {
+    }
+
+    public static PerformanceProfile defaultProfile() {
+        return Builder.newInstance().build();
+    }
+
+    /**
+     * The minimum number of threads of the dedicated thread pool. Defaults to 8, or to the maximum if that is lower.
+     */
+    public int getMinThreads() {
+        return minThreads;
+    }
+
+    /**
+     * The maximum number of threads of the dedicated thread pool of the port mapping. Zero means the port mapping shares the server thread pool.
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public int getThreadIdleTimeout() {
+        return threadIdleTimeout;
+    }
+
+    /**
+     * The maximum number of jobs waiting for a thread of the dedicated thread pool, or -1 for an unbounded queue.
+     */
+    public int getMaxQueuedJobs() {
+        return maxQueuedJobs;
+    }
+
+    /**
+     * Whether requests should run on virtual threads if the JVM supports them.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public int getAcceptors() {
+        return acceptors;
+    }
+
+    public int getSelectors() {
+        return selectors;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * The size of the accept backlog of the server socket. Zero uses the OS default.
+     */
+    public int getAcceptQueueSize() {
+        return acceptQueueSize;
+    }
+
+    public int getOutputBufferSize() {
+        return outputBufferSize;
+    }
+
+    public int getRequestHeaderSize() {
+        return requestHeaderSize;
+    }
+
+    /**
+     * Whether HTTP/2 is offered next to HTTP/1.1: h2c on plain connectors, h2 negotiated through ALPN on TLS connectors.
+     */
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    /**
+     * The maximum number of requests processed concurrently on the port mapping. Requests beyond that are shed with a 503. Zero means no limit.
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "maxThreads=" + maxThreads +
+                ", virtualThreads=" + virtualThreads +
+                ", http2=" + http2 +
+                ", gzip=" + gzip +
+                ", maxConcurrentRequests=" + maxConcurrentRequests +
+                '}';
+    }
+
+    public static class Builder {
+        private final PerformanceProfile profile;
+        private boolean minThreadsSet;
+
+        private Builder() {
+            profile = new PerformanceProfile();
+        }
+
+        public static Builder newInstance() {
+            return new Builder();
+        }
+
+        public Builder minThreads(int minThreads) {
+            profile.minThreads = minThreads;
+            minThreadsSet = true;
+            return this;
+        }
+
+        public Builder maxThreads(int maxThreads) {
+            profile.maxThreads = maxThreads;
+            return this;
+        }
+
+        public Builder threadIdleTimeout(int threadIdleTimeout) {
+            profile.threadIdleTimeout = threadIdleTimeout;
+            return this;
+        }
+
+        public Builder maxQueuedJobs(int maxQueuedJobs) {
+            profile.maxQueuedJobs = maxQueuedJobs;
+            return this;
+        }
+
+        public Builder virtualThreads(boolean virtualThreads) {
+            profile.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        public Builder acceptors(int acceptors) {
+            profile.acceptors = acceptors;
+            return this;
+        }
+
+        public Builder selectors(int selectors) {
+            profile.selectors = selectors;
+            return this;
+        }
+
+        public Builder idleTimeout(long idleTimeout) {
+            profile.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        public Builder acceptQueueSize(int acceptQueueSize) {
+            profile.acceptQueueSize = acceptQueueSize;
+            return this;
+        }
+
+        public Builder outputBufferSize(int outputBufferSize) {
+            profile.outputBufferSize = outputBufferSize;
+            return this;
+        }
+
+        public Builder requestHeaderSize(int requestHeaderSize) {
+            profile.requestHeaderSize = requestHeaderSize;
+            return this;
+        }
+
+        public Builder http2(boolean http2) {
+            profile.http2 = http2;
+            return this;
+        }
+
+        public Builder gzip(boolean gzip) {
+            profile.gzip = gzip;
+            return this;
+        }
+
+        public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            profile.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        public PerformanceProfile build() {
+            if (profile.maxThreads > 0 && profile.minThreads > profile.maxThreads) {
+                if (minThreadsSet) {
+                    throw new IllegalArgumentException("min-threads must not be greater than max-threads");
+                }
+                profile.minThreads = profile.maxThreads;
+            }
+            return profile;
+        }
+    }
+}
@@ -15,7 +15,7 @@
 package org.eclipse.dataspaceconnector.extension.jetty;
 
 /**
- * POJO that contains portmappings for Jetty, consisting of a context alias, a port and a path.
+ * POJO that contains portmappings for Jetty, consisting of a context alias, a port, a path and the {@link PerformanceProfile} of the connector.
  *
  * @see JettyConfiguration
  * @see JettyService
@@ -24,15 +24,21 @@ public class PortMapping {
     private final String alias;
     private final int port;
     private final String path;
+    private final PerformanceProfile profile;
 
     public PortMapping() {
         this(JettyConfiguration.DEFAULT_CONTEXT_NAME, JettyConfiguration.DEFAULT_PORT, JettyConfiguration.DEFAULT_PATH);
     }
 
     public PortMapping(String name, int port, String path) {
+        this(name, port, path, PerformanceProfile.defaultProfile());
+    }
+
+    public PortMapping(String name, int port, String path, PerformanceProfile profile) {
         alias = name;
         this.port = port;
         this.path = path;
+        this.profile = profile;
     }
 
     public String getName() {
@@ -47,12 +53,17 @@ public class PortMapping {
         return path;
     }
 
+    public PerformanceProfile getProfile() {
+        return profile;
+    }
+
     @Override
     public String toString() {
         return "{" +
                 "alias='" + alias + '\'' +
                 ", port=" + port +
                 ", path='" + path + '\'' +
+                ", profile=" + profile +
                 '}';
     }
 }
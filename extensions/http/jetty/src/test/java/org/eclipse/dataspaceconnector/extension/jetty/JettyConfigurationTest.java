@@ -132,4 +132,56 @@ class JettyConfigurationTest {
         assertThat(result.getPortMappings()).hasSize(2).allMatch(pm -> pm.getPort() == 8888);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void createFromConfig_performanceProfile() {
+        var result = JettyConfiguration.createFromConfig(null, null, ConfigFactory.fromMap(Map.of(
+                "web.http.port", "8888",
+                "web.http.max-threads", "64",
+                "web.http.min-threads", "16",
+                "web.http.http2", "true",
+                "web.http.another.port", "1234",
+                "web.http.another.path", "/another",
+                "web.http.another.gzip", "true",
+                "web.http.another.max-concurrent-requests", "4",
+                "web.http.another.accept-queue-size", "128"
+        )));
+
+        assertThat(result.getPortMappings()).hasSize(2).anySatisfy(pm -> {
+            assertThat(pm.getName()).isEqualTo("default");
+            assertThat(pm.getProfile().getMaxThreads()).isEqualTo(64);
+            assertThat(pm.getProfile().getMinThreads()).isEqualTo(16);
+            assertThat(pm.getProfile().isHttp2()).isTrue();
+            assertThat(pm.getProfile().isGzip()).isFalse();
+        }).anySatisfy(pm -> {
+            assertThat(pm.getName()).isEqualTo("another");
+            assertThat(pm.getProfile().getMaxThreads()).isZero();
+            assertThat(pm.getProfile().isGzip()).isTrue();
+            assertThat(pm.getProfile().getMaxConcurrentRequests()).isEqualTo(4);
+            assertThat(pm.getProfile().getAcceptQueueSize()).isEqualTo(128);
+        });
+    }
+
+    @Test
+    void createFromConfig_maxThreadsBelowDefaultMinThreads() {
+        var result = JettyConfiguration.createFromConfig(null, null, ConfigFactory.fromMap(Map.of(
+                "web.http.port", "8888",
+                "web.http.max-threads", "4"
+        )));
+
+        assertThat(result.getPortMappings()).singleElement().satisfies(pm -> {
+            assertThat(pm.getProfile().getMaxThreads()).isEqualTo(4);
+            assertThat(pm.getProfile().getMinThreads()).isEqualTo(4);
+        });
+    }
+
+    @Test
+    void createFromConfig_invalidThreadBounds_shouldThrowException() {
+        ThrowableAssert.ThrowingCallable invalidConfig = () -> JettyConfiguration.createFromConfig(null, null, ConfigFactory.fromMap(Map.of(
+                "web.http.max-threads", "4",
+                "web.http.min-threads", "8"
+        )));
+
+        assertThatThrownBy(invalidConfig).isInstanceOf(IllegalArgumentException.class);
+    }
+}
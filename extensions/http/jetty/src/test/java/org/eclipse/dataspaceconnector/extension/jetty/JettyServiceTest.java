@@ -14,11 +14,16 @@
 
 package org.eclipse.dataspaceconnector.extension.jetty;
 
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
+import okhttp3.ConnectionPool;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.Response;
 import org.eclipse.dataspaceconnector.core.config.ConfigFactory;
@@ -36,7 +41,12 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -136,6 +146,76 @@ class JettyServiceTest {
                 .hasRootCauseMessage("A binding for port 7171 already exists");
     }
 
+    @Test
+    void verifyHttp2Cleartext() throws IOException {
+        var config = ConfigFactory.fromMap(Map.of(
+                "web.http.port", "7272",
+                "web.http.http2", "true"));
+        jettyService = new JettyService(JettyConfiguration.createFromConfig(null, null, config), monitor);
+
+        jettyService.start();
+        jettyService.registerServlet("default", new ServletContainer(createTestResource()));
+
+        var client = new OkHttpClient.Builder().protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE)).build();
+        try (var response = client.newCall(new Request.Builder().url("http://localhost:7272/api/test/resource").build()).execute()) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.protocol()).isEqualTo(Protocol.H2_PRIOR_KNOWLEDGE);
+        }
+    }
+
+    @Test
+    void verifyGzip() throws IOException {
+        var config = ConfigFactory.fromMap(Map.of(
+                "web.http.port", "7272",
+                "web.http.gzip", "true"));
+        jettyService = new JettyService(JettyConfiguration.createFromConfig(null, null, config), monitor);
+
+        jettyService.start();
+        jettyService.registerServlet("default", new LoadTestServlet(0));
+
+        // setting the header explicitly disables transparent decompression, so the encoding is visible
+        var request = new Request.Builder().url("http://localhost:7272/api/load").header("Accept-Encoding", "gzip").build();
+        try (var response = new OkHttpClient().newCall(request).execute()) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.header("Content-Encoding")).isEqualTo("gzip");
+        }
+    }
+
+    @Test
+    void verifyExcessRequestsAreShed() throws Exception {
+        var config = ConfigFactory.fromMap(Map.of(
+                "web.http.port", "7272",
+                "web.http.max-threads", "32",
+                "web.http.max-concurrent-requests", "4"));
+        jettyService = new JettyService(JettyConfiguration.createFromConfig(null, null, config), monitor);
+
+        jettyService.start();
+        jettyService.registerServlet("default", new LoadTestServlet(200));
+
+        var codes = load("http://localhost:7272/api/load", 32, 32);
+
+        assertThat(codes).allMatch(code -> code == 200 || code == 503);
+        assertThat(codes).contains(200, 503);
+    }
+
+    @Test
+    void verifyDedicatedThreadPool() throws Exception {
+        var config = ConfigFactory.fromMap(Map.of(
+                "web.http.port", "7272",
+                "web.http.min-threads", "16",
+                "web.http.max-threads", "64",
+                "web.http.max-queued-jobs", "1024",
+                "web.http.accept-queue-size", "256"));
+        jettyService = new JettyService(JettyConfiguration.createFromConfig(null, null, config), monitor);
+
+        jettyService.start();
+        jettyService.registerServlet("default", new LoadTestServlet(1));
+
+        var codes = load("http://localhost:7272/api/load", 200, 16);
+
+        assertThat(codes).hasSize(200).allMatch(code -> code == 200);
+    }
+
     @AfterEach
     void teardown() {
         jettyService.shutdown();
@@ -161,6 +241,56 @@ class JettyServiceTest {
         }
     }
 
+    /**
+     * Issues the requests from the given number of concurrent clients and returns the response codes.
+     */
+    private List<Integer> load(String url, int requests, int concurrency) throws Exception {
+        var client = new OkHttpClient.Builder().connectionPool(new ConnectionPool(concurrency, 1, TimeUnit.MINUTES)).build();
+        var executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            var futures = new ArrayList<Future<Integer>>();
+            for (var i = 0; i < requests; i++) {
+                futures.add(executor.submit(() -> {
+                    try (var response = client.newCall(new Request.Builder().url(url).build()).execute()) {
+                        return response.code();
+                    }
+                }));
+            }
+            var codes = new ArrayList<Integer>();
+            for (var future : futures) {
+                codes.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return codes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns a compressible payload after simulating some processing time.
+     */
+    private static class LoadTestServlet extends HttpServlet {
+        private static final String PAYLOAD = "{\"asset\":\"test\"}".repeat(100);
+        private final long latencyMillis;
+
+        LoadTestServlet(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            if (latencyMillis > 0) {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            resp.setContentType(MediaType.APPLICATION_JSON);
+            resp.getWriter().write(PAYLOAD);
+        }
+    }
+
     @Produces(MediaType.TEXT_PLAIN)
     @Path("/test")
     public static class TestController { //needs to be public, otherwise it won't get picked up
@@ -0,0 +1,106 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.extension.jetty;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadSheddingHandlerTest {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch suspended = new CountDownLatch(1);
+    private final Semaphore limit = new Semaphore(1);
+    private final HttpClient client = HttpClient.newHttpClient();
+    private Server server;
+    private URI uri;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new Server();
+        var connector = new ServerConnector(server);
+        connector.setName("test");
+        connector.setPort(0);
+        server.addConnector(connector);
+
+        var context = new ServletContextHandler();
+        var holder = new ServletHolder(new SuspendingServlet());
+        holder.setAsyncSupported(true);
+        context.addServlet(holder, "/*");
+        var handler = new LoadSheddingHandler(Map.of("test", limit));
+        handler.setHandler(context);
+        server.setHandler(handler);
+        server.start();
+        uri = URI.create("http://localhost:" + connector.getLocalPort() + "/suspend");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        server.stop();
+    }
+
+    @Test
+    void suspendedRequestHoldsPermitUntilCompleted() throws Exception {
+        var first = client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(suspended.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var shed = client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(shed.statusCode()).isEqualTo(503);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+        assertThat(limit.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /**
+     * Suspends the first request until it is released from the test, later requests complete right away.
+     */
+    private class SuspendingServlet extends HttpServlet {
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+            var async = req.startAsync();
+            async.setTimeout(0);
+            suspended.countDown();
+            new Thread(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                ((HttpServletResponse) async.getResponse()).setStatus(200);
+                async.complete();
+            }).start();
+        }
+    }
+}
@@ -12,6 +12,7 @@ dependencies {
 
     implementation("jakarta.ws.rs:jakarta.ws.rs-api:${rsApi}")
 
+    testImplementation(testFixtures(project(":common:util")))
     testImplementation(testFixtures(project(":extensions:iam:decentralized-identity:identity-common-test")))
 }
 
@@ -20,6 +20,7 @@ import org.eclipse.dataspaceconnector.iam.did.crypto.key.EcPrivateKeyWrapper;
 import org.eclipse.dataspaceconnector.iam.did.hub.IdentityHubClientImpl;
 import org.eclipse.dataspaceconnector.iam.did.hub.IdentityHubController;
 import org.eclipse.dataspaceconnector.iam.did.hub.IdentityHubImpl;
+import org.eclipse.dataspaceconnector.iam.did.resolution.CachingDidResolverRegistry;
 import org.eclipse.dataspaceconnector.iam.did.resolution.DidPublicKeyResolverImpl;
 import org.eclipse.dataspaceconnector.iam.did.resolution.DidResolverRegistryImpl;
 import org.eclipse.dataspaceconnector.iam.did.spi.hub.IdentityHub;
@@ -29,6 +30,7 @@ import org.eclipse.dataspaceconnector.iam.did.spi.key.PrivateKeyWrapper;
 import org.eclipse.dataspaceconnector.iam.did.spi.resolution.DidPublicKeyResolver;
 import org.eclipse.dataspaceconnector.iam.did.spi.resolution.DidResolverRegistry;
 import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.EdcSetting;
 import org.eclipse.dataspaceconnector.spi.WebService;
 import org.eclipse.dataspaceconnector.spi.security.PrivateKeyResolver;
 import org.eclipse.dataspaceconnector.spi.system.Inject;
@@ -38,12 +40,29 @@ import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
 import org.eclipse.dataspaceconnector.spi.system.health.HealthCheckResult;
 import org.eclipse.dataspaceconnector.spi.system.health.HealthCheckService;
 
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 
 
 @Provides({IdentityHub.class, IdentityHubClient.class, DidResolverRegistry.class, DidPublicKeyResolver.class})
 public class IdentityDidCoreExtension implements ServiceExtension {
 
+    @EdcSetting
+    private static final String DID_CACHE_TTL = "edc.identity.did.cache.ttl"; // in seconds, 0 disables caching
+    private static final long DEFAULT_DID_CACHE_TTL = 300;
+
+    @EdcSetting
+    private static final String DID_CACHE_STALE_WHILE_REVALIDATE = "edc.identity.did.cache.stale"; // in seconds
+    private static final long DEFAULT_DID_CACHE_STALE_WHILE_REVALIDATE = 60;
+
+    @EdcSetting
+    private static final String DID_CACHE_SIZE = "edc.identity.did.cache.size";
+    private static final int DEFAULT_DID_CACHE_SIZE = 1000;
+
+    private ExecutorService didRefreshExecutor;
+
     @Inject
     private IdentityHubStore hubStore;
     @Inject
@@ -67,7 +86,7 @@ public class IdentityDidCoreExtension implements ServiceExtension {
 
         var objectMapper = context.getTypeManager().getMapper();
 
-        var resolverRegistry = new DidResolverRegistryImpl();
+        var resolverRegistry = createResolverRegistry(context);
         context.registerService(DidResolverRegistry.class, resolverRegistry);
 
         var publicKeyResolver = new DidPublicKeyResolverImpl(resolverRegistry);
@@ -96,6 +115,29 @@ public class IdentityDidCoreExtension implements ServiceExtension {
         context.registerService(IdentityHubClient.class, hubClient);
     }
 
+    @Override
+    public void shutdown() {
+        if (didRefreshExecutor != null) {
+            didRefreshExecutor.shutdownNow();
+        }
+    }
+
+    private DidResolverRegistry createResolverRegistry(ServiceExtensionContext context) {
+        var registry = new DidResolverRegistryImpl();
+        var ttl = context.getSetting(DID_CACHE_TTL, DEFAULT_DID_CACHE_TTL);
+        if (ttl <= 0) {
+            return registry;
+        }
+        didRefreshExecutor = Executors.newSingleThreadExecutor();
+        return CachingDidResolverRegistry.Builder.newInstance(registry)
+                .ttl(Duration.ofSeconds(ttl))
+                .staleWhileRevalidate(Duration.ofSeconds(context.getSetting(DID_CACHE_STALE_WHILE_REVALIDATE, DEFAULT_DID_CACHE_STALE_WHILE_REVALIDATE)))
+                .maxEntries(context.getSetting(DID_CACHE_SIZE, DEFAULT_DID_CACHE_SIZE))
+                .refreshExecutor(didRefreshExecutor)
+                .monitor(context.getMonitor())
+                .build();
+    }
+
     private void registerParsers(PrivateKeyResolver resolver) {
 
         // add EC-/PEM-Parser
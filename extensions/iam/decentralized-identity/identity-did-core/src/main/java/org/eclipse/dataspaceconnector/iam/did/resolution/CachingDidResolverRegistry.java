@@ -0,0 +1,240 @@
+/*
+ *  Copyright (c) 2021 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+package org.eclipse.dataspaceconnector.iam.did.resolution;
+
+import org.eclipse.dataspaceconnector.iam.did.spi.document.DidDocument;
+import org.eclipse.dataspaceconnector.iam.did.spi.resolution.DidResolver;
+import org.eclipse.dataspaceconnector.iam.did.spi.resolution.DidResolverRegistry;
+import org.eclipse.dataspaceconnector.iam.did.spi.resolution.ResolvedDidDocument;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A {@link DidResolverRegistry} that caches resolved DID documents in memory.
+ * <p>
+ * Entries live for the configured time-to-live, or for the max-age reported by the resolver if that is shorter. Once an entry expired it is still
+ * served for the stale-while-revalidate period while a refresh runs in the background. Concurrent misses for the same DID are coalesced into a single
+ * resolution. Failed resolutions are not cached.
+ */
+public class CachingDidResolverRegistry implements DidResolverRegistry {
+    private final DidResolverRegistry delegate;
+    private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Result<ResolvedDidDocument>>> inFlight = new ConcurrentHashMap<>();
+    private Duration ttl = Duration.ofMinutes(5);
+    private Duration staleWhileRevalidate = Duration.ofMinutes(1);
+    private int maxEntries = 1000;
+    private ExecutorService refreshExecutor;
+    private Clock clock = Clock.systemUTC();
+    private Monitor monitor;
+
+    private CachingDidResolverRegistry(DidResolverRegistry delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void register(DidResolver resolver) {
+        delegate.register(resolver);
+    }
+
+    @Override
+    public Result<DidDocument> resolve(String didKey) {
+        var result = resolveWithMetadata(didKey);
+        if (result.failed()) {
+            return Result.failure(result.getFailureMessages());
+        }
+        return Result.success(result.getContent().getDocument());
+    }
+
+    @Override
+    public Result<ResolvedDidDocument> resolveWithMetadata(String didKey) {
+        Objects.requireNonNull(didKey);
+        var now = clock.instant();
+        var entry = cache.get(didKey);
+        if (entry != null) {
+            if (now.isBefore(entry.expiresAt)) {
+                return Result.success(new ResolvedDidDocument(entry.document, Duration.between(now, entry.expiresAt)));
+            }
+            if (now.isBefore(entry.expiresAt.plus(staleWhileRevalidate))) {
+                refreshInBackground(didKey);
+                return Result.success(new ResolvedDidDocument(entry.document, Duration.ZERO));
+            }
+        }
+        return load(didKey);
+    }
+
+    /**
+     * Removes the cached document for the given DID, forcing the next resolution to go to the resolver.
+     */
+    public void invalidate(String didKey) {
+        cache.remove(didKey);
+    }
+
+    /**
+     * Removes all cached documents.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    /**
+     * Resolves the DID through the delegate, joining an already running resolution for the same DID if there is one.
+     */
+    private Result<ResolvedDidDocument> load(String didKey) {
+        var future = new CompletableFuture<Result<ResolvedDidDocument>>();
+        var running = inFlight.putIfAbsent(didKey, future);
+        if (running != null) {
+            return running.join();
+        }
+        try {
+            var result = delegate.resolveWithMetadata(didKey);
+            if (result.succeeded()) {
+                store(didKey, result.getContent());
+            }
+            future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(didKey, future);
+        }
+    }
+
+    private void refreshInBackground(String didKey) {
+        if (refreshExecutor == null || inFlight.containsKey(didKey)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    var result = load(didKey);
+                    if (result.failed()) {
+                        monitor.debug("Background refresh of DID failed, serving stale document: " + didKey);
+                    }
+                } catch (RuntimeException e) {
+                    monitor.warning("Error refreshing DID: " + didKey, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            monitor.debug("DID refresh rejected, executor is shut down: " + didKey);
+        }
+    }
+
+    private void store(String didKey, ResolvedDidDocument resolved) {
+        var entryTtl = ttl;
+        var maxAge = resolved.getMaxAge();
+        if (maxAge != null && maxAge.compareTo(entryTtl) < 0) {
+            entryTtl = maxAge;
+        }
+        if (entryTtl.isZero() || entryTtl.isNegative()) {
+            cache.remove(didKey);
+            return;
+        }
+        var now = clock.instant();
+        if (!cache.containsKey(didKey) && cache.size() >= maxEntries) {
+            evict(now);
+        }
+        cache.put(didKey, new CacheEntry(resolved.getDocument(), now.plus(entryTtl)));
+    }
+
+    /**
+     * Drops entries that are beyond their stale period. If the cache is still full, the entry closest to expiry is dropped.
+     */
+    private void evict(Instant now) {
+        cache.entrySet().removeIf(e -> !now.isBefore(e.getValue().expiresAt.plus(staleWhileRevalidate)));
+        if (cache.size() >= maxEntries) {
+            cache.entrySet().stream()
+                    .min(Comparator.comparing(e -> e.getValue().expiresAt))
+                    .ifPresent(e -> cache.remove(e.getKey(), e.getValue()));
+        }
+    }
+
+    private static class CacheEntry {
+        private final DidDocument document;
+        private final Instant expiresAt;
+
+        CacheEntry(DidDocument document, Instant expiresAt) {
+            this.document = document;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public static class Builder {
+        private final CachingDidResolverRegistry registry;
+
+        private Builder(DidResolverRegistry delegate) {
+            registry = new CachingDidResolverRegistry(delegate);
+        }
+
+        public static Builder newInstance(DidResolverRegistry delegate) {
+            return new Builder(delegate);
+        }
+
+        public Builder ttl(Duration ttl) {
+            registry.ttl = ttl;
+            return this;
+        }
+
+        public Builder staleWhileRevalidate(Duration staleWhileRevalidate) {
+            registry.staleWhileRevalidate = staleWhileRevalidate;
+            return this;
+        }
+
+        public Builder maxEntries(int maxEntries) {
+            registry.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * The executor used for background refreshes. If not set, expired entries are refreshed synchronously.
+         */
+        public Builder refreshExecutor(ExecutorService refreshExecutor) {
+            registry.refreshExecutor = refreshExecutor;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            registry.clock = clock;
+            return this;
+        }
+
+        public Builder monitor(Monitor monitor) {
+            registry.monitor = monitor;
+            return this;
+        }
+
+        public CachingDidResolverRegistry build() {
+            Objects.requireNonNull(registry.monitor, "monitor");
+            if (registry.refreshExecutor == null) {
+                registry.staleWhileRevalidate = Duration.ZERO;
+            }
+            return registry;
+        }
+    }
+}
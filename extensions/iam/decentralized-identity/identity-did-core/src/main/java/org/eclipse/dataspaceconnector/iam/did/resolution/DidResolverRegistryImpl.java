@@ -16,11 +16,12 @@ package org.eclipse.dataspaceconnector.iam.did.resolution;
 import org.eclipse.dataspaceconnector.iam.did.spi.document.DidDocument;
 import org.eclipse.dataspaceconnector.iam.did.spi.resolution.DidResolver;
 import org.eclipse.dataspaceconnector.iam.did.spi.resolution.DidResolverRegistry;
+import org.eclipse.dataspaceconnector.iam.did.spi.resolution.ResolvedDidDocument;
 import org.eclipse.dataspaceconnector.spi.result.Result;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Default implementation.
@@ -30,7 +31,7 @@ public class DidResolverRegistryImpl implements DidResolverRegistry {
     private static final int DID_PREFIX = 0;
     private static final int DID_METHOD_NAME = 1;
 
-    private final Map<String, DidResolver> resolvers = new HashMap<>();
+    private final Map<String, DidResolver> resolvers = new ConcurrentHashMap<>();
 
     @Override
     public void register(DidResolver resolver) {
@@ -39,6 +40,23 @@ public class DidResolverRegistryImpl implements DidResolverRegistry {
 
     @Override
     public Result<DidDocument> resolve(String didKey) {
+        var resolverResult = getResolver(didKey);
+        if (resolverResult.failed()) {
+            return Result.failure(resolverResult.getFailureMessages());
+        }
+        return resolverResult.getContent().resolve(didKey);
+    }
+
+    @Override
+    public Result<ResolvedDidDocument> resolveWithMetadata(String didKey) {
+        var resolverResult = getResolver(didKey);
+        if (resolverResult.failed()) {
+            return Result.failure(resolverResult.getFailureMessages());
+        }
+        return resolverResult.getContent().resolveWithMetadata(didKey);
+    }
+
+    private Result<DidResolver> getResolver(String didKey) {
         Objects.requireNonNull(didKey);
         // for the definition of DID syntax, .cf https://www.w3.org/TR/did-core/#did-syntax
         var tokens = didKey.split(":");
@@ -53,6 +71,6 @@ public class DidResolverRegistryImpl implements DidResolverRegistry {
         if (resolver == null) {
             return Result.failure("No resolver registered for DID Method: " + methodName);
         }
-        return resolver.resolve(didKey);
+        return Result.success(resolver);
     }
 }
@@ -0,0 +1,232 @@
+/*
+ *  Copyright (c) 2021 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+package org.eclipse.dataspaceconnector.iam.did.resolution;
+
+import org.eclipse.dataspaceconnector.common.testfixtures.MutableClock;
+import org.eclipse.dataspaceconnector.iam.did.spi.document.DidDocument;
+import org.eclipse.dataspaceconnector.iam.did.spi.resolution.DidResolver;
+import org.eclipse.dataspaceconnector.iam.did.spi.resolution.ResolvedDidDocument;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Verifies {@link CachingDidResolverRegistry} against a local stand-in resolver that counts the (simulated) network round trips.
+ */
+class CachingDidResolverRegistryTest {
+    private static final String DID = "did:test:participant1";
+
+    private StandInResolver resolver;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new StandInResolver();
+        clock = new MutableClock();
+    }
+
+    @Test
+    void verifySteadyStateResolutionDoesNotHitResolver() {
+        var registry = createRegistry(null);
+
+        for (var i = 0; i < 1000; i++) {
+            var result = registry.resolve(DID);
+            assertThat(result.succeeded()).isTrue();
+        }
+
+        assertThat(resolver.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void verifyExpiredEntryIsResolvedAgain() {
+        var registry = createRegistry(null);
+
+        registry.resolve(DID);
+        clock.advance(Duration.ofMinutes(6));
+        registry.resolve(DID);
+
+        assertThat(resolver.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void verifyResolverMaxAgeIsHonoured() {
+        resolver.maxAge = Duration.ofSeconds(10);
+        var registry = createRegistry(null);
+
+        registry.resolve(DID);
+        clock.advance(Duration.ofSeconds(5));
+        registry.resolve(DID);
+        clock.advance(Duration.ofSeconds(6));
+        registry.resolve(DID);
+
+        assertThat(resolver.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void verifyNoStoreIsNotCached() {
+        resolver.maxAge = Duration.ZERO;
+        var registry = createRegistry(null);
+
+        registry.resolve(DID);
+        registry.resolve(DID);
+
+        assertThat(resolver.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void verifyFailuresAreNotCached() {
+        resolver.fail = true;
+        var registry = createRegistry(null);
+
+        assertThat(registry.resolve(DID).failed()).isTrue();
+        resolver.fail = false;
+        assertThat(registry.resolve(DID).succeeded()).isTrue();
+
+        assertThat(resolver.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void verifyStaleEntryIsServedWhileRevalidating() throws InterruptedException {
+        var executor = Executors.newSingleThreadExecutor();
+        var registry = createRegistry(executor);
+
+        var first = registry.resolve(DID).getContent();
+        clock.advance(Duration.ofMinutes(5).plusSeconds(30));
+        var stale = registry.resolve(DID).getContent();
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(stale).isSameAs(first);
+        assertThat(resolver.calls.get()).isEqualTo(2);
+        assertThat(registry.resolve(DID).getContent()).isNotSameAs(first);
+        assertThat(resolver.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void verifyConcurrentMissesAreCoalesced() throws Exception {
+        resolver.gate = new CountDownLatch(1);
+        var registry = createRegistry(null);
+        var executor = Executors.newFixedThreadPool(8);
+
+        var futures = new ArrayList<Future<Result<DidDocument>>>();
+        for (var i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> registry.resolve(DID)));
+        }
+        // give all callers the chance to pile up behind the first resolution
+        Thread.sleep(200);
+        resolver.gate.countDown();
+
+        for (var future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS).succeeded()).isTrue();
+        }
+        executor.shutdownNow();
+
+        assertThat(resolver.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void verifySizeIsBounded() {
+        var registry = CachingDidResolverRegistry.Builder.newInstance(createDelegate())
+                .maxEntries(10)
+                .clock(clock)
+                .monitor(mock(Monitor.class))
+                .build();
+
+        for (var i = 0; i < 100; i++) {
+            registry.resolve("did:test:participant" + i);
+            clock.advance(Duration.ofMillis(1));
+        }
+
+        assertThat(registry.size()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void verifyInvalidate() {
+        var registry = createRegistry(null);
+
+        registry.resolve(DID);
+        registry.invalidate(DID);
+        registry.resolve(DID);
+
+        assertThat(resolver.calls.get()).isEqualTo(2);
+    }
+
+    private CachingDidResolverRegistry createRegistry(ExecutorService executor) {
+        return CachingDidResolverRegistry.Builder.newInstance(createDelegate())
+                .ttl(Duration.ofMinutes(5))
+                .staleWhileRevalidate(Duration.ofMinutes(1))
+                .refreshExecutor(executor)
+                .clock(clock)
+                .monitor(mock(Monitor.class))
+                .build();
+    }
+
+    private DidResolverRegistryImpl createDelegate() {
+        var delegate = new DidResolverRegistryImpl();
+        delegate.register(resolver);
+        return delegate;
+    }
+
+    /**
+     * Stands in for a resolver doing network I/O.
+     */
+    private static class StandInResolver implements DidResolver {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile Duration maxAge;
+        private volatile boolean fail;
+        private volatile CountDownLatch gate;
+
+        @Override
+        public @NotNull String getMethod() {
+            return "test";
+        }
+
+        @Override
+        public @NotNull Result<DidDocument> resolve(String didKey) {
+            var result = resolveWithMetadata(didKey);
+            return result.failed() ? Result.failure(result.getFailureMessages()) : Result.success(result.getContent().getDocument());
+        }
+
+        @Override
+        public @NotNull Result<ResolvedDidDocument> resolveWithMetadata(String didKey) {
+            calls.incrementAndGet();
+            if (gate != null) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (fail) {
+                return Result.failure("not found");
+            }
+            return Result.success(new ResolvedDidDocument(DidDocument.Builder.newInstance().id(didKey).build(), maxAge));
+        }
+    }
+}
@@ -7,6 +7,7 @@ dependencies {
     api(project(":extensions:iam:decentralized-identity:identity-did-spi"))
     implementation(project(":extensions:iam:decentralized-identity:identity-did-crypto"))
 
+    testImplementation(testFixtures(project(":common:util")))
     testImplementation(testFixtures(project(":extensions:iam:decentralized-identity:identity-common-test")))
 }
 
@@ -0,0 +1,171 @@
+/*
+ *  Copyright (c) 2021 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+package org.eclipse.dataspaceconnector.identity;
+
+import org.eclipse.dataspaceconnector.iam.did.spi.credentials.CredentialsVerifier;
+import org.eclipse.dataspaceconnector.iam.did.spi.credentials.VerifiedCredentialsCache;
+import org.eclipse.dataspaceconnector.iam.did.spi.key.PublicKeyWrapper;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the results of a {@link CredentialsVerifier}, keyed by participant DID and a hash of the credential source (hub URL and key).
+ * <p>
+ * A verified result is reused until the revocation check interval elapses, regardless of the expiry of the credentials, which the verifier does
+ * not report. The interval therefore bounds both how long revoked and how long expired credentials are accepted. Failed verifications are never
+ * cached.
+ */
+public class CachingCredentialsVerifier implements VerifiedCredentialsCache {
+
+    private final CredentialsVerifier delegate;
+    private final Map<CacheKey, CacheEntry> cache = new ConcurrentHashMap<>();
+    private Duration revocationCheckInterval = Duration.ZERO;
+    private int maxEntries = 1000;
+    private Clock clock = Clock.systemUTC();
+
+    private CachingCredentialsVerifier(CredentialsVerifier delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns the verified credentials of the participant, verifying them against the hub if there is no valid cached result.
+     *
+     * @param participantDid the participant's DID
+     * @param credentialHash a hash identifying the credentials, which must change whenever the hub URL or the key change
+     * @param hubBaseUrl the hub base url
+     * @param publicKey the hub's public key to encrypt messages with
+     */
+    public Result<Map<String, String>> verifyCredentials(String participantDid, String credentialHash, String hubBaseUrl, PublicKeyWrapper publicKey) {
+        if (revocationCheckInterval.isZero()) {
+            return delegate.verifyCredentials(hubBaseUrl, publicKey);
+        }
+        var key = new CacheKey(participantDid, credentialHash);
+        var now = clock.instant();
+        var entry = cache.get(key);
+        if (entry != null && now.isBefore(entry.expiresAt)) {
+            return Result.success(entry.claims);
+        }
+
+        var result = delegate.verifyCredentials(hubBaseUrl, publicKey);
+        if (result.succeeded()) {
+            if (!cache.containsKey(key) && cache.size() >= maxEntries) {
+                evict(now);
+            }
+            cache.put(key, new CacheEntry(result.getContent(), now.plus(revocationCheckInterval)));
+        }
+        return result;
+    }
+
+    @Override
+    public void invalidate(String participantDid) {
+        cache.keySet().removeIf(key -> key.participantDid.equals(participantDid));
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private void evict(Instant now) {
+        cache.entrySet().removeIf(e -> !now.isBefore(e.getValue().expiresAt));
+        if (cache.size() >= maxEntries) {
+            cache.entrySet().stream()
+                    .min(Comparator.comparing(e -> e.getValue().expiresAt))
+                    .ifPresent(e -> cache.remove(e.getKey(), e.getValue()));
+        }
+    }
+
+    private static class CacheKey {
+        private final String participantDid;
+        private final String credentialHash;
+
+        CacheKey(String participantDid, String credentialHash) {
+            this.participantDid = participantDid;
+            this.credentialHash = credentialHash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return participantDid.equals(that.participantDid) && credentialHash.equals(that.credentialHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(participantDid, credentialHash);
+        }
+    }
+
+    private static class CacheEntry {
+        private final Map<String, String> claims;
+        private final Instant expiresAt;
+
+        CacheEntry(Map<String, String> claims, Instant expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public static class Builder {
+        private final CachingCredentialsVerifier verifier;
+
+        private Builder(CredentialsVerifier delegate) {
+            verifier = new CachingCredentialsVerifier(delegate);
+        }
+
+        public static Builder newInstance(CredentialsVerifier delegate) {
+            return new Builder(delegate);
+        }
+
+        /**
+         * The maximum time a verified result is reused before the credentials are checked against the hub again. Zero disables caching.
+         */
+        public Builder revocationCheckInterval(Duration revocationCheckInterval) {
+            verifier.revocationCheckInterval = revocationCheckInterval;
+            return this;
+        }
+
+        public Builder maxEntries(int maxEntries) {
+            verifier.maxEntries = maxEntries;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            verifier.clock = clock;
+            return this;
+        }
+
+        public CachingCredentialsVerifier build() {
+            Objects.requireNonNull(verifier.delegate, "delegate");
+            return verifier;
+        }
+    }
+}
@@ -19,11 +19,13 @@ import org.eclipse.dataspaceconnector.iam.did.crypto.key.KeyConverter;
 import org.eclipse.dataspaceconnector.iam.did.spi.credentials.CredentialsVerifier;
 import org.eclipse.dataspaceconnector.iam.did.spi.document.DidConstants;
 import org.eclipse.dataspaceconnector.iam.did.spi.document.DidDocument;
+import org.eclipse.dataspaceconnector.iam.did.spi.document.EllipticCurvePublicKey;
 import org.eclipse.dataspaceconnector.iam.did.spi.document.JwkPublicKey;
 import org.eclipse.dataspaceconnector.iam.did.spi.document.Service;
 import org.eclipse.dataspaceconnector.iam.did.spi.document.VerificationMethod;
 import org.eclipse.dataspaceconnector.iam.did.spi.key.PublicKeyWrapper;
 import org.eclipse.dataspaceconnector.iam.did.spi.resolution.DidResolverRegistry;
+import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.iam.ClaimToken;
 import org.eclipse.dataspaceconnector.spi.iam.IdentityService;
 import org.eclipse.dataspaceconnector.spi.iam.TokenRepresentation;
@@ -31,19 +33,39 @@ import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.result.Result;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.ParseException;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 public class DecentralizedIdentityService implements IdentityService {
+    // the DID documents are cached with the same default size, keys of documents that are no longer cached are never hit again
+    private static final int MAX_CACHED_PUBLIC_KEYS = 1000;
+
     private final Supplier<SignedJWT> verifiableCredentialProvider;
     private final DidResolverRegistry resolverRegistry;
-    private final CredentialsVerifier credentialsVerifier;
+    private final CachingCredentialsVerifier credentialsVerifier;
     private final Monitor monitor;
+    private final Map<String, CachedPublicKey> publicKeys = Collections.synchronizedMap(new LinkedHashMap<String, CachedPublicKey>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedPublicKey> eldest) {
+            return size() > MAX_CACHED_PUBLIC_KEYS;
+        }
+    });
 
     public DecentralizedIdentityService(Supplier<SignedJWT> vcProvider, DidResolverRegistry resolverRegistry, CredentialsVerifier credentialsVerifier, Monitor monitor) {
+        this(vcProvider, resolverRegistry, CachingCredentialsVerifier.Builder.newInstance(credentialsVerifier).build(), monitor);
+    }
+
+    public DecentralizedIdentityService(Supplier<SignedJWT> vcProvider, DidResolverRegistry resolverRegistry, CachingCredentialsVerifier credentialsVerifier, Monitor monitor) {
         verifiableCredentialProvider = vcProvider;
         this.resolverRegistry = resolverRegistry;
         this.credentialsVerifier = credentialsVerifier;
@@ -67,21 +89,18 @@ public class DecentralizedIdentityService implements IdentityService {
             monitor.debug("Starting verification...");
 
             monitor.debug("Resolving other party's DID Document");
-            var didResult = resolverRegistry.resolve(jwt.getJWTClaimsSet().getIssuer());
+            var issuer = jwt.getJWTClaimsSet().getIssuer();
+            var didResult = resolverRegistry.resolve(issuer);
             if (didResult.failed()) {
                 return Result.failure("Unable to resolve DID: " + String.join(", ", didResult.getFailureMessages()));
             }
             monitor.debug("Extracting public key");
 
-            // this will return the _first_ public key entry
-            Optional<VerificationMethod> publicKey = getPublicKey(didResult.getContent());
-            if (publicKey.isEmpty()) {
-                return Result.failure("Public Key not found in DID Document!");
+            var publicKeyResult = getPublicKey(didResult.getContent());
+            if (publicKeyResult.failed()) {
+                return Result.failure(publicKeyResult.getFailureMessages());
             }
-
-            //convert the POJO into a usable PK-wrapper:
-            JwkPublicKey publicKeyJwk = publicKey.get().getPublicKeyJwk();
-            PublicKeyWrapper publicKeyWrapper = KeyConverter.toPublicKeyWrapper(publicKeyJwk, publicKey.get().getId());
+            var publicKeyWrapper = publicKeyResult.getContent().publicKey;
 
             monitor.debug("Verifying JWT with public key...");
             if (!VerifiableCredentialFactory.verify(jwt, publicKeyWrapper)) {
@@ -89,7 +108,11 @@ public class DecentralizedIdentityService implements IdentityService {
             }
             monitor.debug("verification successful! Fetching data from IdentityHub");
             String hubUrl = getHubUrl(didResult.getContent());
-            var credentialsResult = credentialsVerifier.verifyCredentials(hubUrl, publicKeyWrapper);
+            var credentialHash = hubUrl + "#" + publicKeyResult.getContent().keyHash;
+            var credentialsResult = credentialsVerifier.verifyCredentials(issuer, credentialHash, hubUrl, publicKeyWrapper);
+            if (credentialsResult.failed()) {
+                return Result.failure("Credentials could not be verified: " + String.join(", ", credentialsResult.getFailureMessages()));
+            }
 
             monitor.debug("Building ClaimToken");
             var tokenBuilder = ClaimToken.Builder.newInstance();
@@ -106,8 +129,65 @@ public class DecentralizedIdentityService implements IdentityService {
         return did.getService().stream().filter(service -> service.getType().equals(DidConstants.HUB_URL)).map(Service::getServiceEndpoint).findFirst().orElseThrow();
     }
 
+    /**
+     * Returns the public key wrapper for the DID document. Converting the JWK is not free, so the wrapper is kept as long as the resolver keeps
+     * returning the same document instance, which is the case while the document is cached. The least recently used keys are dropped once
+     * {@value MAX_CACHED_PUBLIC_KEYS} DIDs have been seen.
+     */
+    private Result<CachedPublicKey> getPublicKey(DidDocument did) {
+        var cached = publicKeys.get(did.getId());
+        if (cached != null && cached.document == did) {
+            return Result.success(cached);
+        }
+
+        // this will return the _first_ public key entry
+        Optional<VerificationMethod> publicKey = getVerificationMethod(did);
+        if (publicKey.isEmpty()) {
+            return Result.failure("Public Key not found in DID Document!");
+        }
+
+        //convert the POJO into a usable PK-wrapper:
+        JwkPublicKey publicKeyJwk = publicKey.get().getPublicKeyJwk();
+        PublicKeyWrapper publicKeyWrapper = KeyConverter.toPublicKeyWrapper(publicKeyJwk, publicKey.get().getId());
+        var entry = new CachedPublicKey(did, publicKeyWrapper, hash(publicKey.get()));
+        if (did.getId() != null) {
+            publicKeys.put(did.getId(), entry);
+        }
+        return Result.success(entry);
+    }
+
+    /**
+     * Hashes the verification method, so that verified credentials are bound to the key they were obtained with.
+     */
+    private String hash(VerificationMethod verificationMethod) {
+        var builder = new StringBuilder(verificationMethod.getId()).append('|').append(verificationMethod.getType());
+        var jwk = verificationMethod.getPublicKeyJwk();
+        if (jwk instanceof EllipticCurvePublicKey) {
+            var ecKey = (EllipticCurvePublicKey) jwk;
+            builder.append('|').append(ecKey.getCrv()).append('|').append(ecKey.getX()).append('|').append(ecKey.getY());
+        }
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(builder.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new EdcException(e);
+        }
+    }
+
     @NotNull
-    private Optional<VerificationMethod> getPublicKey(DidDocument did) {
+    private Optional<VerificationMethod> getVerificationMethod(DidDocument did) {
         return did.getVerificationMethod().stream().filter(vm -> DidConstants.ALLOWED_VERIFICATION_TYPES.contains(vm.getType())).findFirst();
     }
+
+    private static class CachedPublicKey {
+        private final DidDocument document;
+        private final PublicKeyWrapper publicKey;
+        private final String keyHash;
+
+        CachedPublicKey(DidDocument document, PublicKeyWrapper publicKey, String keyHash) {
+            this.document = document;
+            this.publicKey = publicKey;
+            this.keyHash = keyHash;
+        }
+    }
 }
@@ -4,8 +4,10 @@ import com.nimbusds.jose.jwk.ECKey;
 import com.nimbusds.jwt.SignedJWT;
 import org.eclipse.dataspaceconnector.iam.did.crypto.credentials.VerifiableCredentialFactory;
 import org.eclipse.dataspaceconnector.iam.did.spi.credentials.CredentialsVerifier;
+import org.eclipse.dataspaceconnector.iam.did.spi.credentials.VerifiedCredentialsCache;
 import org.eclipse.dataspaceconnector.iam.did.spi.resolution.DidResolverRegistry;
 import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.EdcSetting;
 import org.eclipse.dataspaceconnector.spi.iam.IdentityService;
 import org.eclipse.dataspaceconnector.spi.security.PrivateKeyResolver;
 import org.eclipse.dataspaceconnector.spi.system.Inject;
@@ -13,15 +15,25 @@ import org.eclipse.dataspaceconnector.spi.system.Provides;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.function.Supplier;
 
 import static java.lang.String.format;
 import static org.eclipse.dataspaceconnector.iam.did.spi.document.DidConstants.DID_URL_SETTING;
 
-@Provides(IdentityService.class)
+@Provides({IdentityService.class, VerifiedCredentialsCache.class})
 public class DecentralizedIdentityServiceExtension implements ServiceExtension {
 
+    @EdcSetting
+    private static final String CREDENTIALS_CACHE_TTL = "edc.identity.credentials.cache.ttl"; // revocation check interval in seconds, 0 disables caching
+    // short, as it also bounds how long expired credentials are accepted
+    private static final long DEFAULT_CREDENTIALS_CACHE_TTL = 60;
+
+    @EdcSetting
+    private static final String CREDENTIALS_CACHE_SIZE = "edc.identity.credentials.cache.size";
+    private static final int DEFAULT_CREDENTIALS_CACHE_SIZE = 1000;
+
     @Inject
     private DidResolverRegistry resolverRegistry;
     @Inject
@@ -35,7 +47,13 @@ public class DecentralizedIdentityServiceExtension implements ServiceExtension {
     @Override
     public void initialize(ServiceExtensionContext context) {
         var vcProvider = createSupplier(context);
-        var identityService = new DecentralizedIdentityService(vcProvider, resolverRegistry, credentialsVerifier, context.getMonitor());
+        var cachingVerifier = CachingCredentialsVerifier.Builder.newInstance(credentialsVerifier)
+                .revocationCheckInterval(Duration.ofSeconds(context.getSetting(CREDENTIALS_CACHE_TTL, DEFAULT_CREDENTIALS_CACHE_TTL)))
+                .maxEntries(context.getSetting(CREDENTIALS_CACHE_SIZE, DEFAULT_CREDENTIALS_CACHE_SIZE))
+                .build();
+        context.registerService(VerifiedCredentialsCache.class, cachingVerifier);
+
+        var identityService = new DecentralizedIdentityService(vcProvider, resolverRegistry, cachingVerifier, context.getMonitor());
         context.registerService(IdentityService.class, identityService);
     }
 
@@ -0,0 +1,138 @@
+/*
+ *  Copyright (c) 2021 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+package org.eclipse.dataspaceconnector.identity;
+
+import org.eclipse.dataspaceconnector.common.testfixtures.MutableClock;
+import org.eclipse.dataspaceconnector.iam.did.spi.credentials.CredentialsVerifier;
+import org.eclipse.dataspaceconnector.iam.did.spi.key.PublicKeyWrapper;
+import org.eclipse.dataspaceconnector.spi.result.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class CachingCredentialsVerifierTest {
+    private static final String DID = "did:web:participant1";
+    private static final String HUB_URL = "http://localhost/hub/";
+
+    private StandInHub hub;
+    private MutableClock clock;
+    private PublicKeyWrapper publicKey;
+
+    @BeforeEach
+    void setUp() {
+        hub = new StandInHub();
+        clock = new MutableClock();
+        publicKey = mock(PublicKeyWrapper.class);
+    }
+
+    @Test
+    void verifyCachedUntilRevocationCheckInterval() {
+        var verifier = createVerifier();
+
+        verifier.verifyCredentials(DID, "hash", HUB_URL, publicKey);
+        clock.advance(Duration.ofSeconds(59));
+        verifier.verifyCredentials(DID, "hash", HUB_URL, publicKey);
+        assertThat(hub.calls.get()).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(2));
+        verifier.verifyCredentials(DID, "hash", HUB_URL, publicKey);
+        assertThat(hub.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void verifyDifferentCredentialHashIsVerifiedAgain() {
+        var verifier = createVerifier();
+
+        verifier.verifyCredentials(DID, "hash1", HUB_URL, publicKey);
+        verifier.verifyCredentials(DID, "hash2", HUB_URL, publicKey);
+
+        assertThat(hub.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void verifyFailuresAreNotCached() {
+        hub.fail = true;
+        var verifier = createVerifier();
+
+        assertThat(verifier.verifyCredentials(DID, "hash", HUB_URL, publicKey).failed()).isTrue();
+        assertThat(verifier.verifyCredentials(DID, "hash", HUB_URL, publicKey).failed()).isTrue();
+
+        assertThat(hub.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void verifyInvalidate() {
+        var verifier = createVerifier();
+        verifier.verifyCredentials(DID, "hash", HUB_URL, publicKey);
+        verifier.verifyCredentials("did:web:participant2", "hash", HUB_URL, publicKey);
+
+        verifier.invalidate(DID);
+
+        assertThat(verifier.size()).isEqualTo(1);
+        verifier.verifyCredentials(DID, "hash", HUB_URL, publicKey);
+        assertThat(hub.calls.get()).isEqualTo(3);
+
+        verifier.invalidateAll();
+        assertThat(verifier.size()).isZero();
+    }
+
+    @Test
+    void verifyDisabledCachePassesThrough() {
+        var verifier = CachingCredentialsVerifier.Builder.newInstance(hub).build();
+
+        verifier.verifyCredentials(DID, "hash", HUB_URL, publicKey);
+        verifier.verifyCredentials(DID, "hash", HUB_URL, publicKey);
+
+        assertThat(hub.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void verifyRepeatedVerificationsReachHubOnce() {
+        var verifier = createVerifier();
+
+        for (var i = 0; i < 500; i++) {
+            assertThat(verifier.verifyCredentials(DID, "hash", HUB_URL, publicKey).getContent()).containsEntry("region", "eu");
+        }
+
+        assertThat(hub.calls.get()).isEqualTo(1);
+    }
+
+    private CachingCredentialsVerifier createVerifier() {
+        return CachingCredentialsVerifier.Builder.newInstance(hub)
+                .revocationCheckInterval(Duration.ofSeconds(60))
+                .clock(clock)
+                .build();
+    }
+
+    /**
+     * Stands in for the identity hub round trip including JWE decryption and verification.
+     */
+    private static class StandInHub implements CredentialsVerifier {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final Map<String, String> claims = Map.of("region", "eu");
+        private boolean fail;
+
+        @Override
+        public Result<Map<String, String>> verifyCredentials(String hubBaseUrl, PublicKeyWrapper publicKey) {
+            calls.incrementAndGet();
+            return fail ? Result.failure("not verified") : Result.success(claims);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ *  Copyright (c) 2021 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+package org.eclipse.dataspaceconnector.iam.did.spi.credentials;
+
+import org.eclipse.dataspaceconnector.spi.system.Feature;
+
+/**
+ * Holds the results of successful credential verifications so they need not be fetched from the participant's identity hub on every request.
+ * Entries must be invalidated when a participant's credentials are known to be revoked or changed.
+ */
+@Feature(VerifiedCredentialsCache.FEATURE)
+public interface VerifiedCredentialsCache {
+
+    String FEATURE = "edc:identity:verified-credentials-cache";
+
+    /**
+     * Drops all verified credentials of the participant, forcing the next request to verify them against the hub again.
+     *
+     * @param participantDid the participant's DID
+     */
+    void invalidate(String participantDid);
+
+    /**
+     * Drops all verified credentials.
+     */
+    void invalidateAll();
+
+}
@@ -34,4 +34,16 @@ public interface DidResolver {
     @NotNull
     Result<DidDocument> resolve(String didKey);
 
+    /**
+     * Resolves the DID document including caching hints. Resolvers that have access to such hints, e.g. an HTTP {@code Cache-Control} header, should override this method.
+     */
+    @NotNull
+    default Result<ResolvedDidDocument> resolveWithMetadata(String didKey) {
+        var result = resolve(didKey);
+        if (result.failed()) {
+            return Result.failure(result.getFailureMessages());
+        }
+        return Result.success(new ResolvedDidDocument(result.getContent(), null));
+    }
+
 }
@@ -34,4 +34,15 @@ public interface DidResolverRegistry {
      */
     Result<DidDocument> resolve(String didKey);
 
+    /**
+     * Resolves a DID document based on the DID method, including the caching hints reported by the resolver.
+     */
+    default Result<ResolvedDidDocument> resolveWithMetadata(String didKey) {
+        var result = resolve(didKey);
+        if (result.failed()) {
+            return Result.failure(result.getFailureMessages());
+        }
+        return Result.success(new ResolvedDidDocument(result.getContent(), null));
+    }
+
 }
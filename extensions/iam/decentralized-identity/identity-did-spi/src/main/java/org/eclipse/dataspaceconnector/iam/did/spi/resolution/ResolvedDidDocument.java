@@ -0,0 +1,46 @@
+/*
+ *  Copyright (c) 2021 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+package org.eclipse.dataspaceconnector.iam.did.spi.resolution;
+
+import org.eclipse.dataspaceconnector.iam.did.spi.document.DidDocument;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+
+/**
+ * A resolved DID document together with the caching hint reported by the source it was resolved from.
+ */
+public class ResolvedDidDocument {
+    private final DidDocument document;
+    private final Duration maxAge;
+
+    public ResolvedDidDocument(@NotNull DidDocument document, @Nullable Duration maxAge) {
+        this.document = document;
+        this.maxAge = maxAge;
+    }
+
+    @NotNull
+    public DidDocument getDocument() {
+        return document;
+    }
+
+    /**
+     * Returns how long the document may be cached, or null if the source did not provide a hint. A zero duration means the document must not be cached.
+     */
+    @Nullable
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+}
@@ -14,15 +14,19 @@
 package org.eclipse.dataspaceconnector.iam.did.web.resolution;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.CacheControl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import org.eclipse.dataspaceconnector.iam.did.spi.document.DidDocument;
 import org.eclipse.dataspaceconnector.iam.did.spi.resolution.DidResolver;
+import org.eclipse.dataspaceconnector.iam.did.spi.resolution.ResolvedDidDocument;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.result.Result;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.time.Duration;
 
 import static java.lang.String.format;
 import static org.eclipse.dataspaceconnector.iam.did.web.resolution.DidFunctions.keyToUrl;
@@ -54,6 +58,16 @@ public class WebDidResolver implements DidResolver {
     @Override
     @NotNull
     public Result<DidDocument> resolve(String didKey) {
+        var result = resolveWithMetadata(didKey);
+        if (result.failed()) {
+            return Result.failure(result.getFailureMessages());
+        }
+        return Result.success(result.getContent().getDocument());
+    }
+
+    @Override
+    @NotNull
+    public Result<ResolvedDidDocument> resolveWithMetadata(String didKey) {
         try {
             var request = new Request.Builder().url(keyToUrl(didKey)).get().build();
 
@@ -66,7 +80,7 @@ public class WebDidResolver implements DidResolver {
                         return Result.failure("DID response contained an empty body: " + didKey);
                     }
                     DidDocument didDocument = mapper.readValue(body.string(), DidDocument.class);
-                    return Result.success(didDocument);
+                    return Result.success(new ResolvedDidDocument(didDocument, maxAge(response.cacheControl())));
                 }
             } catch (IOException e) {
                 monitor.severe("Error resolving DID: " + didKey, e);
@@ -78,5 +92,18 @@ public class WebDidResolver implements DidResolver {
         }
     }
 
+    /**
+     * Derives the cache lifetime of a DID document from the response's Cache-Control header. Returns null if the header does not restrict caching.
+     */
+    @Nullable
+    private Duration maxAge(CacheControl cacheControl) {
+        if (cacheControl.noStore() || cacheControl.noCache()) {
+            return Duration.ZERO;
+        }
+        if (cacheControl.maxAgeSeconds() >= 0) {
+            return Duration.ofSeconds(cacheControl.maxAgeSeconds());
+        }
+        return null;
+    }
 
 }
@@ -25,6 +25,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 
 import static okhttp3.Protocol.HTTP_1_1;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -52,6 +53,28 @@ class WebDidResolverTest {
         assertThat(result.getContent()).isNotNull();
     }
 
+    @Test
+    void verifyResolveDocumentReportsCacheControlMaxAge() {
+        var interceptor = new Interceptor() {
+            @NotNull
+            @Override
+            public Response intercept(@NotNull Interceptor.Chain chain) throws IOException {
+                var didStream = Thread.currentThread().getContextClassLoader().getResourceAsStream("did.json");
+                assert didStream != null;
+                var didDocument = new String(didStream.readAllBytes(), StandardCharsets.UTF_8);
+                var body = ResponseBody.create(didDocument, MediaType.get("application/json"));
+                return new Response.Builder().body(body).protocol(HTTP_1_1).request(chain.request()).code(200).message("ok")
+                        .header("Cache-Control", "public, max-age=120").build();
+            }
+        };
+        var resolver = createResolver(interceptor);
+
+        var result = resolver.resolveWithMetadata("did:web:foo.com:edc:EiDfkaPHt8Yojnh15O7egrj5pA9tTefh_SYtbhF1-XyAeA");
+
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.getContent().getMaxAge()).isEqualTo(Duration.ofSeconds(120));
+    }
+
     @Test
     void verifyResolveDocumentNotFound() {
         var interceptor = new Interceptor() {
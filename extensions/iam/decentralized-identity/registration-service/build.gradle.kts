@@ -14,6 +14,9 @@ dependencies {
     // third party
     implementation("jakarta.ws.rs:jakarta.ws.rs-api:${rsApi}")
     implementation("org.quartz-scheduler:quartz:2.3.0")
+
+    testImplementation(project(":extensions:iam:decentralized-identity:identity-did-core"))
+    testImplementation(project(":extensions:ion:ion-client"))
 }
 
 publishing {
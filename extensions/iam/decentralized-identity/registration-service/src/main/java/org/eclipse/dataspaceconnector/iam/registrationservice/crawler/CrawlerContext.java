@@ -13,12 +13,15 @@
  */
 package org.eclipse.dataspaceconnector.iam.registrationservice.crawler;
 
+import okhttp3.OkHttpClient;
 import org.eclipse.dataspaceconnector.iam.did.spi.resolution.DidResolverRegistry;
 import org.eclipse.dataspaceconnector.iam.did.spi.store.DidStore;
 import org.eclipse.dataspaceconnector.iam.registrationservice.events.CrawlerEventPublisher;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.types.TypeManager;
 
+import java.util.concurrent.ExecutorService;
+
 /**
  * Stores parameters (such as the DID Type) and necessary objects (such as the IonClient or the DidStore)
  * for the crawler, so it is essentially a Holder which is passed through to the {@link CrawlerJob} by Quartz
@@ -32,6 +35,8 @@ public class CrawlerContext {
     private String didTypes;
     private DidResolverRegistry resolverRegistry;
     private TypeManager typeManager;
+    private OkHttpClient httpClient;
+    private ExecutorService executor;
 
     public DidStore getDidStore() {
         return didStore;
@@ -61,6 +66,17 @@ public class CrawlerContext {
         return typeManager;
     }
 
+    public OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * The bounded executor on which DIDs are resolved. Resolution is blocking I/O and therefore must not run on the common ForkJoin pool.
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
     public static final class Builder {
         private DidStore didStore;
         private Monitor monitor;
@@ -69,6 +85,8 @@ public class CrawlerContext {
         private String didTypes;
         private DidResolverRegistry resolverRegistry;
         private TypeManager typeManager;
+        private OkHttpClient httpClient;
+        private ExecutorService executor;
 
         private Builder() {
         }
@@ -112,6 +130,16 @@ public class CrawlerContext {
             return this;
         }
 
+        public Builder httpClient(OkHttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        public Builder executor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
         public CrawlerContext build() {
             CrawlerContext crawlerConfig = new CrawlerContext();
             crawlerConfig.didTypes = didTypes;
@@ -121,6 +149,8 @@ public class CrawlerContext {
             crawlerConfig.didStore = didStore;
             crawlerConfig.monitor = monitor;
             crawlerConfig.resolverRegistry = resolverRegistry;
+            crawlerConfig.httpClient = httpClient;
+            crawlerConfig.executor = executor;
             return crawlerConfig;
         }
     }
@@ -14,6 +14,8 @@
 
 package org.eclipse.dataspaceconnector.iam.registrationservice.crawler;
 
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
 import org.eclipse.dataspaceconnector.events.azure.AzureEventGridConfig;
 import org.eclipse.dataspaceconnector.iam.did.spi.resolution.DidResolverRegistry;
 import org.eclipse.dataspaceconnector.iam.did.spi.store.DidStore;
@@ -32,6 +34,9 @@ import org.quartz.Trigger;
 import org.quartz.impl.StdSchedulerFactory;
 
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.quartz.JobBuilder.newJob;
 import static org.quartz.SimpleScheduleBuilder.simpleSchedule;
@@ -45,12 +50,18 @@ public class CrawlerExtension implements ServiceExtension {
     private static final String ION_URL_SETTING = "edc.ion.crawler.ion.url";
     @EdcSetting
     private static final String ION_CRAWLER_TYPE_SETTING = "edc.ion.crawler.did-type";
+    @EdcSetting
+    private static final String ION_CRAWLER_THREADS_SETTING = "edc.ion.crawler.threads";
+    private static final int DEFAULT_CRAWLER_THREADS = 8;
     private ServiceExtensionContext context;
     private Scheduler quartzScheduler;
     @Inject
     private DidStore didStore;
     @Inject
     private DidResolverRegistry resolverRegistry;
+    @Inject
+    private OkHttpClient httpClient;
+    private ExecutorService crawlerExecutor;
 
     @Override
     public void initialize(ServiceExtensionContext context) {
@@ -81,6 +92,9 @@ public class CrawlerExtension implements ServiceExtension {
         try {
             context.getMonitor().info("Stopping ION crawler");
             quartzScheduler.shutdown();
+            if (crawlerExecutor != null) {
+                crawlerExecutor.shutdownNow();
+            }
             context.getMonitor().info("Stopped ION crawler");
             context.getMonitor().info("ION Crawler Extension shutdown");
         } catch (SchedulerException e) {
@@ -92,6 +106,14 @@ public class CrawlerExtension implements ServiceExtension {
 
         var publisher = new CrawlerEventPublisher(context.getService(Vault.class), new AzureEventGridConfig(context));
 
+        var threads = context.getSetting(ION_CRAWLER_THREADS_SETTING, DEFAULT_CRAWLER_THREADS);
+        crawlerExecutor = Executors.newFixedThreadPool(threads);
+
+        // derive from the shared client so that the dispatcher is shared, but keep enough idle connections for all crawler threads
+        var crawlerClient = httpClient.newBuilder()
+                .connectionPool(new ConnectionPool(threads, 5, TimeUnit.MINUTES))
+                .build();
+
         var crawlerConfig = CrawlerContext.Builder.create()
                 .didStore(didStore)
                 .ionHost(context.getSetting(ION_URL_SETTING, "http://gx-ion-node.westeurope.cloudapp.azure.com:3000/"))
@@ -100,6 +122,8 @@ public class CrawlerExtension implements ServiceExtension {
                 .publisher(publisher)
                 .didTypes(context.getSetting(ION_CRAWLER_TYPE_SETTING, "aW9u"))
                 .resolverRegistry(resolverRegistry)
+                .httpClient(crawlerClient)
+                .executor(crawlerExecutor)
                 .build();
 
         JobDetail job = newJob(CrawlerJob.class)
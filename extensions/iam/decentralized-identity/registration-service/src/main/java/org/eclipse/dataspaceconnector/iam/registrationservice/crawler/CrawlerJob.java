@@ -32,7 +32,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
@@ -47,7 +47,10 @@ public class CrawlerJob implements Job {
     public void execute(JobExecutionContext context) {
         JobDataMap jobDataMap = context.getJobDetail().getJobDataMap();
         var cc = (CrawlerContext) jobDataMap.get(CrawlerContext.KEY);
+        crawl(cc);
+    }
 
+    void crawl(CrawlerContext cc) {
         ionApiUrl = Objects.requireNonNull(cc.getIonHost(), "ION Node URL cannot be null!");
         var monitor = cc.getMonitor();
 
@@ -56,7 +59,7 @@ public class CrawlerJob implements Job {
         var start = Instant.now();
         var newDidFutures = getDidDocumentsFromBlockchainAsync(cc);
 
-        List<DidDocument> newDids = newDidFutures.parallelStream()
+        List<DidDocument> newDids = newDidFutures.stream()
                 .map(CompletableFuture::join)
                 .filter(Objects::nonNull)
                 .filter(Result::succeeded)
@@ -76,9 +79,9 @@ public class CrawlerJob implements Job {
     }
 
     private List<CompletableFuture<Result<DidDocument>>> getDidDocumentsFromBlockchainAsync(CrawlerContext context) {
-        return getDidSuffixesForType(context.getDidTypes(), context.getTypeManager())
+        return getDidSuffixesForType(context.getDidTypes(), context.getTypeManager(), context.getHttpClient())
                 .stream()
-                .map(didSuffix -> resolveDidAsync(didSuffix, context.getResolverRegistry()))
+                .map(didSuffix -> resolveDidAsync(didSuffix, context.getResolverRegistry(), context.getExecutor()))
                 .collect(Collectors.toList());
     }
 
@@ -88,10 +91,10 @@ public class CrawlerJob implements Job {
      *
      * @param type The type to look up. Should be "Z3hp" for GaiaX
      * @param typeManager the type manager
+     * @param client the HTTP client used to query the ION node
      * @return A list of DID IDs in the form {@code did:ion:.....}
      */
-    private List<String> getDidSuffixesForType(String type, TypeManager typeManager) {
-        var client = createClient();
+    private List<String> getDidSuffixesForType(String type, TypeManager typeManager, OkHttpClient client) {
 
         var url = HttpUrl.parse(ionApiUrl)
                 .newBuilder()
@@ -138,14 +141,11 @@ public class CrawlerJob implements Job {
      *
      * @param didId The canonical ID (="suffix", "short form URI") of the DID. Must be in the form "did:ion:..."
      * @param resolverRegistry An ION implementation
+     * @param executor the executor to run the (blocking) resolution on
      * @return A {@code CompletableFuture<DidDocument>} if found, {@code null} otherwise
      */
-    private CompletableFuture<Result<DidDocument>> resolveDidAsync(String didId, DidResolverRegistry resolverRegistry) {
-        return CompletableFuture.supplyAsync(() -> resolveDid(didId, resolverRegistry));
-    }
-
-    private OkHttpClient createClient() {
-        return new OkHttpClient.Builder().connectTimeout(30, TimeUnit.SECONDS).readTimeout(30, TimeUnit.SECONDS).build();
+    private CompletableFuture<Result<DidDocument>> resolveDidAsync(String didId, DidResolverRegistry resolverRegistry, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> resolveDid(didId, resolverRegistry), executor);
     }
 
 }
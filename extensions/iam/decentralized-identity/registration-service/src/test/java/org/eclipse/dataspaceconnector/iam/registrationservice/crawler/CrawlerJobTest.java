@@ -0,0 +1,143 @@
+/*
+ *  Copyright (c) 2021 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+package org.eclipse.dataspaceconnector.iam.registrationservice.crawler;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import org.eclipse.dataspaceconnector.iam.did.resolution.DidResolverRegistryImpl;
+import org.eclipse.dataspaceconnector.iam.did.spi.document.DidDocument;
+import org.eclipse.dataspaceconnector.iam.did.spi.store.DidStore;
+import org.eclipse.dataspaceconnector.iam.registrationservice.events.CrawlerEventPublisher;
+import org.eclipse.dataspaceconnector.ion.IonClientImpl;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Crawls a local stand-in ION node that knows 1,000 participants, resolving them through the {@link IonClientImpl} registered for the ION method,
+ * and verifies that resolution runs on the dedicated crawler executor and reuses pooled connections instead of opening one per participant.
+ */
+class CrawlerJobTest {
+    private static final int PARTICIPANTS = 1000;
+    private static final int THREADS = 8;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ExecutorService crawlerExecutor;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Set<String> resolvingThreads = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        var dids = IntStream.range(0, PARTICIPANTS).mapToObj(i -> "\"did:ion:participant" + i + "\"").collect(Collectors.joining(",", "[", "]"));
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/dids", exchange -> respond(exchange, dids));
+        server.createContext("/identifiers", exchange -> {
+            var path = exchange.getRequestURI().getPath();
+            respond(exchange, "{\"didDocument\":{\"id\":\"" + path.substring(path.lastIndexOf('/') + 1) + "\"}}");
+        });
+        serverExecutor = Executors.newFixedThreadPool(THREADS);
+        server.setExecutor(serverExecutor);
+        server.start();
+        crawlerExecutor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        crawlerExecutor.shutdownNow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void verifyCrawlReusesConnections() {
+        var httpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(THREADS, 5, TimeUnit.MINUTES))
+                .eventListener(new EventListener() {
+                    @Override
+                    public void callStart(@NotNull Call call) {
+                        if (call.request().url().encodedPath().startsWith("/identifiers/")) {
+                            resolvingThreads.add(Thread.currentThread().getName());
+                        }
+                    }
+
+                    // only invoked when a new physical connection is opened, not when a pooled one is reused
+                    @Override
+                    public void connectStart(@NotNull Call call, @NotNull InetSocketAddress inetSocketAddress, @NotNull Proxy proxy) {
+                        connections.incrementAndGet();
+                    }
+                })
+                .build();
+        var nodeUrl = "http://localhost:" + server.getAddress().getPort();
+        var typeManager = new TypeManager();
+        var resolverRegistry = new DidResolverRegistryImpl();
+        resolverRegistry.register(new IonClientImpl(nodeUrl, typeManager.getMapper(), httpClient));
+        var didStore = mock(DidStore.class);
+        var context = CrawlerContext.Builder.create()
+                .ionHost(nodeUrl + "/")
+                .didTypes("Z3hp")
+                .didStore(didStore)
+                .monitor(mock(Monitor.class))
+                .publisher(mock(CrawlerEventPublisher.class))
+                .typeManager(typeManager)
+                .resolverRegistry(resolverRegistry)
+                .httpClient(httpClient)
+                .executor(crawlerExecutor)
+                .build();
+
+        new CrawlerJob().crawl(context);
+
+        ArgumentCaptor<Collection<DidDocument>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(didStore).saveAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(PARTICIPANTS).extracting(DidDocument::getId).contains("did:ion:participant0");
+        assertThat(resolvingThreads).isNotEmpty().allMatch(name -> !name.startsWith("ForkJoinPool"));
+        assertThat(connections.get()).isLessThanOrEqualTo(THREADS + 1);
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        var bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (var os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
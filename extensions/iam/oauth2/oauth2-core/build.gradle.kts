@@ -25,6 +25,7 @@ dependencies {
 
     implementation("com.nimbusds:nimbus-jose-jwt:${nimbusVersion}")
 
+    testImplementation(testFixtures(project(":common:util")))
     testImplementation(testFixtures(project(":launchers:junit")))
 }
 
@@ -38,6 +38,8 @@ import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
 import java.security.PrivateKey;
 import java.security.cert.CertificateEncodingException;
 import java.security.interfaces.ECPrivateKey;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -68,6 +70,10 @@ public class Oauth2Extension implements ServiceExtension {
     @EdcSetting
     private static final String PROVIDER_JWKS_REFRESH = "edc.oauth.provider.jwks.refresh"; // in minutes
 
+    @EdcSetting
+    private static final String PROVIDER_JWKS_MIN_REFRESH = "edc.oauth.provider.jwks.refresh.min"; // in seconds
+    private static final long DEFAULT_PROVIDER_JWKS_MIN_REFRESH = 30;
+
     @EdcSetting
     private static final String TOKEN_URL = "edc.oauth.token.url";
 
@@ -94,7 +100,8 @@ public class Oauth2Extension implements ServiceExtension {
     @Override
     public void initialize(ServiceExtensionContext context) {
         var jwksUrl = context.getSetting(PROVIDER_JWKS_URL, "http://localhost/empty_jwks_url");
-        providerKeyResolver = new IdentityProviderKeyResolver(jwksUrl, context.getMonitor(), okHttpClient, context.getTypeManager());
+        var minRefreshInterval = Duration.ofSeconds(context.getSetting(PROVIDER_JWKS_MIN_REFRESH, DEFAULT_PROVIDER_JWKS_MIN_REFRESH));
+        providerKeyResolver = new IdentityProviderKeyResolver(jwksUrl, context.getMonitor(), okHttpClient, context.getTypeManager(), minRefreshInterval, Clock.systemUTC());
         keyRefreshInterval = context.getSetting(PROVIDER_JWKS_REFRESH, 5);
 
         var configuration = createConfig(context);
@@ -112,9 +119,8 @@ public class Oauth2Extension implements ServiceExtension {
 
     @Override
     public void start() {
-        providerKeyResolver.refreshKeys();
         executorService = Executors.newSingleThreadScheduledExecutor();
-        executorService.scheduleWithFixedDelay(() -> providerKeyResolver.refreshKeys(), keyRefreshInterval, keyRefreshInterval, TimeUnit.MINUTES);
+        providerKeyResolver.start(executorService, Duration.ofMinutes(keyRefreshInterval));
     }
 
     @Override
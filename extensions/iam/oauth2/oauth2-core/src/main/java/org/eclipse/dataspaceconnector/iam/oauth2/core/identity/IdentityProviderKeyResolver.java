@@ -15,14 +15,17 @@
 package org.eclipse.dataspaceconnector.iam.oauth2.core.identity;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import okhttp3.CacheControl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
-import okhttp3.Response;
 import org.eclipse.dataspaceconnector.iam.oauth2.core.jwt.JwkKey;
 import org.eclipse.dataspaceconnector.iam.oauth2.core.jwt.JwkKeys;
 import org.eclipse.dataspaceconnector.iam.oauth2.spi.PublicKeyResolver;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
 import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.math.BigInteger;
@@ -30,26 +33,45 @@ import java.security.GeneralSecurityException;
 import java.security.KeyFactory;
 import java.security.interfaces.RSAPublicKey;
 import java.security.spec.RSAPublicKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.AbstractMap;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * Resolves public signing certificates for the identity provider. Used to verify JWTs.
- * This implementation supports key rotation and refresh by calling {@link #refreshKeys()} on a periodic basis.
+ * <p>
+ * Keys are indexed by their key id and exposed as pre-built verifiers. The key set is prefetched in the background, ahead of the max-age the
+ * identity provider advertises if that is shorter than the refresh interval. When a token references an unknown key id, e.g. because the identity
+ * provider rotated its keys, the key set is refreshed on demand; on-demand refreshes are rate-limited so that tokens with bogus key ids cannot be
+ * used to flood the identity provider.
  */
 public class IdentityProviderKeyResolver implements PublicKeyResolver, Runnable {
+    private static final Duration DEFAULT_MIN_REFRESH_INTERVAL = Duration.ofSeconds(30);
+    private static final int PREFETCH_PERCENTAGE = 80;
+
     private final String jwksUrl;
     private final Monitor monitor;
 
     private final ObjectMapper mapper;
-    private final AtomicReference<Map<String, RSAPublicKey>> cache = new AtomicReference<>(); // the current key cache, atomic for thread-safety
+    private final AtomicReference<Map<String, CachedKey>> cache = new AtomicReference<>(Map.of()); // the current key cache, atomic for thread-safety
     private final OkHttpClient httpClient;
+    private final Duration minRefreshInterval;
+    private final Clock clock;
+    private final Object refreshLock = new Object();
+
+    private volatile Instant lastRefresh;
+    private volatile Duration maxAge;
 
     /**
      * Ctor.
@@ -58,15 +80,36 @@ public class IdentityProviderKeyResolver implements PublicKeyResolver, Runnable
      * @param typeManager the type manager
      */
     public IdentityProviderKeyResolver(String jwksUrl, Monitor monitor, OkHttpClient httpClient, TypeManager typeManager) {
+        this(jwksUrl, monitor, httpClient, typeManager, DEFAULT_MIN_REFRESH_INTERVAL, Clock.systemUTC());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param jwksUrl            the URL specified by 'jwks_uri' in the document returned by the identity provider's metadata endpoint.
+     * @param typeManager        the type manager
+     * @param minRefreshInterval the minimum time between two refreshes triggered by an unknown key id
+     * @param clock              the clock used to rate-limit refreshes
+     */
+    public IdentityProviderKeyResolver(String jwksUrl, Monitor monitor, OkHttpClient httpClient, TypeManager typeManager, Duration minRefreshInterval, Clock clock) {
         this.jwksUrl = jwksUrl;
         this.monitor = monitor;
         this.httpClient = httpClient;
+        this.minRefreshInterval = minRefreshInterval;
+        this.clock = clock;
         mapper = typeManager.getMapper();
     }
 
     @Override
-    public RSAPublicKey resolveKey(String id) {
-        return cache.get().get(id);
+    public @Nullable RSAPublicKey resolveKey(String id) {
+        var key = lookup(id);
+        return key != null ? key.publicKey : null;
+    }
+
+    @Override
+    public @Nullable JWSVerifier resolveVerifier(String id) {
+        var key = lookup(id);
+        return key != null ? key.verifier : null;
     }
 
     @Override
@@ -74,16 +117,28 @@ public class IdentityProviderKeyResolver implements PublicKeyResolver, Runnable
         refreshKeys();
     }
 
+    /**
+     * Loads the keys and schedules the background refreshes on the given executor.
+     *
+     * @param executor        the executor running the refreshes
+     * @param refreshInterval the maximum time between two refreshes
+     */
+    public void start(ScheduledExecutorService executor, Duration refreshInterval) {
+        refreshKeys();
+        scheduleRefresh(executor, refreshInterval);
+    }
+
     public void refreshKeys() {
-        try {
+        synchronized (refreshLock) {
+            lastRefresh = clock.instant();
             Request request = new Request.Builder().url(jwksUrl).get().build();
 
-            Response response = httpClient.newCall(request).execute();
-            if (response.code() != 200) {
-                monitor.severe("Unable to refresh identity provider keys. Response code was: " + response.code());
-                return;
-            }
-            try (var body = response.body()) {
+            try (var response = httpClient.newCall(request).execute()) {
+                if (response.code() != 200) {
+                    monitor.severe("Unable to refresh identity provider keys. Response code was: " + response.code());
+                    return;
+                }
+                var body = response.body();
                 if (body == null) {
                     monitor.severe("Unable to refresh identity provider keys. An empty response was returned.");
                     return;
@@ -102,13 +157,32 @@ public class IdentityProviderKeyResolver implements PublicKeyResolver, Runnable
                     return;
                 }
 
-                cache.set(newKeys);   // reset the cache
+                // build the verifiers once per key set instead of once per token
+                cache.set(newKeys.entrySet().stream()
+                        .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> new CachedKey(entry.getValue()))));   // reset the cache
+                maxAge = maxAge(response.cacheControl());
+            } catch (IOException e) {
+                monitor.severe("Error resolving identity provider keys: " + jwksUrl, e);
             }
-        } catch (IOException e) {
-            monitor.severe("Error resolving identity provider keys: " + jwksUrl, e);
         }
     }
 
+    /**
+     * Returns the delay until the next background refresh. Accessible for testing.
+     */
+    Duration nextRefreshDelay(Duration refreshInterval) {
+        var currentMaxAge = maxAge;
+        if (currentMaxAge == null) {
+            return refreshInterval;
+        }
+        // prefetch before the key set advertised by the identity provider expires
+        var prefetch = currentMaxAge.multipliedBy(PREFETCH_PERCENTAGE).dividedBy(100);
+        if (prefetch.compareTo(minRefreshInterval) < 0) {
+            prefetch = minRefreshInterval;
+        }
+        return prefetch.compareTo(refreshInterval) < 0 ? prefetch : refreshInterval;
+    }
+
     /**
      * Deserializes JWK keys into RSA public keys. Accessible for testing.
      */
@@ -137,6 +211,62 @@ public class IdentityProviderKeyResolver implements PublicKeyResolver, Runnable
         return new BigInteger(1, Base64.getUrlDecoder().decode(value));
     }
 
+    @Nullable
+    private CachedKey lookup(String id) {
+        if (id == null) {
+            return null;
+        }
+        var key = cache.get().get(id);
+        if (key == null) {
+            refreshOnUnknownKey(id);
+            key = cache.get().get(id);
+        }
+        return key;
+    }
+
+    private void refreshOnUnknownKey(String id) {
+        synchronized (refreshLock) {
+            if (cache.get().containsKey(id)) {
+                return; // a concurrent caller already loaded the key
+            }
+            var last = lastRefresh;
+            if (last != null && clock.instant().isBefore(last.plus(minRefreshInterval))) {
+                return;
+            }
+            monitor.debug("Unknown identity provider key id, refreshing keys: " + id);
+            refreshKeys();
+        }
+    }
+
+    private void scheduleRefresh(ScheduledExecutorService executor, Duration refreshInterval) {
+        try {
+            executor.schedule(() -> {
+                try {
+                    refreshKeys();
+                } finally {
+                    scheduleRefresh(executor, refreshInterval);
+                }
+            }, nextRefreshDelay(refreshInterval).toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            monitor.debug("Identity provider key refresh not scheduled, executor is shut down");
+        }
+    }
+
+    @Nullable
+    private static Duration maxAge(CacheControl cacheControl) {
+        return cacheControl.maxAgeSeconds() > 0 ? Duration.ofSeconds(cacheControl.maxAgeSeconds()) : null;
+    }
+
+    private static final class CachedKey {
+        private final RSAPublicKey publicKey;
+        private final JWSVerifier verifier;
+
+        CachedKey(RSAPublicKey publicKey) {
+            this.publicKey = publicKey;
+            verifier = new RSASSAVerifier(publicKey);
+        }
+    }
+
     static final class JwkKeyPredicate implements Predicate<JwkKey> {
         @Override
         public boolean test(JwkKey key) {
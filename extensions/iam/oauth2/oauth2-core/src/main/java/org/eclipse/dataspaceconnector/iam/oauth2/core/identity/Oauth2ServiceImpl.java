@@ -19,9 +19,7 @@ import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.JWSSigner;
-import com.nimbusds.jose.JWSVerifier;
 import com.nimbusds.jose.crypto.ECDSASigner;
-import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import okhttp3.FormBody;
@@ -40,10 +38,8 @@ import org.eclipse.dataspaceconnector.spi.iam.IdentityService;
 import org.eclipse.dataspaceconnector.spi.iam.TokenRepresentation;
 import org.eclipse.dataspaceconnector.spi.result.Result;
 import org.eclipse.dataspaceconnector.spi.types.TypeManager;
-import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
-import java.security.interfaces.RSAPublicKey;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -145,7 +141,8 @@ public class Oauth2ServiceImpl implements IdentityService {
             var signedJwt = SignedJWT.parse(token);
 
             String publicKeyId = signedJwt.getHeader().getKeyID();
-            var verifier = createVerifier(signedJwt.getHeader(), publicKeyId);
+            // verifiers are pre-built per key id by the resolver, so no key conversion happens per request
+            var verifier = configuration.getIdentityProviderKeyResolver().resolveVerifier(publicKeyId);
             if (verifier == null) {
                 return Result.failure("Failed to create verifier");
             }
@@ -182,16 +179,6 @@ public class Oauth2ServiceImpl implements IdentityService {
         }
     }
 
-    @Nullable
-    private JWSVerifier createVerifier(JWSHeader header, String publicKeyId) {
-        RSAPublicKey publicKey = configuration.getIdentityProviderKeyResolver().resolveKey(publicKeyId);
-        try {
-            return new DefaultJWSVerifierFactory().createJWSVerifier(header, publicKey);
-        } catch (JOSEException e) {
-            return null;
-        }
-    }
-
     private String buildJwt() {
         try {
             var jwsHeaderBuilder = new JWSHeader.Builder(jwsAlgorithm);
@@ -15,18 +15,44 @@
 package org.eclipse.dataspaceconnector.iam.oauth2.core.identity;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
 import okhttp3.OkHttpClient;
+import org.eclipse.dataspaceconnector.common.testfixtures.MutableClock;
+import org.eclipse.dataspaceconnector.iam.oauth2.core.Oauth2Configuration;
 import org.eclipse.dataspaceconnector.iam.oauth2.core.jwt.JwkKeys;
+import org.eclipse.dataspaceconnector.iam.oauth2.core.jwt.JwtDecoratorRegistryImpl;
 import org.eclipse.dataspaceconnector.spi.EdcException;
 import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.eclipse.dataspaceconnector.spi.security.CertificateResolver;
+import org.eclipse.dataspaceconnector.spi.security.PrivateKeyResolver;
 import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.InetSocketAddress;
 import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -34,8 +60,23 @@ import static org.mockito.Mockito.mock;
 class IdentityProviderKeyResolverTest {
     private static final String JWKS_URL = "https://login.microsoftonline.com/common/discovery/v2.0/keys";
     private static final String JWKS_FILE = "jwks_response.json";
+    private static final String AUDIENCE = "audience-test";
+    private static RSAKey key1;
+    private static RSAKey key2;
+
     private IdentityProviderKeyResolver resolver;
     private JwkKeys keys;
+    private HttpServer server;
+    private final AtomicInteger fetches = new AtomicInteger();
+    private volatile List<JWK> publishedKeys;
+    private volatile String cacheControl;
+    private MutableClock clock;
+
+    @BeforeAll
+    static void createKeys() throws JOSEException {
+        key1 = testKey();
+        key2 = testKey();
+    }
 
     @Test
     void verifyJwksDeserialization() {
@@ -47,8 +88,90 @@ class IdentityProviderKeyResolverTest {
                 .containsKey("nOo3ZDrODXEK1jKWhXslHR_KXEg");
     }
 
+    @Test
+    void verifyVerifiersAreIndexedAndPrebuilt() throws JOSEException {
+        var standInResolver = createStandInResolver(Duration.ofSeconds(30));
+        standInResolver.refreshKeys();
+
+        var verifier = standInResolver.resolveVerifier(key1.getKeyID());
+
+        assertThat(verifier).isNotNull().isSameAs(standInResolver.resolveVerifier(key1.getKeyID()));
+        assertThat(standInResolver.resolveKey(key1.getKeyID())).isEqualTo(key1.toRSAPublicKey());
+        assertThat(fetches.get()).isEqualTo(1);
+    }
+
+    @Test
+    void verifyRotatedKeyIsLoadedOnDemand() {
+        var standInResolver = createStandInResolver(Duration.ofSeconds(30));
+        standInResolver.refreshKeys();
+
+        // the identity provider rotates to a new signing key
+        publishedKeys = List.of(key1.toPublicJWK(), key2.toPublicJWK());
+        clock.advance(Duration.ofSeconds(31));
+
+        assertThat(standInResolver.resolveVerifier(key2.getKeyID())).isNotNull();
+        assertThat(fetches.get()).isEqualTo(2);
+    }
+
+    @Test
+    void verifyUnknownKeyRefreshIsRateLimited() {
+        var standInResolver = createStandInResolver(Duration.ofSeconds(30));
+        standInResolver.refreshKeys();
+
+        clock.advance(Duration.ofSeconds(1));
+        for (var i = 0; i < 100; i++) {
+            assertThat(standInResolver.resolveVerifier("unknown")).isNull();
+        }
+        assertThat(fetches.get()).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(30));
+        standInResolver.resolveVerifier("unknown");
+        standInResolver.resolveVerifier("unknown");
+        assertThat(fetches.get()).isEqualTo(2);
+    }
+
+    @Test
+    void verifyPrefetchAheadOfMaxAge() {
+        var standInResolver = createStandInResolver(Duration.ofSeconds(30));
+        var refreshInterval = Duration.ofMinutes(5);
+
+        standInResolver.refreshKeys();
+        assertThat(standInResolver.nextRefreshDelay(refreshInterval)).isEqualTo(refreshInterval);
+
+        cacheControl = "public, max-age=100";
+        standInResolver.refreshKeys();
+        assertThat(standInResolver.nextRefreshDelay(refreshInterval)).isEqualTo(Duration.ofSeconds(80));
+
+        cacheControl = "max-age=10";
+        standInResolver.refreshKeys();
+        assertThat(standInResolver.nextRefreshDelay(refreshInterval)).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void verifyValidationDuringRotation() throws JOSEException {
+        var standInResolver = createStandInResolver(Duration.ZERO);
+        standInResolver.refreshKeys();
+        var configuration = Oauth2Configuration.Builder.newInstance()
+                .providerAudience(AUDIENCE)
+                .privateKeyResolver(mock(PrivateKeyResolver.class))
+                .certificateResolver(mock(CertificateResolver.class))
+                .identityProviderKeyResolver(standInResolver)
+                .build();
+        var service = new Oauth2ServiceImpl(configuration, new RSASSASigner(key1), new OkHttpClient(), new JwtDecoratorRegistryImpl(), new TypeManager());
+
+        publishedKeys = List.of(key2.toPublicJWK());
+        var token = createToken(key2);
+
+        // the first validation after the rotation fetches the new key, the following ones use the cached verifier
+        for (var i = 0; i < 100; i++) {
+            assertThat(service.verifyJwtToken(token).succeeded()).isTrue();
+        }
+
+        assertThat(fetches.get()).isEqualTo(2);
+    }
+
     @BeforeEach
-    void setUp() {
+    void setUp() throws IOException {
         resolver = new IdentityProviderKeyResolver(JWKS_URL, new Monitor() {
         }, mock(OkHttpClient.class), new TypeManager());
 
@@ -57,5 +180,51 @@ class IdentityProviderKeyResolverTest {
         } catch (IOException e) {
             throw new EdcException("Failed to load keys from file");
         }
+
+        clock = new MutableClock();
+        publishedKeys = List.of(key1.toPublicJWK());
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/jwks", exchange -> {
+            fetches.incrementAndGet();
+            var bytes = new ObjectMapper().writeValueAsBytes(new JWKSet(publishedKeys).toJSONObject(true));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            if (cacheControl != null) {
+                exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+            }
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (var os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private IdentityProviderKeyResolver createStandInResolver(Duration minRefreshInterval) {
+        var jwksUrl = "http://localhost:" + server.getAddress().getPort() + "/jwks";
+        return new IdentityProviderKeyResolver(jwksUrl, new Monitor() {
+        }, new OkHttpClient(), new TypeManager(), minRefreshInterval, clock);
+    }
+
+    private static String createToken(RSAKey key) throws JOSEException {
+        var claimsSet = new JWTClaimsSet.Builder()
+                .audience(AUDIENCE)
+                .notBeforeTime(Date.from(Instant.now().minusSeconds(1000)))
+                .expirationTime(Date.from(Instant.now().plusSeconds(1000)))
+                .build();
+        var jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claimsSet);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    private static RSAKey testKey() throws JOSEException {
+        return new RSAKeyGenerator(2048)
+                .keyUse(KeyUse.SIGNATURE)
+                .keyID(UUID.randomUUID().toString())
+                .generate();
     }
 }
@@ -41,9 +41,7 @@ import java.util.Date;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
 class Oauth2ServiceImplTest {
 
@@ -61,10 +59,10 @@ class Oauth2ServiceImplTest {
         RSAKey testKey = testKey();
 
         jwsSigner = new RSASSASigner(testKey.toPrivateKey());
-        PublicKeyResolver publicKeyResolverMock = mock(PublicKeyResolver.class);
+        RSAPublicKey publicKey = (RSAPublicKey) testKey.toPublicKey();
+        PublicKeyResolver publicKeyResolver = id -> publicKey;
         PrivateKeyResolver privateKeyResolverMock = mock(PrivateKeyResolver.class);
         CertificateResolver certificateResolverMock = mock(CertificateResolver.class);
-        when(publicKeyResolverMock.resolveKey(anyString())).thenReturn((RSAPublicKey) testKey.toPublicKey());
         Oauth2Configuration configuration = Oauth2Configuration.Builder.newInstance()
                 .tokenUrl(TOKEN_URL)
                 .clientId(CLIENT_ID)
@@ -73,7 +71,7 @@ class Oauth2ServiceImplTest {
                 .providerAudience(PROVIDER_AUDIENCE)
                 .privateKeyResolver(privateKeyResolverMock)
                 .certificateResolver(certificateResolverMock)
-                .identityProviderKeyResolver(publicKeyResolverMock)
+                .identityProviderKeyResolver(publicKeyResolver)
                 .build();
 
         authService = new Oauth2ServiceImpl(configuration, jwsSigner, new OkHttpClient.Builder().build(), new JwtDecoratorRegistryImpl(), new TypeManager());
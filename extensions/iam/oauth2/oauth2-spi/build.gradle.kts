@@ -21,7 +21,7 @@ val nimbusVersion: String by project
 dependencies {
     api(project(":spi"))
 
-    implementation("com.nimbusds:nimbus-jose-jwt:${nimbusVersion}")
+    api("com.nimbusds:nimbus-jose-jwt:${nimbusVersion}")
 }
 
 publishing {
@@ -14,6 +14,8 @@
 
 package org.eclipse.dataspaceconnector.iam.oauth2.spi;
 
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
 import org.jetbrains.annotations.Nullable;
 
 import java.security.interfaces.RSAPublicKey;
@@ -30,4 +32,13 @@ public interface PublicKeyResolver {
     @Nullable
     RSAPublicKey resolveKey(String id);
 
+    /**
+     * Resolves a verifier for the key or return null if not found. Implementations that cache keys should override this to return pre-built
+     * verifiers, so callers do not convert the key on every request.
+     */
+    @Nullable
+    default JWSVerifier resolveVerifier(String id) {
+        var key = resolveKey(id);
+        return key != null ? new RSASSAVerifier(key) : null;
+    }
 }
@@ -2,20 +2,47 @@ package org.eclipse.dataspaceconnector.catalog.directory;
 
 import org.eclipse.dataspaceconnector.catalog.spi.FederatedCacheNode;
 import org.eclipse.dataspaceconnector.catalog.spi.FederatedCacheNodeDirectory;
+import org.eclipse.dataspaceconnector.catalog.spi.NodeDirectorySnapshot;
 
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.Objects;
 
+/**
+ * Keeps the nodes indexed by name, so inserting a node takes constant time and a node that is inserted again replaces the previous one
+ * instead of being listed twice. Readers get an immutable snapshot, which is only rebuilt after the nodes have changed.
+ */
 public class InMemoryNodeDirectory implements FederatedCacheNodeDirectory {
-    private final List<FederatedCacheNode> cache = new CopyOnWriteArrayList<>();
+    private final Map<String, FederatedCacheNode> nodes = new LinkedHashMap<>();
+    private volatile long version;
+    private volatile NodeDirectorySnapshot snapshot = new NodeDirectorySnapshot(0, List.of());
 
     @Override
     public List<FederatedCacheNode> getAll() {
-        return List.copyOf(cache); //never return the internal copy
+        return getSnapshot().getNodes();
     }
 
     @Override
-    public void insert(FederatedCacheNode node) {
-        cache.add(node);
+    public synchronized void insert(FederatedCacheNode node) {
+        Objects.requireNonNull(node.getName(), "FederatedCacheNode must have a name!");
+        var previous = nodes.put(node.getName(), node);
+        if (!node.equals(previous)) {
+            version++;
+        }
+    }
+
+    @Override
+    public NodeDirectorySnapshot getSnapshot() {
+        var current = snapshot;
+        if (current.getVersion() == version) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot.getVersion() != version) {
+                snapshot = new NodeDirectorySnapshot(version, List.copyOf(nodes.values()));
+            }
+            return snapshot;
+        }
     }
 }
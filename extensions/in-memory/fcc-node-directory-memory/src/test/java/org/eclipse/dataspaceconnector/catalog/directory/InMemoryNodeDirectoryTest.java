@@ -0,0 +1,65 @@
+package org.eclipse.dataspaceconnector.catalog.directory;
+
+import org.eclipse.dataspaceconnector.catalog.spi.FederatedCacheNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryNodeDirectoryTest {
+
+    private final InMemoryNodeDirectory directory = new InMemoryNodeDirectory();
+
+    @Test
+    void insert_replacesNodeWithSameName() {
+        directory.insert(node("node1", "http://node1"));
+        directory.insert(node("node2", "http://node2"));
+        directory.insert(node("node1", "http://node1-moved"));
+
+        assertThat(directory.getAll()).extracting(FederatedCacheNode::getTargetUrl).containsExactly("http://node1-moved", "http://node2");
+    }
+
+    @Test
+    void getSnapshot_versionOnlyChangesWithNodes() {
+        var empty = directory.getSnapshot();
+        directory.insert(node("node1", "http://node1"));
+        var first = directory.getSnapshot();
+
+        assertThat(first.getVersion()).isGreaterThan(empty.getVersion());
+        assertThat(directory.getSnapshot()).isSameAs(first);
+
+        directory.insert(node("node1", "http://node1"));
+        assertThat(directory.getSnapshot()).isSameAs(first);
+
+        directory.insert(node("node1", "http://node1-moved"));
+        assertThat(directory.getSnapshot().getVersion()).isGreaterThan(first.getVersion());
+    }
+
+    @Test
+    void getAll_isNotAffectedByLaterInserts() {
+        directory.insert(node("node1", "http://node1"));
+        var nodes = directory.getAll();
+
+        directory.insert(node("node2", "http://node2"));
+
+        assertThat(nodes).hasSize(1);
+        assertThat(directory.getAll()).hasSize(2);
+    }
+
+    @Test
+    void getSnapshot_largeDirectoryIsNotCopiedOnRead() {
+        for (var i = 0; i < 20_000; i++) {
+            directory.insert(node("node" + i, "http://node" + i));
+        }
+
+        var snapshot = directory.getSnapshot();
+
+        assertThat(snapshot.getNodes()).hasSize(20_000);
+        assertThat(directory.getSnapshot()).isSameAs(snapshot);
+    }
+
+    private static FederatedCacheNode node(String name, String targetUrl) {
+        return new FederatedCacheNode(name, targetUrl, List.of("ids-multipart"));
+    }
+}
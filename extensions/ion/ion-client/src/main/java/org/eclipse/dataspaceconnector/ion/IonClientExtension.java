@@ -13,20 +13,30 @@
  */
 package org.eclipse.dataspaceconnector.ion;
 
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
 import org.eclipse.dataspaceconnector.iam.did.spi.resolution.DidResolverRegistry;
 import org.eclipse.dataspaceconnector.ion.spi.IonClient;
+import org.eclipse.dataspaceconnector.spi.EdcSetting;
 import org.eclipse.dataspaceconnector.spi.system.Inject;
 import org.eclipse.dataspaceconnector.spi.system.Provides;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
 import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
 
+import java.util.concurrent.TimeUnit;
+
 @Provides(IonClient.class)
 public class IonClientExtension implements ServiceExtension {
 
     private static final String ION_NODE_URL_SETTING = "edc:ion:node:url";
     private static final String DEFAULT_NODE_URL = "https://beta.discover.did.microsoft.com/1.0";
+    @EdcSetting
+    private static final String ION_MAX_IDLE_CONNECTIONS_SETTING = "edc.ion.client.connections.idle.max";
+    private static final int DEFAULT_MAX_IDLE_CONNECTIONS = 16;
     @Inject
     private DidResolverRegistry resolverRegistry;
+    @Inject
+    private OkHttpClient httpClient;
 
     @Override
     public String name() {
@@ -37,7 +47,12 @@ public class IonClientExtension implements ServiceExtension {
     public void initialize(ServiceExtensionContext context) {
         String ionEndpoint = getIonEndpoint(context);
         context.getMonitor().info("Using ION Node for resolution " + ionEndpoint);
-        var client = new IonClientImpl(ionEndpoint, context.getTypeManager().getMapper());
+        // all requests go to the same ION node, so keep more idle connections around than the shared client's default pool does
+        var maxIdleConnections = context.getSetting(ION_MAX_IDLE_CONNECTIONS_SETTING, DEFAULT_MAX_IDLE_CONNECTIONS);
+        var ionHttpClient = httpClient.newBuilder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, 5, TimeUnit.MINUTES))
+                .build();
+        var client = new IonClientImpl(ionEndpoint, context.getTypeManager().getMapper(), ionHttpClient);
         context.registerService(IonClient.class, client);
 
         resolverRegistry.register(client);
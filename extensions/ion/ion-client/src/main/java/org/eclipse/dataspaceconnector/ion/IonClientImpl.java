@@ -36,14 +36,23 @@ public class IonClientImpl implements IonClient {
     private static final String OPERATIONS_PATH = "/operations";
     private final String resolutionEndpoint;
     private final ObjectMapper typeManager;
+    private final OkHttpClient httpClient;
 
     public IonClientImpl(ObjectMapper typeManager) {
         this(DEFAULT_RESOLUTION_ENDPOINT, typeManager);
     }
 
     public IonClientImpl(String resolutionEndpoint, ObjectMapper typeManager) {
+        this(resolutionEndpoint, typeManager, new OkHttpClient.Builder().build());
+    }
+
+    /**
+     * Creates a client that executes all requests through the given (shared) HTTP client, so that connections to the ION node are pooled and reused.
+     */
+    public IonClientImpl(String resolutionEndpoint, ObjectMapper typeManager, OkHttpClient httpClient) {
         this.resolutionEndpoint = resolutionEndpoint;
         this.typeManager = typeManager;
+        this.httpClient = httpClient;
     }
 
     @Override
@@ -68,9 +77,7 @@ public class IonClientImpl implements IonClient {
                 .header("Content-Type", "application/json")
                 .build();
 
-        var client = getOkHttpClient();
-
-        try (var solutionResponse = client.newCall(solutionRequest).execute()) {
+        try (var solutionResponse = httpClient.newCall(solutionRequest).execute()) {
             String responseBodyJson = solutionResponse.body().string();
             if (solutionResponse.isSuccessful()) {
                 var didResponse = typeManager.readValue(responseBodyJson, DidResolveResponse.class);
@@ -100,7 +107,7 @@ public class IonClientImpl implements IonClient {
                 .url(resolutionEndpoint + IDENTIFIERS_PATH + "/" + didUri)
                 .build();
 
-        try (var response = getOkHttpClient().newCall(rq).execute()) {
+        try (var response = httpClient.newCall(rq).execute()) {
             if (response.isSuccessful()) {
                 var body = response.body().string();
                 DidResolveResponse didResolveResponse = typeManager.readValue(body, DidResolveResponse.class);
@@ -115,7 +122,6 @@ public class IonClientImpl implements IonClient {
     public void submitWithChallengeResponse(IonRequest request, String challengeEndpoint, String solutionEndpoint) {
         System.out.println("Getting challenge from " + challengeEndpoint);
 
-        OkHttpClient client = getOkHttpClient();
         ObjectMapper objectMapper = JsonMapper.builder()
                 .nodeFactory(new SortingNodeFactory())
                 .build();
@@ -127,7 +133,7 @@ public class IonClientImpl implements IonClient {
         String largestAllowedHash;
         int validDuration;
 
-        try (var response = client.newCall(rq).execute()) {
+        try (var response = httpClient.newCall(rq).execute()) {
             if (!response.isSuccessful()) {
                 throw new IonException("Error obtaining challenge: " + response.message());
             }
@@ -196,7 +202,7 @@ public class IonClientImpl implements IonClient {
                 .header("Content-Type", "application/json")
                 .build();
 
-        try (var solutionResponse = client.newCall(solutionRequest).execute()) {
+        try (var solutionResponse = httpClient.newCall(solutionRequest).execute()) {
 
             if (solutionResponse.isSuccessful()) {
                 System.out.println("Successfully submitted the anchor request");
@@ -221,11 +227,6 @@ public class IonClientImpl implements IonClient {
         }
     }
 
-    @NotNull
-    private OkHttpClient getOkHttpClient() {
-        return new OkHttpClient.Builder().build();
-    }
-
     private String createNonce() {
         var random = new SecureRandom();
 
@@ -0,0 +1,35 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+plugins {
+    `java-library`
+}
+
+dependencies {
+    api(project(":spi"))
+    api(project(":extensions:sql:sql-common"))
+    api(project(":extensions:dataloading"))
+
+    testImplementation(testFixtures(project(":common:util")))
+    testImplementation(testFixtures(project(":extensions:sql:sql-common")))
+}
+
+publishing {
+    publications {
+        create<MavenPublication>("asset-index-sql") {
+            artifactId = "asset-index-sql"
+            from(components["java"])
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.assetindex.sql;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.eclipse.dataspaceconnector.dataloading.AssetEntry;
+import org.eclipse.dataspaceconnector.dataloading.AssetLoader;
+import org.eclipse.dataspaceconnector.spi.asset.AssetIndex;
+import org.eclipse.dataspaceconnector.spi.asset.AssetSelectorExpression;
+import org.eclipse.dataspaceconnector.spi.asset.DataAddressResolver;
+import org.eclipse.dataspaceconnector.spi.query.Criterion;
+import org.eclipse.dataspaceconnector.spi.query.QuerySpec;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.eclipse.dataspaceconnector.spi.types.domain.DataAddress;
+import org.eclipse.dataspaceconnector.spi.types.domain.asset.Asset;
+import org.eclipse.dataspaceconnector.sql.SqlTransactionRunner;
+import org.eclipse.dataspaceconnector.sql.SqlUpsert;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.eclipse.dataspaceconnector.assetindex.sql.SqlAssetQueryBuilder.ASSET_TABLE;
+import static org.eclipse.dataspaceconnector.assetindex.sql.SqlAssetQueryBuilder.PROPERTY_TABLE;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeBatch;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeQuery;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeQuerySingle;
+
+/**
+ * An asset index in a relational database, using the schema in {@code asset-index-schema.sql}, that is also a DataAddressResolver and an
+ * AssetLoader.
+ * <p>
+ * The properties of an asset are stored as JSON with the asset, and every property is also stored as a row of name and value, on which
+ * the criteria of queries are evaluated by the database. Property values are compared as strings: strings as they are, numbers and booleans
+ * in their string form and other values as JSON.
+ * <p>
+ * Query results are streamed in pages of {@code pageSize} assets, each read in its own transaction when the stream reaches it, so neither a
+ * connection nor more than one page is held while the caller consumes the stream, not even for {@link AssetSelectorExpression#SELECT_ALL}.
+ * Pages are sorted by asset id and continue after the last id of the previous page, so a stream that is consumed while assets are stored
+ * sees every asset that exists throughout, exactly once.
+ */
+public class SqlAssetIndex implements AssetIndex, DataAddressResolver, AssetLoader {
+    /**
+     * The default number of assets query results are read by at a time.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 500;
+    private static final TypeReference<Map<String, Object>> PROPERTIES_TYPE = new TypeReference<>() {
+    };
+    private static final String FIND_BY_ID = "SELECT asset_id, properties FROM " + ASSET_TABLE + " WHERE asset_id = ?";
+    private static final String FIND_DATA_ADDRESS = "SELECT data_address FROM " + ASSET_TABLE + " WHERE asset_id = ?";
+    private static final String DELETE_PROPERTIES = "DELETE FROM " + PROPERTY_TABLE + " WHERE asset_id = ?";
+    private static final SqlUpsert UPSERT_ASSET = new SqlUpsert(ASSET_TABLE, List.of("asset_id"), List.of("properties", "data_address"));
+    private static final String INSERT_PROPERTY = "INSERT INTO " + PROPERTY_TABLE + " (asset_id, property_name, property_value) VALUES (?, ?, ?)";
+
+    private final SqlTransactionRunner transactionRunner;
+    private final TypeManager typeManager;
+    private final SqlAssetQueryBuilder queryBuilder;
+    private final int pageSize;
+
+    public SqlAssetIndex(SqlTransactionRunner transactionRunner, TypeManager typeManager, SqlAssetQueryBuilder queryBuilder) {
+        this(transactionRunner, typeManager, queryBuilder, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param transactionRunner runs the statements in transactions of the configured data source
+     * @param typeManager       serializes the asset properties and data addresses, which are stored as JSON
+     * @param queryBuilder      translates the criteria of queries into SQL
+     * @param pageSize          the number of assets query results are read by at a time
+     */
+    public SqlAssetIndex(SqlTransactionRunner transactionRunner, TypeManager typeManager, SqlAssetQueryBuilder queryBuilder, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.transactionRunner = transactionRunner;
+        this.typeManager = typeManager;
+        this.queryBuilder = queryBuilder;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public Stream<Asset> queryAssets(AssetSelectorExpression expression) {
+        Objects.requireNonNull(expression, "AssetSelectorExpression can not be null!");
+
+        // select everything ONLY if the special constant is used
+        if (expression == AssetSelectorExpression.SELECT_ALL) {
+            return queryPaged(List.of());
+        }
+        if (expression.getCriteria() == null || expression.getCriteria().isEmpty()) {
+            return Stream.empty();
+        }
+        return queryPaged(expression.getCriteria());
+    }
+
+    @Override
+    public Stream<Asset> queryAssets(List<Criterion> criteria) {
+        return queryAssets(AssetSelectorExpression.Builder.newInstance().criteria(criteria).build());
+    }
+
+    /**
+     * Returns the page of assets described by the offset, limit, filter and sort order of the query spec. The sort field is the name of an
+     * asset property.
+     */
+    public Stream<Asset> queryAssets(QuerySpec querySpec) {
+        Objects.requireNonNull(querySpec, "QuerySpec can not be null!");
+
+        return readPage(queryBuilder.from(querySpec)).stream();
+    }
+
+    @Override
+    public @Nullable Asset findById(String assetId) {
+        Objects.requireNonNull(assetId, "assetId");
+        return transactionRunner.execute(connection -> executeQuerySingle(connection, FIND_BY_ID, this::mapAsset, assetId));
+    }
+
+    @Override
+    public DataAddress resolveForAsset(String assetId) {
+        Objects.requireNonNull(assetId, "assetId");
+        var json = transactionRunner.execute(connection -> executeQuerySingle(connection, FIND_DATA_ADDRESS, resultSet -> resultSet.getString(1), assetId));
+        if (json == null) {
+            throw new IllegalArgumentException("No DataAddress found for Asset ID=" + assetId);
+        }
+        return typeManager.readValue(json, DataAddress.class);
+    }
+
+    @Override
+    public void accept(Asset asset, DataAddress dataAddress) {
+        accept(new AssetEntry(asset, dataAddress));
+    }
+
+    @Override
+    public void accept(AssetEntry item) {
+        acceptAll(List.of(item));
+    }
+
+    /**
+     * Stores the assets in one transaction with batched statements, replacing the assets with the same ids. Assets are upserted, so runtimes
+     * that store the same assets concurrently do not fail on the primary key, and the row lock taken by the upsert keeps their property rows
+     * from being interleaved.
+     */
+    @Override
+    public void acceptAll(Collection<AssetEntry> items) {
+        // later entries replace earlier ones with the same id, as if they were accepted one by one
+        var entries = new LinkedHashMap<String, AssetEntry>();
+        for (var item : items) {
+            Objects.requireNonNull(item.getAsset(), "asset");
+            Objects.requireNonNull(item.getAsset().getId(), "asset.getId()");
+            Objects.requireNonNull(item.getDataAddress(), "dataAddress");
+            entries.put(item.getAsset().getId(), item);
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        var assets = new ArrayList<Object[]>();
+        var ids = new ArrayList<Object[]>();
+        var properties = new ArrayList<Object[]>();
+        entries.forEach((id, entry) -> {
+            var asset = entry.getAsset();
+            ids.add(new Object[]{ id });
+            assets.add(new Object[]{ id, typeManager.writeValueAsString(asset.getProperties()), typeManager.writeValueAsString(entry.getDataAddress()) });
+            asset.getProperties().forEach((name, value) -> properties.add(new Object[]{ id, name, toPropertyValue(value) }));
+        });
+        transactionRunner.run(connection -> {
+            UPSERT_ASSET.executeBatch(connection, assets);
+            // the properties of replaced assets are replaced as a whole, as they may have fewer properties now
+            executeBatch(connection, DELETE_PROPERTIES, ids);
+            executeBatch(connection, INSERT_PROPERTY, properties);
+        });
+    }
+
+    private Stream<Asset> queryPaged(List<Criterion> criteria) {
+        var pages = new Iterator<List<Asset>>() {
+            private List<Asset> page;
+
+            @Override
+            public boolean hasNext() {
+                // the first page is always read, a short page is the last one
+                return page == null || page.size() == pageSize;
+            }
+
+            @Override
+            public List<Asset> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                var after = page != null ? page.get(page.size() - 1).getId() : null;
+                page = readPage(queryBuilder.from(criteria, after, pageSize));
+                return page;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .flatMap(List::stream);
+    }
+
+    private List<Asset> readPage(SqlAssetQueryBuilder.SqlQuery query) {
+        return transactionRunner.execute(connection -> executeQuery(connection, query.getSql(), this::mapAsset, query.getArguments()));
+    }
+
+    private Asset mapAsset(ResultSet resultSet) throws SQLException {
+        Map<String, Object> properties = typeManager.readValue(resultSet.getString("properties"), PROPERTIES_TYPE);
+        return Asset.Builder.newInstance().properties(properties).build();
+    }
+
+    @Nullable
+    private String toPropertyValue(@Nullable Object value) {
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        return typeManager.writeValueAsString(value);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.assetindex.sql;
+
+import org.eclipse.dataspaceconnector.dataloading.AssetLoader;
+import org.eclipse.dataspaceconnector.spi.EdcSetting;
+import org.eclipse.dataspaceconnector.spi.asset.AssetIndex;
+import org.eclipse.dataspaceconnector.spi.asset.DataAddressResolver;
+import org.eclipse.dataspaceconnector.spi.system.Inject;
+import org.eclipse.dataspaceconnector.spi.system.Provides;
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
+import org.eclipse.dataspaceconnector.spi.transaction.TransactionContext;
+import org.eclipse.dataspaceconnector.spi.transaction.datasource.DataSourceRegistry;
+import org.eclipse.dataspaceconnector.sql.SqlTransactionRunner;
+
+/**
+ * Provides an {@link AssetIndex}, {@link DataAddressResolver} and {@link AssetLoader} backed by a data source of the
+ * {@link DataSourceRegistry}. The schema must have been created with {@code asset-index-schema.sql} before.
+ */
+@Provides({ AssetIndex.class, DataAddressResolver.class, AssetLoader.class })
+public class SqlAssetIndexExtension implements ServiceExtension {
+
+    /**
+     * The name of the data source the assets are stored in.
+     */
+    @EdcSetting
+    private static final String DATASOURCE_SETTING = "edc.assetindex.sql.datasource";
+
+    @Inject
+    private DataSourceRegistry dataSourceRegistry;
+
+    @Inject
+    private TransactionContext transactionContext;
+
+    @Override
+    public String name() {
+        return "SQL Asset Index";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        var dataSourceName = context.getSetting(DATASOURCE_SETTING, DataSourceRegistry.DEFAULT_DATASOURCE);
+
+        var transactionRunner = new SqlTransactionRunner(transactionContext, dataSourceRegistry, dataSourceName);
+        var assetIndex = new SqlAssetIndex(transactionRunner, context.getTypeManager(), new SqlAssetQueryBuilder());
+        context.registerService(AssetIndex.class, assetIndex);
+        context.registerService(DataAddressResolver.class, assetIndex);
+        context.registerService(AssetLoader.class, assetIndex);
+    }
+}
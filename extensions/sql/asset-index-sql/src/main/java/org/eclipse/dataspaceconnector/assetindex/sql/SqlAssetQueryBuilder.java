@@ -0,0 +1,225 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.assetindex.sql;
+
+import org.eclipse.dataspaceconnector.spi.query.Criterion;
+import org.eclipse.dataspaceconnector.spi.query.QuerySpec;
+import org.eclipse.dataspaceconnector.spi.query.SortOrder;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.placeholders;
+
+/**
+ * Translates asset criteria into SQL queries on the schema in {@code asset-index-schema.sql}. Every criterion joins the property table on
+ * the index of property name and value, so only the matching assets are read. The operators {@code =}, {@code in}, {@code like} and
+ * {@code contains}, which query specs use for their filters, are supported. Values are compared as strings.
+ * <p>
+ * All values are passed as statement parameters, so queries with criteria of the same operators share the same SQL text, which is built
+ * once and cached. This lets the statement caches of the driver and the connection pool reuse the prepared statements. The number of
+ * values of an {@code in} criterion is rounded up to the next power of two for the same reason.
+ */
+public class SqlAssetQueryBuilder {
+    static final String ASSET_TABLE = "edc_asset";
+    static final String PROPERTY_TABLE = "edc_asset_property";
+
+    // query shapes only differ by the number and operators of the criteria, so there are few of them. The bound protects against callers
+    // that build criteria dynamically
+    private static final int MAX_CACHED_QUERIES = 1_000;
+    private static final String SELECT_ASSETS = "SELECT a.asset_id, a.properties FROM " + ASSET_TABLE + " a";
+
+    private final Map<String, String> queries = new ConcurrentHashMap<>();
+
+    /**
+     * Builds a query for a page of the assets that match all criteria, sorted by id. Pages are read with keyset pagination: the next page
+     * starts after the id of the last asset of the previous one, so reading a page costs the same no matter how far into the result it is.
+     *
+     * @param afterAssetId the id of the last asset of the previous page, or null for the first page
+     * @param limit        the maximum number of assets of the page
+     * @throws IllegalArgumentException if a criterion has an unsupported operator
+     */
+    public SqlQuery from(List<Criterion> criteria, @Nullable String afterAssetId, int limit) {
+        var conditions = conditions(criteria);
+        var shape = shape(conditions) + (afterAssetId != null ? "|after" : "|first");
+        var arguments = new ArrayList<>();
+        conditions.forEach(condition -> condition.addArguments(arguments));
+        if (afterAssetId != null) {
+            arguments.add(afterAssetId);
+        }
+        arguments.add(limit);
+        var sql = cached(shape, () -> select(conditions) + (afterAssetId != null ? " WHERE a.asset_id > ?" : "") + " ORDER BY a.asset_id LIMIT ?");
+        return new SqlQuery(sql, arguments.toArray());
+    }
+
+    /**
+     * Builds a query for the page of assets described by the offset, limit, filter and sort order of the query spec. The sort field is the
+     * name of an asset property; assets are sorted by id if there is none, so that pages never overlap.
+     *
+     * @throws IllegalArgumentException if a criterion has an unsupported operator
+     */
+    public SqlQuery from(QuerySpec querySpec) {
+        var conditions = conditions(Objects.requireNonNullElse(querySpec.getFilterExpression(), List.of()));
+        var sortField = querySpec.getSortField();
+        var direction = sortField != null && querySpec.getSortOrder() == SortOrder.DESC ? "DESC" : "ASC";
+        var shape = shape(conditions) + "|" + (sortField != null ? "sort " : "") + direction;
+        var arguments = new ArrayList<>();
+        conditions.forEach(condition -> condition.addArguments(arguments));
+        if (sortField != null) {
+            arguments.add(sortField);
+        }
+        arguments.add(querySpec.getLimit());
+        arguments.add(querySpec.getOffset());
+        var sql = cached(shape, () -> {
+            var query = new StringBuilder(select(conditions));
+            if (sortField != null) {
+                query.append(format(" LEFT JOIN %s s ON s.asset_id = a.asset_id AND s.property_name = ?", PROPERTY_TABLE));
+                query.append(format(" ORDER BY s.property_value %s, a.asset_id %s", direction, direction));
+            } else {
+                query.append(" ORDER BY a.asset_id");
+            }
+            return query.append(" LIMIT ? OFFSET ?").toString();
+        });
+        return new SqlQuery(sql, arguments.toArray());
+    }
+
+    private String cached(String shape, Supplier<String> builder) {
+        var sql = queries.get(shape);
+        if (sql == null) {
+            sql = builder.get();
+            if (queries.size() < MAX_CACHED_QUERIES) {
+                queries.put(shape, sql);
+            }
+        }
+        return sql;
+    }
+
+    private List<Condition> conditions(List<Criterion> criteria) {
+        return criteria.stream().distinct().map(this::condition).collect(Collectors.toList());
+    }
+
+    private Condition condition(Criterion criterion) {
+        var property = criterion.getOperandLeft().toString();
+        var operator = criterion.getOperator();
+        if ("=".equals(operator)) {
+            return new Condition("= ?", property, List.of(stringValue(criterion.getOperandRight())));
+        } else if ("in".equalsIgnoreCase(operator)) {
+            var values = padded(inValues(criterion.getOperandRight()));
+            return new Condition(format("IN (%s)", placeholders(values.size())), property, values);
+        } else if ("like".equalsIgnoreCase(operator)) {
+            return new Condition("LIKE ?", property, List.of(stringValue(criterion.getOperandRight())));
+        } else if ("contains".equalsIgnoreCase(operator)) {
+            // used by the filters of query specs
+            var value = String.valueOf(criterion.getOperandRight()).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            return new Condition("LIKE ? ESCAPE '\\'", property, List.of("%" + value + "%"));
+        }
+        throw new IllegalArgumentException(format("Operator [%s] is not supported by this converter!", operator));
+    }
+
+    private String select(List<Condition> conditions) {
+        var query = new StringBuilder(SELECT_ASSETS);
+        for (var i = 0; i < conditions.size(); i++) {
+            query.append(format(" JOIN %s p%d ON p%d.asset_id = a.asset_id AND p%d.property_name = ? AND p%d.property_value %s",
+                    PROPERTY_TABLE, i, i, i, i, conditions.get(i).predicate));
+        }
+        return query.toString();
+    }
+
+    private String shape(List<Condition> conditions) {
+        return conditions.stream().map(condition -> condition.predicate).collect(Collectors.joining(";"));
+    }
+
+    /**
+     * Accepts a collection of values or a string of comma-separated values, optionally in parentheses, like the in-memory asset index.
+     */
+    private List<String> inValues(@Nullable Object operand) {
+        if (operand instanceof Collection) {
+            return ((Collection<?>) operand).stream().map(this::stringValue).collect(Collectors.toList());
+        }
+        var list = String.valueOf(operand).replace("(", "").replace(")", "").replace(" ", "");
+        return Arrays.asList(list.split(","));
+    }
+
+    private List<String> padded(List<String> values) {
+        if (values.isEmpty()) {
+            // IN (NULL) never matches
+            var none = new ArrayList<String>();
+            none.add(null);
+            return none;
+        }
+        var size = Integer.highestOneBit(values.size());
+        if (size < values.size()) {
+            size <<= 1;
+        }
+        var padded = new ArrayList<>(values);
+        while (padded.size() < size) {
+            padded.add(values.get(values.size() - 1));
+        }
+        return padded;
+    }
+
+    @Nullable
+    private String stringValue(@Nullable Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * A query and its arguments.
+     */
+    public static class SqlQuery {
+        private final String sql;
+        private final Object[] arguments;
+
+        SqlQuery(String sql, Object[] arguments) {
+            this.sql = sql;
+            this.arguments = arguments;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public Object[] getArguments() {
+            return arguments;
+        }
+    }
+
+    private static class Condition {
+        private final String predicate;
+        private final String property;
+        private final List<String> values;
+
+        Condition(String predicate, String property, List<String> values) {
+            this.predicate = predicate;
+            this.property = property;
+            this.values = values;
+        }
+
+        void addArguments(List<Object> arguments) {
+            arguments.add(property);
+            arguments.addAll(values);
+        }
+    }
+}
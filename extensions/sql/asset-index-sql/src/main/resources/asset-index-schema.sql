@@ -0,0 +1,21 @@
+-- Schema of the SQL AssetIndex. The DDL is portable between PostgreSQL and H2.
+
+CREATE TABLE IF NOT EXISTS edc_asset
+(
+    asset_id     VARCHAR NOT NULL PRIMARY KEY,
+    properties   VARCHAR NOT NULL,
+    data_address VARCHAR NOT NULL
+);
+
+-- every asset property is also stored as a row, so that queries select assets through an index instead of reading all properties
+CREATE TABLE IF NOT EXISTS edc_asset_property
+(
+    asset_id       VARCHAR NOT NULL REFERENCES edc_asset (asset_id) ON DELETE CASCADE,
+    property_name  VARCHAR NOT NULL,
+    property_value VARCHAR,
+    PRIMARY KEY (asset_id, property_name)
+);
+
+-- criteria are looked up by property name and value. On PostgreSQL, LIKE only uses the index for prefix patterns if it is created with
+-- varchar_pattern_ops or the database uses the C collation
+CREATE INDEX IF NOT EXISTS edc_asset_property_value ON edc_asset_property (property_name, property_value);
@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.assetindex.sql;
+
+import org.eclipse.dataspaceconnector.common.annotations.IntegrationTest;
+import org.eclipse.dataspaceconnector.dataloading.AssetEntry;
+import org.eclipse.dataspaceconnector.dataloading.DataLoader;
+import org.eclipse.dataspaceconnector.spi.asset.AssetSelectorExpression;
+import org.eclipse.dataspaceconnector.spi.query.QuerySpec;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.eclipse.dataspaceconnector.spi.types.domain.DataAddress;
+import org.eclipse.dataspaceconnector.spi.types.domain.asset.Asset;
+import org.eclipse.dataspaceconnector.sql.testfixtures.H2TestDatabase;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads one million assets into an embedded database and verifies that selective queries are answered from the property index and that the
+ * whole catalogue can be streamed.
+ */
+@IntegrationTest
+class SqlAssetIndexIntegrationTest {
+    private static final int ASSETS = 1_000_000;
+    private static final int CHUNK_SIZE = 10_000;
+    private static final int QUERIES = 1000;
+    private static final int PAGE_SIZE = 100;
+
+    @Test
+    void queryOneMillionAssets() {
+        var index = new SqlAssetIndex(H2TestDatabase.create(SqlAssetIndexTest.SCHEMA).getTransactionRunner(), new TypeManager(), new SqlAssetQueryBuilder());
+        var loader = DataLoader.Builder.<AssetEntry>newInstance().sink(index).build();
+        for (var offset = 0; offset < ASSETS; offset += CHUNK_SIZE) {
+            loader.insertAll(entries(offset, CHUNK_SIZE));
+        }
+
+        verify(i -> AssetSelectorExpression.Builder.newInstance().whenEquals(Asset.PROPERTY_ID, "asset" + (i * 997 % ASSETS)).build(), index, 1);
+        verify(i -> AssetSelectorExpression.Builder.newInstance()
+                .constraint(Asset.PROPERTY_ID, "in", List.of("asset" + i, "asset" + (i + 1), "asset" + (i + 2)))
+                .build(), index, 3);
+        verify(i -> AssetSelectorExpression.Builder.newInstance().constraint(Asset.PROPERTY_NAME, "like", "name" + (100_000 + i) + "%").build(), index, 1);
+        verify(i -> AssetSelectorExpression.Builder.newInstance()
+                .whenEquals("category", "category" + (i % 100))
+                .whenEquals(Asset.PROPERTY_NAME, "name" + (i % 100 + 100 * i))
+                .build(), index, 1);
+
+        for (var page = 0; page < QUERIES; page++) {
+            assertThat(index.queryAssets(QuerySpec.Builder.newInstance().offset(page * PAGE_SIZE).limit(PAGE_SIZE).build())).hasSize(PAGE_SIZE);
+        }
+        assertThat(index.queryAssets(AssetSelectorExpression.SELECT_ALL).count()).isEqualTo(ASSETS);
+    }
+
+    private void verify(IntFunction<AssetSelectorExpression> queries, SqlAssetIndex index, int expectedResults) {
+        for (var i = 0; i < QUERIES; i++) {
+            assertThat(index.queryAssets(queries.apply(i))).hasSize(expectedResults);
+        }
+    }
+
+    private List<AssetEntry> entries(int offset, int count) {
+        return IntStream.range(offset, offset + count)
+                .mapToObj(i -> Asset.Builder.newInstance()
+                        .id("asset" + i)
+                        .name("name" + i)
+                        .version("1.0")
+                        .contentType("application/json")
+                        .property("category", "category" + i % 100)
+                        .build())
+                .map(asset -> new AssetEntry(asset, DataAddress.Builder.newInstance().type("test").keyName("key-" + asset.getId()).build()))
+                .collect(Collectors.toList());
+    }
+}
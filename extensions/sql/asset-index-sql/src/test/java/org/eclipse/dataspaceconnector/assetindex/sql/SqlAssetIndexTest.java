@@ -0,0 +1,243 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.assetindex.sql;
+
+import org.eclipse.dataspaceconnector.dataloading.AssetEntry;
+import org.eclipse.dataspaceconnector.dataloading.DataLoader;
+import org.eclipse.dataspaceconnector.spi.asset.AssetSelectorExpression;
+import org.eclipse.dataspaceconnector.spi.query.Criterion;
+import org.eclipse.dataspaceconnector.spi.query.QuerySpec;
+import org.eclipse.dataspaceconnector.spi.query.SortOrder;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.eclipse.dataspaceconnector.spi.types.domain.DataAddress;
+import org.eclipse.dataspaceconnector.spi.types.domain.asset.Asset;
+import org.eclipse.dataspaceconnector.sql.testfixtures.H2TestDatabase;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.eclipse.dataspaceconnector.spi.asset.AssetSelectorExpression.SELECT_ALL;
+
+class SqlAssetIndexTest {
+    static final String SCHEMA = "asset-index-schema.sql";
+
+    private H2TestDatabase database;
+    private SqlAssetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        database = H2TestDatabase.create(SCHEMA);
+        index = new SqlAssetIndex(database.getTransactionRunner(), new TypeManager(), new SqlAssetQueryBuilder());
+    }
+
+    @Test
+    void accept_andFindById() {
+        var asset = Asset.Builder.newInstance().id("asset1").name("foobar").property("size", 42).property("public", true).build();
+
+        index.accept(asset, createDataAddress(asset));
+
+        var found = index.findById("asset1");
+        assertThat(found).isNotNull();
+        assertThat(found.getProperties()).containsEntry(Asset.PROPERTY_NAME, "foobar").containsEntry("size", 42).containsEntry("public", true);
+        assertThat(index.findById("not-exists")).isNull();
+    }
+
+    @Test
+    void accept_replacesAsset() {
+        index.accept(createAsset("asset1", "foobar"), createDataAddress(createAsset("asset1", "foobar")));
+        var replacement = createAsset("asset1", "barbaz");
+
+        index.accept(replacement, DataAddress.Builder.newInstance().type("other").build());
+
+        assertThat(index.findById("asset1").getName()).isEqualTo("barbaz");
+        assertThat(index.resolveForAsset("asset1").getType()).isEqualTo("other");
+        assertThat(query(AssetSelectorExpression.Builder.newInstance().whenEquals(Asset.PROPERTY_NAME, "foobar").build())).isEmpty();
+    }
+
+    @Test
+    void accept_replacesProperties() {
+        index.accept(Asset.Builder.newInstance().id("asset1").property("color", "red").build(), DataAddress.Builder.newInstance().type("test").build());
+
+        index.accept(Asset.Builder.newInstance().id("asset1").property("size", "XL").build(), DataAddress.Builder.newInstance().type("test").build());
+
+        assertThat(index.findById("asset1").getProperties()).doesNotContainKey("color").containsEntry("size", "XL");
+        assertThat(index.queryAssets(List.of(new Criterion("color", "=", "red")))).isEmpty();
+        assertThat(index.queryAssets(List.of(new Criterion("size", "=", "XL")))).hasSize(1);
+    }
+
+    @Test
+    void resolveForAsset() {
+        var asset = createAsset("asset1", "foobar");
+        index.accept(asset, createDataAddress(asset));
+
+        assertThat(index.resolveForAsset("asset1").getKeyName()).isEqualTo("test-keyname");
+        assertThatThrownBy(() -> index.resolveForAsset("not-exists")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void queryAssets_equals() {
+        acceptAll(createAsset("asset1", "foobar"), createAsset("asset2", "barbaz"), createAsset("asset3", "barbaz"));
+
+        var assets = query(AssetSelectorExpression.Builder.newInstance().whenEquals(Asset.PROPERTY_NAME, "barbaz").build());
+
+        assertThat(assets).containsExactlyInAnyOrder("asset2", "asset3");
+    }
+
+    @Test
+    void queryAssets_notFound() {
+        acceptAll(createAsset("asset1", "foobar"));
+
+        assertThat(query(AssetSelectorExpression.Builder.newInstance().whenEquals(Asset.PROPERTY_NAME, "barbaz").build())).isEmpty();
+        assertThat(query(AssetSelectorExpression.Builder.newInstance().whenEquals("description", "foobar").build())).isEmpty();
+    }
+
+    @Test
+    void queryAssets_multipleCriteria() {
+        acceptAll(createAsset("asset1", "foobar", "text/plain"), createAsset("asset2", "foobar", "application/json"), createAsset("asset3", "barbaz", "text/plain"));
+
+        var assets = query(AssetSelectorExpression.Builder.newInstance()
+                .whenEquals(Asset.PROPERTY_NAME, "foobar")
+                .whenEquals(Asset.PROPERTY_CONTENT_TYPE, "text/plain")
+                .build());
+
+        assertThat(assets).containsExactly("asset1");
+    }
+
+    @Test
+    void queryAssets_in() {
+        acceptAll(createAsset("asset1", "foobar"), createAsset("asset2", "barbaz"), createAsset("asset3", "barbaz"));
+
+        var assets = query(AssetSelectorExpression.Builder.newInstance().constraint(Asset.PROPERTY_ID, "IN", "(  asset1, asset3 )").build());
+
+        assertThat(assets).containsExactlyInAnyOrder("asset1", "asset3");
+    }
+
+    @Test
+    void queryAssets_like() {
+        acceptAll(createAsset("asset1", "foobar"), createAsset("asset2", "foobaz"), createAsset("asset3", "barbaz"));
+
+        var assets = query(AssetSelectorExpression.Builder.newInstance().constraint(Asset.PROPERTY_NAME, "like", "foo%").build());
+
+        assertThat(assets).containsExactlyInAnyOrder("asset1", "asset2");
+    }
+
+    @Test
+    void queryAssets_numberProperty() {
+        index.accept(Asset.Builder.newInstance().id("asset1").property("size", 42).build(), DataAddress.Builder.newInstance().type("test").build());
+
+        assertThat(index.queryAssets(List.of(new Criterion("size", "=", 42)))).hasSize(1);
+    }
+
+    @Test
+    void queryAssets_selectAll() {
+        acceptAll(createAsset("asset1", "foobar"), createAsset("asset2", "barbaz"));
+
+        assertThat(query(SELECT_ALL)).containsExactlyInAnyOrder("asset1", "asset2");
+    }
+
+    @Test
+    void queryAssets_readsInPages() {
+        var pagedIndex = new SqlAssetIndex(database.getTransactionRunner(), new TypeManager(), new SqlAssetQueryBuilder(), 3);
+        acceptAll(IntStream.range(0, 10).mapToObj(i -> createAsset("asset" + i, i % 2 == 0 ? "even" : "odd")).toArray(Asset[]::new));
+
+        var all = pagedIndex.queryAssets(SELECT_ALL).map(Asset::getId).collect(Collectors.toList());
+        var even = pagedIndex.queryAssets(AssetSelectorExpression.Builder.newInstance().whenEquals(Asset.PROPERTY_NAME, "even").build())
+                .map(Asset::getId).collect(Collectors.toList());
+
+        assertThat(all).containsExactly(IntStream.range(0, 10).mapToObj(i -> "asset" + i).toArray(String[]::new));
+        assertThat(even).containsExactly("asset0", "asset2", "asset4", "asset6", "asset8");
+    }
+
+    @Test
+    void queryAssets_readsPagesWhenConsumed() {
+        var pagedIndex = new SqlAssetIndex(database.getTransactionRunner(), new TypeManager(), new SqlAssetQueryBuilder(), 2);
+        acceptAll(createAsset("asset1", "foobar"), createAsset("asset2", "foobar"));
+        var stream = pagedIndex.queryAssets(SELECT_ALL);
+
+        // stored after the stream was created, but before the page it belongs to is read
+        acceptAll(createAsset("asset3", "foobar"));
+
+        assertThat(stream.map(Asset::getId)).containsExactly("asset1", "asset2", "asset3");
+    }
+
+    @Test
+    void queryAssets_noCriteria() {
+        acceptAll(createAsset("asset1", "foobar"));
+
+        assertThat(query(AssetSelectorExpression.Builder.newInstance().build())).isEmpty();
+    }
+
+    @Test
+    void queryAssets_paged() {
+        acceptAll(IntStream.range(0, 25).mapToObj(i -> createAsset(String.format("asset%02d", i), "name" + (24 - i))).toArray(Asset[]::new));
+
+        var firstPage = index.queryAssets(QuerySpec.Builder.newInstance().offset(0).limit(10).build()).collect(Collectors.toList());
+        var lastPage = index.queryAssets(QuerySpec.Builder.newInstance().offset(20).limit(10).build()).collect(Collectors.toList());
+        var sortedByName = index.queryAssets(QuerySpec.Builder.newInstance().offset(0).limit(2).sortField(Asset.PROPERTY_NAME).sortOrder(SortOrder.ASC).build()).collect(Collectors.toList());
+        var filtered = index.queryAssets(QuerySpec.Builder.newInstance().offset(0).limit(10).filter(Asset.PROPERTY_NAME + " = name2").build()).collect(Collectors.toList());
+
+        assertThat(firstPage).hasSize(10).first().extracting(Asset::getId).isEqualTo("asset00");
+        assertThat(lastPage).extracting(Asset::getId).containsExactly("asset20", "asset21", "asset22", "asset23", "asset24");
+        assertThat(sortedByName).extracting(Asset::getName).containsExactly("name0", "name1");
+        assertThat(filtered).extracting(Asset::getName).containsExactlyInAnyOrder("name2", "name20", "name21", "name22", "name23", "name24");
+    }
+
+    @Test
+    void insertAll_withDataLoader() {
+        var loader = DataLoader.Builder.<AssetEntry>newInstance().sink(index).build();
+        var entries = IntStream.range(0, 1200)
+                .mapToObj(i -> createAsset("asset" + i, "name" + i))
+                .map(asset -> new AssetEntry(asset, createDataAddress(asset)))
+                .collect(Collectors.toList());
+
+        loader.insertAll(entries);
+
+        assertThat(query(SELECT_ALL)).hasSize(1200);
+        assertThat(index.resolveForAsset("asset1199")).isNotNull();
+    }
+
+    private List<String> query(AssetSelectorExpression expression) {
+        return index.queryAssets(expression).map(Asset::getId).collect(Collectors.toList());
+    }
+
+    private void acceptAll(Asset... assets) {
+        index.acceptAll(IntStream.range(0, assets.length).mapToObj(i -> new AssetEntry(assets[i], createDataAddress(assets[i]))).collect(Collectors.toList()));
+    }
+
+    @NotNull
+    private Asset createAsset(String id, String name) {
+        return createAsset(id, name, "contentType");
+    }
+
+    @NotNull
+    private Asset createAsset(String id, String name, String contentType) {
+        return Asset.Builder.newInstance().id(id).name(name).version("1").contentType(contentType).build();
+    }
+
+    @NotNull
+    private DataAddress createDataAddress(Asset asset) {
+        return DataAddress.Builder.newInstance()
+                .keyName("test-keyname")
+                .type(asset.getContentType())
+                .build();
+    }
+}
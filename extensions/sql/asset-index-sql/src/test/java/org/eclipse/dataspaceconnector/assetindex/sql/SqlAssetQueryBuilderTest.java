@@ -0,0 +1,110 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.assetindex.sql;
+
+import org.eclipse.dataspaceconnector.spi.query.Criterion;
+import org.eclipse.dataspaceconnector.spi.query.QuerySpec;
+import org.eclipse.dataspaceconnector.spi.query.SortOrder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlAssetQueryBuilderTest {
+    private final SqlAssetQueryBuilder builder = new SqlAssetQueryBuilder();
+
+    @Test
+    void from_criteria() {
+        var query = builder.from(List.of(new Criterion("name", "=", "foo"), new Criterion("type", "like", "bar%")), null, 100);
+
+        assertThat(query.getSql()).contains("p0.property_name = ? AND p0.property_value = ?").contains("p1.property_name = ? AND p1.property_value LIKE ?")
+                .endsWith("ORDER BY a.asset_id LIMIT ?");
+        assertThat(query.getArguments()).containsExactly("name", "foo", "type", "bar%", 100);
+    }
+
+    @Test
+    void from_noCriteria_selectsAll() {
+        var query = builder.from(List.of(), null, 100);
+
+        assertThat(query.getSql()).doesNotContain("JOIN").doesNotContain("WHERE");
+        assertThat(query.getArguments()).containsExactly(100);
+    }
+
+    @Test
+    void from_afterAssetId_continuesAfterPreviousPage() {
+        var query = builder.from(List.of(new Criterion("name", "=", "foo")), "asset1", 100);
+
+        assertThat(query.getSql()).endsWith("WHERE a.asset_id > ? ORDER BY a.asset_id LIMIT ?");
+        assertThat(query.getArguments()).containsExactly("name", "foo", "asset1", 100);
+    }
+
+    @Test
+    void from_duplicateCriteria() {
+        var query = builder.from(List.of(new Criterion("name", "=", "foo"), new Criterion("name", "=", "foo")), null, 100);
+
+        assertThat(query.getArguments()).containsExactly("name", "foo", 100);
+    }
+
+    @Test
+    void from_sameShape_reusesSql() {
+        var query = builder.from(List.of(new Criterion("name", "=", "foo"), new Criterion("id", "in", "(1, 2, 3)")), null, 100);
+        var other = builder.from(List.of(new Criterion("type", "=", "bar"), new Criterion("id", "IN", List.of("4", "5", "6", "7"))), null, 100);
+
+        assertThat(other.getSql()).isSameAs(query.getSql());
+        assertThat(other.getArguments()).containsExactly("type", "bar", "id", "4", "5", "6", "7", 100);
+    }
+
+    @Test
+    void from_in_padsValues() {
+        var query = builder.from(List.of(new Criterion("id", "in", "(1, 2, 3)")), null, 100);
+
+        assertThat(query.getSql()).contains("IN (?,?,?,?)");
+        assertThat(query.getArguments()).containsExactly("id", "1", "2", "3", "3", 100);
+    }
+
+    @Test
+    void from_in_emptyList() {
+        var query = builder.from(List.of(new Criterion("id", "in", List.of())), null, 100);
+
+        assertThat(query.getSql()).contains("IN (?)");
+        assertThat(query.getArguments()).containsExactly("id", null, 100);
+    }
+
+    @Test
+    void from_unsupportedOperator() {
+        assertThatThrownBy(() -> builder.from(List.of(new Criterion("name", ">", "foo")), null, 100)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void from_querySpec() {
+        var querySpec = QuerySpec.Builder.newInstance().offset(20).limit(10).sortField("name").sortOrder(SortOrder.DESC).filter("type = bar_").build();
+
+        var query = builder.from(querySpec);
+
+        assertThat(query.getSql()).contains("LIKE ? ESCAPE").contains("ORDER BY s.property_value DESC, a.asset_id DESC").endsWith("LIMIT ? OFFSET ?");
+        assertThat(query.getArguments()).containsExactly("type", "%bar\\_%", "name", 10, 20);
+    }
+
+    @Test
+    void from_querySpec_withoutSortField_sortsById() {
+        var query = builder.from(QuerySpec.Builder.newInstance().offset(0).limit(10).build());
+
+        assertThat(query.getSql()).endsWith("ORDER BY a.asset_id LIMIT ? OFFSET ?");
+        assertThat(query.getArguments()).containsExactly(10, 0);
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+plugins {
+    `java-library`
+}
+
+//This file serves as BOM for all stores based on SQL databases
+dependencies {
+    api(project(":spi"))
+    api(project(":extensions:sql:sql-common"))
+    api(project(":extensions:sql:transfer-process-store-sql"))
+    api(project(":extensions:sql:contract-negotiation-store-sql"))
+    api(project(":extensions:sql:contract-definition-store-sql"))
+    api(project(":extensions:sql:asset-index-sql"))
+}
+
+publishing {
+    publications {
+        create<MavenPublication>("sql") {
+            artifactId = "sql"
+            from(components["java"])
+        }
+    }
+}
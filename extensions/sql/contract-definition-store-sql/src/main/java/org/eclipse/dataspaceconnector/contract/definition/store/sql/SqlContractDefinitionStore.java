@@ -0,0 +1,146 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.contract.definition.store.sql;
+
+import org.eclipse.dataspaceconnector.policy.model.Policy;
+import org.eclipse.dataspaceconnector.spi.asset.AssetSelectorExpression;
+import org.eclipse.dataspaceconnector.spi.contract.offer.store.ContractDefinitionStore;
+import org.eclipse.dataspaceconnector.spi.query.QuerySpec;
+import org.eclipse.dataspaceconnector.spi.query.SortOrder;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.offer.ContractDefinition;
+import org.eclipse.dataspaceconnector.sql.SqlTransactionRunner;
+import org.eclipse.dataspaceconnector.sql.SqlUpsert;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeQuery;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeUpdate;
+
+/**
+ * Stores {@link ContractDefinition} objects in a relational database, using the schema in {@code contract-definition-schema.sql}.
+ * <p>
+ * The store does not cache definitions, so all replicas of a connector see the changes of each other immediately and {@link #reload()} does
+ * nothing. Callers that do not need all definitions at once can list them in pages with {@link #findAll(QuerySpec)}. Saving several
+ * definitions is atomic and takes a few batched statements, regardless of their number.
+ */
+public class SqlContractDefinitionStore implements ContractDefinitionStore {
+    static final String DEFINITION_TABLE = "edc_contract_definition";
+
+    private static final String SELECT_DEFINITIONS = "SELECT id, access_policy, contract_policy, selector_expression FROM " + DEFINITION_TABLE;
+    private static final SqlUpsert UPSERT_DEFINITION = new SqlUpsert(DEFINITION_TABLE, List.of("id"), List.of("access_policy", "contract_policy", "selector_expression"));
+    private static final String DELETE_DEFINITION = "DELETE FROM " + DEFINITION_TABLE + " WHERE id = ?";
+
+    private final SqlTransactionRunner transactionRunner;
+    private final TypeManager typeManager;
+
+    /**
+     * Ctor.
+     *
+     * @param transactionRunner runs the statements in transactions of the configured data source
+     * @param typeManager       serializes the policies and selector expressions, which are stored as JSON
+     */
+    public SqlContractDefinitionStore(SqlTransactionRunner transactionRunner, TypeManager typeManager) {
+        this.transactionRunner = transactionRunner;
+        this.typeManager = typeManager;
+    }
+
+    @Override
+    public @NotNull Collection<ContractDefinition> findAll() {
+        return transactionRunner.execute(connection -> executeQuery(connection, SELECT_DEFINITIONS, this::mapDefinition));
+    }
+
+    /**
+     * Returns the page of definitions described by the offset, limit and sort order of the query spec. Definitions can only be sorted by
+     * their id, which is also the default, and not be filtered.
+     *
+     * @throws IllegalArgumentException if the query spec has a filter or another sort field
+     */
+    public List<ContractDefinition> findAll(QuerySpec querySpec) {
+        Objects.requireNonNull(querySpec, "QuerySpec can not be null!");
+        if (querySpec.getFilterExpression() != null && !querySpec.getFilterExpression().isEmpty()) {
+            throw new IllegalArgumentException("ContractDefinitions cannot be filtered: " + querySpec.getFilterExpression());
+        }
+        if (querySpec.getSortField() != null && !"id".equals(querySpec.getSortField())) {
+            throw new IllegalArgumentException("ContractDefinitions can only be sorted by id, not by " + querySpec.getSortField());
+        }
+        var direction = querySpec.getSortOrder() == SortOrder.DESC ? "DESC" : "ASC";
+        var query = format("%s ORDER BY id %s LIMIT ? OFFSET ?", SELECT_DEFINITIONS, direction);
+        return transactionRunner.execute(connection -> executeQuery(connection, query, this::mapDefinition, querySpec.getLimit(), querySpec.getOffset()));
+    }
+
+    /**
+     * Inserts the new definitions and updates the existing ones in one transaction. Definitions are upserted, so replicas that save the same
+     * definitions concurrently do not fail on the primary key.
+     */
+    @Override
+    public void save(Collection<ContractDefinition> definitions) {
+        if (definitions.isEmpty()) {
+            return;
+        }
+        // later definitions replace earlier ones with the same id, as if they were saved one by one
+        var byId = new LinkedHashMap<String, ContractDefinition>();
+        definitions.forEach(definition -> byId.put(Objects.requireNonNull(definition.getId(), "ContractDefinitions must have an ID!"), definition));
+        var arguments = byId.values().stream().map(this::definitionArguments).collect(Collectors.toList());
+        transactionRunner.run(connection -> UPSERT_DEFINITION.executeBatch(connection, arguments));
+    }
+
+    @Override
+    public void save(ContractDefinition definition) {
+        save(List.of(definition));
+    }
+
+    @Override
+    public void update(ContractDefinition definition) {
+        save(definition);
+    }
+
+    @Override
+    public void delete(String id) {
+        transactionRunner.run(connection -> executeUpdate(connection, DELETE_DEFINITION, id));
+    }
+
+    @Override
+    public void reload() {
+        // no-op, every read goes to the database
+    }
+
+    private Object[] definitionArguments(ContractDefinition definition) {
+        return new Object[]{
+                definition.getId(),
+                typeManager.writeValueAsString(definition.getAccessPolicy()),
+                typeManager.writeValueAsString(definition.getContractPolicy()),
+                typeManager.writeValueAsString(definition.getSelectorExpression())
+        };
+    }
+
+    private ContractDefinition mapDefinition(ResultSet resultSet) throws SQLException {
+        return ContractDefinition.Builder.newInstance()
+                .id(resultSet.getString("id"))
+                .accessPolicy(typeManager.readValue(resultSet.getString("access_policy"), Policy.class))
+                .contractPolicy(typeManager.readValue(resultSet.getString("contract_policy"), Policy.class))
+                .selectorExpression(typeManager.readValue(resultSet.getString("selector_expression"), AssetSelectorExpression.class))
+                .build();
+    }
+}
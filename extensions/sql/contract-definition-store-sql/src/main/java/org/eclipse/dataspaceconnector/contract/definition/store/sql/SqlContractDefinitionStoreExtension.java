@@ -0,0 +1,59 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.contract.definition.store.sql;
+
+import org.eclipse.dataspaceconnector.spi.EdcSetting;
+import org.eclipse.dataspaceconnector.spi.contract.offer.store.ContractDefinitionStore;
+import org.eclipse.dataspaceconnector.spi.system.Inject;
+import org.eclipse.dataspaceconnector.spi.system.Provides;
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
+import org.eclipse.dataspaceconnector.spi.transaction.TransactionContext;
+import org.eclipse.dataspaceconnector.spi.transaction.datasource.DataSourceRegistry;
+import org.eclipse.dataspaceconnector.sql.SqlTransactionRunner;
+
+/**
+ * Provides a {@link ContractDefinitionStore} backed by a data source of the {@link DataSourceRegistry}. The schema must have been created with
+ * {@code contract-definition-schema.sql} before.
+ */
+@Provides(ContractDefinitionStore.class)
+public class SqlContractDefinitionStoreExtension implements ServiceExtension {
+
+    /**
+     * The name of the data source the contract definitions are stored in.
+     */
+    @EdcSetting
+    private static final String DATASOURCE_SETTING = "edc.contractdefinitionstore.sql.datasource";
+
+    @Inject
+    private DataSourceRegistry dataSourceRegistry;
+
+    @Inject
+    private TransactionContext transactionContext;
+
+    @Override
+    public String name() {
+        return "SQL ContractDefinition Store";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        var dataSourceName = context.getSetting(DATASOURCE_SETTING, DataSourceRegistry.DEFAULT_DATASOURCE);
+
+        var transactionRunner = new SqlTransactionRunner(transactionContext, dataSourceRegistry, dataSourceName);
+        context.registerService(ContractDefinitionStore.class, new SqlContractDefinitionStore(transactionRunner, context.getTypeManager()));
+    }
+}
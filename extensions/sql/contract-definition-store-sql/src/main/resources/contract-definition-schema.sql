@@ -0,0 +1,10 @@
+-- Schema of the SQL ContractDefinitionStore. The DDL is portable between PostgreSQL and H2.
+
+-- pages of definitions are listed in the order of the primary key
+CREATE TABLE IF NOT EXISTS edc_contract_definition
+(
+    id                  VARCHAR NOT NULL PRIMARY KEY,
+    access_policy       VARCHAR NOT NULL,
+    contract_policy     VARCHAR NOT NULL,
+    selector_expression VARCHAR NOT NULL
+);
@@ -0,0 +1,123 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.contract.definition.store.sql;
+
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.query.QuerySpec;
+import org.eclipse.dataspaceconnector.spi.query.SortOrder;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.offer.ContractDefinition;
+import org.eclipse.dataspaceconnector.sql.testfixtures.H2TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.eclipse.dataspaceconnector.contract.definition.store.sql.TestFunctions.createDefinition;
+
+class SqlContractDefinitionStoreTest {
+    static final String SCHEMA = "contract-definition-schema.sql";
+
+    private H2TestDatabase database;
+    private SqlContractDefinitionStore store;
+
+    @BeforeEach
+    void setUp() {
+        database = H2TestDatabase.create(SCHEMA);
+        store = new SqlContractDefinitionStore(database.getTransactionRunner(), new TypeManager());
+    }
+
+    @Test
+    void save_andFindAll() {
+        var definition = createDefinition("definition1");
+
+        store.save(definition);
+
+        assertThat(store.findAll()).hasSize(1).first().usingRecursiveComparison().isEqualTo(definition);
+    }
+
+    @Test
+    void findAll_empty() {
+        assertThat(store.findAll()).isEmpty();
+    }
+
+    @Test
+    void save_collection_insertsAndUpdates() {
+        store.save(createDefinition("definition1", "asset1"));
+
+        store.save(List.of(createDefinition("definition1", "asset2"), createDefinition("definition2"), createDefinition("definition2", "asset3")));
+
+        assertThat(store.findAll()).hasSize(2).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrder(createDefinition("definition1", "asset2"), createDefinition("definition2", "asset3"));
+    }
+
+    @Test
+    void save_collection_isAtomic() {
+        store.save(createDefinition("definition1", "asset1"));
+        database.getTransactionRunner().run(connection -> {
+            try (var statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE edc_contract_definition ADD CONSTRAINT no_invalid_id CHECK (id <> 'invalid')");
+            }
+        });
+
+        // the update of the existing definition is rolled back with the failed insert
+        assertThatThrownBy(() -> store.save(List.of(createDefinition("definition1", "asset2"), createDefinition("invalid")))).isInstanceOf(EdcException.class);
+
+        assertThat(store.findAll()).hasSize(1).first().usingRecursiveComparison().isEqualTo(createDefinition("definition1", "asset1"));
+    }
+
+    @Test
+    void update() {
+        store.save(createDefinition("definition1", "asset1"));
+
+        store.update(createDefinition("definition1", "asset2"));
+
+        assertThat(store.findAll()).hasSize(1).first().usingRecursiveComparison().isEqualTo(createDefinition("definition1", "asset2"));
+    }
+
+    @Test
+    void delete() {
+        store.save(List.of(createDefinition("definition1"), createDefinition("definition2")));
+
+        store.delete("definition1");
+        store.delete("not-exists");
+
+        assertThat(store.findAll()).extracting(ContractDefinition::getId).containsExactly("definition2");
+    }
+
+    @Test
+    void findAll_paged() {
+        store.save(IntStream.range(0, 25).mapToObj(i -> createDefinition(String.format("definition%02d", i))).collect(Collectors.toList()));
+
+        var firstPage = store.findAll(QuerySpec.Builder.newInstance().offset(0).limit(10).sortOrder(SortOrder.ASC).build());
+        var lastPage = store.findAll(QuerySpec.Builder.newInstance().offset(20).limit(10).sortOrder(SortOrder.ASC).build());
+        var descending = store.findAll(QuerySpec.Builder.newInstance().offset(0).limit(2).sortOrder(SortOrder.DESC).sortField("id").build());
+
+        assertThat(firstPage).hasSize(10).first().extracting(ContractDefinition::getId).isEqualTo("definition00");
+        assertThat(lastPage).extracting(ContractDefinition::getId).containsExactly("definition20", "definition21", "definition22", "definition23", "definition24");
+        assertThat(descending).extracting(ContractDefinition::getId).containsExactly("definition24", "definition23");
+    }
+
+    @Test
+    void findAll_paged_unsupportedQuery() {
+        assertThatThrownBy(() -> store.findAll(QuerySpec.Builder.newInstance().sortField("accessPolicy").build())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.findAll(QuerySpec.Builder.newInstance().filter("id = definition1").build())).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.contract.definition.store.sql;
+
+import org.eclipse.dataspaceconnector.policy.model.Policy;
+import org.eclipse.dataspaceconnector.spi.asset.AssetSelectorExpression;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.offer.ContractDefinition;
+
+public class TestFunctions {
+
+    public static ContractDefinition createDefinition(String id) {
+        return createDefinition(id, "test-asset");
+    }
+
+    public static ContractDefinition createDefinition(String id, String assetId) {
+        return ContractDefinition.Builder.newInstance()
+                .id(id)
+                .accessPolicy(Policy.Builder.newInstance().id("access-policy").build())
+                .contractPolicy(Policy.Builder.newInstance().id("contract-policy").build())
+                .selectorExpression(AssetSelectorExpression.Builder.newInstance().whenEquals("asset:prop:id", assetId).build())
+                .build();
+    }
+}
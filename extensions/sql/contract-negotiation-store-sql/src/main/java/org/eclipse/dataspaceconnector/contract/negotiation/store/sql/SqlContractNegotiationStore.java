@@ -0,0 +1,262 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.contract.negotiation.store.sql;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.eclipse.dataspaceconnector.policy.model.Policy;
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.contract.negotiation.store.ContractNegotiationStore;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.eclipse.dataspaceconnector.spi.types.domain.asset.Asset;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.agreement.ContractAgreement;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.negotiation.ContractNegotiation;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.offer.ContractOffer;
+import org.eclipse.dataspaceconnector.sql.SqlLeaseContext;
+import org.eclipse.dataspaceconnector.sql.SqlTransactionRunner;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+
+import static java.lang.String.format;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeQuery;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeQuerySingle;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeUpdate;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.placeholders;
+
+/**
+ * Stores {@link ContractNegotiation} objects in a relational database, using the schema in {@code contract-negotiation-schema.sql}.
+ * <p>
+ * A negotiation is stored in a row of {@code edc_contract_negotiation}, its agreement in a row of {@code edc_contract_agreement}, and both are
+ * written in the same transaction. Negotiations are indexed by their correlation id and agreements by their id, so neither lookup scans the
+ * table. {@link #nextForState} selects the oldest negotiations in a state with {@code FOR UPDATE SKIP LOCKED} and leases them to this runtime
+ * in the same transaction, so that the replicas of a connector never process the same negotiation concurrently. Saving or deleting a
+ * negotiation releases the lease, and fails if another runtime holds it.
+ */
+public class SqlContractNegotiationStore implements ContractNegotiationStore {
+    static final String NEGOTIATION_TABLE = "edc_contract_negotiation";
+    static final String AGREEMENT_TABLE = "edc_contract_agreement";
+
+    private static final TypeReference<List<ContractOffer>> OFFER_LIST_TYPE = new TypeReference<>() {
+    };
+    private static final String AGREEMENT_COLUMNS = "provider_agent_id, consumer_agent_id, contract_signing_date, contract_start_date, contract_end_date, asset, policy";
+    private static final String SELECT_NEGOTIATIONS = "SELECT n.id, n.correlation_id, n.counter_party_id, n.counter_party_address, n.protocol, n.negotiation_type, " +
+            "n.state, n.state_count, n.state_timestamp, n.error_detail, n.contract_offers, a.id AS agreement_id, a.provider_agent_id, a.consumer_agent_id, " +
+            "a.contract_signing_date, a.contract_start_date, a.contract_end_date, a.asset, a.policy FROM " + NEGOTIATION_TABLE + " n LEFT JOIN " +
+            AGREEMENT_TABLE + " a ON a.negotiation_id = n.id";
+    private static final String FIND_BY_ID = SELECT_NEGOTIATIONS + " WHERE n.id = ?";
+    private static final String FIND_BY_CORRELATION_ID = SELECT_NEGOTIATIONS + " WHERE n.correlation_id = ?";
+    private static final String FIND_AGREEMENT = "SELECT id AS agreement_id, " + AGREEMENT_COLUMNS + " FROM " + AGREEMENT_TABLE + " WHERE id = ?";
+    private static final String INSERT_NEGOTIATION = "INSERT INTO " + NEGOTIATION_TABLE + " (correlation_id, counter_party_id, counter_party_address, protocol, " +
+            "negotiation_type, state, state_count, state_timestamp, error_detail, contract_offers, id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_NEGOTIATION = "UPDATE " + NEGOTIATION_TABLE + " SET correlation_id = ?, counter_party_id = ?, counter_party_address = ?, " +
+            "protocol = ?, negotiation_type = ?, state = ?, state_count = ?, state_timestamp = ?, error_detail = ?, contract_offers = ? WHERE id = ?";
+    private static final String DELETE_NEGOTIATION = "DELETE FROM " + NEGOTIATION_TABLE + " WHERE id = ?";
+    private static final String INSERT_AGREEMENT = "INSERT INTO " + AGREEMENT_TABLE + " (" + AGREEMENT_COLUMNS + ", asset_id, id, negotiation_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_AGREEMENT = "UPDATE " + AGREEMENT_TABLE + " SET provider_agent_id = ?, consumer_agent_id = ?, contract_signing_date = ?, " +
+            "contract_start_date = ?, contract_end_date = ?, asset = ?, policy = ?, asset_id = ? WHERE id = ? AND negotiation_id = ?";
+    private static final String DELETE_AGREEMENT = "DELETE FROM " + AGREEMENT_TABLE + " WHERE negotiation_id = ?";
+
+    private final SqlTransactionRunner transactionRunner;
+    private final TypeManager typeManager;
+    private final SqlLeaseContext leaseContext;
+    private final String nextForStateSql;
+
+    /**
+     * Ctor.
+     *
+     * @param transactionRunner runs the statements in transactions of the configured data source
+     * @param typeManager       serializes the parts of a negotiation that are stored as JSON
+     * @param leaseHolder       the name this runtime holds leases by, which must be unique among the replicas of a connector
+     * @param leaseDuration     the time after which the lease of a negotiation selected by {@link #nextForState} expires, unless it is saved before
+     * @param clock             the clock the lease times are taken from
+     */
+    public SqlContractNegotiationStore(SqlTransactionRunner transactionRunner, TypeManager typeManager, String leaseHolder, Duration leaseDuration, Clock clock) {
+        this.transactionRunner = transactionRunner;
+        this.typeManager = typeManager;
+        leaseContext = new SqlLeaseContext(NEGOTIATION_TABLE, "id", leaseHolder, leaseDuration, clock);
+        nextForStateSql = format("SELECT id, %s FROM %s WHERE state = ? AND %s ORDER BY state_timestamp LIMIT ? FOR UPDATE SKIP LOCKED",
+                SqlLeaseContext.LEASE_ID_COLUMN, NEGOTIATION_TABLE, leaseContext.availableCondition());
+    }
+
+    @Override
+    public @Nullable ContractNegotiation find(String negotiationId) {
+        return transactionRunner.execute(connection -> executeQuerySingle(connection, FIND_BY_ID, this::mapNegotiation, negotiationId));
+    }
+
+    @Override
+    public @Nullable ContractNegotiation findForCorrelationId(String correlationId) {
+        return transactionRunner.execute(connection -> executeQuerySingle(connection, FIND_BY_CORRELATION_ID, this::mapNegotiation, correlationId));
+    }
+
+    @Override
+    public @Nullable ContractAgreement findContractAgreement(String contractId) {
+        return transactionRunner.execute(connection -> executeQuerySingle(connection, FIND_AGREEMENT, this::mapAgreement, contractId));
+    }
+
+    /**
+     * Writes the negotiation and its agreement in one transaction and releases the lease of this runtime. Negotiations that do not exist yet
+     * are created.
+     *
+     * @throws EdcException if the negotiation is leased by another runtime
+     */
+    @Override
+    public void save(ContractNegotiation negotiation) {
+        Objects.requireNonNull(negotiation.getId(), "ContractNegotiations must have an ID!");
+        transactionRunner.run(connection -> {
+            if (!leaseContext.lock(connection, negotiation.getId())) {
+                executeUpdate(connection, INSERT_NEGOTIATION, negotiationArguments(negotiation));
+                if (negotiation.getContractAgreement() != null) {
+                    executeUpdate(connection, INSERT_AGREEMENT, agreementArguments(negotiation));
+                }
+                return;
+            }
+            executeUpdate(connection, UPDATE_NEGOTIATION, negotiationArguments(negotiation));
+            saveAgreement(connection, negotiation);
+            leaseContext.release(connection, negotiation.getId());
+        });
+    }
+
+    /**
+     * Deletes the negotiation and its agreement.
+     *
+     * @throws EdcException if the negotiation is leased by another runtime
+     */
+    @Override
+    public void delete(String negotiationId) {
+        transactionRunner.run(connection -> {
+            if (leaseContext.lock(connection, negotiationId)) {
+                leaseContext.release(connection, negotiationId);
+                executeUpdate(connection, DELETE_NEGOTIATION, negotiationId);
+            }
+        });
+    }
+
+    /**
+     * Leases at most {@code max} of the negotiations in the state that are not leased by another runtime, oldest first. Negotiations locked by
+     * another transaction are skipped instead of waited for.
+     */
+    @Override
+    public @NotNull List<ContractNegotiation> nextForState(int state, int max) {
+        return transactionRunner.execute(connection -> {
+            var available = leaseContext.availableArguments();
+            var rows = executeQuery(connection, nextForStateSql, resultSet -> new String[]{ resultSet.getString(1), resultSet.getString(2) },
+                    state, available[0], available[1], max);
+            if (rows.isEmpty()) {
+                return Collections.<ContractNegotiation>emptyList();
+            }
+            var leases = new LinkedHashMap<String, String>();
+            rows.forEach(row -> leases.put(row[0], row[1]));
+            leaseContext.acquire(connection, leases);
+            var ids = leases.keySet().toArray();
+            var query = format("%s WHERE n.id IN (%s) ORDER BY n.state_timestamp", SELECT_NEGOTIATIONS, placeholders(ids.length));
+            return executeQuery(connection, query, this::mapNegotiation, ids);
+        });
+    }
+
+    private void saveAgreement(Connection connection, ContractNegotiation negotiation) {
+        if (negotiation.getContractAgreement() == null) {
+            executeUpdate(connection, DELETE_AGREEMENT, negotiation.getId());
+        } else if (executeUpdate(connection, UPDATE_AGREEMENT, agreementArguments(negotiation)) == 0) {
+            // the negotiation had no agreement or a different one before
+            executeUpdate(connection, DELETE_AGREEMENT, negotiation.getId());
+            executeUpdate(connection, INSERT_AGREEMENT, agreementArguments(negotiation));
+        }
+    }
+
+    private Object[] negotiationArguments(ContractNegotiation negotiation) {
+        return new Object[]{
+                negotiation.getCorrelationId(),
+                negotiation.getCounterPartyId(),
+                negotiation.getCounterPartyAddress(),
+                negotiation.getProtocol(),
+                negotiation.getType().name(),
+                negotiation.getState(),
+                negotiation.getStateCount(),
+                negotiation.getStateTimestamp(),
+                negotiation.getErrorDetail(),
+                toJson(negotiation.getContractOffers()),
+                negotiation.getId()
+        };
+    }
+
+    private Object[] agreementArguments(ContractNegotiation negotiation) {
+        var agreement = negotiation.getContractAgreement();
+        return new Object[]{
+                agreement.getProviderAgentId(),
+                agreement.getConsumerAgentId(),
+                agreement.getContractSigningDate(),
+                agreement.getContractStartDate(),
+                agreement.getContractEndDate(),
+                toJson(agreement.getAsset()),
+                toJson(agreement.getPolicy()),
+                agreement.getAsset().getId(),
+                agreement.getId(),
+                negotiation.getId()
+        };
+    }
+
+    private ContractNegotiation mapNegotiation(ResultSet resultSet) throws SQLException {
+        var agreement = resultSet.getString("agreement_id") != null ? mapAgreement(resultSet) : null;
+        return ContractNegotiation.Builder.newInstance()
+                .id(resultSet.getString("id"))
+                .correlationId(resultSet.getString("correlation_id"))
+                .counterPartyId(resultSet.getString("counter_party_id"))
+                .counterPartyAddress(resultSet.getString("counter_party_address"))
+                .protocol(resultSet.getString("protocol"))
+                .type(ContractNegotiation.Type.valueOf(resultSet.getString("negotiation_type")))
+                .state(resultSet.getInt("state"))
+                .stateCount(resultSet.getInt("state_count"))
+                .stateTimestamp(resultSet.getLong("state_timestamp"))
+                .errorDetail(resultSet.getString("error_detail"))
+                .contractOffers(readOffers(resultSet.getString("contract_offers")))
+                .contractAgreement(agreement)
+                .build();
+    }
+
+    private ContractAgreement mapAgreement(ResultSet resultSet) throws SQLException {
+        return ContractAgreement.Builder.newInstance()
+                .id(resultSet.getString("agreement_id"))
+                .providerAgentId(resultSet.getString("provider_agent_id"))
+                .consumerAgentId(resultSet.getString("consumer_agent_id"))
+                .contractSigningDate(resultSet.getLong("contract_signing_date"))
+                .contractStartDate(resultSet.getLong("contract_start_date"))
+                .contractEndDate(resultSet.getLong("contract_end_date"))
+                .asset(typeManager.readValue(resultSet.getString("asset"), Asset.class))
+                .policy(typeManager.readValue(resultSet.getString("policy"), Policy.class))
+                .build();
+    }
+
+    private List<ContractOffer> readOffers(@Nullable String json) {
+        // offers are added to a negotiation while it is processed, so the list must be mutable
+        return json != null ? new ArrayList<>(typeManager.readValue(json, OFFER_LIST_TYPE)) : new ArrayList<>();
+    }
+
+    @Nullable
+    private String toJson(@Nullable Object value) {
+        return value != null ? typeManager.writeValueAsString(value) : null;
+    }
+}
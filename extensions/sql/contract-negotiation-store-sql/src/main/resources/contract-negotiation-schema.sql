@@ -0,0 +1,51 @@
+-- Schema of the SQL ContractNegotiationStore. The DDL is portable between PostgreSQL and H2.
+
+CREATE TABLE IF NOT EXISTS edc_lease
+(
+    lease_id       VARCHAR NOT NULL PRIMARY KEY,
+    leased_by      VARCHAR NOT NULL,
+    leased_at      BIGINT  NOT NULL,
+    lease_duration BIGINT  NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS edc_contract_negotiation
+(
+    id                    VARCHAR NOT NULL PRIMARY KEY,
+    correlation_id        VARCHAR,
+    counter_party_id      VARCHAR NOT NULL,
+    counter_party_address VARCHAR NOT NULL,
+    protocol              VARCHAR NOT NULL,
+    negotiation_type      VARCHAR NOT NULL,
+    state                 INTEGER NOT NULL,
+    state_count           INTEGER NOT NULL,
+    state_timestamp       BIGINT  NOT NULL,
+    error_detail          VARCHAR,
+    contract_offers       VARCHAR,
+    lease_id              VARCHAR REFERENCES edc_lease (lease_id) ON DELETE SET NULL
+);
+
+-- nextForState selects the oldest negotiations in a state
+CREATE INDEX IF NOT EXISTS edc_contract_negotiation_state ON edc_contract_negotiation (state, state_timestamp);
+
+-- providers look negotiations up by the id the consumer has given them
+CREATE INDEX IF NOT EXISTS edc_contract_negotiation_correlation ON edc_contract_negotiation (correlation_id);
+
+-- releasing a lease clears the reference to it
+CREATE INDEX IF NOT EXISTS edc_contract_negotiation_lease ON edc_contract_negotiation (lease_id);
+
+CREATE TABLE IF NOT EXISTS edc_contract_agreement
+(
+    id                    VARCHAR NOT NULL PRIMARY KEY,
+    negotiation_id        VARCHAR NOT NULL UNIQUE REFERENCES edc_contract_negotiation (id) ON DELETE CASCADE,
+    provider_agent_id     VARCHAR NOT NULL,
+    consumer_agent_id     VARCHAR NOT NULL,
+    contract_signing_date BIGINT  NOT NULL,
+    contract_start_date   BIGINT  NOT NULL,
+    contract_end_date     BIGINT  NOT NULL,
+    asset_id              VARCHAR,
+    asset                 VARCHAR NOT NULL,
+    policy                VARCHAR NOT NULL
+);
+
+-- agreements are looked up by the asset they grant access to
+CREATE INDEX IF NOT EXISTS edc_contract_agreement_asset ON edc_contract_agreement (asset_id);
@@ -0,0 +1,248 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.contract.negotiation.store.sql;
+
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.negotiation.ContractNegotiation;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.negotiation.ContractNegotiationStates;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.offer.ContractOffer;
+import org.eclipse.dataspaceconnector.sql.testfixtures.H2TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.eclipse.dataspaceconnector.contract.negotiation.store.sql.TestFunctions.createAgreement;
+import static org.eclipse.dataspaceconnector.contract.negotiation.store.sql.TestFunctions.createNegotiation;
+import static org.eclipse.dataspaceconnector.contract.negotiation.store.sql.TestFunctions.createOffer;
+
+class SqlContractNegotiationStoreTest {
+    static final String SCHEMA = "contract-negotiation-schema.sql";
+    private static final Duration LEASE_DURATION = Duration.ofSeconds(60);
+
+    private H2TestDatabase database;
+    private SqlContractNegotiationStore store;
+
+    @BeforeEach
+    void setUp() {
+        database = H2TestDatabase.create(SCHEMA);
+        store = createStore("replica-1", Clock.systemUTC());
+    }
+
+    @Test
+    void save_andFind() {
+        var negotiation = createNegotiation("negotiation1");
+
+        store.save(negotiation);
+
+        var found = store.find("negotiation1");
+        assertThat(found).isNotNull().isNotSameAs(negotiation);
+        assertThat(found.getState()).isEqualTo(ContractNegotiationStates.REQUESTED.code());
+        assertThat(found.getStateTimestamp()).isEqualTo(negotiation.getStateTimestamp());
+        assertThat(found.getType()).isEqualTo(ContractNegotiation.Type.PROVIDER);
+        assertThat(found.getContractAgreement()).isNull();
+        assertThat(found.getContractOffers()).hasSize(1).first().extracting(offer -> offer.getAsset().getId()).isEqualTo("test-asset");
+    }
+
+    @Test
+    void find_notExists() {
+        assertThat(store.find("not-exists")).isNull();
+        assertThat(store.findForCorrelationId("not-exists")).isNull();
+        assertThat(store.findContractAgreement("not-exists")).isNull();
+    }
+
+    @Test
+    void findForCorrelationId() {
+        store.save(createNegotiation("negotiation1"));
+        store.save(createNegotiation("negotiation2"));
+
+        assertThat(store.findForCorrelationId("correlation-negotiation2")).extracting(ContractNegotiation::getId).isEqualTo("negotiation2");
+    }
+
+    @Test
+    void save_update() {
+        var negotiation = createNegotiation("negotiation1");
+        store.save(negotiation);
+
+        negotiation.addContractOffer(createOffer("counter-offer"));
+        negotiation.transitionOffering();
+        store.save(negotiation);
+
+        var found = store.find("negotiation1");
+        assertThat(found.getState()).isEqualTo(ContractNegotiationStates.PROVIDER_OFFERING.code());
+        assertThat(found.getContractOffers()).extracting(ContractOffer::getId).containsExactly("offer-negotiation1", "counter-offer");
+    }
+
+    @Test
+    void save_withAgreement() {
+        var negotiation = createNegotiation("negotiation1");
+        store.save(negotiation);
+
+        var agreement = createAgreement("agreement1");
+        negotiation.setContractAgreement(agreement);
+        store.save(negotiation);
+
+        assertThat(store.find("negotiation1").getContractAgreement()).usingRecursiveComparison().isEqualTo(agreement);
+        assertThat(store.findContractAgreement("agreement1")).usingRecursiveComparison().isEqualTo(agreement);
+    }
+
+    @Test
+    void save_replacesAgreement() {
+        var negotiation = createNegotiation("negotiation1");
+        negotiation.setContractAgreement(createAgreement("agreement1"));
+        store.save(negotiation);
+
+        negotiation.setContractAgreement(createAgreement("agreement2"));
+        store.save(negotiation);
+
+        assertThat(store.findContractAgreement("agreement1")).isNull();
+        assertThat(store.findContractAgreement("agreement2")).isNotNull();
+        assertThat(store.find("negotiation1").getContractAgreement().getId()).isEqualTo("agreement2");
+    }
+
+    @Test
+    void save_agreementOfOtherNegotiation_rollsBackNegotiation() {
+        var negotiation = createNegotiation("negotiation1");
+        negotiation.setContractAgreement(createAgreement("agreement1"));
+        store.save(negotiation);
+
+        var other = createNegotiation("negotiation2");
+        other.setContractAgreement(createAgreement("agreement1"));
+
+        assertThatThrownBy(() -> store.save(other)).isInstanceOf(EdcException.class);
+        assertThat(store.find("negotiation2")).isNull();
+    }
+
+    @Test
+    void delete() {
+        var negotiation = createNegotiation("negotiation1");
+        negotiation.setContractAgreement(createAgreement("agreement1"));
+        store.save(negotiation);
+
+        store.delete("negotiation1");
+
+        assertThat(store.find("negotiation1")).isNull();
+        assertThat(store.findContractAgreement("agreement1")).isNull();
+        store.delete("negotiation1");
+    }
+
+    @Test
+    void nextForState_oldestFirst() {
+        var now = Instant.now().toEpochMilli();
+        IntStream.range(0, 5)
+                .mapToObj(i -> createNegotiation("negotiation" + i, ContractNegotiationStates.REQUESTED, now - i * 1000L))
+                .forEach(store::save);
+        store.save(createNegotiation("confirmed", ContractNegotiationStates.CONFIRMED));
+
+        var next = store.nextForState(ContractNegotiationStates.REQUESTED.code(), 3);
+
+        assertThat(next).extracting(ContractNegotiation::getId).containsExactly("negotiation4", "negotiation3", "negotiation2");
+    }
+
+    @Test
+    void nextForState_leasedNegotiationsAreSkippedByOtherReplicas() {
+        IntStream.range(0, 10).mapToObj(i -> createNegotiation("negotiation" + i)).forEach(store::save);
+        var otherReplica = createStore("replica-2", Clock.systemUTC());
+
+        var leased = store.nextForState(ContractNegotiationStates.REQUESTED.code(), 6);
+        var leasedByOther = otherReplica.nextForState(ContractNegotiationStates.REQUESTED.code(), 10);
+
+        assertThat(leased).hasSize(6);
+        assertThat(leasedByOther).hasSize(4).extracting(ContractNegotiation::getId)
+                .doesNotContainAnyElementsOf(leased.stream().map(ContractNegotiation::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void nextForState_saveReleasesLease() {
+        store.save(createNegotiation("negotiation1"));
+        var otherReplica = createStore("replica-2", Clock.systemUTC());
+
+        var negotiation = store.nextForState(ContractNegotiationStates.REQUESTED.code(), 1).get(0);
+        assertThatThrownBy(() -> otherReplica.save(negotiation)).isInstanceOf(EdcException.class);
+        assertThatThrownBy(() -> otherReplica.delete("negotiation1")).isInstanceOf(EdcException.class);
+
+        // the lease holder may save it, which makes it available to the other replica again
+        store.save(negotiation);
+        assertThat(otherReplica.nextForState(ContractNegotiationStates.REQUESTED.code(), 1)).hasSize(1);
+    }
+
+    @Test
+    void nextForState_expiredLeaseIsTakenOver() {
+        var clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+        store = createStore("replica-1", clock);
+        store.save(createNegotiation("negotiation1"));
+        store.nextForState(ContractNegotiationStates.REQUESTED.code(), 1);
+
+        var otherReplica = createStore("replica-2", Clock.offset(clock, LEASE_DURATION.plusSeconds(1)));
+
+        assertThat(otherReplica.nextForState(ContractNegotiationStates.REQUESTED.code(), 1)).hasSize(1);
+        assertThatThrownBy(() -> store.save(createNegotiation("negotiation1"))).isInstanceOf(EdcException.class);
+    }
+
+    @Test
+    void nextForState_replicasProcessEachNegotiationOnce() throws InterruptedException {
+        var negotiations = 200;
+        IntStream.range(0, negotiations).mapToObj(i -> createNegotiation("negotiation" + i)).forEach(store::save);
+        var replicas = IntStream.range(0, 4).mapToObj(i -> createStore("replica-" + i, Clock.systemUTC())).collect(Collectors.toList());
+        var processed = ConcurrentHashMap.<String>newKeySet();
+        var duplicates = new AtomicInteger();
+        var errors = new ConcurrentLinkedQueue<Throwable>();
+
+        var executor = Executors.newFixedThreadPool(replicas.size());
+        for (var replica : replicas) {
+            executor.submit(() -> {
+                try {
+                    List<ContractNegotiation> batch;
+                    while (!(batch = replica.nextForState(ContractNegotiationStates.REQUESTED.code(), 10)).isEmpty()) {
+                        for (var negotiation : batch) {
+                            if (!processed.add(negotiation.getId())) {
+                                duplicates.incrementAndGet();
+                            }
+                            negotiation.transitionOffering();
+                            replica.save(negotiation);
+                        }
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+        }
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(errors).isEmpty();
+        assertThat(duplicates).hasValue(0);
+        assertThat(processed).hasSize(negotiations);
+    }
+
+    private SqlContractNegotiationStore createStore(String leaseHolder, Clock clock) {
+        return new SqlContractNegotiationStore(database.getTransactionRunner(), new TypeManager(), leaseHolder, LEASE_DURATION, clock);
+    }
+}
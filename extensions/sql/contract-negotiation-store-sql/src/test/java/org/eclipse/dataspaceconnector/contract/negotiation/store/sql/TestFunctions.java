@@ -0,0 +1,74 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+
+package org.eclipse.dataspaceconnector.contract.negotiation.store.sql;
+
+import org.eclipse.dataspaceconnector.policy.model.Policy;
+import org.eclipse.dataspaceconnector.spi.types.domain.asset.Asset;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.agreement.ContractAgreement;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.negotiation.ContractNegotiation;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.negotiation.ContractNegotiationStates;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.offer.ContractOffer;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestFunctions {
+
+    public static ContractNegotiation createNegotiation(String id) {
+        return createNegotiation(id, ContractNegotiationStates.REQUESTED);
+    }
+
+    public static ContractNegotiation createNegotiation(String id, ContractNegotiationStates state) {
+        return createNegotiation(id, state, Instant.now().toEpochMilli());
+    }
+
+    public static ContractNegotiation createNegotiation(String id, ContractNegotiationStates state, long stateTimestamp) {
+        return ContractNegotiation.Builder.newInstance()
+                .id(id)
+                .correlationId("correlation-" + id)
+                .counterPartyId("test-counterparty")
+                .counterPartyAddress("http://test-counterparty")
+                .protocol("test-protocol")
+                .type(ContractNegotiation.Type.PROVIDER)
+                .state(state.code())
+                .stateCount(1)
+                .stateTimestamp(stateTimestamp)
+                .contractOffers(new ArrayList<>(List.of(createOffer("offer-" + id))))
+                .build();
+    }
+
+    public static ContractOffer createOffer(String id) {
+        return ContractOffer.Builder.newInstance()
+                .id(id)
+                .policy(Policy.Builder.newInstance().build())
+                .asset(Asset.Builder.newInstance().id("test-asset").build())
+                .build();
+    }
+
+    public static ContractAgreement createAgreement(String id) {
+        return ContractAgreement.Builder.newInstance()
+                .id(id)
+                .providerAgentId("provider")
+                .consumerAgentId("consumer")
+                .asset(Asset.Builder.newInstance().id("test-asset").build())
+                .policy(Policy.Builder.newInstance().build())
+                .contractSigningDate(Instant.now().getEpochSecond())
+                .contractStartDate(Instant.now().getEpochSecond())
+                .contractEndDate(Instant.now().plusSeconds(3600).getEpochSecond())
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+plugins {
+    `java-library`
+    `java-test-fixtures`
+}
+
+val h2Version: String by project
+
+dependencies {
+    api(project(":spi:core-spi"))
+    api(project(":extensions:transaction:transaction-spi"))
+    api(project(":extensions:transaction:transaction-datasource-spi"))
+
+    testFixturesApi(project(":extensions:transaction:transaction-local"))
+    testFixturesApi("com.h2database:h2:${h2Version}")
+}
+
+publishing {
+    publications {
+        create<MavenPublication>("sql-common") {
+            artifactId = "sql-common"
+            from(components["java"])
+        }
+    }
+}
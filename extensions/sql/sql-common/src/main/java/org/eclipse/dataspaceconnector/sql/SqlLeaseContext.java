@@ -0,0 +1,157 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.sql;
+
+import org.eclipse.dataspaceconnector.spi.EdcException;
+
+import java.sql.Connection;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeBatch;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeQuerySingle;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeUpdate;
+
+/**
+ * Leases the rows of an entity table to a single runtime among the replicas of a connector.
+ * <p>
+ * Leases are stored in the {@value #LEASE_TABLE} table and referenced by the {@value #LEASE_ID_COLUMN} column of the entity table, whose foreign
+ * key must be declared {@code ON DELETE SET NULL}. A row is available to a lease holder if it is not leased, leased by that holder or its
+ * lease has expired. Lease holders select available rows with {@code FOR UPDATE SKIP LOCKED}, so concurrent replicas lease disjoint rows
+ * without waiting for each other.
+ */
+public class SqlLeaseContext {
+    public static final String LEASE_TABLE = "edc_lease";
+    public static final String LEASE_ID_COLUMN = "lease_id";
+
+    private static final String AVAILABLE_CONDITION = "(" + LEASE_ID_COLUMN + " IS NULL OR " + LEASE_ID_COLUMN + " IN (SELECT lease_id FROM " + LEASE_TABLE +
+            " WHERE leased_by = ? OR leased_at + lease_duration < ?))";
+    private static final String INSERT_LEASE = "INSERT INTO " + LEASE_TABLE + " (lease_id, leased_by, leased_at, lease_duration) VALUES (?, ?, ?, ?)";
+    private static final String DELETE_LEASE = "DELETE FROM " + LEASE_TABLE + " WHERE lease_id = ?";
+    private static final String FIND_LEASE = "SELECT leased_by, leased_at, lease_duration FROM " + LEASE_TABLE + " WHERE lease_id = ?";
+
+    private final String assignLeaseSql;
+    private final String lockSql;
+    private final String releaseSql;
+    private final String leaseHolder;
+    private final Duration leaseDuration;
+    private final Clock clock;
+
+    /**
+     * Ctor.
+     *
+     * @param entityTable   the table of the leased entities
+     * @param idColumn      the primary key column of the entity table
+     * @param leaseHolder   the name leases are held by, which must be unique among the replicas of a connector
+     * @param leaseDuration the time after which a lease expires, unless the holder releases it before
+     * @param clock         the clock the lease times are taken from
+     */
+    public SqlLeaseContext(String entityTable, String idColumn, String leaseHolder, Duration leaseDuration, Clock clock) {
+        assignLeaseSql = format("UPDATE %s SET %s = ? WHERE %s = ?", entityTable, LEASE_ID_COLUMN, idColumn);
+        lockSql = format("SELECT %s FROM %s WHERE %s = ? FOR UPDATE", LEASE_ID_COLUMN, entityTable, idColumn);
+        releaseSql = format("DELETE FROM %s WHERE lease_id = (SELECT %s FROM %s WHERE %s = ?)", LEASE_TABLE, LEASE_ID_COLUMN, entityTable, idColumn);
+        this.leaseHolder = Objects.requireNonNull(leaseHolder, "leaseHolder");
+        this.leaseDuration = leaseDuration;
+        this.clock = clock;
+    }
+
+    public String getLeaseHolder() {
+        return leaseHolder;
+    }
+
+    /**
+     * A condition on the entity table that selects the rows available to this lease holder. It must be followed by the
+     * {@link #availableArguments()} in the statement arguments.
+     */
+    public String availableCondition() {
+        return AVAILABLE_CONDITION;
+    }
+
+    public Object[] availableArguments() {
+        return new Object[]{ leaseHolder, clock.millis() };
+    }
+
+    /**
+     * Leases the given rows, which must have been selected {@code FOR UPDATE} in the current transaction, and deletes their previous leases.
+     *
+     * @param currentLeases the ids of the rows mapped to their current lease id, or to null if they are not leased
+     */
+    public void acquire(Connection connection, Map<String, String> currentLeases) {
+        if (currentLeases.isEmpty()) {
+            return;
+        }
+        var now = clock.millis();
+        var leases = new ArrayList<Object[]>();
+        var assignments = new ArrayList<Object[]>();
+        var previousLeases = new ArrayList<Object[]>();
+        currentLeases.forEach((id, currentLease) -> {
+            var leaseId = UUID.randomUUID().toString();
+            leases.add(new Object[]{ leaseId, leaseHolder, now, leaseDuration.toMillis() });
+            assignments.add(new Object[]{ leaseId, id });
+            if (currentLease != null) {
+                previousLeases.add(new Object[]{ currentLease });
+            }
+        });
+        executeBatch(connection, INSERT_LEASE, leases);
+        executeBatch(connection, assignLeaseSql, assignments);
+        executeBatch(connection, DELETE_LEASE, previousLeases);
+    }
+
+    /**
+     * Locks the row for the rest of the current transaction, so that no other lease holder can lease it before the transaction ends.
+     *
+     * @return false if the row does not exist
+     * @throws EdcException if the row is leased by another holder
+     */
+    public boolean lock(Connection connection, String id) {
+        // the lease id is wrapped, so that a row without lease can be told apart from a missing row
+        var leaseId = executeQuerySingle(connection, lockSql, resultSet -> new String[]{ resultSet.getString(1) }, id);
+        if (leaseId == null) {
+            return false;
+        }
+        if (leaseId[0] != null) {
+            var now = clock.millis();
+            var holder = executeQuerySingle(connection, FIND_LEASE, resultSet -> {
+                var expired = resultSet.getLong(2) + resultSet.getLong(3) < now;
+                return expired ? null : resultSet.getString(1);
+            }, leaseId[0]);
+            if (holder != null && !holder.equals(leaseHolder)) {
+                throw new EdcException(format("Entity %s is leased by %s", id, holder));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Releases the lease of the row, if any.
+     */
+    public void release(Connection connection, String id) {
+        executeUpdate(connection, releaseSql, id);
+    }
+
+    /**
+     * Releases the leases of the rows, if any, in a single batch.
+     */
+    public void releaseAll(Connection connection, Collection<String> ids) {
+        executeBatch(connection, releaseSql, ids.stream().map(id -> new Object[]{ id }).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.sql;
+
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Executes prepared statements on a connection and maps their results. {@link SQLException}s are rethrown as {@link EdcException}s, so that
+ * the enclosing transaction is rolled back.
+ */
+public final class SqlQueryExecutor {
+
+    /**
+     * The maximum number of rows sent to the database in one batch.
+     */
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private SqlQueryExecutor() {
+    }
+
+    /**
+     * Executes a query and maps every row of the result.
+     */
+    public static <T> List<T> executeQuery(Connection connection, String sql, ResultSetMapper<T> mapper, Object... arguments) {
+        try (var statement = connection.prepareStatement(sql)) {
+            setArguments(statement, arguments);
+            try (var resultSet = statement.executeQuery()) {
+                var result = new ArrayList<T>();
+                while (resultSet.next()) {
+                    result.add(mapper.mapResultSet(resultSet));
+                }
+                return result;
+            }
+        } catch (SQLException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    /**
+     * Executes a query and maps the first row of the result, or returns null if there is none.
+     */
+    @Nullable
+    public static <T> T executeQuerySingle(Connection connection, String sql, ResultSetMapper<T> mapper, Object... arguments) {
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.setMaxRows(1);
+            setArguments(statement, arguments);
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() ? mapper.mapResultSet(resultSet) : null;
+            }
+        } catch (SQLException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    /**
+     * Executes an insert, update or delete statement and returns the number of affected rows.
+     */
+    public static int executeUpdate(Connection connection, String sql, Object... arguments) {
+        try (var statement = connection.prepareStatement(sql)) {
+            setArguments(statement, arguments);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    /**
+     * Executes the statement once for every set of arguments, sending at most {@link #MAX_BATCH_SIZE} of them to the database in one round
+     * trip. Returns the total number of affected rows.
+     */
+    public static int executeBatch(Connection connection, String sql, Collection<Object[]> argumentSets) {
+        if (argumentSets.isEmpty()) {
+            return 0;
+        }
+        try (var statement = connection.prepareStatement(sql)) {
+            var count = 0;
+            var pending = 0;
+            for (var arguments : argumentSets) {
+                setArguments(statement, arguments);
+                statement.addBatch();
+                if (++pending == MAX_BATCH_SIZE) {
+                    count += sum(statement.executeBatch());
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                count += sum(statement.executeBatch());
+            }
+            return count;
+        } catch (SQLException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    /**
+     * Returns a comma-separated list of the given number of parameter placeholders, to be used in an {@code IN} clause.
+     */
+    public static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static void setArguments(PreparedStatement statement, Object[] arguments) throws SQLException {
+        for (var i = 0; i < arguments.length; i++) {
+            // a null is passed without a type, so that the driver infers it from the column
+            statement.setObject(i + 1, arguments[i]);
+        }
+    }
+
+    private static int sum(int[] counts) {
+        var sum = 0;
+        for (var count : counts) {
+            // drivers may report success without a row count
+            sum += count == PreparedStatement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.sql;
+
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.transaction.TransactionContext;
+import org.eclipse.dataspaceconnector.spi.transaction.datasource.DataSourceRegistry;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+import javax.sql.DataSource;
+
+/**
+ * Runs work on a connection of a registered data source within the {@link TransactionContext}. Work that is run while a transaction is
+ * already active joins it.
+ * <p>
+ * Transaction contexts roll back, but do not propagate, exceptions thrown by a transaction block. The runner therefore rethrows the exception
+ * of the work once the transaction has been rolled back, so that callers see the failure.
+ */
+public class SqlTransactionRunner {
+    private final TransactionContext transactionContext;
+    private final DataSourceRegistry dataSourceRegistry;
+    private final String dataSourceName;
+
+    public SqlTransactionRunner(TransactionContext transactionContext, DataSourceRegistry dataSourceRegistry, String dataSourceName) {
+        this.transactionContext = Objects.requireNonNull(transactionContext, "transactionContext");
+        this.dataSourceRegistry = Objects.requireNonNull(dataSourceRegistry, "dataSourceRegistry");
+        this.dataSourceName = Objects.requireNonNull(dataSourceName, "dataSourceName");
+    }
+
+    /**
+     * Runs the work in a transaction and returns its result.
+     *
+     * @throws EdcException if the work fails, after the transaction has been rolled back
+     */
+    public <T> T execute(ConnectionFunction<T> work) {
+        var outcome = new Outcome<T>();
+        transactionContext.execute(() -> {
+            try (var connection = getDataSource().getConnection()) {
+                outcome.result = work.apply(connection);
+            } catch (SQLException e) {
+                outcome.failure = new EdcException(e);
+                throw outcome.failure;
+            } catch (RuntimeException e) {
+                outcome.failure = e;
+                throw e;
+            }
+        });
+        if (outcome.failure != null) {
+            throw outcome.failure;
+        }
+        return outcome.result;
+    }
+
+    /**
+     * Runs the work in a transaction.
+     *
+     * @throws EdcException if the work fails, after the transaction has been rolled back
+     */
+    public void run(ConnectionConsumer work) {
+        execute(connection -> {
+            work.accept(connection);
+            return null;
+        });
+    }
+
+    private DataSource getDataSource() {
+        var dataSource = dataSourceRegistry.resolve(dataSourceName);
+        if (dataSource == null) {
+            throw new EdcException("DataSource not registered: " + dataSourceName);
+        }
+        return dataSource;
+    }
+
+    /**
+     * Work that produces a result from a connection.
+     */
+    @FunctionalInterface
+    public interface ConnectionFunction<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Work on a connection.
+     */
+    @FunctionalInterface
+    public interface ConnectionConsumer {
+        void accept(Connection connection) throws SQLException;
+    }
+
+    private static class Outcome<T> {
+        private T result;
+        private RuntimeException failure;
+    }
+}
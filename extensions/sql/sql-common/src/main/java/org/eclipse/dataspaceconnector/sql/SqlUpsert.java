@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.placeholders;
+
+/**
+ * A statement that inserts a row, or updates the row with the same key if there is one, in a single atomic statement. Unlike a check for
+ * existing rows followed by an insert, it does not fail with a key violation when several runtimes write the same key concurrently.
+ * <p>
+ * The syntax depends on the database: PostgreSQL uses {@code INSERT ... ON CONFLICT}, H2 its {@code MERGE ... KEY} statement, and other
+ * databases the standard {@code MERGE} statement. The statement text is built once, for the database of the first connection it is used on.
+ * Its arguments are the values of the key columns followed by the values of the other columns.
+ */
+public class SqlUpsert {
+    private final String table;
+    private final List<String> keyColumns;
+    private final List<String> valueColumns;
+    private volatile String sql;
+
+    public SqlUpsert(String table, List<String> keyColumns, List<String> valueColumns) {
+        this.table = table;
+        this.keyColumns = List.copyOf(keyColumns);
+        this.valueColumns = List.copyOf(valueColumns);
+    }
+
+    /**
+     * Returns the statement text for the database of the connection.
+     */
+    public String getSql(Connection connection) throws SQLException {
+        var result = sql;
+        if (result == null) {
+            result = build(connection.getMetaData().getDatabaseProductName());
+            sql = result;
+        }
+        return result;
+    }
+
+    /**
+     * Executes the statement once for every set of arguments, in batches.
+     *
+     * @see SqlQueryExecutor#executeBatch(Connection, String, Collection)
+     */
+    public int executeBatch(Connection connection, Collection<Object[]> argumentSets) throws SQLException {
+        if (argumentSets.isEmpty()) {
+            return 0;
+        }
+        return SqlQueryExecutor.executeBatch(connection, getSql(connection), argumentSets);
+    }
+
+    String build(String databaseProductName) {
+        var columns = new ArrayList<>(keyColumns);
+        columns.addAll(valueColumns);
+        var columnList = String.join(", ", columns);
+        var keyList = String.join(", ", keyColumns);
+        if ("PostgreSQL".equalsIgnoreCase(databaseProductName)) {
+            var update = valueColumns.isEmpty() ? "NOTHING" : "UPDATE SET " + valueColumns.stream()
+                    .map(column -> format("%s = EXCLUDED.%s", column, column))
+                    .collect(Collectors.joining(", "));
+            return format("INSERT INTO %s (%s) VALUES (%s) ON CONFLICT (%s) DO %s", table, columnList, placeholders(columns.size()), keyList, update);
+        }
+        if ("H2".equalsIgnoreCase(databaseProductName)) {
+            return format("MERGE INTO %s (%s) KEY (%s) VALUES (%s)", table, columnList, keyList, placeholders(columns.size()));
+        }
+        var match = keyColumns.stream().map(column -> format("t.%s = s.%s", column, column)).collect(Collectors.joining(" AND "));
+        var update = valueColumns.isEmpty() ? "" : " WHEN MATCHED THEN UPDATE SET " + valueColumns.stream()
+                .map(column -> format("%s = s.%s", column, column))
+                .collect(Collectors.joining(", "));
+        var insertValues = columns.stream().map(column -> "s." + column).collect(Collectors.joining(", "));
+        return format("MERGE INTO %s t USING (VALUES (%s)) s (%s) ON %s%s WHEN NOT MATCHED THEN INSERT (%s) VALUES (%s)",
+                table, placeholders(columns.size()), columnList, match, update, columnList, insertValues);
+    }
+}
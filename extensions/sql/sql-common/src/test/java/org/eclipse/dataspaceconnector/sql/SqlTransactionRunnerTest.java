@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.sql;
+
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.sql.testfixtures.H2TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeBatch;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeQuery;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeUpdate;
+
+class SqlTransactionRunnerTest {
+    private H2TestDatabase database;
+    private SqlTransactionRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        database = H2TestDatabase.create();
+        runner = database.getTransactionRunner();
+        runner.run(connection -> executeUpdate(connection, "CREATE TABLE test_entry (id VARCHAR PRIMARY KEY, entry_value INTEGER)"));
+    }
+
+    @Test
+    void execute_commits() {
+        runner.run(connection -> executeBatch(connection, "INSERT INTO test_entry (id, entry_value) VALUES (?, ?)",
+                List.of(new Object[]{ "a", 1 }, new Object[]{ "b", null })));
+
+        assertThat(ids()).containsExactly("a", "b");
+    }
+
+    @Test
+    void execute_failureIsRethrownAfterRollback() {
+        assertThatThrownBy(() -> runner.run(connection -> {
+            executeUpdate(connection, "INSERT INTO test_entry (id, entry_value) VALUES (?, ?)", "a", 1);
+            executeUpdate(connection, "INSERT INTO test_entry (id, entry_value) VALUES (?, ?)", "a", 2);
+        })).isInstanceOf(EdcException.class);
+
+        assertThat(ids()).isEmpty();
+    }
+
+    @Test
+    void execute_nestedFailureRollsBackEnclosingTransaction() {
+        assertThatThrownBy(() -> runner.run(connection -> {
+            executeUpdate(connection, "INSERT INTO test_entry (id, entry_value) VALUES (?, ?)", "a", 1);
+            runner.run(nested -> {
+                throw new IllegalStateException("failed");
+            });
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(ids()).isEmpty();
+    }
+
+    @Test
+    void execute_unknownDataSource() {
+        var unknown = new SqlTransactionRunner(database.getTransactionContext(), database.getDataSourceRegistry(), "unknown");
+
+        assertThatThrownBy(() -> unknown.execute(connection -> 1)).isInstanceOf(EdcException.class);
+    }
+
+    private List<String> ids() {
+        return runner.execute(connection -> executeQuery(connection, "SELECT id FROM test_entry ORDER BY id", resultSet -> resultSet.getString(1)));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.sql;
+
+import org.eclipse.dataspaceconnector.sql.testfixtures.H2TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeQuery;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeUpdate;
+
+class SqlUpsertTest {
+    private final SqlUpsert upsert = new SqlUpsert("test_entry", List.of("id"), List.of("entry_value", "label"));
+    private SqlTransactionRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        runner = H2TestDatabase.create().getTransactionRunner();
+        runner.run(connection -> executeUpdate(connection, "CREATE TABLE test_entry (id VARCHAR PRIMARY KEY, entry_value INTEGER, label VARCHAR)"));
+    }
+
+    @Test
+    void executeBatch_insertsAndUpdates() {
+        runner.run(connection -> upsert.executeBatch(connection, List.of(new Object[]{ "a", 1, "first" }, new Object[]{ "b", 2, "first" })));
+
+        runner.run(connection -> upsert.executeBatch(connection, List.of(new Object[]{ "b", 3, "second" }, new Object[]{ "c", 4, "second" })));
+
+        assertThat(entries()).containsExactly("a:1:first", "b:3:second", "c:4:second");
+    }
+
+    @Test
+    void build_postgres() {
+        assertThat(upsert.build("PostgreSQL")).isEqualTo("INSERT INTO test_entry (id, entry_value, label) VALUES (?,?,?) ON CONFLICT (id) " +
+                "DO UPDATE SET entry_value = EXCLUDED.entry_value, label = EXCLUDED.label");
+    }
+
+    @Test
+    void build_standard() {
+        assertThat(upsert.build("Other")).isEqualTo("MERGE INTO test_entry t USING (VALUES (?,?,?)) s (id, entry_value, label) ON t.id = s.id " +
+                "WHEN MATCHED THEN UPDATE SET entry_value = s.entry_value, label = s.label " +
+                "WHEN NOT MATCHED THEN INSERT (id, entry_value, label) VALUES (s.id, s.entry_value, s.label)");
+    }
+
+    private List<String> entries() {
+        return runner.execute(connection -> executeQuery(connection, "SELECT id, entry_value, label FROM test_entry ORDER BY id",
+                resultSet -> resultSet.getString(1) + ":" + resultSet.getInt(2) + ":" + resultSet.getString(3)));
+    }
+}
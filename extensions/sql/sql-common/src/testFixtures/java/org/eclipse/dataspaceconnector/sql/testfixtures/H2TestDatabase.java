@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.sql.testfixtures;
+
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.monitor.Monitor;
+import org.eclipse.dataspaceconnector.spi.transaction.TransactionContext;
+import org.eclipse.dataspaceconnector.spi.transaction.datasource.DataSourceRegistry;
+import org.eclipse.dataspaceconnector.sql.SqlTransactionRunner;
+import org.eclipse.dataspaceconnector.transaction.local.LocalDataSourceRegistry;
+import org.eclipse.dataspaceconnector.transaction.local.LocalTransactionContext;
+import org.h2.jdbcx.JdbcDataSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * A private in-memory H2 database, registered as the default data source of a local transaction context.
+ */
+public class H2TestDatabase {
+    private final TransactionContext transactionContext;
+    private final DataSourceRegistry dataSourceRegistry;
+    private final SqlTransactionRunner transactionRunner;
+
+    private H2TestDatabase() {
+        var dataSource = new JdbcDataSource();
+        // the database lives as long as the JVM, the random name keeps the tests isolated from each other
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        var localTransactionContext = new LocalTransactionContext(new Monitor() {
+        });
+        var localDataSourceRegistry = new LocalDataSourceRegistry(localTransactionContext);
+        localDataSourceRegistry.register(DataSourceRegistry.DEFAULT_DATASOURCE, dataSource);
+        transactionContext = localTransactionContext;
+        dataSourceRegistry = localDataSourceRegistry;
+        transactionRunner = new SqlTransactionRunner(transactionContext, dataSourceRegistry, DataSourceRegistry.DEFAULT_DATASOURCE);
+    }
+
+    /**
+     * Creates a new database and runs the given classpath resources on it, e.g. to create the schema.
+     */
+    public static H2TestDatabase create(String... scripts) {
+        var database = new H2TestDatabase();
+        for (var script : scripts) {
+            database.runScript(script);
+        }
+        return database;
+    }
+
+    public TransactionContext getTransactionContext() {
+        return transactionContext;
+    }
+
+    public DataSourceRegistry getDataSourceRegistry() {
+        return dataSourceRegistry;
+    }
+
+    public SqlTransactionRunner getTransactionRunner() {
+        return transactionRunner;
+    }
+
+    /**
+     * Runs the statements of a classpath resource in a single transaction. Statements must be terminated by semicolons.
+     */
+    public void runScript(String resource) {
+        String script;
+        try (var stream = Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream(resource), resource)) {
+            script = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new EdcException(e);
+        }
+        // the statements are executed one by one, as not every driver accepts several statements at once
+        var statements = Arrays.stream(script.split(";"))
+                .map(sql -> sql.lines().filter(line -> !line.trim().startsWith("--")).collect(Collectors.joining("\n")).trim())
+                .filter(sql -> !sql.isEmpty())
+                .collect(Collectors.toList());
+        transactionRunner.run(connection -> {
+            try (var statement = connection.createStatement()) {
+                for (var sql : statements) {
+                    statement.execute(sql);
+                }
+            }
+        });
+    }
+}
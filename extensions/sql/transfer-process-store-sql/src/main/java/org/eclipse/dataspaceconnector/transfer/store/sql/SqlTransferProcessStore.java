@@ -0,0 +1,302 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.transfer.store.sql;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.transfer.store.TransferProcessStore;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.eclipse.dataspaceconnector.spi.types.domain.DataAddress;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.DataRequest;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.ProvisionedResourceSet;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.ResourceManifest;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.TransferProcess;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.TransferType;
+import org.eclipse.dataspaceconnector.sql.SqlLeaseContext;
+import org.eclipse.dataspaceconnector.sql.SqlTransactionRunner;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeBatch;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeQuery;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeQuerySingle;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.executeUpdate;
+import static org.eclipse.dataspaceconnector.sql.SqlQueryExecutor.placeholders;
+
+/**
+ * Stores {@link TransferProcess} objects in a relational database, using the schema in {@code transfer-process-schema.sql}.
+ * <p>
+ * A process is stored in a row of {@code edc_transfer_process}, its data request in a row of {@code edc_data_request}. {@link #nextForState}
+ * selects the oldest processes in a state with {@code FOR UPDATE SKIP LOCKED} and leases them to this runtime in the same transaction, so
+ * that the replicas of a connector never process the same process concurrently. Updating or deleting a process releases the lease, and fails
+ * if another runtime holds it.
+ * <p>
+ * Like the in-memory and the CosmosDB stores, this store does not support the {@code *Data} operations, which no component of the connector
+ * calls, and throws an {@link UnsupportedOperationException} from them.
+ */
+public class SqlTransferProcessStore implements TransferProcessStore {
+    static final String PROCESS_TABLE = "edc_transfer_process";
+    static final String DATA_REQUEST_TABLE = "edc_data_request";
+
+    private static final TypeReference<Map<String, String>> PROPERTIES_TYPE = new TypeReference<>() {
+    };
+    private static final String SELECT_PROCESSES = "SELECT p.id, p.process_type, p.state, p.state_count, p.state_timestamp, p.error_detail, p.resource_manifest, " +
+            "p.provisioned_resource_set, r.id AS request_id, r.connector_address, r.protocol, r.connector_id, r.asset_id, r.contract_id, " +
+            "r.data_destination, r.managed_resources, r.properties, r.transfer_type FROM " + PROCESS_TABLE + " p JOIN " + DATA_REQUEST_TABLE +
+            " r ON r.transfer_process_id = p.id";
+    private static final String FIND_BY_ID = SELECT_PROCESSES + " WHERE p.id = ?";
+    private static final String PROCESS_ID_FOR_TRANSFER_ID = "SELECT transfer_process_id FROM " + DATA_REQUEST_TABLE + " WHERE id = ?";
+    private static final String INSERT_PROCESS = "INSERT INTO " + PROCESS_TABLE + " (process_type, state, state_count, state_timestamp, error_detail, resource_manifest, " +
+            "provisioned_resource_set, id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_PROCESS = "UPDATE " + PROCESS_TABLE + " SET process_type = ?, state = ?, state_count = ?, state_timestamp = ?, error_detail = ?, " +
+            "resource_manifest = ?, provisioned_resource_set = ? WHERE id = ?";
+    private static final String INSERT_DATA_REQUEST = "INSERT INTO " + DATA_REQUEST_TABLE + " (connector_address, protocol, connector_id, asset_id, contract_id, data_destination, " +
+            "managed_resources, properties, transfer_type, transfer_process_id, id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_DATA_REQUEST = "UPDATE " + DATA_REQUEST_TABLE + " SET connector_address = ?, protocol = ?, connector_id = ?, asset_id = ?, " +
+            "contract_id = ?, data_destination = ?, managed_resources = ?, properties = ?, transfer_type = ? WHERE transfer_process_id = ? AND id = ?";
+    private static final String DELETE_PROCESS = "DELETE FROM " + PROCESS_TABLE + " WHERE id = ?";
+
+    private final SqlTransactionRunner transactionRunner;
+    private final TypeManager typeManager;
+    private final SqlLeaseContext leaseContext;
+    private final String nextForStateSql;
+
+    /**
+     * Ctor.
+     *
+     * @param transactionRunner runs the statements in transactions of the configured data source
+     * @param typeManager       serializes the parts of a process that are stored as JSON
+     * @param leaseHolder       the name this runtime holds leases by, which must be unique among the replicas of a connector
+     * @param leaseDuration     the time after which the lease of a process selected by {@link #nextForState} expires, unless it is updated before
+     * @param clock             the clock the lease times are taken from
+     */
+    public SqlTransferProcessStore(SqlTransactionRunner transactionRunner, TypeManager typeManager, String leaseHolder, Duration leaseDuration, Clock clock) {
+        this.transactionRunner = transactionRunner;
+        this.typeManager = typeManager;
+        leaseContext = new SqlLeaseContext(PROCESS_TABLE, "id", leaseHolder, leaseDuration, clock);
+        nextForStateSql = format("SELECT id, %s FROM %s WHERE state = ? AND %s ORDER BY state_timestamp LIMIT ? FOR UPDATE SKIP LOCKED",
+                SqlLeaseContext.LEASE_ID_COLUMN, PROCESS_TABLE, leaseContext.availableCondition());
+    }
+
+    @Override
+    public TransferProcess find(String id) {
+        return transactionRunner.execute(connection -> executeQuerySingle(connection, FIND_BY_ID, this::mapProcess, id));
+    }
+
+    @Override
+    public @Nullable String processIdForTransferId(String id) {
+        return transactionRunner.execute(connection -> executeQuerySingle(connection, PROCESS_ID_FOR_TRANSFER_ID, resultSet -> resultSet.getString(1), id));
+    }
+
+    /**
+     * Leases at most {@code max} of the processes in the state that are not leased by another runtime, oldest first. Processes locked by
+     * another transaction are skipped instead of waited for.
+     */
+    @Override
+    public @NotNull List<TransferProcess> nextForState(int state, int max) {
+        return transactionRunner.execute(connection -> {
+            var available = leaseContext.availableArguments();
+            var rows = executeQuery(connection, nextForStateSql, resultSet -> new String[]{ resultSet.getString(1), resultSet.getString(2) },
+                    state, available[0], available[1], max);
+            if (rows.isEmpty()) {
+                return Collections.<TransferProcess>emptyList();
+            }
+            var leases = new LinkedHashMap<String, String>();
+            rows.forEach(row -> leases.put(row[0], row[1]));
+            leaseContext.acquire(connection, leases);
+            var ids = leases.keySet().toArray();
+            var query = format("%s WHERE p.id IN (%s) ORDER BY p.state_timestamp", SELECT_PROCESSES, placeholders(ids.length));
+            return executeQuery(connection, query, this::mapProcess, ids);
+        });
+    }
+
+    /**
+     * Stores the process, replacing a stored process with the same id like the other stores do.
+     */
+    @Override
+    public void create(TransferProcess process) {
+        createAll(List.of(process));
+    }
+
+    /**
+     * Inserts the processes in batches, which takes far fewer round trips than creating them one by one. Like {@link #create}, this replaces
+     * stored processes with the same ids, and drops their leases.
+     */
+    public void createAll(Collection<TransferProcess> processes) {
+        processes.forEach(process -> {
+            Objects.requireNonNull(process.getId(), "TransferProcesses must have an ID!");
+            Objects.requireNonNull(process.getDataRequest(), "TransferProcesses must have a DataRequest!");
+        });
+        transactionRunner.run(connection -> {
+            var ids = processes.stream().map(TransferProcess::getId).collect(Collectors.toList());
+            leaseContext.releaseAll(connection, ids);
+            executeBatch(connection, DELETE_PROCESS, ids.stream().map(id -> new Object[]{ id }).collect(Collectors.toList()));
+            executeBatch(connection, INSERT_PROCESS, processes.stream().map(this::processArguments).collect(Collectors.toList()));
+            executeBatch(connection, INSERT_DATA_REQUEST, processes.stream().map(this::dataRequestArguments).collect(Collectors.toList()));
+        });
+    }
+
+    /**
+     * Writes the process and releases the lease of this runtime. Processes that do not exist yet are created.
+     *
+     * @throws EdcException if the process is leased by another runtime
+     */
+    @Override
+    public void update(TransferProcess process) {
+        transactionRunner.run(connection -> {
+            if (!leaseContext.lock(connection, process.getId())) {
+                insert(connection, process);
+                return;
+            }
+            executeUpdate(connection, UPDATE_PROCESS, processArguments(process));
+            if (executeUpdate(connection, UPDATE_DATA_REQUEST, dataRequestArguments(process)) == 0) {
+                throw new EdcException(format("The DataRequest of TransferProcess %s cannot be changed", process.getId()));
+            }
+            leaseContext.release(connection, process.getId());
+        });
+    }
+
+    /**
+     * Deletes the process and its data request.
+     *
+     * @throws EdcException if the process is leased by another runtime
+     */
+    @Override
+    public void delete(String processId) {
+        transactionRunner.run(connection -> {
+            if (leaseContext.lock(connection, processId)) {
+                leaseContext.release(connection, processId);
+                executeUpdate(connection, DELETE_PROCESS, processId);
+            }
+        });
+    }
+
+    @Override
+    public void createData(String processId, String key, Object data) {
+        throw new UnsupportedOperationException("Not yet implemented");
+    }
+
+    @Override
+    public void updateData(String processId, String key, Object data) {
+        throw new UnsupportedOperationException("Not yet implemented");
+    }
+
+    @Override
+    public void deleteData(String processId, String key) {
+        throw new UnsupportedOperationException("Not yet implemented");
+    }
+
+    @Override
+    public void deleteData(String processId, Set<String> keys) {
+        throw new UnsupportedOperationException("Not yet implemented");
+    }
+
+    @Override
+    public <T> T findData(Class<T> type, String processId, String resourceDefinitionId) {
+        throw new UnsupportedOperationException("Not yet implemented");
+    }
+
+    private void insert(Connection connection, TransferProcess process) {
+        executeUpdate(connection, INSERT_PROCESS, processArguments(process));
+        executeUpdate(connection, INSERT_DATA_REQUEST, dataRequestArguments(process));
+    }
+
+    private Object[] processArguments(TransferProcess process) {
+        return new Object[]{
+                process.getType().name(),
+                process.getState(),
+                process.getStateCount(),
+                process.getStateTimestamp(),
+                process.getErrorDetail(),
+                toJson(process.getResourceManifest()),
+                toJson(process.getProvisionedResourceSet()),
+                process.getId()
+        };
+    }
+
+    private Object[] dataRequestArguments(TransferProcess process) {
+        var request = process.getDataRequest();
+        return new Object[]{
+                request.getConnectorAddress(),
+                request.getProtocol(),
+                request.getConnectorId(),
+                request.getAssetId(),
+                request.getContractId(),
+                toJson(request.getDataDestination()),
+                request.isManagedResources(),
+                toJson(request.getProperties()),
+                toJson(request.getTransferType()),
+                process.getId(),
+                request.getId()
+        };
+    }
+
+    private TransferProcess mapProcess(ResultSet resultSet) throws SQLException {
+        var dataRequest = DataRequest.Builder.newInstance()
+                .id(resultSet.getString("request_id"))
+                .connectorAddress(resultSet.getString("connector_address"))
+                .protocol(resultSet.getString("protocol"))
+                .connectorId(resultSet.getString("connector_id"))
+                .assetId(resultSet.getString("asset_id"))
+                .contractId(resultSet.getString("contract_id"))
+                .dataDestination(fromJson(resultSet.getString("data_destination"), DataAddress.class))
+                .managedResources(resultSet.getBoolean("managed_resources"))
+                .properties(readProperties(resultSet.getString("properties")))
+                .transferType(fromJson(resultSet.getString("transfer_type"), TransferType.class))
+                .build();
+        return TransferProcess.Builder.newInstance()
+                .id(resultSet.getString("id"))
+                .type(TransferProcess.Type.valueOf(resultSet.getString("process_type")))
+                .state(resultSet.getInt("state"))
+                .stateCount(resultSet.getInt("state_count"))
+                .stateTimestamp(resultSet.getLong("state_timestamp"))
+                .errorDetail(resultSet.getString("error_detail"))
+                .resourceManifest(fromJson(resultSet.getString("resource_manifest"), ResourceManifest.class))
+                .provisionedResourceSet(fromJson(resultSet.getString("provisioned_resource_set"), ProvisionedResourceSet.class))
+                .dataRequest(dataRequest)
+                .build();
+    }
+
+    private Map<String, String> readProperties(@Nullable String json) {
+        // the properties of a data request are mutable
+        return json != null ? new HashMap<>(typeManager.readValue(json, PROPERTIES_TYPE)) : new HashMap<>();
+    }
+
+    @Nullable
+    private String toJson(@Nullable Object value) {
+        return value != null ? typeManager.writeValueAsString(value) : null;
+    }
+
+    @Nullable
+    private <T> T fromJson(@Nullable String json, Class<T> type) {
+        return json != null ? typeManager.readValue(json, type) : null;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.transfer.store.sql;
+
+import org.eclipse.dataspaceconnector.spi.EdcSetting;
+import org.eclipse.dataspaceconnector.spi.system.Inject;
+import org.eclipse.dataspaceconnector.spi.system.Provides;
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtension;
+import org.eclipse.dataspaceconnector.spi.system.ServiceExtensionContext;
+import org.eclipse.dataspaceconnector.spi.transaction.TransactionContext;
+import org.eclipse.dataspaceconnector.spi.transaction.datasource.DataSourceRegistry;
+import org.eclipse.dataspaceconnector.spi.transfer.store.TransferProcessStore;
+import org.eclipse.dataspaceconnector.sql.SqlTransactionRunner;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Provides a {@link TransferProcessStore} backed by a data source of the {@link DataSourceRegistry}. The schema must have been created with
+ * {@code transfer-process-schema.sql} before.
+ */
+@Provides(TransferProcessStore.class)
+public class SqlTransferProcessStoreExtension implements ServiceExtension {
+
+    /**
+     * The name of the data source the transfer processes are stored in.
+     */
+    @EdcSetting
+    private static final String DATASOURCE_SETTING = "edc.transferprocessstore.sql.datasource";
+
+    /**
+     * The duration in seconds a runtime holds a lease on the transfer processes it processes, unless it updates them before.
+     */
+    @EdcSetting
+    private static final String LEASE_DURATION_SETTING = "edc.transferprocessstore.sql.lease-duration";
+    private static final long DEFAULT_LEASE_DURATION = 60;
+
+    /**
+     * The name this runtime holds leases by, which must be unique among the replicas of a connector. Defaults to the connector id with a
+     * random suffix.
+     */
+    @EdcSetting
+    private static final String LEASE_HOLDER_SETTING = "edc.transferprocessstore.sql.lease-holder";
+
+    @Inject
+    private DataSourceRegistry dataSourceRegistry;
+
+    @Inject
+    private TransactionContext transactionContext;
+
+    @Override
+    public String name() {
+        return "SQL TransferProcess Store";
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        var dataSourceName = context.getSetting(DATASOURCE_SETTING, DataSourceRegistry.DEFAULT_DATASOURCE);
+        var leaseDuration = Duration.ofSeconds(Math.max(1, context.getSetting(LEASE_DURATION_SETTING, DEFAULT_LEASE_DURATION)));
+        var leaseHolder = context.getSetting(LEASE_HOLDER_SETTING, context.getConnectorId() + ":" + UUID.randomUUID());
+
+        var transactionRunner = new SqlTransactionRunner(transactionContext, dataSourceRegistry, dataSourceName);
+        var store = new SqlTransferProcessStore(transactionRunner, context.getTypeManager(), leaseHolder, leaseDuration, Clock.systemUTC());
+        context.registerService(TransferProcessStore.class, store);
+    }
+}
@@ -0,0 +1,43 @@
+-- Schema of the SQL TransferProcessStore. The DDL is portable between PostgreSQL and H2.
+
+CREATE TABLE IF NOT EXISTS edc_lease
+(
+    lease_id       VARCHAR NOT NULL PRIMARY KEY,
+    leased_by      VARCHAR NOT NULL,
+    leased_at      BIGINT  NOT NULL,
+    lease_duration BIGINT  NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS edc_transfer_process
+(
+    id                       VARCHAR NOT NULL PRIMARY KEY,
+    process_type             VARCHAR NOT NULL,
+    state                    INTEGER NOT NULL,
+    state_count              INTEGER NOT NULL,
+    state_timestamp          BIGINT  NOT NULL,
+    error_detail             VARCHAR,
+    resource_manifest        VARCHAR,
+    provisioned_resource_set VARCHAR,
+    lease_id                 VARCHAR REFERENCES edc_lease (lease_id) ON DELETE SET NULL
+);
+
+-- nextForState selects the oldest processes in a state
+CREATE INDEX IF NOT EXISTS edc_transfer_process_state ON edc_transfer_process (state, state_timestamp);
+
+-- releasing a lease clears the reference to it
+CREATE INDEX IF NOT EXISTS edc_transfer_process_lease ON edc_transfer_process (lease_id);
+
+CREATE TABLE IF NOT EXISTS edc_data_request
+(
+    id                  VARCHAR NOT NULL PRIMARY KEY,
+    transfer_process_id VARCHAR NOT NULL UNIQUE REFERENCES edc_transfer_process (id) ON DELETE CASCADE,
+    connector_address   VARCHAR,
+    protocol            VARCHAR,
+    connector_id        VARCHAR,
+    asset_id            VARCHAR,
+    contract_id         VARCHAR,
+    data_destination    VARCHAR,
+    managed_resources   BOOLEAN NOT NULL,
+    properties          VARCHAR,
+    transfer_type       VARCHAR
+);
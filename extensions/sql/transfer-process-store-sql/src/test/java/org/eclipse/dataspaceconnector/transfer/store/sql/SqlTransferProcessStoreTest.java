@@ -0,0 +1,237 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.transfer.store.sql;
+
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.types.TypeManager;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.ResourceManifest;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.TransferProcess;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.TransferProcessStates;
+import org.eclipse.dataspaceconnector.sql.testfixtures.H2TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.eclipse.dataspaceconnector.transfer.store.sql.TestFunctions.createTransferProcess;
+
+class SqlTransferProcessStoreTest {
+    static final String SCHEMA = "transfer-process-schema.sql";
+    private static final Duration LEASE_DURATION = Duration.ofSeconds(60);
+
+    private H2TestDatabase database;
+    private SqlTransferProcessStore store;
+
+    @BeforeEach
+    void setUp() {
+        database = H2TestDatabase.create(SCHEMA);
+        store = createStore("replica-1", Clock.systemUTC());
+    }
+
+    @Test
+    void create_andFind() {
+        var process = createTransferProcess("process1");
+
+        store.create(process);
+
+        var found = store.find("process1");
+        assertThat(found).isNotNull().isNotSameAs(process);
+        assertThat(found.getState()).isEqualTo(TransferProcessStates.INITIAL.code());
+        assertThat(found.getStateTimestamp()).isEqualTo(process.getStateTimestamp());
+        assertThat(found.getResourceManifest()).isNotNull();
+        assertThat(found.getDataRequest().getId()).isEqualTo("request-process1");
+        assertThat(found.getDataRequest().getProcessId()).isEqualTo("process1");
+        assertThat(found.getDataRequest().getDataDestination().getType()).isEqualTo("Test Address Type");
+        assertThat(found.getDataRequest().getProperties()).containsEntry("key", "value");
+    }
+
+    @Test
+    void find_notExists() {
+        assertThat(store.find("not-exists")).isNull();
+    }
+
+    @Test
+    void create_existingId_replacesProcess() {
+        store.create(createTransferProcess("process1"));
+        assertThat(store.nextForState(TransferProcessStates.INITIAL.code(), 1)).hasSize(1);
+
+        store.create(createTransferProcess("process1", TransferProcessStates.PROVISIONING));
+
+        assertThat(store.find("process1").getState()).isEqualTo(TransferProcessStates.PROVISIONING.code());
+        assertThat(store.processIdForTransferId("request-process1")).isEqualTo("process1");
+        assertThat(createStore("replica-2", Clock.systemUTC()).nextForState(TransferProcessStates.PROVISIONING.code(), 1)).hasSize(1);
+    }
+
+    @Test
+    void processIdForTransferId() {
+        store.create(createTransferProcess("process1"));
+
+        assertThat(store.processIdForTransferId("request-process1")).isEqualTo("process1");
+        assertThat(store.processIdForTransferId("not-exists")).isNull();
+    }
+
+    @Test
+    void update() {
+        var process = createTransferProcess("process1");
+        store.create(process);
+
+        process.transitionProvisioning(ResourceManifest.Builder.newInstance().build());
+        process.getDataRequest().getProperties().put("other", "value");
+        store.update(process);
+
+        var found = store.find("process1");
+        assertThat(found.getState()).isEqualTo(TransferProcessStates.PROVISIONING.code());
+        assertThat(found.getDataRequest().getProperties()).containsEntry("other", "value");
+    }
+
+    @Test
+    void update_notExists_createsProcess() {
+        store.update(createTransferProcess("process1"));
+
+        assertThat(store.find("process1")).isNotNull();
+    }
+
+    @Test
+    void delete() {
+        store.create(createTransferProcess("process1"));
+
+        store.delete("process1");
+
+        assertThat(store.find("process1")).isNull();
+        assertThat(store.processIdForTransferId("request-process1")).isNull();
+        store.delete("process1");
+    }
+
+    @Test
+    void nextForState_oldestFirst() {
+        var now = Instant.now().toEpochMilli();
+        var processes = IntStream.range(0, 5)
+                .mapToObj(i -> createTransferProcess("process" + i).toBuilder().stateTimestamp(now - i * 1000L).build())
+                .collect(Collectors.toList());
+        store.createAll(processes);
+        store.create(createTransferProcess("provisioning", TransferProcessStates.PROVISIONING));
+
+        var next = store.nextForState(TransferProcessStates.INITIAL.code(), 3);
+
+        assertThat(next).extracting(TransferProcess::getId).containsExactly("process4", "process3", "process2");
+    }
+
+    @Test
+    void nextForState_leasedProcessesAreSkippedByOtherReplicas() {
+        store.createAll(IntStream.range(0, 10).mapToObj(i -> createTransferProcess("process" + i)).collect(Collectors.toList()));
+        var otherReplica = createStore("replica-2", Clock.systemUTC());
+
+        var leased = store.nextForState(TransferProcessStates.INITIAL.code(), 6);
+        var leasedByOther = otherReplica.nextForState(TransferProcessStates.INITIAL.code(), 10);
+
+        assertThat(leased).hasSize(6);
+        assertThat(leasedByOther).hasSize(4).extracting(TransferProcess::getId)
+                .doesNotContainAnyElementsOf(leased.stream().map(TransferProcess::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void nextForState_updateReleasesLease() {
+        store.create(createTransferProcess("process1"));
+        var otherReplica = createStore("replica-2", Clock.systemUTC());
+
+        var process = store.nextForState(TransferProcessStates.INITIAL.code(), 1).get(0);
+        assertThatThrownBy(() -> otherReplica.update(process)).isInstanceOf(EdcException.class);
+        assertThatThrownBy(() -> otherReplica.delete("process1")).isInstanceOf(EdcException.class);
+
+        // the lease holder may update it, which makes it available to the other replica again
+        store.update(process);
+        assertThat(otherReplica.nextForState(TransferProcessStates.INITIAL.code(), 1)).hasSize(1);
+    }
+
+    @Test
+    void nextForState_expiredLeaseIsTakenOver() {
+        var clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+        store = createStore("replica-1", clock);
+        store.create(createTransferProcess("process1"));
+        store.nextForState(TransferProcessStates.INITIAL.code(), 1);
+
+        var otherReplica = createStore("replica-2", Clock.offset(clock, LEASE_DURATION.plusSeconds(1)));
+
+        assertThat(otherReplica.nextForState(TransferProcessStates.INITIAL.code(), 1)).hasSize(1);
+        assertThatThrownBy(() -> store.update(createTransferProcess("process1"))).isInstanceOf(EdcException.class);
+    }
+
+    @Test
+    void nextForState_ownLeaseIsRenewed() {
+        store.create(createTransferProcess("process1"));
+
+        assertThat(store.nextForState(TransferProcessStates.INITIAL.code(), 1)).hasSize(1);
+        assertThat(store.nextForState(TransferProcessStates.INITIAL.code(), 1)).hasSize(1);
+        assertThat(database.getTransactionRunner().execute(connection -> {
+            try (var statement = connection.createStatement(); var resultSet = statement.executeQuery("SELECT COUNT(*) FROM edc_lease")) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        })).isEqualTo(1);
+    }
+
+    @Test
+    void nextForState_replicasProcessEachProcessOnce() throws InterruptedException {
+        var processes = 200;
+        store.createAll(IntStream.range(0, processes).mapToObj(i -> createTransferProcess("process" + i)).collect(Collectors.toList()));
+        var replicas = IntStream.range(0, 4).mapToObj(i -> createStore("replica-" + i, Clock.systemUTC())).collect(Collectors.toList());
+        var processed = ConcurrentHashMap.<String>newKeySet();
+        var duplicates = new AtomicInteger();
+        var errors = new ConcurrentLinkedQueue<Throwable>();
+
+        var executor = Executors.newFixedThreadPool(replicas.size());
+        for (var replica : replicas) {
+            executor.submit(() -> {
+                try {
+                    List<TransferProcess> batch;
+                    while (!(batch = replica.nextForState(TransferProcessStates.INITIAL.code(), 10)).isEmpty()) {
+                        for (var process : batch) {
+                            if (!processed.add(process.getId())) {
+                                duplicates.incrementAndGet();
+                            }
+                            process.transitionProvisioning(ResourceManifest.Builder.newInstance().build());
+                            replica.update(process);
+                        }
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+        }
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(errors).isEmpty();
+        assertThat(duplicates).hasValue(0);
+        assertThat(processed).hasSize(processes);
+    }
+
+    private SqlTransferProcessStore createStore(String leaseHolder, Clock clock) {
+        return new SqlTransferProcessStore(database.getTransactionRunner(), new TypeManager(), leaseHolder, LEASE_DURATION, clock);
+    }
+}
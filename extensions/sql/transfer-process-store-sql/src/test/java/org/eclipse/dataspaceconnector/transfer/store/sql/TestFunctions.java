@@ -0,0 +1,57 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.transfer.store.sql;
+
+import org.eclipse.dataspaceconnector.spi.types.domain.DataAddress;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.DataRequest;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.ResourceManifest;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.TransferProcess;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.TransferProcessStates;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestFunctions {
+
+    public static TransferProcess createTransferProcess(String processId) {
+        return createTransferProcess(processId, TransferProcessStates.INITIAL);
+    }
+
+    public static TransferProcess createTransferProcess(String processId, TransferProcessStates state) {
+        return TransferProcess.Builder.newInstance()
+                .id(processId)
+                .state(state.code())
+                .type(TransferProcess.Type.CONSUMER)
+                .dataRequest(createDataRequest("request-" + processId))
+                .resourceManifest(ResourceManifest.Builder.newInstance().build())
+                .build();
+    }
+
+    public static DataRequest createDataRequest(String id) {
+        return DataRequest.Builder.newInstance()
+                .id(id)
+                .connectorAddress("http://provider/api/ids")
+                .protocol("ids-multipart")
+                .connectorId("provider")
+                .assetId("asset-id")
+                .contractId("contract-id")
+                .dataDestination(DataAddress.Builder.newInstance()
+                        .type("Test Address Type")
+                        .keyName("Test Key Name")
+                        .build())
+                .properties(new HashMap<>(Map.of("key", "value")))
+                .build();
+    }
+}
@@ -41,7 +41,7 @@ import static org.eclipse.dataspaceconnector.spi.response.ResponseStatus.FATAL_E
  * will be retried; otherwise the request will be placed in the fatal error state.
  */
 public class HttpDataFlowController implements DataFlowController {
-    private static final MediaType JSON = MediaType.get("application/json");
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
 
     private String transferEndpoint;
     private Set<String> protocols;
@@ -67,7 +67,7 @@ public class HttpDataFlowController implements DataFlowController {
     @Override
     public @NotNull DataFlowInitiateResult initiateFlow(DataRequest dataRequest) {
         var dataFlowRequest = createRequest(dataRequest);
-        var requestBody = RequestBody.create(typeManager.writeValueAsString(dataFlowRequest), JSON);
+        var requestBody = RequestBody.create(typeManager.writeValueAsBytes(dataFlowRequest), JSON);
         var request = new Request.Builder().url(transferEndpoint).post(requestBody).build();
         try (var response = clientSupplier.get().newCall(request).execute()) {
             if (response.code() == 200) {
@@ -56,7 +56,7 @@ public class HttpStatusChecker implements StatusChecker {
                 monitor.severe(format("Transfer function %s returned an empty response body: %s", checkEndpoint, response.code()));
                 return false;
             }
-            return typeManager.readValue(body.string(), Boolean.TYPE);
+            return typeManager.readValue(body.byteStream(), Boolean.TYPE);
         } catch (IOException e) {
             monitor.severe("Error invoking transfer function", e);
             return false;
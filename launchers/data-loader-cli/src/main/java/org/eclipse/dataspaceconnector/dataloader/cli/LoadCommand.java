@@ -13,7 +13,6 @@
  */
 package org.eclipse.dataspaceconnector.dataloader.cli;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.eclipse.dataspaceconnector.dataloading.AssetEntry;
@@ -51,14 +50,12 @@ public class LoadCommand implements Runnable {
             throw new IllegalArgumentException("--assets and --contracts are mutually exclusive!");
         }
         if (loadInstruction.assetsFileName != null) {
-            var json = readFile(loadInstruction.assetsFileName);
-            var assetList = tryReadAsAssetRecords(json);
+            var assetList = tryReadAsAssetRecords(loadInstruction.assetsFileName);
 
             DataLoader.Builder<AssetEntry> builder = DataLoader.Builder.newInstance();
             builder.sink(assetSink).build().insertAll(assetList);
         } else if (loadInstruction.contractsFile != null) {
-            var json = readFile(loadInstruction.contractsFile);
-            var contractDefList = tryReadAsContractRecords(json);
+            var contractDefList = tryReadAsContractRecords(loadInstruction.contractsFile);
             DataLoader.Builder<ContractDefinition> builder = DataLoader.Builder.newInstance();
             builder.sink(contractsSink).build().insertAll(contractDefList);
         } else {
@@ -82,29 +79,24 @@ public class LoadCommand implements Runnable {
         loadInstruction.contractsFile = parseAssets;
     }
 
-    private Collection<ContractDefinition> tryReadAsContractRecords(String json) {
+    private Collection<ContractDefinition> tryReadAsContractRecords(File file) {
         var tr = new TypeReference<Collection<ContractDefinition>>() {
         };
-        try {
-            return mapper.readValue(json, tr);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        }
+        return readFile(file, tr);
     }
 
-    private Collection<AssetEntry> tryReadAsAssetRecords(String json) {
+    private Collection<AssetEntry> tryReadAsAssetRecords(File file) {
         var tr = new TypeReference<Collection<AssetEntry>>() {
         };
-        try {
-            return mapper.readValue(json, tr);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        }
+        return readFile(file, tr);
     }
 
-    private String readFile(File file) {
-        try {
-            return Files.readString(file.toPath());
+    /**
+     * Parses the file straight from a stream, large files are never held in memory as a whole string.
+     */
+    private <T> T readFile(File file, TypeReference<T> typeReference) {
+        try (var stream = Files.newInputStream(file.toPath())) {
+            return mapper.readerFor(typeReference).readValue(stream);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -26,6 +26,7 @@ include(":core:transfer")
 include(":core:contract")
 include(":core:base")
 include(":core:boot")
+include(":core:boot-processor")
 
 // modules that provide implementations for data ingress/egress
 include(":data-protocols:ids:ids-api-multipart-endpoint-v1")
@@ -102,6 +103,12 @@ include(":extensions:transaction:transaction-spi")
 include(":extensions:transaction:transaction-datasource-spi")
 include(":extensions:transaction:transaction-atomikos")
 include(":extensions:transaction:transaction-local")
+include(":extensions:sql")
+include(":extensions:sql:sql-common")
+include(":extensions:sql:transfer-process-store-sql")
+include(":extensions:sql:contract-negotiation-store-sql")
+include(":extensions:sql:contract-definition-store-sql")
+include(":extensions:sql:asset-index-sql")
 include(":extensions:data-plane:data-plane-spi")
 include(":extensions:data-plane:data-plane-framework")
 include(":extensions:data-plane:data-plane-http")
@@ -142,6 +149,7 @@ include(":spi:transfer-spi")
 include(":spi:contract-spi")
 include(":spi:catalog-spi")
 include(":spi:web-spi")
+include(":spi:http-spi")
 
 //include(":openapi")
 
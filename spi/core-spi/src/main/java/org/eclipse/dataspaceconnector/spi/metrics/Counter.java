@@ -0,0 +1,34 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.spi.metrics;
+
+/**
+ * A monotonically increasing count, e.g. of processed entities or sent messages.
+ */
+public interface Counter extends Meter {
+
+    void increment(long amount);
+
+    default void increment() {
+        increment(1);
+    }
+
+    long count();
+
+    @Override
+    default Type getType() {
+        return Type.COUNTER;
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.spi.metrics;
+
+/**
+ * A value that is sampled when the meters are read, e.g. the size of a queue.
+ */
+public interface Gauge extends Meter {
+
+    double value();
+
+    @Override
+    default Type getType() {
+        return Type.GAUGE;
+    }
+}
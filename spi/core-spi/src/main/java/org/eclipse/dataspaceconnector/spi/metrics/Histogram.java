@@ -0,0 +1,30 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.spi.metrics;
+
+/**
+ * Records the distribution of values, e.g. batch sizes, into fixed buckets.
+ */
+public interface Histogram extends Meter {
+
+    void record(double value);
+
+    HistogramSnapshot snapshot();
+
+    @Override
+    default Type getType() {
+        return Type.HISTOGRAM;
+    }
+}
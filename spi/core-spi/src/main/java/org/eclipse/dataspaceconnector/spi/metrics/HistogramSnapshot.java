@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.spi.metrics;
+
+/**
+ * A point-in-time copy of a {@link Histogram} or {@link Timer}. Bucket counts are cumulative: {@code getBucketCounts()[i]} is the number of
+ * recorded values less than or equal to {@code getBuckets()[i]}, which is the layout Prometheus expects.
+ */
+public class HistogramSnapshot {
+    private final long count;
+    private final double sum;
+    private final double max;
+    private final double[] buckets;
+    private final long[] bucketCounts;
+
+    public HistogramSnapshot(long count, double sum, double max, double[] buckets, long[] bucketCounts) {
+        if (buckets.length != bucketCounts.length) {
+            throw new IllegalArgumentException("Every bucket needs a count");
+        }
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+        this.buckets = buckets;
+        this.bucketCounts = bucketCounts;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * The largest recorded value, or 0 if no value has been recorded.
+     */
+    public double getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    /**
+     * The upper bounds of the buckets in ascending order, without the implicit +Inf bucket.
+     */
+    public double[] getBuckets() {
+        return buckets.clone();
+    }
+
+    public long[] getBucketCounts() {
+        return bucketCounts.clone();
+    }
+}
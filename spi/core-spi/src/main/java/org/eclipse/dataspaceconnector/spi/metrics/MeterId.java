@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.spi.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Identifies a meter by its name and tags. Tags are kept sorted by key so that the order in which they are passed does not matter.
+ */
+public final class MeterId {
+    private final String name;
+    private final Map<String, String> tags;
+    private final int hashCode;
+
+    private MeterId(String name, Map<String, String> tags) {
+        this.name = name;
+        this.tags = Collections.unmodifiableMap(tags);
+        hashCode = Objects.hash(name, tags);
+    }
+
+    /**
+     * Creates an identifier.
+     *
+     * @param name the meter name, e.g. {@code edc.transfer.processed}
+     * @param tags alternating tag keys and values
+     * @throws IllegalArgumentException if the tags are not key/value pairs
+     */
+    public static MeterId of(String name, String... tags) {
+        Objects.requireNonNull(name, "name");
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags must be key/value pairs: " + String.join(",", tags));
+        }
+        var map = new TreeMap<String, String>();
+        for (var i = 0; i < tags.length; i += 2) {
+            map.put(Objects.requireNonNull(tags[i], "tag key"), Objects.requireNonNull(tags[i + 1], "tag value"));
+        }
+        return new MeterId(name, map);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The tags sorted by key.
+     */
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MeterId that = (MeterId) o;
+        return name.equals(that.name) && tags.equals(that.tags);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return name + tags;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.spi.metrics;
+
+import org.eclipse.dataspaceconnector.spi.system.Feature;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Creates and holds the meters of the runtime. Meters are identified by their name and tags, which are passed as alternating key/value pairs,
+ * e.g. {@code registry.counter("edc.transfer.processed", "state", "INITIAL")}. Asking twice for the same identifier returns the same meter.
+ * <p>
+ * Recording on a meter must be cheap enough to be done on hot paths: callers that record in a tight loop should nevertheless keep a reference to
+ * the meter instead of looking it up on every call.
+ */
+@Feature(MetricRegistry.FEATURE)
+public interface MetricRegistry {
+    String FEATURE = "edc:core:metrics";
+
+    /**
+     * Returns the counter with the given name and tags, creating it if needed.
+     *
+     * @throws IllegalArgumentException if a meter of a different type is registered with the same identifier, or the tags are not key/value pairs
+     */
+    Counter counter(String name, String... tags);
+
+    /**
+     * Registers a gauge that samples the given supplier whenever the meters are read. If a gauge with the same identifier exists, it is returned
+     * and the supplier is ignored.
+     *
+     * @throws IllegalArgumentException if a meter of a different type is registered with the same identifier, or the tags are not key/value pairs
+     */
+    Gauge gauge(String name, Supplier<Number> value, String... tags);
+
+    /**
+     * Returns the timer with the given name and tags, creating it if needed.
+     *
+     * @throws IllegalArgumentException if a meter of a different type is registered with the same identifier, or the tags are not key/value pairs
+     */
+    Timer timer(String name, String... tags);
+
+    /**
+     * Returns the histogram with the given name and tags, creating it with default bucket boundaries if needed.
+     *
+     * @throws IllegalArgumentException if a meter of a different type is registered with the same identifier, or the tags are not key/value pairs
+     */
+    Histogram histogram(String name, String... tags);
+
+    /**
+     * Returns the histogram with the given name and tags, creating it with the given ascending bucket boundaries if needed.
+     *
+     * @throws IllegalArgumentException if a meter of a different type is registered with the same identifier, or the tags are not key/value pairs
+     */
+    Histogram histogram(String name, double[] buckets, String... tags);
+
+    /**
+     * Returns all registered meters.
+     */
+    Collection<Meter> getMeters();
+}
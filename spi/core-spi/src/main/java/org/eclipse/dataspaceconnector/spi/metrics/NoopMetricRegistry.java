@@ -0,0 +1,123 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.spi.metrics;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A registry that discards all recordings. Used as default by components that can be instrumented, so they need no null checks.
+ */
+public final class NoopMetricRegistry implements MetricRegistry {
+    public static final NoopMetricRegistry INSTANCE = new NoopMetricRegistry();
+
+    private static final MeterId NOOP_ID = MeterId.of("noop");
+    private static final HistogramSnapshot EMPTY = new HistogramSnapshot(0, 0, 0, new double[0], new long[0]);
+
+    private static final Counter COUNTER = new Counter() {
+        @Override
+        public void increment(long amount) {
+        }
+
+        @Override
+        public long count() {
+            return 0;
+        }
+
+        @Override
+        public MeterId getId() {
+            return NOOP_ID;
+        }
+    };
+
+    private static final Gauge GAUGE = new Gauge() {
+        @Override
+        public double value() {
+            return 0;
+        }
+
+        @Override
+        public MeterId getId() {
+            return NOOP_ID;
+        }
+    };
+
+    private static final Timer TIMER = new Timer() {
+        @Override
+        public void record(long amount, TimeUnit unit) {
+        }
+
+        @Override
+        public HistogramSnapshot snapshot() {
+            return EMPTY;
+        }
+
+        @Override
+        public MeterId getId() {
+            return NOOP_ID;
+        }
+    };
+
+    private static final Histogram HISTOGRAM = new Histogram() {
+        @Override
+        public void record(double value) {
+        }
+
+        @Override
+        public HistogramSnapshot snapshot() {
+            return EMPTY;
+        }
+
+        @Override
+        public MeterId getId() {
+            return NOOP_ID;
+        }
+    };
+
+    private NoopMetricRegistry() {
+    }
+
+    @Override
+    public Counter counter(String name, String... tags) {
+        return COUNTER;
+    }
+
+    @Override
+    public Gauge gauge(String name, Supplier<Number> value, String... tags) {
+        return GAUGE;
+    }
+
+    @Override
+    public Timer timer(String name, String... tags) {
+        return TIMER;
+    }
+
+    @Override
+    public Histogram histogram(String name, String... tags) {
+        return HISTOGRAM;
+    }
+
+    @Override
+    public Histogram histogram(String name, double[] buckets, String... tags) {
+        return HISTOGRAM;
+    }
+
+    @Override
+    public Collection<Meter> getMeters() {
+        return List.of();
+    }
+}
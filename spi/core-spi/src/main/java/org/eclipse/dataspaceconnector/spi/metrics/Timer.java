@@ -0,0 +1,57 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.spi.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records the distribution of durations. Snapshots are expressed in seconds.
+ */
+public interface Timer extends Meter {
+
+    void record(long amount, TimeUnit unit);
+
+    /**
+     * Runs the supplier and records how long it took, also if it throws.
+     */
+    default <T> T record(Supplier<T> supplier) {
+        var start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Runs the runnable and records how long it took, also if it throws.
+     */
+    default void record(Runnable runnable) {
+        var start = System.nanoTime();
+        try {
+            runnable.run();
+        } finally {
+            record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    HistogramSnapshot snapshot();
+
+    @Override
+    default Type getType() {
+        return Type.TIMER;
+    }
+}
@@ -25,4 +25,14 @@ public interface ConfigurationExtension extends BootExtension {
      * @return A config object
      */
     Config getConfig();
+
+    /**
+     * Re-reads the configuration source if it has changed since it was last read. Configurations are snapshots, so a changed source results in
+     * a new {@link Config} returned by {@link #getConfig()}.
+     *
+     * @return true if the configuration has changed, false otherwise or if the source does not support reloading
+     */
+    default boolean reload() {
+        return false;
+    }
 }
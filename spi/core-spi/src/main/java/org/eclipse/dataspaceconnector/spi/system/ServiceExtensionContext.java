@@ -20,6 +20,7 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Context provided to extensions when they are initialized.
@@ -67,6 +68,14 @@ public interface ServiceExtensionContext extends SettingResolver {
     default <T> void registerService(Class<T> type, T service) {
     }
 
+    /**
+     * Registers a service that is created by the supplier when it is first requested, so that expensive clients are not built during boot if
+     * nothing uses them. The supplier is invoked at most once. Contexts that do not support lazy creation create the service right away.
+     */
+    default <T> void registerLazyService(Class<T> type, Supplier<T> supplier) {
+        registerService(type, supplier.get());
+    }
+
     /**
      * Loads and orders the service extensions.
      */
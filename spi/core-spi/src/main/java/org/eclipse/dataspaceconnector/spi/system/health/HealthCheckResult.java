@@ -1,10 +1,12 @@
 package org.eclipse.dataspaceconnector.spi.system.health;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.eclipse.dataspaceconnector.spi.result.AbstractResult;
 import org.eclipse.dataspaceconnector.spi.result.Failure;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -14,6 +16,8 @@ import java.util.stream.Stream;
  */
 public class HealthCheckResult extends AbstractResult<Boolean, Failure> {
     private String component;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Map<String, Object> details = Map.of();
 
     private HealthCheckResult(boolean successful, Failure failure) {
         super(successful, failure);
@@ -43,10 +47,18 @@ public class HealthCheckResult extends AbstractResult<Boolean, Failure> {
         return this;
     }
 
+    /**
+     * Additional information about the component, e.g. timings, that is reported along with the status.
+     */
+    public Map<String, Object> getDetails() {
+        return details;
+    }
+
     public static class Builder {
         private String component;
         private boolean success = true;
         private Failure failure;
+        private Map<String, Object> details = Map.of();
 
         private Builder() {
 
@@ -81,9 +93,15 @@ public class HealthCheckResult extends AbstractResult<Boolean, Failure> {
             return this;
         }
 
+        public Builder details(Map<String, Object> details) {
+            this.details = details;
+            return this;
+        }
+
         public HealthCheckResult build() {
             var hc = new HealthCheckResult(success, failure);
             hc.component = component;
+            hc.details = details;
 
             return hc;
         }
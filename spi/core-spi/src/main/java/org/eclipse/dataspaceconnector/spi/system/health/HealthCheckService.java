@@ -2,6 +2,8 @@ package org.eclipse.dataspaceconnector.spi.system.health;
 
 import org.eclipse.dataspaceconnector.spi.system.Feature;
 
+import java.time.Duration;
+
 /**
  * Provides information about the connector's health status.
  * The three different health aspects are based on <a href=https://kubernetes.io/docs/concepts/workloads/pods/pod-lifecycle/#types-of-probe>Kubernetes' definition.</a>
@@ -20,6 +22,28 @@ public interface HealthCheckService {
 
     void addStartupStatusProvider(StartupStatusProvider provider);
 
+    /**
+     * Adds a liveness provider that is queried with its own period. A provider that does not answer within the timeout is reported as degraded
+     * until it answers again: its last result is kept and marked with the detail {@code status=DEGRADED}, which does not fail the probe.
+     */
+    default void addLivenessProvider(LivenessProvider provider, Duration period, Duration timeout) {
+        addLivenessProvider(provider);
+    }
+
+    /**
+     * Adds a readiness provider that is queried with its own period and timeout, see {@link #addLivenessProvider(LivenessProvider, Duration, Duration)}.
+     */
+    default void addReadinessProvider(ReadinessProvider provider, Duration period, Duration timeout) {
+        addReadinessProvider(provider);
+    }
+
+    /**
+     * Adds a startup status provider that is queried with its own period and timeout, see {@link #addLivenessProvider(LivenessProvider, Duration, Duration)}.
+     */
+    default void addStartupStatusProvider(StartupStatusProvider provider, Duration period, Duration timeout) {
+        addStartupStatusProvider(provider);
+    }
+
     HealthStatus isLive();
 
     HealthStatus isReady();
@@ -14,21 +14,53 @@
 
 package org.eclipse.dataspaceconnector.spi.types;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationConfig;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.eclipse.dataspaceconnector.spi.EdcException;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages system types and is used to deserialize polymorphic types.
+ * <p>
+ * Readers are cached per requested type, writers per declared type; values written without a declared type share one writer. The caches are
+ * dropped whenever types are registered or the mapper changes: its configuration, registered modules and mix-ins are tracked, so these changes
+ * are picked up when they are made through {@link #getMapper()} as well.
+ * <p>
+ * Like with any {@link ObjectMapper}, subtypes must be registered before values of their base type are first read or written, as the mapper
+ * resolves the subtypes of a type only once. Subtypes registered on the mapper directly instead of through {@link #registerTypes(Class[])}
+ * are not tracked, so they must be registered before the type manager is first used.
+ * <p>
+ * If a bytecode accelerator module (Blackbird or Afterburner) is on the classpath, it is registered with the mapper.
  */
 public class TypeManager {
+    private static final String[] ACCELERATOR_MODULES = {
+            "com.fasterxml.jackson.module.blackbird.BlackbirdModule",
+            "com.fasterxml.jackson.module.afterburner.AfterburnerModule"
+    };
+
     private final ObjectMapper objectMapper;
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private volatile ObjectWriter untypedWriter;
+    private volatile MapperState cachedState;
 
     public TypeManager() {
         objectMapper = new ObjectMapper();
@@ -37,20 +69,24 @@ public class TypeManager {
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         SimpleModule module = new SimpleModule();
         objectMapper.registerModule(module);
+        registerAccelerator();
     }
 
     public ObjectMapper getMapper() {
         return objectMapper;
     }
 
+    /**
+     * Registers subtypes for polymorphic (de)serialization. This must happen before values of their base types are first read or written.
+     */
     public void registerTypes(Class<?>... type) {
         objectMapper.registerSubtypes(type);
+        invalidate();
     }
 
-
     public <T> T readValue(String info, TypeReference<T> typeReference) {
         try {
-            return getMapper().readValue(info, typeReference);
+            return reader(typeReference).readValue(info);
         } catch (IOException e) {
             throw new EdcException(e);
         }
@@ -58,7 +94,7 @@ public class TypeManager {
 
     public <T> T readValue(String info, Class<T> type) {
         try {
-            return getMapper().readValue(info, type);
+            return reader(type).readValue(info);
         } catch (IOException e) {
             throw new EdcException(e);
         }
@@ -66,7 +102,48 @@ public class TypeManager {
 
     public <T> T readValue(byte[] bytes, Class<T> type) {
         try {
-            return getMapper().readValue(bytes, type);
+            return reader(type).readValue(bytes);
+        } catch (IOException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    public <T> T readValue(byte[] bytes, TypeReference<T> typeReference) {
+        try {
+            return reader(typeReference).readValue(bytes);
+        } catch (IOException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    /**
+     * Reads a value from the stream without buffering its content in a string first. The stream is not closed.
+     */
+    public <T> T readValue(InputStream stream, Class<T> type) {
+        try {
+            return reader(type).readValue(stream);
+        } catch (IOException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    /**
+     * Reads a value from the stream without buffering its content in a string first. The stream is not closed.
+     */
+    public <T> T readValue(InputStream stream, TypeReference<T> typeReference) {
+        try {
+            return reader(typeReference).readValue(stream);
+        } catch (IOException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    /**
+     * Reads a value from an already parsed JSON tree, e.g. an item returned by a database client, without serializing the tree to text first.
+     */
+    public <T> T readValue(JsonNode node, Class<T> type) {
+        try {
+            return reader(type).readValue(node);
         } catch (IOException e) {
             throw new EdcException(e);
         }
@@ -74,7 +151,7 @@ public class TypeManager {
 
     public String writeValueAsString(Object value) {
         try {
-            return getMapper().writeValueAsString(value);
+            return writer().writeValueAsString(value);
         } catch (IOException e) {
             throw new EdcException(e);
         }
@@ -82,7 +159,7 @@ public class TypeManager {
 
     public byte[] writeValueAsBytes(Object value) {
         try {
-            return getMapper().writeValueAsBytes(value);
+            return writer().writeValueAsBytes(value);
         } catch (IOException e) {
             throw new EdcException(e);
         }
@@ -90,11 +167,119 @@ public class TypeManager {
 
     public String writeValueAsString(Object value, TypeReference<?> reference) {
         try {
-            return getMapper().writerFor(reference).writeValueAsString(value);
+            return writer(reference).writeValueAsString(value);
         } catch (IOException e) {
             throw new EdcException(e);
         }
     }
-}
 
+    /**
+     * Writes the value to the stream as UTF-8 encoded JSON. The stream is flushed but not closed.
+     */
+    public void writeValue(OutputStream stream, Object value) {
+        try {
+            writer().writeValue(stream, value);
+        } catch (IOException e) {
+            throw new EdcException(e);
+        }
+    }
 
+    /**
+     * Converts the value to the given type through an in-memory token buffer instead of serializing it to JSON text and parsing it back.
+     */
+    public <T> T convertValue(Object value, Class<T> type) {
+        try {
+            return objectMapper.convertValue(value, type);
+        } catch (IllegalArgumentException e) {
+            throw new EdcException(e);
+        }
+    }
+
+    private ObjectReader reader(Class<?> type) {
+        return readers().computeIfAbsent(type, t -> objectMapper.readerFor(type).without(JsonParser.Feature.AUTO_CLOSE_SOURCE));
+    }
+
+    private ObjectReader reader(TypeReference<?> typeReference) {
+        return readers().computeIfAbsent(typeReference.getType(), t -> objectMapper.readerFor(typeReference).without(JsonParser.Feature.AUTO_CLOSE_SOURCE));
+    }
+
+    /**
+     * The writer for values without a declared type. Their serializers are looked up by runtime type and cached by the mapper, so the writer is
+     * not cached per runtime class, which would grow with every anonymous or generated class that is written.
+     */
+    private ObjectWriter writer() {
+        checkState();
+        var writer = untypedWriter;
+        if (writer == null) {
+            writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            untypedWriter = writer;
+        }
+        return writer;
+    }
+
+    private ObjectWriter writer(TypeReference<?> typeReference) {
+        return writers().computeIfAbsent(typeReference.getType(), t -> objectMapper.writerFor(typeReference).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+    }
+
+    private Map<Type, ObjectReader> readers() {
+        checkState();
+        return readers;
+    }
+
+    private Map<Type, ObjectWriter> writers() {
+        checkState();
+        return writers;
+    }
+
+    private void checkState() {
+        var state = cachedState;
+        if (state == null || !state.matches(objectMapper)) {
+            invalidate();
+        }
+    }
+
+    private synchronized void invalidate() {
+        readers.clear();
+        writers.clear();
+        untypedWriter = null;
+        cachedState = new MapperState(objectMapper);
+    }
+
+    private void registerAccelerator() {
+        for (var className : ACCELERATOR_MODULES) {
+            try {
+                var moduleClass = Class.forName(className, true, TypeManager.class.getClassLoader());
+                objectMapper.registerModule((Module) moduleClass.getDeclaredConstructor().newInstance());
+                return;
+            } catch (ClassNotFoundException e) {
+                // module not on the classpath, try the next one
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                // an accelerator that cannot be loaded must not prevent serialization, fall back to plain reflection
+            }
+        }
+    }
+
+    /**
+     * Identifies the configuration of the mapper the cached readers and writers were created from. Reconfiguring the mapper replaces its
+     * (immutable) configuration objects, registering a module adds to its registered module ids, adding a mix-in adds to its mix-ins.
+     */
+    private static class MapperState {
+        private final SerializationConfig serializationConfig;
+        private final DeserializationConfig deserializationConfig;
+        private final int moduleCount;
+        private final int mixInCount;
+
+        MapperState(ObjectMapper mapper) {
+            serializationConfig = mapper.getSerializationConfig();
+            deserializationConfig = mapper.getDeserializationConfig();
+            moduleCount = mapper.getRegisteredModuleIds().size();
+            mixInCount = mapper.mixInCount();
+        }
+
+        boolean matches(ObjectMapper mapper) {
+            return serializationConfig == mapper.getSerializationConfig() &&
+                    deserializationConfig == mapper.getDeserializationConfig() &&
+                    moduleCount == mapper.getRegisteredModuleIds().size() &&
+                    mixInCount == mapper.mixInCount();
+        }
+    }}
@@ -0,0 +1,156 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.spi.types;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.eclipse.dataspaceconnector.spi.EdcException;
+import org.eclipse.dataspaceconnector.spi.types.domain.DataAddress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TypeManagerTest {
+    private TypeManager typeManager;
+
+    @BeforeEach
+    void setUp() {
+        typeManager = new TypeManager();
+    }
+
+    @Test
+    void verifyStreamRoundTrip() {
+        var address = DataAddress.Builder.newInstance().type("test").property("foo", "bar").build();
+        var out = new ByteArrayOutputStream();
+
+        typeManager.writeValue(out, List.of(address));
+        List<DataAddress> deserialized = typeManager.readValue(new ByteArrayInputStream(out.toByteArray()), new TypeReference<>() {
+        });
+
+        assertThat(deserialized).hasSize(1);
+        assertThat(deserialized.get(0).getType()).isEqualTo("test");
+        assertThat(deserialized.get(0).getProperty("foo")).isEqualTo("bar");
+    }
+
+    @Test
+    void verifyStreamsAreNotClosed() {
+        var closed = new AtomicBoolean();
+        var out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        typeManager.writeValue(out, Map.of("key", "value"));
+        assertThat(closed).isFalse();
+
+        InputStream in = new ByteArrayInputStream(out.toByteArray()) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+            }
+        };
+        assertThat(typeManager.readValue(in, Map.class)).containsEntry("key", "value");
+        assertThat(closed).isFalse();
+    }
+
+    @Test
+    void verifyBytesMatchString() {
+        var address = DataAddress.Builder.newInstance().type("test").keyName("key").build();
+
+        var bytes = typeManager.writeValueAsBytes(address);
+
+        assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo(typeManager.writeValueAsString(address));
+        assertThat(typeManager.readValue(bytes, DataAddress.class).getKeyName()).isEqualTo("key");
+        List<String> list = typeManager.readValue("[\"a\",\"b\"]".getBytes(StandardCharsets.UTF_8), new TypeReference<>() {
+        });
+        assertThat(list).containsExactly("a", "b");
+    }
+
+    @Test
+    void verifyConvertValue() {
+        var converted = typeManager.convertValue(Map.of("type", "test", "properties", Map.of("foo", "bar")), DataAddress.class);
+
+        assertThat(converted.getType()).isEqualTo("test");
+        assertThat(converted.getProperty("foo")).isEqualTo("bar");
+    }
+
+    @Test
+    void verifyReadFromTree() {
+        typeManager.registerTypes(Sub.class);
+        var node = typeManager.getMapper().createObjectNode().put("@type", "sub");
+
+        assertThat(typeManager.readValue(node, Base.class)).isInstanceOf(Sub.class);
+    }
+
+    @Test
+    void verifyMapperChangesInvalidateCachedWriters() {
+        var value = Map.of("key", "value");
+        assertThat(typeManager.writeValueAsString(value)).doesNotContain("\n");
+
+        typeManager.getMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+        assertThat(typeManager.writeValueAsString(value)).contains("\n");
+    }
+
+    @Test
+    void verifySubtypesRegisteredOnMapperBeforeFirstUse() {
+        typeManager.getMapper().registerSubtypes(Sub.class);
+
+        assertThat(typeManager.readValue("{\"@type\":\"sub\"}", Base.class)).isInstanceOf(Sub.class);
+    }
+
+    @Test
+    void verifyValuesAreWrittenByRuntimeType() {
+        assertThat(typeManager.writeValueAsString(new Sub())).isEqualTo("{\"@type\":\"sub\"}");
+        assertThat(typeManager.writeValueAsString(Map.of("key", "value"))).isEqualTo("{\"key\":\"value\"}");
+        assertThat(typeManager.writeValueAsString(List.of(1, 2))).isEqualTo("[1,2]");
+    }
+
+    @Test
+    void verifyRegisteredTypesAreResolved() {
+        typeManager.registerTypes(Sub.class);
+
+        assertThat(typeManager.readValue("{\"@type\":\"sub\"}", Base.class)).isInstanceOf(Sub.class);
+        assertThat(typeManager.writeValueAsString(new Sub())).isEqualTo("{\"@type\":\"sub\"}");
+    }
+
+    @Test
+    void verifyInvalidInputIsWrapped() {
+        assertThatThrownBy(() -> typeManager.readValue(new ByteArrayInputStream("{".getBytes(StandardCharsets.UTF_8)), Map.class))
+                .isInstanceOf(EdcException.class);
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "@type")
+    interface Base {
+    }
+
+    @JsonTypeName("sub")
+    static class Sub implements Base {
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+val okHttpVersion: String by project
+
+plugins {
+    `java-library`
+    `maven-publish`
+}
+
+dependencies {
+    api("com.squareup.okhttp3:okhttp:${okHttpVersion}")
+}
+
+publishing {
+    publications {
+        create<MavenPublication>("http-spi") {
+            artifactId = "http-spi"
+            from(components["java"])
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.spi.http;
+
+import okhttp3.OkHttpClient;
+
+import java.util.Set;
+
+/**
+ * Provides the HTTP clients of the runtime. Each named profile has its own dispatcher and connection pool, so traffic of one profile, e.g.
+ * data plane transfers, cannot use up the connections and request slots another profile, e.g. control plane messaging, relies on. The client
+ * registered as {@link OkHttpClient} service is the client of the {@link #DEFAULT_PROFILE}.
+ */
+public interface HttpClientProfiles {
+    String DEFAULT_PROFILE = "default";
+
+    /**
+     * Returns the client of the given profile, or the client of the default profile if no profile with that name is configured.
+     */
+    OkHttpClient getClient(String profile);
+
+    /**
+     * The names of the configured profiles, including the default profile.
+     */
+    Set<String> getProfileNames();
+}
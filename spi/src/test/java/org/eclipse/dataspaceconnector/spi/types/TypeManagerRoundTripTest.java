@@ -0,0 +1,144 @@
+/*
+ *  Copyright (c) 2020 - 2022 Microsoft Corporation
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Microsoft Corporation - initial API and implementation
+ *
+ */
+
+package org.eclipse.dataspaceconnector.spi.types;
+
+import org.eclipse.dataspaceconnector.policy.model.Policy;
+import org.eclipse.dataspaceconnector.spi.types.domain.DataAddress;
+import org.eclipse.dataspaceconnector.spi.types.domain.asset.Asset;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.negotiation.ContractNegotiation;
+import org.eclipse.dataspaceconnector.spi.types.domain.contract.offer.ContractOffer;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.DataRequest;
+import org.eclipse.dataspaceconnector.spi.types.domain.transfer.TransferProcess;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Serializes the main domain objects through the string based API and through the byte and stream based API, and verifies both yield the same
+ * JSON and read back the same values.
+ */
+class TypeManagerRoundTripTest {
+    private final TypeManager typeManager = new TypeManager();
+
+    @Test
+    void verifyTransferProcess() {
+        var process = TransferProcess.Builder.newInstance()
+                .id("process-id")
+                .type(TransferProcess.Type.PROVIDER)
+                .state(600)
+                .stateTimestamp(System.currentTimeMillis())
+                .dataRequest(DataRequest.Builder.newInstance()
+                        .id("request-id")
+                        .processId("process-id")
+                        .connectorAddress("http://consumer/api/ids/multipart")
+                        .protocol("ids-multipart")
+                        .connectorId("consumer")
+                        .assetId("asset-id")
+                        .contractId("contract-id")
+                        .destinationType("AzureStorage")
+                        .dataDestination(DataAddress.Builder.newInstance().type("AzureStorage").property("container", "data").build())
+                        .properties(Map.of("key", "value"))
+                        .build())
+                .build();
+
+        var deserialized = run(process, TransferProcess.class);
+
+        assertThat(deserialized.getId()).isEqualTo("process-id");
+        assertThat(deserialized.getDataRequest().getAssetId()).isEqualTo("asset-id");
+    }
+
+    @Test
+    void verifyContractNegotiation() {
+        var offers = IntStream.range(0, 5).mapToObj(i -> createOffer("offer-" + i)).collect(Collectors.toList());
+        var negotiation = ContractNegotiation.Builder.newInstance()
+                .id("negotiation-id")
+                .type(ContractNegotiation.Type.PROVIDER)
+                .protocol("ids-multipart")
+                .counterPartyId("consumer")
+                .counterPartyAddress("http://consumer/api/ids/multipart")
+                .correlationId("correlation-id")
+                .contractOffers(offers)
+                .build();
+
+        var deserialized = run(negotiation, ContractNegotiation.class);
+
+        assertThat(deserialized.getId()).isEqualTo("negotiation-id");
+        assertThat(deserialized.getContractOffers()).hasSize(5);
+    }
+
+    @Test
+    void verifyContractOffer() {
+        var deserialized = run(createOffer("offer-id"), ContractOffer.class);
+
+        assertThat(deserialized.getId()).isEqualTo("offer-id");
+        assertThat(deserialized.getAsset().getId()).isEqualTo("asset-offer-id");
+    }
+
+    @Test
+    void verifyAsset() {
+        var deserialized = run(createAsset("asset-id"), Asset.class);
+
+        assertThat(deserialized.getId()).isEqualTo("asset-id");
+        assertThat(deserialized.getDescription()).isEqualTo("some description");
+    }
+
+    /**
+     * Round-trips the value through both APIs and returns the value read back through the byte based API.
+     */
+    private <T> T run(T value, Class<T> type) {
+        var json = typeManager.writeValueAsString(value);
+        var stream = new ByteArrayOutputStream();
+        typeManager.writeValue(stream, value);
+
+        assertThat(typeManager.writeValueAsBytes(value)).isEqualTo(json.getBytes(StandardCharsets.UTF_8));
+        assertThat(stream.toByteArray()).isEqualTo(json.getBytes(StandardCharsets.UTF_8));
+        var fromString = typeManager.readValue(json, type);
+        var fromBytes = typeManager.readValue(stream.toByteArray(), type);
+        assertThat(typeManager.writeValueAsString(fromBytes)).isEqualTo(typeManager.writeValueAsString(fromString));
+        return fromBytes;
+    }
+
+    private ContractOffer createOffer(String id) {
+        return ContractOffer.Builder.newInstance()
+                .id(id)
+                .provider(URI.create("http://provider"))
+                .consumer(URI.create("http://consumer"))
+                .asset(createAsset("asset-" + id))
+                .policy(Policy.Builder.newInstance().id("policy-" + id).build())
+                .offerStart(ZonedDateTime.now())
+                .offerEnd(ZonedDateTime.now().plusDays(30))
+                .build();
+    }
+
+    private Asset createAsset(String id) {
+        return Asset.Builder.newInstance()
+                .id(id)
+                .name("asset " + id)
+                .version("1.0")
+                .contentType("application/json")
+                .description("some description")
+                .property("keywords", List.of("a", "b", "c"))
+                .build();
+    }
+}
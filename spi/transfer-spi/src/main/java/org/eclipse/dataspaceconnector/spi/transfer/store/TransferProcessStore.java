@@ -51,6 +51,9 @@ public interface TransferProcessStore {
     @NotNull
     List<TransferProcess> nextForState(int state, int max);
 
+    /**
+     * Stores a new process. A stored process with the same id is replaced.
+     */
     void create(TransferProcess process);
 
     void update(TransferProcess process);